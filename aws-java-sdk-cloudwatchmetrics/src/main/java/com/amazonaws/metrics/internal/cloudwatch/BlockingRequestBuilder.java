@@ -44,10 +44,18 @@ class BlockingRequestBuilder {
     private static final String OS_METRIC_NAME = MachineMetric.getOSMetricName();
     private final MachineMetricFactory machineMetricFactory = new MachineMetricFactory();
     private final BlockingQueue<MetricDatum> queue;
+    /** The aggregator of the metrics if aggregated in place; or null. */
+    private final MetricAggregator aggregator;
     private final long timeoutNano;
 
     BlockingRequestBuilder(CloudWatchMetricConfig config, BlockingQueue<MetricDatum> queue) {
+        this(config, queue, null);
+    }
+
+    BlockingRequestBuilder(CloudWatchMetricConfig config, BlockingQueue<MetricDatum> queue,
+            MetricAggregator aggregator) {
         this.queue = queue;
+        this.aggregator = aggregator;
         this.timeoutNano = TimeUnit.MILLISECONDS.toNanos(config.getQueuePollTimeoutMilli());
     }
 
@@ -60,6 +68,9 @@ class BlockingRequestBuilder {
      * milliseconds.
      */
     Iterable<PutMetricDataRequest> nextUploadUnits() throws InterruptedException {
+        if (aggregator != null) {
+            return nextAggregatedUploadUnits();
+        }
         final Map<String,MetricDatum> uniqueMetrics = new HashMap<String,MetricDatum>();
         long startNano = System.nanoTime();
         
@@ -100,6 +111,34 @@ class BlockingRequestBuilder {
         }
     }
 
+    /**
+     * Returns the next batch of {@link PutMetricDataRequest} when the metrics
+     * are aggregated in place: the statistics aggregated over the next
+     * {@link CloudWatchMetricConfig#getQueuePollTimeoutMilli()} number of
+     * milliseconds. If there is no metrics data, this call blocks until there
+     * is some at the end of a period.
+     */
+    private Iterable<PutMetricDataRequest> nextAggregatedUploadUnits() throws InterruptedException {
+        while (true) {
+            TimeUnit.NANOSECONDS.sleep(timeoutNano);
+            final Map<String,MetricDatum> uniqueMetrics = new HashMap<String,MetricDatum>();
+            for (MetricDatum datum: aggregator.snapshot()) {
+                // The dimensions of the snapshot data are already sorted
+                uniqueMetrics.put(uniqueMetricKey(datum.getMetricName(), datum.getDimensions()), datum);
+            }
+            if (uniqueMetrics.size() > 0 || !AwsSdkMetrics.isMachineMetricExcluded()) {
+                return toPutMetricDataRequests(uniqueMetrics);
+            }
+        }
+    }
+
+    /**
+     * Returns the key of the unique metric of the given name and sorted dimensions.
+     */
+    private static String uniqueMetricKey(String metricName, List<Dimension> dims) {
+        return metricName + Jackson.toJsonString(dims);
+    }
+
     /**
      * Summarizes the given datum into the statistics of the respective unique metric.
      */
@@ -111,7 +150,7 @@ class BlockingRequestBuilder {
         List<Dimension> dims = datum.getDimensions();
         Collections.sort(dims, DimensionComparator.INSTANCE);
         String metricName = datum.getMetricName();
-        String key = metricName + Jackson.toJsonString(dims);
+        String key = uniqueMetricKey(metricName, dims);
         MetricDatum statDatum = uniqueMetrics.get(key);
         if (statDatum == null) {
             statDatum = new MetricDatum()
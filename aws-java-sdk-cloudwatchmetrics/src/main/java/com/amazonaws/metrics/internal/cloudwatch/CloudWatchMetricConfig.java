@@ -97,6 +97,12 @@ public class CloudWatchMetricConfig {
     
     private int metricQueueSize = DEFAULT_METRICS_QSIZE;
 
+    /**
+     * True if the metric data points are aggregated into statistics as they
+     * are collected, instead of being queued.
+     */
+    private boolean aggregateInPlace;
+
     /**
      * Returns the credential provider that holds the credentials to connect to
      * Amazon CloudWatch.
@@ -199,4 +205,28 @@ public class CloudWatchMetricConfig {
         setMetricQueueSize(metricQueueSize);
         return this;
     }
+
+    /**
+     * Returns true if the metric data points are aggregated into statistics as
+     * they are collected; false if they are queued until uploaded.
+     */
+    public boolean isAggregateInPlace() {
+        return aggregateInPlace;
+    }
+
+    /**
+     * Configures whether the metric data points are aggregated into statistics
+     * as they are collected, instead of being queued until uploaded. When
+     * aggregated in place, no data point is dropped however high the request
+     * rate, the statistics are uploaded at every queue polling timeout, and the
+     * metric queue size is ignored.
+     */
+    public void setAggregateInPlace(boolean aggregateInPlace) {
+        this.aggregateInPlace = aggregateInPlace;
+    }
+
+    public CloudWatchMetricConfig withAggregateInPlace(boolean aggregateInPlace) {
+        setAggregateInPlace(aggregateInPlace);
+        return this;
+    }
 }
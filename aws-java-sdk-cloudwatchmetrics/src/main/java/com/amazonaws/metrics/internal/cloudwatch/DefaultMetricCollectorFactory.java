@@ -51,6 +51,7 @@ public class DefaultMetricCollectorFactory
             config.setMetricQueueSize(qSize.intValue());
         if (timeoutMilli != null)
             config.setQueuePollTimeoutMilli(timeoutMilli.longValue());
+        config.setAggregateInPlace(AwsSdkMetrics.isMetricsAggregatedInPlace());
         config.setClientConfiguration(clientConfig);
         MetricCollectorSupport.startSingleton(config);
         return MetricCollectorSupport.getInstance();
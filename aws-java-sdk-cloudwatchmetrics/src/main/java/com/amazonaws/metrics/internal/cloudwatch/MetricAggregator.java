@@ -0,0 +1,213 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.metrics.internal.cloudwatch;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.http.annotation.ThreadSafe;
+
+import com.amazonaws.services.cloudwatch.model.Dimension;
+import com.amazonaws.services.cloudwatch.model.MetricDatum;
+import com.amazonaws.services.cloudwatch.model.StatisticSet;
+
+/**
+ * An internal aggregator of metric data points into the statistics to be
+ * uploaded to Amazon CloudWatch, used instead of the metric queue when the
+ * metrics are aggregated in place.
+ * <p>
+ * The statistics of each unique metric, as identified by its name and
+ * dimensions, are accumulated in a number of stripes, each guarded by its own
+ * lock, so that threads collecting the same metric rarely contend. A data point
+ * is never dropped, and no memory is held per data point. Once a unique metric
+ * has been collected, its accumulator is kept for the life of the aggregator;
+ * the number of unique metrics is bounded by the predefined metric types and
+ * the services in use.
+ */
+@ThreadSafe
+class MetricAggregator {
+    private static final int STRIPES = stripes(Runtime.getRuntime().availableProcessors());
+
+    private final ConcurrentMap<Key, Accumulator> accumulators = new ConcurrentHashMap<Key, Accumulator>();
+
+    /**
+     * Adds the value of the given data point to the statistics of its metric.
+     * A data point without a value is ignored.
+     */
+    void add(MetricDatum datum) {
+        Double value = datum.getValue();
+        if (value == null) {
+            return;
+        }
+        List<Dimension> dims = datum.getDimensions();
+        Collections.sort(dims, DimensionComparator.INSTANCE);
+        Key key = new Key(datum.getMetricName(), dims);
+        Accumulator accumulator = accumulators.get(key);
+        if (accumulator == null) {
+            Accumulator newAccumulator = new Accumulator(datum.getUnit());
+            accumulator = accumulators.putIfAbsent(key, newAccumulator);
+            if (accumulator == null) {
+                accumulator = newAccumulator;
+            }
+        }
+        accumulator.add(value.doubleValue());
+    }
+
+    /**
+     * Returns the statistics of the metrics collected since the last snapshot,
+     * as one metric datum per unique metric, and starts over.
+     */
+    List<MetricDatum> snapshot() {
+        List<MetricDatum> data = new ArrayList<MetricDatum>();
+        for (Map.Entry<Key, Accumulator> entry : accumulators.entrySet()) {
+            Accumulator accumulator = entry.getValue();
+            StatisticSet stat = accumulator.snapshot();
+            if (stat != null) {
+                Key key = entry.getKey();
+                data.add(new MetricDatum()
+                    .withMetricName(key.metricName)
+                    .withDimensions(key.dimensions)
+                    .withUnit(accumulator.unit)
+                    .withStatisticValues(stat));
+            }
+        }
+        return data;
+    }
+
+    /**
+     * Returns the number of stripes for the given number of processors: the
+     * next power of two, up to 64.
+     */
+    private static int stripes(int processors) {
+        int stripes = 1;
+        while (stripes < processors && stripes < 64) {
+            stripes <<= 1;
+        }
+        return stripes;
+    }
+
+    /**
+     * The name and the sorted dimensions of a unique metric.
+     */
+    private static final class Key {
+        private final String metricName;
+        private final List<Dimension> dimensions;
+        private final int hashCode;
+
+        Key(String metricName, List<Dimension> dimensions) {
+            this.metricName = metricName;
+            this.dimensions = dimensions;
+            this.hashCode = 31 * (metricName == null ? 0 : metricName.hashCode()) + dimensions.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return hashCode == other.hashCode
+                && (metricName == null ? other.metricName == null : metricName.equals(other.metricName))
+                && dimensions.equals(other.dimensions);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    /**
+     * The statistics of a unique metric, striped by thread.
+     */
+    private static final class Accumulator {
+        private final String unit;
+        private final Cell[] cells = new Cell[STRIPES];
+
+        Accumulator(String unit) {
+            this.unit = unit;
+            for (int i = 0; i < cells.length; i++) {
+                cells[i] = new Cell();
+            }
+        }
+
+        void add(double value) {
+            int stripe = (int) Thread.currentThread().getId() & (STRIPES - 1);
+            cells[stripe].add(value);
+        }
+
+        /**
+         * Returns the statistics accumulated since the last snapshot, resetting
+         * them; or null if no value has been added since.
+         */
+        StatisticSet snapshot() {
+            Cell total = new Cell();
+            for (Cell cell : cells) {
+                cell.drainTo(total);
+            }
+            if (total.count == 0) {
+                return null;
+            }
+            return new StatisticSet()
+                .withSampleCount(Double.valueOf(total.count))
+                .withSum(total.sum)
+                .withMinimum(total.min)
+                .withMaximum(total.max);
+        }
+    }
+
+    private static final class Cell {
+        private long count;
+        private double sum;
+        private double min = Double.POSITIVE_INFINITY;
+        private double max = Double.NEGATIVE_INFINITY;
+
+        synchronized void add(double value) {
+            count++;
+            sum += value;
+            if (value < min) {
+                min = value;
+            }
+            if (value > max) {
+                max = value;
+            }
+        }
+
+        /**
+         * Merges the statistics of this cell into the given cell, which is
+         * not shared, and resets this cell.
+         */
+        synchronized void drainTo(Cell total) {
+            if (count == 0) {
+                return;
+            }
+            total.count += count;
+            total.sum += sum;
+            total.min = Math.min(total.min, min);
+            total.max = Math.max(total.max, max);
+            count = 0;
+            sum = 0;
+            min = Double.POSITIVE_INFINITY;
+            max = Double.NEGATIVE_INFINITY;
+        }
+    }
+}
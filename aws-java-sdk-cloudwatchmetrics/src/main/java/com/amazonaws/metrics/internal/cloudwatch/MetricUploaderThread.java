@@ -36,9 +36,11 @@ class MetricUploaderThread extends Thread {
     private final BlockingRequestBuilder qIterator;
 
     MetricUploaderThread(CloudWatchMetricConfig config,
-            BlockingQueue<MetricDatum> queue) {
+            BlockingQueue<MetricDatum> queue,
+            MetricAggregator aggregator) {
         this(config,
              queue,
+             aggregator,
              createCloudWatchClient(config));
     }
 
@@ -60,13 +62,21 @@ class MetricUploaderThread extends Thread {
     MetricUploaderThread(CloudWatchMetricConfig config,
         BlockingQueue<MetricDatum> queue,
         AmazonCloudWatchClient client)
+    {
+        this(config, queue, null, client);
+    }
+
+    MetricUploaderThread(CloudWatchMetricConfig config,
+        BlockingQueue<MetricDatum> queue,
+        MetricAggregator aggregator,
+        AmazonCloudWatchClient client)
     {
         super(THREAD_NAME);
         if (config == null || queue == null) {
             throw new IllegalArgumentException();
         }
         this.cloudwatchClient = client;
-        this.qIterator = new BlockingRequestBuilder(config, queue);
+        this.qIterator = new BlockingRequestBuilder(config, queue, aggregator);
         String endpoint = config.getCloudWatchEndPoint();
         if (endpoint != null)
             cloudwatchClient.setEndpoint(endpoint);
@@ -76,6 +76,7 @@ public class PredefinedMetricTransformer {
                 case RetryCount:
                     return metricOfRequestOrRetryCount(predefined, request, response);
                 case RetryCapacityConsumed:
+                case RetryCapacityAvailable:
                     return counterMetricOf(predefined, request, response, EXCLUDE_REQUEST_TYPE);
                 case ResponseProcessingTime: // drop thru
                 case RequestSigningTime: // drop thru
@@ -40,10 +40,17 @@ public class RequestMetricCollectorSupport extends RequestMetricCollector
 {
     protected final static Log log = LogFactory.getLog(RequestMetricCollectorSupport.class);
     private final BlockingQueue<MetricDatum> queue;
+    /** The aggregator the metrics are added to instead of the queue; or null. */
+    private final MetricAggregator aggregator;
     private final PredefinedMetricTransformer transformer = new PredefinedMetricTransformer();
 
     protected RequestMetricCollectorSupport(BlockingQueue<MetricDatum> queue) {
+        this(queue, null);
+    }
+
+    RequestMetricCollectorSupport(BlockingQueue<MetricDatum> queue, MetricAggregator aggregator) {
         this.queue = queue;
+        this.aggregator = aggregator;
     }
 
     /**
@@ -92,9 +99,14 @@ public class RequestMetricCollectorSupport extends RequestMetricCollector
 
     /**
      * Adds the given metric to the queue, returning true if successful or false
-     * if no space available.
+     * if no space available. If the metrics are aggregated in place, the metric
+     * is added to the statistics instead, which always succeeds.
      */
     protected boolean addMetricsToQueue(MetricDatum metric) {
+        if (aggregator != null) {
+            aggregator.add(metric);
+            return true;
+        }
         return queue.offer(metric); 
     }
     /** Returns the predefined metrics transformer. */
@@ -47,9 +47,16 @@ public class ServiceMetricCollectorSupport extends ServiceMetricCollector
     static final double NANO_PER_SEC = TimeUnit.SECONDS.toNanos(1);
     protected final static Log log = LogFactory.getLog(ServiceMetricCollectorSupport.class);
     private final BlockingQueue<MetricDatum> queue;
+    /** The aggregator the metrics are added to instead of the queue; or null. */
+    private final MetricAggregator aggregator;
 
     protected ServiceMetricCollectorSupport(BlockingQueue<MetricDatum> queue) {
+        this(queue, null);
+    }
+
+    ServiceMetricCollectorSupport(BlockingQueue<MetricDatum> queue, MetricAggregator aggregator) {
         this.queue = queue;
+        this.aggregator = aggregator;
     }
 
     @Override
@@ -136,6 +143,22 @@ public class ServiceMetricCollectorSupport extends ServiceMetricCollector
         }
     }
 
+    @Override
+    public void collectCount(ServiceMetricType type, long count) {
+        final Set<MetricType> metrics = AwsSdkMetrics.getPredefinedMetrics();
+        if (metrics.contains(type)) {
+            final Dimension dim = new Dimension()
+                .withName(Dimensions.MetricType.name())
+                .withValue(type.name());
+            final MetricDatum datum = new MetricDatum()
+                .withMetricName(type.getServiceName())
+                .withDimensions(dim)
+                .withUnit(StandardUnit.Count)
+                .withValue(Double.valueOf(count));
+            safeAddMetricsToQueue(datum);
+        }
+    }
+
     private void safeAddMetricsToQueue(MetricDatum metric) {
         try {
             if (!addMetricsToQueue(metric)) {
@@ -151,9 +174,14 @@ public class ServiceMetricCollectorSupport extends ServiceMetricCollector
     }
     /**
      * Adds the given metric to the queue, returning true if successful or false
-     * if no space available.
+     * if no space available. If the metrics are aggregated in place, the metric
+     * is added to the statistics instead, which always succeeds.
      */
     protected boolean addMetricsToQueue(MetricDatum metric) {
+        if (aggregator != null) {
+            aggregator.add(metric);
+            return true;
+        }
         return queue.offer(metric); 
     }
 }
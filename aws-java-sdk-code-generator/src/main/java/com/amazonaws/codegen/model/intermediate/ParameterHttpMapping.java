@@ -16,6 +16,7 @@
 package com.amazonaws.codegen.model.intermediate;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonValue;
 
 public class ParameterHttpMapping {
@@ -112,6 +113,15 @@ public class ParameterHttpMapping {
         return this;
     }
 
+    /**
+     * @return The hash code of the unmarshall location name, which the
+     *         generated unmarshallers switch on.
+     */
+    @JsonIgnore
+    public int getUnmarshallLocationNameHashCode() {
+        return unmarshallLocationName == null ? 0 : unmarshallLocationName.hashCode();
+    }
+
     public String getMarshallLocationName() {
         return marshallLocationName;
     }
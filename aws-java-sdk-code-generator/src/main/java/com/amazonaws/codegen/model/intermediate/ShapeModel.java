@@ -19,6 +19,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 import com.amazonaws.codegen.model.intermediate.customization.ShapeCustomizationInfo;
 import com.amazonaws.util.StringUtils;
@@ -161,6 +162,26 @@ public class ShapeModel extends DocumentationModel {
         return unboundMembers;
     }
 
+    /**
+     * @return The unbound members, grouped by the hash code of their unmarshall location name
+     *         and ordered by hash code. The unmarshallers switch on the hash code of a field name,
+     *         with one case per group, so that names with the same hash code share a case.
+     */
+    @JsonIgnore
+    public List<List<MemberModel>> getUnboundMembersByLocationNameHash() {
+        Map<Integer, List<MemberModel>> groups = new TreeMap<Integer, List<MemberModel>>();
+        for (MemberModel member : getUnboundMembers()) {
+            int hash = member.getHttp().getUnmarshallLocationNameHashCode();
+            List<MemberModel> group = groups.get(hash);
+            if (group == null) {
+                group = new ArrayList<MemberModel>();
+                groups.put(hash, group);
+            }
+            group.add(member);
+        }
+        return new ArrayList<List<MemberModel>>(groups.values());
+    }
+
     public boolean isHasStreamingMember() {
         return hasStreamingMember;
     }
@@ -17,6 +17,22 @@ public ${operation.asyncFutureType} ${operation.methodName}Async(
 public ${operation.asyncFutureType} ${operation.methodName}Async(
     final ${operation.input.variableType} request,
     final ${operation.asyncHandlerType} asyncHandler) {
+<#-- Streaming requests and responses are not buffered by the non-blocking transport -->
+<#if operation.authenticated
+        && !operation.inputStreamPropertyName?has_content
+        && !(operation.inputShape?? && operation.inputShape.hasStreamingMember)
+        && !(operation.outputShape?? && operation.outputShape.hasStreamingMember)>
+
+    if (isNonBlockingHttpTransportEnabled()) {
+      <#if operation.returnType??>
+        <@ResponseHandlerCreation.content operation, metadata, "new ${operation.syncReturnType}${metadata.unmarshallerClassSuffix}()", operation.returnType.returnType />
+      <#else>
+        <@ResponseHandlerCreation.content operation, metadata, "null", "Void" />
+      </#if>
+        return invokeAsync(request, <@RequestMarshallerCreation.content operation />,
+                responseHandler, asyncHandler);
+    }
+</#if>
 
     return executorService.submit(new ${operation.asyncCallableType}() {
         @Override
@@ -67,9 +67,7 @@ public class ${shapeName}Marshaller implements Marshaller<Request<${shapeName}>,
 
           jsonGenerator.writeEndObject();
 
-          byte[] content = jsonGenerator.getBytes();
-          request.setContent(new ByteArrayInputStream(content));
-          request.addHeader("Content-Length", Integer.toString(content.length));
+          JsonRequestContent.setContent(request, jsonGenerator);
           request.addHeader("Content-Type", jsonGenerator.getContentType());
         } catch(Throwable t) {
           throw new AmazonClientException("Unable to marshall request to JSON: " + t.getMessage(), t);
@@ -95,9 +95,7 @@ public class ${shapeName}Marshaller implements Marshaller<Request<${shapeName}>,
                         jsonGenerator.writeEndObject();
                     }
 
-                    byte[] content = jsonGenerator.getBytes();
-                    request.setContent(new ByteArrayInputStream(content));
-                    request.addHeader("Content-Length", Integer.toString(content.length));
+                    JsonRequestContent.setContent(request, jsonGenerator);
                     if (!request.getHeaders().containsKey("Content-Type")) {
                         request.addHeader("Content-Type", DEFAULT_CONTENT_TYPE);
                     }
@@ -122,9 +120,7 @@ public class ${shapeName}Marshaller implements Marshaller<Request<${shapeName}>,
 
             jsonGenerator.writeEndObject();
 
-            byte[] content = jsonGenerator.getBytes();
-            request.setContent(new ByteArrayInputStream(content));
-            request.addHeader("Content-Length", Integer.toString(content.length));
+            JsonRequestContent.setContent(request, jsonGenerator);
             if (!request.getHeaders().containsKey("Content-Type")) {
                 request.addHeader("Content-Type", DEFAULT_CONTENT_TYPE);
             }
@@ -1,5 +1,6 @@
 <#macro content serviceModelRoot>
-    private final SdkJsonProtocolFactory protocolFactory = new SdkJsonProtocolFactory(new JsonClientMetadata()
+    /** Also used by the asynchronous client to marshall the requests it sends itself. */
+    final SdkJsonProtocolFactory protocolFactory = new SdkJsonProtocolFactory(new JsonClientMetadata()
         .withProtocolVersion("${serviceModelRoot.metadata.jsonVersion}")
         .withSupportsCbor(${serviceModelRoot.metadata.cborProtocol?c})
         <#list serviceModelRoot.shapes?values as shapeModel>
@@ -1,5 +1,5 @@
 <#macro content shapeVarName memberModel >
-if (context.testExpression("${memberModel.http.unmarshallLocationName}", targetDepth)) {
+if (fieldName.equals("${memberModel.http.unmarshallLocationName}")) {
     context.nextToken();
     ${shapeVarName}.set${memberModel.name}(<@MemberUnmarshallerDeclarationMacro.content memberModel />.unmarshall(context));
 }
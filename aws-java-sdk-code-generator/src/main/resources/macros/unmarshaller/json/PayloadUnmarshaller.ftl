@@ -18,10 +18,21 @@
         Headers or the status code will be serialized in the payload response (wrapped in an
         artificial container object) -->
         <#else>
+            <#-- Dispatch on the field name in one step: switch on its hash code, then
+            compare it with the few member names of that hash code -->
             if (token == FIELD_NAME || token == START_OBJECT) {
-                <#list shape.unboundMembers as payloadMember>
-                    <@MemberUnmarshallerInvocationMacro.content shape.variable.variableName payloadMember />
-                </#list>
+                String fieldName = context.getCurrentFieldName(targetDepth);
+                if (fieldName != null) {
+                    switch (fieldName.hashCode()) {
+                    <#list shape.unboundMembersByLocationNameHash as members>
+                    case ${members[0].http.unmarshallLocationNameHashCode?c}:
+                        <#list members as payloadMember>
+                            <@MemberUnmarshallerInvocationMacro.content shape.variable.variableName payloadMember />
+                        </#list>
+                        break;
+                    </#list>
+                    }
+                }
             } else if (token == END_ARRAY || token == END_OBJECT) {
                 if (context.getLastParsedParentElement() == null || context.getLastParsedParentElement().equals(currentParentElement)) {
                     if (context.getCurrentDepth() <= originalDepth) break;
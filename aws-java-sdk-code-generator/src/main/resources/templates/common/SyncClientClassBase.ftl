@@ -272,6 +272,22 @@ public class ${metadata.syncClient} extends AmazonWebServiceClient implements ${
         return doInvoke(request, responseHandler, executionContext);
     }
 
+    /**
+     * Invoke with authentication through the non-blocking HTTP transport, notifying the given
+     * async handler on an I/O thread of the transport. Credentials are required and may be
+     * overriden at the request level.
+     **/
+    <X, Y extends AmazonWebServiceRequest> java.util.concurrent.Future<X> invokeAsync(Y originalRequest,
+            Marshaller<Request<Y>, Y> marshaller,
+            HttpResponseHandler<AmazonWebServiceResponse<X>> responseHandler,
+            AsyncHandler<Y, X> asyncHandler) {
+
+        <@ClientInvokeMethodErrorResponseHandlerCreation.content metadata customizationConfig />
+
+        return executeAsync(originalRequest, marshaller, responseHandler, errorResponseHandler,
+                awsCredentialsProvider, asyncHandler);
+    }
+
     /**
      * Invoke the request using the http client. Assumes credentials (or lack thereof) have been
      * configured in the ExecutionContext beforehand.
@@ -7,11 +7,11 @@ import java.util.HashMap;
 import java.util.ArrayList;
 import java.util.Map.Entry;
 
-import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.XMLStreamConstants;
 
 import ${metadata.packageName}.model.*;
-import com.amazonaws.transform.Unmarshaller;
 import com.amazonaws.transform.MapEntry;
+import com.amazonaws.transform.StaxCursorUnmarshaller;
 import com.amazonaws.transform.StaxUnmarshallerContext;
 import com.amazonaws.transform.SimpleTypeStaxUnmarshallers.*;
 
@@ -19,7 +19,7 @@ import com.amazonaws.transform.SimpleTypeStaxUnmarshallers.*;
 /**
  * ${shape.shapeName} StAX Unmarshaller
  */
-public class ${shape.shapeName}StaxUnmarshaller implements Unmarshaller<${shape.shapeName}, StaxUnmarshallerContext> {
+public class ${shape.shapeName}StaxUnmarshaller implements StaxCursorUnmarshaller<${shape.shapeName}> {
 
 <#if shape.members?has_content>
 <#list shape.members as memberModel>
@@ -76,10 +76,10 @@ public class ${shape.shapeName}StaxUnmarshaller implements Unmarshaller<${shape.
 </#if>
 
         while (true) {
-            XMLEvent xmlEvent = context.nextEvent();
-            if (xmlEvent.isEndDocument()) return ${shape.variable.variableName};
+            int xmlEvent = context.nextEventType();
+            if (xmlEvent == XMLStreamConstants.END_DOCUMENT) return ${shape.variable.variableName};
 
-            if (xmlEvent.isAttribute() || xmlEvent.isStartElement()) {
+            if (xmlEvent == XMLStreamConstants.ATTRIBUTE || xmlEvent == XMLStreamConstants.START_ELEMENT) {
 
 <#if shape.members?has_content>
   <#if shape.customization.artificialResultWrapper?has_content>
@@ -97,7 +97,7 @@ public class ${shape.shapeName}StaxUnmarshaller implements Unmarshaller<${shape.
     </#list>
   </#if>
 </#if>
-            } else if (xmlEvent.isEndElement()) {
+            } else if (xmlEvent == XMLStreamConstants.END_ELEMENT) {
                 if (context.getCurrentDepth() < originalDepth) {
                     return ${shape.variable.variableName};
                 }
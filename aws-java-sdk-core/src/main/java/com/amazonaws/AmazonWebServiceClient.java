@@ -15,19 +15,23 @@
 package com.amazonaws;
 
 import com.amazonaws.annotation.SdkProtectedApi;
+import com.amazonaws.auth.AWSCredentialsProvider;
 import com.amazonaws.auth.RegionAwareSigner;
 import com.amazonaws.auth.Signer;
 import com.amazonaws.auth.SignerFactory;
+import com.amazonaws.handlers.AsyncHandler;
 import com.amazonaws.handlers.RequestHandler;
 import com.amazonaws.handlers.RequestHandler2;
 import com.amazonaws.http.AmazonHttpClient;
 import com.amazonaws.http.ExecutionContext;
+import com.amazonaws.http.HttpResponseHandler;
 import com.amazonaws.internal.DefaultServiceEndpointBuilder;
 import com.amazonaws.log.CommonsLogFactory;
 import com.amazonaws.metrics.AwsSdkMetrics;
 import com.amazonaws.metrics.RequestMetricCollector;
 import com.amazonaws.regions.Region;
 import com.amazonaws.regions.Regions;
+import com.amazonaws.transform.Marshaller;
 import com.amazonaws.util.*;
 import com.amazonaws.util.AWSRequestMetrics.Field;
 import com.amazonaws.util.AwsHostNameUtils;
@@ -36,10 +40,13 @@ import com.amazonaws.util.RuntimeHttpUtils;
 import com.amazonaws.util.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.apache.http.concurrent.BasicFuture;
+import org.apache.http.concurrent.FutureCallback;
 
 import java.net.URI;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
 
 import static com.amazonaws.SDKGlobalConfiguration.PROFILING_SYSTEM_PROPERTY;
 
@@ -328,6 +335,33 @@ public abstract class AmazonWebServiceClient {
         this.setRegion(Region.getRegion(region));
     }
 
+    /**
+     * Warms up the connection pool of this client by opening as many connections to its endpoint
+     * as configured through {@link ClientConfiguration#setWarmUpConnections(int)}, so that the
+     * first requests sent don't pay for the TCP and TLS handshakes. Meant to be called once the
+     * endpoint is configured and before the client serves traffic.
+     *
+     * @return The number of connections opened
+     * @see #warmUpConnections(int)
+     */
+    public int warmUpConnections() {
+        return warmUpConnections(clientConfiguration.getWarmUpConnections());
+    }
+
+    /**
+     * Warms up the connection pool of this client by opening the given number of connections to
+     * its endpoint, completing the TCP and, for HTTPS, the TLS handshakes. Connections already
+     * pooled count towards the number, which is capped by the maximum number of connections. A
+     * connection that can't be opened is logged and ends the warm-up, without failing it.
+     *
+     * @param count
+     *            The number of connections to pre-establish.
+     * @return The number of connections opened
+     */
+    public int warmUpConnections(int count) {
+        return client.warmUpConnections(endpoint, count);
+    }
+
     /**
      * Shuts down this client object, releasing any resources that might be held
      * open. This is an optional method, and callers are not expected to call
@@ -555,6 +589,129 @@ public abstract class AmazonWebServiceClient {
         }
     }
 
+    /**
+     * Returns true if the client sends the requests of its asynchronous operations through the
+     * non-blocking HTTP transport, as enabled by
+     * {@link ClientConfiguration#setUseNonBlockingHttpTransport(boolean)}.
+     */
+    protected final boolean isNonBlockingHttpTransportEnabled() {
+        return client.isNonBlockingHttpTransportEnabled();
+    }
+
+    /**
+     * Marshalls the given request and sends it through the non-blocking HTTP transport, without
+     * holding a thread while waiting for the response. Used by the asynchronous clients when
+     * {@link #isNonBlockingHttpTransportEnabled()}; the given async handler, if any, is invoked
+     * on an I/O thread of the transport, or on the calling thread if the request could not be
+     * sent.
+     *
+     * @param originalRequest      The request passed in from the user
+     * @param marshaller           The marshaller of the request
+     * @param responseHandler      The handler of a successful response, which must not need the
+     *                             connection left open
+     * @param errorResponseHandler The handler of an unsuccessful response
+     * @param credentialsProvider  The credentials provider of the client, overridden by the one of
+     *                             the request if any
+     * @param asyncHandler         The handler to notify of the result of the request; or null
+     * @return A future for the result of the request, which aborts the request when cancelled.
+     */
+    protected final <X, Y extends AmazonWebServiceRequest> Future<X> executeAsync(
+            final Y originalRequest,
+            Marshaller<Request<Y>, Y> marshaller,
+            HttpResponseHandler<AmazonWebServiceResponse<X>> responseHandler,
+            HttpResponseHandler<AmazonServiceException> errorResponseHandler,
+            AWSCredentialsProvider credentialsProvider,
+            final AsyncHandler<Y, X> asyncHandler) {
+        ExecutionContext executionContext = createExecutionContext(originalRequest);
+        final AWSRequestMetrics awsRequestMetrics = executionContext.getAwsRequestMetrics();
+        awsRequestMetrics.startEvent(Field.ClientExecuteTime);
+        final ResultFuture<X> resultFuture = new ResultFuture<X>();
+        Request<Y> request = null;
+
+        try {
+            awsRequestMetrics.startEvent(Field.RequestMarshallTime);
+            try {
+                request = marshaller.marshall(beforeMarshalling(originalRequest));
+                // Binds the request metrics to the current request.
+                request.setAWSRequestMetrics(awsRequestMetrics);
+            } finally {
+                awsRequestMetrics.endEvent(Field.RequestMarshallTime);
+            }
+            executionContext.setCredentialsProvider(CredentialUtils.getCredentialsProvider(
+                    request.getOriginalRequest(), credentialsProvider));
+            request.setEndpoint(endpoint);
+            request.setTimeOffset(timeOffset);
+
+            final Request<Y> sentRequest = request;
+            resultFuture.responseFuture = client.executeAsync(request, responseHandler, errorResponseHandler,
+                    executionContext, new FutureCallback<Response<X>>() {
+                        @Override
+                        public void completed(Response<X> response) {
+                            endClientExecution(awsRequestMetrics, sentRequest, response);
+                            X result = response.getAwsResponse();
+                            try {
+                                if (asyncHandler != null) {
+                                    asyncHandler.onSuccess(originalRequest, result);
+                                }
+                            } catch (RuntimeException e) {
+                                failed(e);
+                                return;
+                            }
+                            resultFuture.completed(result);
+                        }
+
+                        @Override
+                        public void failed(Exception e) {
+                            endClientExecution(awsRequestMetrics, sentRequest, null);
+                            notifyError(asyncHandler, e);
+                            resultFuture.failed(e);
+                        }
+
+                        @Override
+                        public void cancelled() {
+                            endClientExecution(awsRequestMetrics, sentRequest, null);
+                        }
+                    });
+        } catch (RuntimeException e) {
+            endClientExecution(awsRequestMetrics, request, null);
+            notifyError(asyncHandler, e);
+            resultFuture.failed(e);
+        } catch (Exception e) {
+            AmazonClientException ace = new AmazonClientException(
+                    "Unable to marshall request: " + e.getMessage(), e);
+            endClientExecution(awsRequestMetrics, request, null);
+            notifyError(asyncHandler, ace);
+            resultFuture.failed(ace);
+        }
+        return resultFuture;
+    }
+
+    private static void notifyError(AsyncHandler<?, ?> asyncHandler, Exception e) {
+        if (asyncHandler != null) {
+            asyncHandler.onError(e);
+        }
+    }
+
+    /**
+     * Future of the result of a request sent through the non-blocking HTTP transport.
+     */
+    private static final class ResultFuture<X> extends BasicFuture<X> {
+        private volatile Future<?> responseFuture;
+
+        ResultFuture() {
+            super(null);
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            Future<?> toCancel = responseFuture;
+            if (toCancel != null) {
+                toCancel.cancel(mayInterruptIfRunning);
+            }
+            return super.cancel(mayInterruptIfRunning);
+        }
+    }
+
     /**
      * @deprecated by {@link #getServiceName()}.
      */
@@ -0,0 +1,268 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.amazonaws.annotation.SdkTestInternalApi;
+import com.amazonaws.annotation.ThreadSafe;
+
+/**
+ * A dns resolver that caches the addresses of each host, and spreads the connections to a host
+ * over all its addresses.
+ * <p>
+ * The addresses of a host are resolved through a delegate resolver, the
+ * {@link SystemDefaultDnsResolver} by default, and cached for a fixed time to live. Once three
+ * quarters of the time to live have elapsed, the next lookup of the host triggers a refresh on a
+ * background thread, so that the hosts in use are refreshed before their addresses expire and no
+ * request waits for a lookup; expired addresses are never returned. Note the JVM caches lookups
+ * too, for the time set by the <code>networkaddress.cache.ttl</code> security property, which
+ * shouldn't exceed the time to live given here.
+ * <p>
+ * Each lookup returns all the addresses of the host, starting from the next one in turn, so that
+ * the connections of the pool are opened to each address in turn rather than all to the first
+ * one. An address a connection couldn't be opened to is reported through
+ * {@link #markUnhealthy(InetAddress)}, which the SDK does when this resolver is configured through
+ * {@link ClientConfiguration#setDnsResolver(DnsResolver)}, and is left out of the lookups until the
+ * host is next refreshed.
+ */
+@ThreadSafe
+public class CachingDnsResolver implements DnsResolver {
+
+    private static final Log LOG = LogFactory.getLog(CachingDnsResolver.class);
+
+    /**
+     * The default time (in milliseconds) the addresses of a host are cached for.
+     */
+    public static final long DEFAULT_TTL_MILLIS = 60 * 1000;
+
+    /** Shared by all the resolvers not given an executor; its thread stops when idle. */
+    private static volatile Executor defaultRefreshExecutor;
+
+    private final DnsResolver delegate;
+    private final long ttlNanos;
+    private final Executor refreshExecutor;
+    private final ConcurrentMap<String, Entry> cache = new ConcurrentHashMap<String, Entry>();
+
+    public CachingDnsResolver() {
+        this(new SystemDefaultDnsResolver(), DEFAULT_TTL_MILLIS);
+    }
+
+    /**
+     * @param delegate
+     *            The resolver the addresses are looked up through
+     * @param ttlMillis
+     *            The time (in milliseconds) the addresses of a host are cached for
+     */
+    public CachingDnsResolver(DnsResolver delegate, long ttlMillis) {
+        this(delegate, ttlMillis, null);
+    }
+
+    /**
+     * @param delegate
+     *            The resolver the addresses are looked up through
+     * @param ttlMillis
+     *            The time (in milliseconds) the addresses of a host are cached for
+     * @param refreshExecutor
+     *            The executor the addresses are refreshed on; or null to share a single daemon
+     *            thread with the other resolvers
+     */
+    public CachingDnsResolver(DnsResolver delegate, long ttlMillis, Executor refreshExecutor) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("delegate must not be null");
+        }
+        if (ttlMillis <= 0) {
+            throw new IllegalArgumentException("ttlMillis must be positive: " + ttlMillis);
+        }
+        this.delegate = delegate;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    @Override
+    public InetAddress[] resolve(String host) throws UnknownHostException {
+        long now = nanoTime();
+        Entry entry = cache.get(host);
+        if (entry == null || now - entry.expiresAt >= 0) {
+            entry = lookUp(host);
+        } else if (now - entry.refreshAt >= 0) {
+            refreshInBackground(host, entry);
+        }
+        return entry.nextAddresses();
+    }
+
+    /**
+     * Leaves the given address out of the lookups of the hosts it belongs to, until they are next
+     * refreshed. Every address of a host being unhealthy, all of them are returned.
+     */
+    public void markUnhealthy(InetAddress address) {
+        for (Entry entry : cache.values()) {
+            if (entry.markUnhealthy(address) && LOG.isDebugEnabled()) {
+                LOG.debug("Marked " + address + " as unhealthy");
+            }
+        }
+    }
+
+    /**
+     * Clears the cached addresses of all the hosts.
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    private Entry lookUp(String host) throws UnknownHostException {
+        InetAddress[] addresses = delegate.resolve(host);
+        if (addresses == null || addresses.length == 0) {
+            throw new UnknownHostException(host);
+        }
+        Entry entry = new Entry(addresses, nanoTime(), ttlNanos);
+        cache.put(host, entry);
+        return entry;
+    }
+
+    private void refreshInBackground(final String host, final Entry entry) {
+        if (!entry.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            getRefreshExecutor().execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        lookUp(host);
+                    } catch (Exception e) {
+                        // The cached addresses are kept until they expire; a failed refresh is
+                        // retried on the next lookup
+                        LOG.debug("Unable to refresh the addresses of " + host, e);
+                        entry.refreshing.set(false);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            entry.refreshing.set(false);
+        }
+    }
+
+    private Executor getRefreshExecutor() {
+        if (refreshExecutor != null) {
+            return refreshExecutor;
+        }
+        Executor executor = defaultRefreshExecutor;
+        if (executor == null) {
+            synchronized (CachingDnsResolver.class) {
+                executor = defaultRefreshExecutor;
+                if (executor == null) {
+                    executor = defaultRefreshExecutor = createDefaultRefreshExecutor();
+                }
+            }
+        }
+        return executor;
+    }
+
+    private static Executor createDefaultRefreshExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+                    @Override
+                    public Thread newThread(Runnable r) {
+                        Thread thread = new Thread(r, "java-sdk-dns-refresh");
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Returns the current time, in nanoseconds, the cached addresses are timed against.
+     */
+    @SdkTestInternalApi
+    long nanoTime() {
+        return System.nanoTime();
+    }
+
+    /**
+     * The cached addresses of a host.
+     */
+    private static final class Entry {
+        private final InetAddress[] addresses;
+        private final long refreshAt;
+        private final long expiresAt;
+        private final AtomicInteger next = new AtomicInteger();
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+        private final Set<InetAddress> unhealthy =
+                Collections.newSetFromMap(new ConcurrentHashMap<InetAddress, Boolean>());
+
+        Entry(InetAddress[] addresses, long resolvedAt, long ttlNanos) {
+            this.addresses = addresses.clone();
+            this.refreshAt = resolvedAt + ttlNanos / 4 * 3;
+            this.expiresAt = resolvedAt + ttlNanos;
+        }
+
+        boolean markUnhealthy(InetAddress address) {
+            for (InetAddress a : addresses) {
+                if (a.equals(address)) {
+                    return unhealthy.add(address);
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Returns the healthy addresses, starting from the next one in turn.
+         */
+        InetAddress[] nextAddresses() {
+            int n = addresses.length;
+            int start = (next.getAndIncrement() & Integer.MAX_VALUE) % n;
+            if (unhealthy.isEmpty()) {
+                InetAddress[] rotated = new InetAddress[n];
+                for (int i = 0; i < n; i++) {
+                    rotated[i] = addresses[(start + i) % n];
+                }
+                return rotated;
+            }
+            List<InetAddress> healthy = new ArrayList<InetAddress>(n);
+            for (int i = 0; i < n; i++) {
+                InetAddress address = addresses[(start + i) % n];
+                if (!unhealthy.contains(address)) {
+                    healthy.add(address);
+                }
+            }
+            if (healthy.isEmpty()) {
+                unhealthy.clear();
+                return nextAddresses();
+            }
+            return healthy.toArray(new InetAddress[healthy.size()]);
+        }
+    }
+}
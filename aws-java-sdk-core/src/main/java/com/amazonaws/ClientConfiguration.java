@@ -105,6 +105,28 @@ public class ClientConfiguration {
      */
     public static final int DEFAULT_RESPONSE_METADATA_CACHE_SIZE = 50;
 
+    /**
+     * The default on whether to cache response metadata.
+     */
+    public static final boolean DEFAULT_CACHE_RESPONSE_METADATA = true;
+
+    /**
+     * The default on whether to use the non-blocking HTTP transport for asynchronous requests.
+     */
+    public static final boolean DEFAULT_USE_NON_BLOCKING_HTTP_TRANSPORT = false;
+
+    /**
+     * The default number of I/O threads of the non-blocking HTTP transport; a non-positive value
+     * means one thread per available processor.
+     */
+    public static final int DEFAULT_NON_BLOCKING_IO_THREAD_COUNT = -1;
+
+    /**
+     * The default number of connections to pre-establish when a client's connection pool is warmed
+     * up.
+     */
+    public static final int DEFAULT_WARM_UP_CONNECTIONS = 0;
+
     /** The HTTP user agent header passed with all HTTP requests. */
     private String userAgent = DEFAULT_USER_AGENT;
 
@@ -242,6 +264,30 @@ public class ClientConfiguration {
      */
     private int responseMetadataCacheSize = DEFAULT_RESPONSE_METADATA_CACHE_SIZE;
 
+    /**
+     * Whether to cache response metadata. Disabling the cache avoids the work
+     * done on every response for applications that never look up metadata
+     * through the clients' <code>getCachedResponseMetadata</code> method.
+     */
+    private boolean cacheResponseMetadata = DEFAULT_CACHE_RESPONSE_METADATA;
+
+    /**
+     * Whether asynchronous requests are sent through a non-blocking HTTP transport driven by a
+     * small number of I/O threads, rather than holding a thread for the whole request.
+     */
+    private boolean useNonBlockingHttpTransport = DEFAULT_USE_NON_BLOCKING_HTTP_TRANSPORT;
+
+    /**
+     * The number of I/O threads of the non-blocking HTTP transport.
+     */
+    private int nonBlockingIoThreadCount = DEFAULT_NON_BLOCKING_IO_THREAD_COUNT;
+
+    /**
+     * The number of connections to the endpoint to open, and handshake with, when the connection
+     * pool of a client is warmed up through {@link AmazonWebServiceClient#warmUpConnections()}.
+     */
+    private int warmUpConnections = DEFAULT_WARM_UP_CONNECTIONS;
+
     /**
      * The DNS Resolver to resolve IP addresses of Amazon Web Services.
      */
@@ -299,6 +345,10 @@ public class ClientConfiguration {
         this.socketSendBufferSizeHint = other.socketSendBufferSizeHint;
         this.signerOverride = other.signerOverride;
         this.responseMetadataCacheSize = other.responseMetadataCacheSize;
+        this.cacheResponseMetadata = other.cacheResponseMetadata;
+        this.useNonBlockingHttpTransport = other.useNonBlockingHttpTransport;
+        this.nonBlockingIoThreadCount = other.nonBlockingIoThreadCount;
+        this.warmUpConnections = other.warmUpConnections;
         this.dnsResolver = other.dnsResolver;
         this.useExpectContinue = other.useExpectContinue;
         this.apacheHttpClientConfig = new ApacheHttpClientConfig(other.apacheHttpClientConfig);
@@ -1592,6 +1642,10 @@ public class ClientConfiguration {
 
     /**
      * Sets the DNS Resolver that should be used to for resolving AWS IP addresses.
+     * <p>
+     * A {@link CachingDnsResolver} spreads the connections of the pool over all the addresses of
+     * a host, rather than opening them all to the first one, and leaves out the addresses that
+     * can't be connected to.
      */
     public void setDnsResolver(final DnsResolver resolver) {
         if (resolver == null) {
@@ -1641,6 +1695,153 @@ public class ClientConfiguration {
         return this;
     }
 
+    /**
+     * Returns whether response metadata is cached for diagnostic lookups.
+     */
+    public boolean getCacheResponseMetadata() {
+        return cacheResponseMetadata;
+    }
+
+    /**
+     * Sets whether response metadata should be cached for diagnostic lookups
+     * through the clients' <code>getCachedResponseMetadata</code> method. By
+     * default, it is set to {@value #DEFAULT_CACHE_RESPONSE_METADATA}.
+     *
+     * @param shouldCache
+     *            true to cache response metadata, false to disable the cache.
+     */
+    public void setCacheResponseMetadata(boolean shouldCache) {
+        this.cacheResponseMetadata = shouldCache;
+    }
+
+    /**
+     * Sets whether response metadata should be cached for diagnostic lookups
+     * through the clients' <code>getCachedResponseMetadata</code> method. By
+     * default, it is set to {@value #DEFAULT_CACHE_RESPONSE_METADATA}.
+     *
+     * @param shouldCache
+     *            true to cache response metadata, false to disable the cache.
+     * @return The updated ClientConfiguration object.
+     */
+    public ClientConfiguration withCacheResponseMetadata(boolean shouldCache) {
+        setCacheResponseMetadata(shouldCache);
+        return this;
+    }
+
+    /**
+     * Returns whether asynchronous requests are sent through the non-blocking HTTP transport.
+     */
+    public boolean useNonBlockingHttpTransport() {
+        return useNonBlockingHttpTransport;
+    }
+
+    /**
+     * Sets whether asynchronous requests should be sent through a non-blocking HTTP transport. When
+     * enabled, requests executed asynchronously are multiplexed over the connection pool by a
+     * small number of I/O threads (see {@link #setNonBlockingIoThreadCount(int)}) instead of
+     * occupying a thread each until the response is received, so that a large number of requests
+     * can be in flight at the same time. Responses are buffered in memory, so operations with
+     * streaming requests or responses, and unauthenticated operations, are always executed on the
+     * executor of the asynchronous client through the blocking transport. By default, it is set to
+     * {@value #DEFAULT_USE_NON_BLOCKING_HTTP_TRANSPORT}.
+     * <p>
+     * When enabled, the {@link com.amazonaws.handlers.AsyncHandler}s of asynchronous requests are
+     * invoked on the I/O threads of the transport, and must not block.
+     * <p>
+     * The setting is read when the client is created. The non-blocking transport requires the
+     * Apache HttpAsyncClient library on the classpath.
+     *
+     * @param use
+     *            true to use the non-blocking HTTP transport for asynchronous requests.
+     */
+    public void setUseNonBlockingHttpTransport(boolean use) {
+        this.useNonBlockingHttpTransport = use;
+    }
+
+    /**
+     * Sets whether asynchronous requests should be sent through a non-blocking HTTP transport. By
+     * default, it is set to {@value #DEFAULT_USE_NON_BLOCKING_HTTP_TRANSPORT}.
+     *
+     * @param use
+     *            true to use the non-blocking HTTP transport for asynchronous requests.
+     * @return The updated ClientConfiguration object.
+     * @see #setUseNonBlockingHttpTransport(boolean)
+     */
+    public ClientConfiguration withNonBlockingHttpTransport(boolean use) {
+        setUseNonBlockingHttpTransport(use);
+        return this;
+    }
+
+    /**
+     * Returns the number of I/O threads used by the non-blocking HTTP transport; a non-positive
+     * value means one thread per available processor.
+     */
+    public int getNonBlockingIoThreadCount() {
+        return nonBlockingIoThreadCount;
+    }
+
+    /**
+     * Sets the number of I/O threads used by the non-blocking HTTP transport. A non-positive value
+     * means one thread per available processor, which is the default.
+     *
+     * @param nonBlockingIoThreadCount
+     *            the number of I/O threads.
+     */
+    public void setNonBlockingIoThreadCount(int nonBlockingIoThreadCount) {
+        this.nonBlockingIoThreadCount = nonBlockingIoThreadCount;
+    }
+
+    /**
+     * Sets the number of I/O threads used by the non-blocking HTTP transport, and returns the
+     * updated ClientConfiguration object.
+     *
+     * @param nonBlockingIoThreadCount
+     *            the number of I/O threads.
+     * @return The updated ClientConfiguration object.
+     */
+    public ClientConfiguration withNonBlockingIoThreadCount(int nonBlockingIoThreadCount) {
+        setNonBlockingIoThreadCount(nonBlockingIoThreadCount);
+        return this;
+    }
+
+    /**
+     * Returns the number of connections to the endpoint opened, and handshaken with, when the
+     * connection pool of a client is warmed up. By default, it is set to
+     * {@value #DEFAULT_WARM_UP_CONNECTIONS}.
+     *
+     * @see AmazonWebServiceClient#warmUpConnections()
+     */
+    public int getWarmUpConnections() {
+        return warmUpConnections;
+    }
+
+    /**
+     * Sets the number of connections to the endpoint to open, and handshake with, when the
+     * connection pool of a client is warmed up through
+     * {@link AmazonWebServiceClient#warmUpConnections()}, so that the first requests sent don't pay
+     * for the TCP and TLS handshakes. The number is capped by the maximum number of connections.
+     *
+     * @param warmUpConnections
+     *            the number of connections to pre-establish.
+     */
+    public void setWarmUpConnections(int warmUpConnections) {
+        this.warmUpConnections = warmUpConnections;
+    }
+
+    /**
+     * Sets the number of connections to the endpoint to open, and handshake with, when the
+     * connection pool of a client is warmed up, and returns the updated ClientConfiguration object.
+     *
+     * @param warmUpConnections
+     *            the number of connections to pre-establish.
+     * @return The updated ClientConfiguration object.
+     * @see #setWarmUpConnections(int)
+     */
+    public ClientConfiguration withWarmUpConnections(int warmUpConnections) {
+        setWarmUpConnections(warmUpConnections);
+        return this;
+    }
+
     /**
      * Returns a non-null object that can be used to specify Apache HTTP client specific custom
      * configurations.
@@ -147,6 +147,51 @@ public class SDKGlobalConfiguration {
     public static final String ENABLE_IN_REGION_OPTIMIZED_MODE =
             "com.amazonaws.sdk.enableInRegionOptimizedMode";
 
+    /**
+     * System property to deliver the callbacks of progress listeners that are
+     * not safe to call synchronously on the given number of threads, instead
+     * of the single (legacy) callback thread. Byte transfer events are then
+     * aggregated per listener, and the number of queued events is bounded.
+     * <p>
+     * If not set, the callbacks are delivered on the single (legacy) thread.
+     *
+     * @see com.amazonaws.event.SDKProgressPublisher
+     */
+    public static final String PROGRESS_DELIVERY_THREADS_SYSTEM_PROPERTY =
+            "com.amazonaws.sdk.progressDeliveryThreads";
+
+    /**
+     * System property for the maximum time, in milliseconds, byte transfer
+     * events are held back to be aggregated when
+     * {@link #PROGRESS_DELIVERY_THREADS_SYSTEM_PROPERTY} is set.
+     * <p>
+     * If not set, the default value of 100 milliseconds will be used.
+     */
+    public static final String PROGRESS_DELIVERY_INTERVAL_SYSTEM_PROPERTY =
+            "com.amazonaws.sdk.progressDeliveryIntervalMillis";
+
+    /**
+     * System property for the maximum number of progress events queued per
+     * delivery thread when {@link #PROGRESS_DELIVERY_THREADS_SYSTEM_PROPERTY}
+     * is set. Publishers block while the queue is full.
+     * <p>
+     * If not set, the default value of 1000 will be used.
+     */
+    public static final String PROGRESS_DELIVERY_QUEUE_SIZE_SYSTEM_PROPERTY =
+            "com.amazonaws.sdk.progressDeliveryQueueSize";
+
+    /**
+     * System property to generate the JSON content of requests into a buffer
+     * kept per thread, instead of a new buffer for each request. The content
+     * is then sent from that buffer without being copied. The value is the
+     * maximum size in bytes of the buffer kept between requests; a buffer
+     * grown beyond it for a larger request is dropped afterwards.
+     * <p>
+     * If not set, each request is generated into a new buffer.
+     */
+    public static final String JSON_MARSHALLING_BUFFER_SIZE_SYSTEM_PROPERTY =
+            "com.amazonaws.sdk.jsonMarshallingBufferSize";
+
     /**
      * @deprecated with {@link AmazonWebServiceRequest#getRequestClientOptions()}
      * and {@link RequestClientOptions#setReadLimit(int)}.
@@ -0,0 +1,314 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.event;
+
+import static com.amazonaws.event.ProgressEventType.REQUEST_BYTE_TRANSFER_EVENT;
+import static com.amazonaws.event.ProgressEventType.RESPONSE_BYTE_TRANSFER_EVENT;
+
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.LogFactory;
+
+import com.amazonaws.annotation.ThreadSafe;
+
+/**
+ * Delivers progress events to listeners on a bounded pool of threads.
+ * <p>
+ * Each listener is always served by the same delivery thread, so that the
+ * events of a listener are delivered sequentially and in order. Byte transfer
+ * events are not queued but added up per listener, and delivered as one
+ * aggregated event per type at most once per interval, or right before the
+ * next other event of the same listener. Each delivery thread has a bounded
+ * queue: publishers block when the queue of a thread is full rather than
+ * letting it grow without bound.
+ */
+@ThreadSafe
+final class CoalescingProgressDispatcher {
+    private final Lane[] lanes;
+    private final long intervalMillis;
+    private final ScheduledThreadPoolExecutor flusher;
+
+    /** Stops a delivery thread once the callbacks queued before it are delivered. */
+    private static final Delivery SHUTDOWN = new Delivery(null, false);
+
+    /**
+     * @param threads
+     *            the number of delivery threads
+     * @param intervalMillis
+     *            the maximum time byte transfer events are held back to be
+     *            aggregated
+     * @param queueCapacity
+     *            the maximum number of events queued per delivery thread; at
+     *            least 2, as an event may be preceded by the aggregated byte
+     *            counts of its listener
+     */
+    CoalescingProgressDispatcher(int threads, long intervalMillis, int queueCapacity) {
+        if (threads < 1 || intervalMillis < 0 || queueCapacity < 2) {
+            throw new IllegalArgumentException("threads must be positive, queueCapacity "
+                    + "must be at least 2, and intervalMillis must not be negative");
+        }
+        this.intervalMillis = intervalMillis;
+        this.lanes = new Lane[threads];
+        for (int i = 0; i < threads; i++) {
+            lanes[i] = new Lane(i, queueCapacity);
+        }
+        this.flusher = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r);
+                t.setName("java-sdk-progress-listener-flush-thread");
+                t.setDaemon(true);
+                return t;
+            }
+        });
+    }
+
+    /**
+     * Delivers the event to the listener.
+     *
+     * @return the future of the queued delivery; or null if the event was
+     *         aggregated with the other byte transfer events of the listener.
+     */
+    Future<?> deliver(final ProgressListener listener, final ProgressEvent event) {
+        Lane lane = laneOf(listener);
+        ProgressEventType type = event.getEventType();
+        if (type == REQUEST_BYTE_TRANSFER_EVENT || type == RESPONSE_BYTE_TRANSFER_EVENT) {
+            lane.addBytes(listener, type, event.getBytes());
+            return null;
+        }
+        return lane.submit(listener, new Runnable() {
+            public void run() {
+                listener.progressChanged(event);
+            }
+        });
+    }
+
+    /**
+     * Runs the given callback of the listener on the delivery thread of the
+     * listener, after all the events previously published to the listener.
+     */
+    Future<?> submit(ProgressListener listener, Runnable callback) {
+        return laneOf(listener).submit(listener, callback);
+    }
+
+    void shutdown(boolean now) {
+        if (now) {
+            flusher.shutdownNow();
+        } else {
+            flusher.shutdown();
+        }
+        for (Lane lane : lanes) {
+            lane.shutdown(now);
+        }
+    }
+
+    private Lane laneOf(ProgressListener listener) {
+        int hash = System.identityHashCode(listener);
+        // spread the bits, as identity hash codes are often multiples of 8
+        hash ^= (hash >>> 16);
+        return lanes[(hash & Integer.MAX_VALUE) % lanes.length];
+    }
+
+    private static boolean isDeliveryThread() {
+        return Thread.currentThread() instanceof DeliveryThread;
+    }
+
+    /**
+     * Byte counts of a listener that have yet to be delivered.
+     */
+    private static final class PendingBytes {
+        long requestBytes;
+        long responseBytes;
+    }
+
+    private static final class DeliveryThread extends Thread {
+        DeliveryThread(Runnable target, String name) {
+            super(target, name);
+            setDaemon(true);
+        }
+    }
+
+    /**
+     * A callback queued for delivery, which may hold a permit of the queue
+     * capacity of its lane.
+     */
+    private static final class Delivery {
+        final Runnable callback;
+        final boolean holdsPermit;
+
+        Delivery(Runnable callback, boolean holdsPermit) {
+            this.callback = callback;
+            this.holdsPermit = holdsPermit;
+        }
+    }
+
+    /**
+     * A delivery thread, with its queue of callbacks and the byte counts
+     * pending for the listeners it serves.
+     */
+    private final class Lane implements Runnable {
+        private final BlockingQueue<Delivery> queue = new LinkedBlockingQueue<Delivery>();
+        /**
+         * Bounds the number of queued callbacks. Publishers acquire permits
+         * before taking the lock of the lane, so that a listener publishing
+         * from its delivery thread never waits for a blocked publisher.
+         */
+        private final Semaphore capacity;
+        /** Guarded by this lane. */
+        private final Map<ProgressListener, PendingBytes> pendingBytes =
+                new IdentityHashMap<ProgressListener, PendingBytes>();
+        /** Guarded by this lane. */
+        private boolean flushScheduled;
+        private final Thread thread;
+        private volatile boolean shutdown;
+
+        Lane(int index, int queueCapacity) {
+            this.capacity = new Semaphore(queueCapacity);
+            this.thread = new DeliveryThread(this,
+                    "java-sdk-progress-listener-callback-thread-" + index);
+            this.thread.start();
+        }
+
+        public void run() {
+            while (true) {
+                Delivery delivery;
+                try {
+                    delivery = queue.take();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (delivery == SHUTDOWN) {
+                    return;
+                }
+                if (delivery.holdsPermit) {
+                    capacity.release();
+                }
+                try {
+                    delivery.callback.run();
+                } catch (Throwable t) {
+                    LogFactory.getLog(SDKProgressPublisher.class)
+                        .debug("Failure from the event listener", t);
+                }
+            }
+        }
+
+        synchronized void addBytes(ProgressListener listener, ProgressEventType type, long bytes) {
+            PendingBytes pending = pendingBytes.get(listener);
+            if (pending == null) {
+                pending = new PendingBytes();
+                pendingBytes.put(listener, pending);
+            }
+            if (type == REQUEST_BYTE_TRANSFER_EVENT) {
+                pending.requestBytes += bytes;
+            } else {
+                pending.responseBytes += bytes;
+            }
+            scheduleFlush();
+        }
+
+        /**
+         * Queues the given callback after the pending byte counts of the
+         * listener, blocking while the queue is full.
+         */
+        Future<?> submit(ProgressListener listener, Runnable callback) {
+            if (shutdown) {
+                throw new RejectedExecutionException("The progress event dispatcher has been shut down");
+            }
+            FutureTask<?> task = new FutureTask<Object>(callback, null);
+            // A listener publishing from a delivery thread must not wait for
+            // the queues to drain.
+            boolean bounded = !isDeliveryThread();
+            if (bounded) {
+                // one permit for the callback, one for the pending byte counts
+                capacity.acquireUninterruptibly(2);
+            }
+            synchronized (this) {
+                PendingBytes pending = pendingBytes.remove(listener);
+                if (pending != null) {
+                    queue.add(new Delivery(aggregatedEvents(listener, pending), bounded));
+                } else if (bounded) {
+                    capacity.release();
+                }
+                queue.add(new Delivery(task, bounded));
+            }
+            return task;
+        }
+
+        /**
+         * Queues the aggregated byte counts of all the listeners of this lane.
+         * Byte counts that do not fit in the queue are kept for the next flush,
+         * so that they keep being aggregated while the listeners catch up.
+         */
+        synchronized void flush() {
+            flushScheduled = false;
+            Iterator<Map.Entry<ProgressListener, PendingBytes>> it = pendingBytes.entrySet().iterator();
+            while (it.hasNext() && capacity.tryAcquire()) {
+                Map.Entry<ProgressListener, PendingBytes> entry = it.next();
+                queue.add(new Delivery(aggregatedEvents(entry.getKey(), entry.getValue()), true));
+                it.remove();
+            }
+            if (!pendingBytes.isEmpty()) {
+                scheduleFlush();
+            }
+        }
+
+        /** Must be called while holding the lock of this lane. */
+        private void scheduleFlush() {
+            if (!flushScheduled && !shutdown) {
+                flushScheduled = true;
+                flusher.schedule(new Runnable() {
+                    public void run() {
+                        flush();
+                    }
+                }, intervalMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        void shutdown(boolean now) {
+            shutdown = true;
+            if (now) {
+                queue.clear();
+                thread.interrupt();
+            } else {
+                queue.add(SHUTDOWN);
+            }
+        }
+    }
+
+    private static Runnable aggregatedEvents(final ProgressListener listener, final PendingBytes pending) {
+        final long requestBytes = pending.requestBytes;
+        final long responseBytes = pending.responseBytes;
+        return new Runnable() {
+            public void run() {
+                if (requestBytes > 0) {
+                    listener.progressChanged(new ProgressEvent(REQUEST_BYTE_TRANSFER_EVENT, requestBytes));
+                }
+                if (responseBytes > 0) {
+                    listener.progressChanged(new ProgressEvent(RESPONSE_BYTE_TRANSFER_EVENT, responseBytes));
+                }
+            }
+        };
+    }
+}
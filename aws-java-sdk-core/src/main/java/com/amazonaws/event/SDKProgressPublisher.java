@@ -29,10 +29,22 @@ import java.util.concurrent.ThreadFactory;
 
 import org.apache.commons.logging.LogFactory;
 
+import com.amazonaws.SDKGlobalConfiguration;
+
 /**
  * This class is responsible for executing the callback method of
  * ProgressListener; listener callbacks are executed sequentially in a separate
  * single thread.
+ * <p>
+ * If the system property
+ * {@link SDKGlobalConfiguration#PROGRESS_DELIVERY_THREADS_SYSTEM_PROPERTY} is
+ * set, the callbacks are instead executed on the given number of threads, each
+ * listener being always called back on the same thread. Byte transfer events
+ * are then aggregated per listener, and delivered at most once per interval
+ * (see {@link SDKGlobalConfiguration#PROGRESS_DELIVERY_INTERVAL_SYSTEM_PROPERTY})
+ * or right before the next other event of the listener; and publishers block
+ * while too many events are queued (see
+ * {@link SDKGlobalConfiguration#PROGRESS_DELIVERY_QUEUE_SIZE_SYSTEM_PROPERTY}).
  */
 public class SDKProgressPublisher {
 
@@ -72,6 +84,11 @@ public class SDKProgressPublisher {
         // This is unfortunate as the listener should never block in the first
         // place, but such task submission is necessary to remain backward
         // compatible.
+        CoalescingProgressDispatcher dispatcher = DispatcherHolder.dispatcher;
+        if (dispatcher != null) {
+            Future<?> f = dispatcher.deliver(listener, event);
+            return f == null ? null : (latestFutureTask = f);
+        }
         return latestFutureTask = LazyHolder.executor.submit(new Runnable() {
             @Override
             public void run() {
@@ -220,6 +237,19 @@ public class SDKProgressPublisher {
         return LazyHolder.executor;
     }
 
+    /**
+     * Submits a callback of the given listener to be executed after the
+     * progress events previously published to the same listener.
+     */
+    protected static Future<?> submitListenerCallback(
+            final ProgressListener listener, final Runnable callback) {
+        CoalescingProgressDispatcher dispatcher = DispatcherHolder.dispatcher;
+        if (dispatcher != null) {
+            return dispatcher.submit(listener, callback);
+        }
+        return LazyHolder.executor.submit(callback);
+    }
+
     protected static Future<?> setLatestFutureTask(Future<?> f) {
         return latestFutureTask = f;
     }
@@ -261,7 +291,58 @@ public class SDKProgressPublisher {
     }
 
     /**
-     * Can be used to shutdown the (legacy) executor.
+     * Used to create the dispatcher only if configured, and when first needed.
+     */
+    private static final class DispatcherHolder {
+        private static final int DEFAULT_INTERVAL_MILLIS = 100;
+        private static final int DEFAULT_QUEUE_SIZE = 1000;
+
+        /**
+         * The dispatcher for all ProgressListener callbacks; or null if the
+         * callbacks are executed by the (legacy) executor.
+         */
+        private static final CoalescingProgressDispatcher dispatcher = createDispatcher();
+
+        private static CoalescingProgressDispatcher createDispatcher() {
+            int threads = intProperty(
+                    SDKGlobalConfiguration.PROGRESS_DELIVERY_THREADS_SYSTEM_PROPERTY, 0);
+            if (threads <= 0) {
+                return null;
+            }
+            int interval = intProperty(
+                    SDKGlobalConfiguration.PROGRESS_DELIVERY_INTERVAL_SYSTEM_PROPERTY,
+                    DEFAULT_INTERVAL_MILLIS);
+            int queueSize = intProperty(
+                    SDKGlobalConfiguration.PROGRESS_DELIVERY_QUEUE_SIZE_SYSTEM_PROPERTY,
+                    DEFAULT_QUEUE_SIZE);
+            try {
+                return new CoalescingProgressDispatcher(threads, interval, queueSize);
+            } catch (IllegalArgumentException e) {
+                LogFactory.getLog(SDKProgressPublisher.class).warn(
+                        "Invalid progress delivery configuration; "
+                        + "falling back to the single callback thread", e);
+                return null;
+            }
+        }
+
+        private static int intProperty(String name, int defaultValue) {
+            String value = System.getProperty(name);
+            if (value == null) {
+                return defaultValue;
+            }
+            try {
+                return Integer.parseInt(value.trim());
+            } catch (NumberFormatException e) {
+                LogFactory.getLog(SDKProgressPublisher.class).warn(
+                        "Ignoring invalid value of " + name + ": " + value);
+                return defaultValue;
+            }
+        }
+    }
+
+    /**
+     * Can be used to shutdown the (legacy) executor, and the delivery threads
+     * if configured.
      * <p>
      * However, the recommended best practice is to always make use of progress
      * listeners that are short-lived (ie do not block) and are subclasses of
@@ -276,5 +357,7 @@ public class SDKProgressPublisher {
             LazyHolder.executor.shutdownNow();
         else
             LazyHolder.executor.shutdown();
+        if (DispatcherHolder.dispatcher != null)
+            DispatcherHolder.dispatcher.shutdown(now);
     }
 }
@@ -26,25 +26,33 @@ import com.amazonaws.event.ProgressInputStream;
 import com.amazonaws.event.ProgressListener;
 import com.amazonaws.handlers.CredentialsRequestHandler;
 import com.amazonaws.handlers.RequestHandler2;
+import com.amazonaws.http.apache.client.impl.ApacheConnectionManagerFactory;
 import com.amazonaws.http.apache.client.impl.ApacheHttpClientFactory;
+import com.amazonaws.http.apache.client.impl.ApacheNonBlockingHttpClientFactory;
 import com.amazonaws.http.apache.client.impl.ConnectionManagerAwareHttpClient;
+import com.amazonaws.http.apache.client.impl.NonBlockingHttpClient;
 import com.amazonaws.http.apache.request.impl.ApacheHttpRequestFactory;
 import com.amazonaws.http.apache.utils.ApacheUtils;
 import com.amazonaws.http.client.HttpClientFactory;
 import com.amazonaws.http.exception.HttpRequestTimeoutException;
 import com.amazonaws.http.request.HttpRequestFactory;
 import com.amazonaws.http.settings.HttpClientSettings;
+import com.amazonaws.http.timers.HashedWheelTimer;
 import com.amazonaws.http.timers.client.ClientExecutionTimeoutException;
 import com.amazonaws.http.timers.client.ClientExecutionTimer;
 import com.amazonaws.http.timers.client.SdkInterruptedException;
 import com.amazonaws.http.timers.request.HttpRequestAbortTaskTracker;
 import com.amazonaws.http.timers.request.HttpRequestTimer;
 import com.amazonaws.internal.CRC32MismatchException;
+import com.amazonaws.internal.MetadataCache;
+import com.amazonaws.internal.NullResponseMetadataCache;
 import com.amazonaws.internal.ReleasableInputStream;
 import com.amazonaws.internal.ResettableInputStream;
 import com.amazonaws.internal.SdkBufferedInputStream;
 import com.amazonaws.metrics.AwsSdkMetrics;
 import com.amazonaws.metrics.RequestMetricCollector;
+import com.amazonaws.metrics.ServiceLatencyProvider;
+import com.amazonaws.protocol.json.JsonRequestContent;
 import com.amazonaws.retry.RetryPolicy;
 import com.amazonaws.retry.RetryUtils;
 import com.amazonaws.retry.internal.AuthErrorRetryStrategy;
@@ -57,8 +65,11 @@ import org.apache.http.*;
 import org.apache.http.annotation.ThreadSafe;
 import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.concurrent.BasicFuture;
+import org.apache.http.concurrent.FutureCallback;
 import org.apache.http.entity.BufferedHttpEntity;
 import org.apache.http.pool.ConnPoolControl;
+import org.apache.http.pool.PoolStats;
 
 import java.io.BufferedInputStream;
 import java.io.FileInputStream;
@@ -67,6 +78,13 @@ import java.io.InputStream;
 import java.net.URI;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.amazonaws.SDKGlobalConfiguration.PROFILING_SYSTEM_PROPERTY;
 import static com.amazonaws.event.SDKProgressPublisher.*;
@@ -133,6 +151,16 @@ public class AmazonHttpClient {
      * Internal client for sending HTTP requests
      */
     private ConnectionManagerAwareHttpClient httpClient;
+    /**
+     * Internal client for sending HTTP requests without holding a thread per request; or null if
+     * the non-blocking transport is not enabled in the client configuration.
+     */
+    private final NonBlockingHttpClient nonBlockingHttpClient;
+    /**
+     * Executor used to schedule the retries and timeouts of non-blocking requests; or null if the
+     * non-blocking transport is not enabled in the client configuration.
+     */
+    private final ScheduledThreadPoolExecutor nonBlockingScheduler;
     /**
      * Client configuration options, such as proxy httpClientSettings, max retries, etc.
      */
@@ -145,7 +173,12 @@ public class AmazonHttpClient {
     /**
      * Cache of metadata for recently executed requests for diagnostic purposes
      */
-    private final ResponseMetadataCache responseMetadataCache;
+    private final MetadataCache responseMetadataCache;
+    /**
+     * Timer shared by the HTTP request and client execution timeouts. Its threads are only started
+     * once a timeout is scheduled.
+     */
+    private final HashedWheelTimer timeoutTimer;
     /**
      * Timer to enforce HTTP request timeouts.
      */
@@ -231,16 +264,49 @@ public class AmazonHttpClient {
         this.config = clientConfig;
         this.httpClientSettings = httpClientSettings;
         this.requestMetricCollector = requestMetricCollector;
-        this.responseMetadataCache = new ResponseMetadataCache(clientConfig
-                .getResponseMetadataCacheSize());
-        this.httpRequestTimer = new HttpRequestTimer();
-        this.clientExecutionTimer = new ClientExecutionTimer();
+        this.responseMetadataCache = clientConfig.getCacheResponseMetadata()
+                ? new ResponseMetadataCache(clientConfig.getResponseMetadataCacheSize())
+                : new NullResponseMetadataCache();
+        this.timeoutTimer = new HashedWheelTimer("java-sdk-timeout-timer");
+        this.httpRequestTimer = new HttpRequestTimer(timeoutTimer);
+        this.clientExecutionTimer = new ClientExecutionTimer(timeoutTimer);
 
         // When enabled, total retry capacity is computed based on retry cost
         // and desired number of retries.
         int throttledRetryMaxCapacity = clientConfig.useThrottledRetries()
                 ? THROTTLED_RETRY_COST * THROTTLED_RETRIES : -1;
         this.retryCapacity = new CapacityManager(throttledRetryMaxCapacity);
+
+        if (clientConfig.useNonBlockingHttpTransport()) {
+            this.nonBlockingHttpClient = createNonBlockingHttpClient(httpClientSettings);
+            this.nonBlockingScheduler = createNonBlockingScheduler();
+        } else {
+            this.nonBlockingHttpClient = null;
+            this.nonBlockingScheduler = null;
+        }
+    }
+
+    private static NonBlockingHttpClient createNonBlockingHttpClient(HttpClientSettings settings) {
+        try {
+            return new ApacheNonBlockingHttpClientFactory().create(settings);
+        } catch (NoClassDefFoundError e) {
+            throw new AmazonClientException("The non-blocking HTTP transport requires the Apache "
+                    + "HttpAsyncClient library (org.apache.httpcomponents:httpasyncclient) on the classpath", e);
+        }
+    }
+
+    private static ScheduledThreadPoolExecutor createNonBlockingScheduler() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "java-sdk-non-blocking-http-scheduler");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        executor.setKeepAliveTime(5, TimeUnit.SECONDS);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
     }
 
     /**
@@ -322,6 +388,59 @@ public class AmazonHttpClient {
         }
     }
 
+    /**
+     * Starts executing the request through the non-blocking HTTP transport and returns without
+     * waiting for the response. The request is signed on the calling thread; the response is
+     * received, unmarshalled and passed to the callback on one of the I/O threads of the transport,
+     * and retries are sent once the back-off delay has elapsed rather than holding a thread while
+     * waiting. This allows a large number of requests to be in flight on a handful of threads.
+     * <p>
+     * The non-blocking transport must be enabled with
+     * {@link ClientConfiguration#setUseNonBlockingHttpTransport(boolean)}. Responses are buffered
+     * in memory, so response handlers which need the connection left open are not supported.
+     *
+     * @param request              The AmazonWebServices request to send to the remote server
+     * @param responseHandler      A response handler to accept a successful response from the remote server
+     * @param errorResponseHandler A response handler to accept an unsuccessful response from the remote server
+     * @param executionContext     Additional information about the context of this web service call
+     * @param callback             The callback to notify once the request has completed, failed or been
+     *                             cancelled; or null if there is none. The callback is invoked on an I/O
+     *                             thread of the transport and must not block.
+     * @return A future for the response of the request.
+     */
+    public <T> Future<Response<T>> executeAsync(Request<?> request,
+                                                HttpResponseHandler<AmazonWebServiceResponse<T>> responseHandler,
+                                                HttpResponseHandler<AmazonServiceException> errorResponseHandler,
+                                                ExecutionContext executionContext,
+                                                FutureCallback<Response<T>> callback) {
+        if (executionContext == null) {
+            throw new AmazonClientException("Internal SDK Error: No execution context parameter specified.");
+        }
+        if (nonBlockingHttpClient == null) {
+            throw new AmazonClientException(
+                    "The non-blocking HTTP transport is not enabled in the client configuration.");
+        }
+        responseHandler = getNonNullResponseHandler(responseHandler);
+        errorResponseHandler = getNonNullResponseHandler(errorResponseHandler);
+        if (responseHandler.needsConnectionLeftOpen() || errorResponseHandler.needsConnectionLeftOpen()) {
+            throw new AmazonClientException("Response handlers which need the connection left open "
+                    + "are not supported by the non-blocking HTTP transport.");
+        }
+        NonBlockingExecution<T> execution = new NonBlockingExecution<T>(request, responseHandler,
+                errorResponseHandler, executionContext, callback);
+        execution.start();
+        return execution.future;
+    }
+
+    /**
+     * Returns true if requests can be executed through the non-blocking HTTP transport with
+     * {@link #executeAsync(Request, HttpResponseHandler, HttpResponseHandler, ExecutionContext,
+     * FutureCallback)}.
+     */
+    public boolean isNonBlockingHttpTransportEnabled() {
+        return nonBlockingHttpClient != null;
+    }
+
     /**
      * Ensures the response handler is not null. If it is this method returns a dummy response handler.
      *
@@ -377,21 +496,8 @@ public class AmazonHttpClient {
         final List<RequestHandler2> requestHandler2s = requestHandler2s(request, executionContext);
 
         AmazonWebServiceRequest awsreq = request.getOriginalRequest();
-
-        setSdkTransactionId(request);
-        setUserAgent(request);
-
         ProgressListener listener = awsreq.getGeneralProgressListener();
-        // add custom headers
-        Map<String, String> customHeaders = awsreq.getCustomRequestHeaders();
-        if (customHeaders != null) {
-            request.getHeaders().putAll(customHeaders);
-        }
-        // add custom query parameters
-        Map<String, List<String>> customQueryParams = awsreq.getCustomQueryParameters();
-        if (customQueryParams != null) {
-            mergeQueryParameters(request, customQueryParams);
-        }
+        addSdkHeadersAndParameters(request);
         final AWSRequestMetrics awsRequestMetrics = executionContext.getAwsRequestMetrics();
         Response<T> response = null;
         final InputStream origContent = request.getContent();
@@ -415,7 +521,30 @@ public class AmazonHttpClient {
         } finally {
             // Always close so any progress tracking would get the final events propagated.
             closeQuietly(toBeClosed, log);
-            request.setContent(origContent); // restore the original content
+            // restore the original content, unless it was read in place from a buffer since released
+            request.setContent(JsonRequestContent.isReleased(origContent) ? null : origContent);
+        }
+    }
+
+    /**
+     * Adds the SDK transaction id, the user agent and any custom headers and query parameters of
+     * the original request to the given request.
+     */
+    private void addSdkHeadersAndParameters(Request<?> request) {
+        AmazonWebServiceRequest awsreq = request.getOriginalRequest();
+
+        setSdkTransactionId(request);
+        setUserAgent(request);
+
+        // add custom headers
+        Map<String, String> customHeaders = awsreq.getCustomRequestHeaders();
+        if (customHeaders != null) {
+            request.getHeaders().putAll(customHeaders);
+        }
+        // add custom query parameters
+        Map<String, List<String>> customQueryParams = awsreq.getCustomQueryParameters();
+        if (customQueryParams != null) {
+            mergeQueryParameters(request, customQueryParams);
         }
     }
 
@@ -582,50 +711,16 @@ public class AmazonHttpClient {
                 .addPropertyWith(Field.ServiceEndpoint, request.getEndpoint());
         // Make a copy of the original request params and headers so that we can
         // permute it in this loop and start over with the original every time.
-        final Map<String, List<String>> originalParameters = new LinkedHashMap<String, List<String>>(
-                request.getParameters());
+        final Map<String, List<String>> originalParameters = copyParameters(request.getParameters());
         final Map<String, String> originalHeaders = new HashMap<String, String>(request.getHeaders());
         // Always mark the input stream before execution.
         final ExecOneRequestParams execOneParams = new ExecOneRequestParams();
         final InputStream originalContent = request.getContent();
-        if (originalContent != null && originalContent.markSupported()
-                && !(originalContent instanceof BufferedInputStream)) {
-            // Mark only once for non-BufferedInputStream
-            AmazonWebServiceRequest awsreq = request.getOriginalRequest();
-            final int readLimit = awsreq.getRequestClientOptions().getReadLimit();
-            originalContent.mark(readLimit);
-        }
+        markOriginalContent(request, originalContent);
         while (true) {
             checkInterrupted();
-            if (originalContent instanceof BufferedInputStream && originalContent.markSupported()) {
-                // Mark everytime for BufferedInputStream, since the marker could
-                // have been invalidated
-                AmazonWebServiceRequest awsreq = request.getOriginalRequest();
-                final int readLimit = awsreq.getRequestClientOptions().getReadLimit();
-                originalContent.mark(readLimit);
-            }
-            execOneParams.initPerRetry();
-            if (execOneParams.redirectedURI != null) {
-                /*
-                 * [scheme:][//authority][path][?query][#fragment]
-                 */
-                String scheme = execOneParams.redirectedURI.getScheme();
-                String beforeAuthority = scheme == null ? "" : scheme + "://";
-                String authority = execOneParams.redirectedURI.getAuthority();
-                String path = execOneParams.redirectedURI.getPath();
-
-                request.setEndpoint(URI.create(beforeAuthority + authority));
-                request.setResourcePath(path);
-            }
-            if (execOneParams.authRetryParam != null) {
-                request.setEndpoint(execOneParams.authRetryParam.getEndpointForRetry());
-            }
-            awsRequestMetrics.setCounter(Field.RequestCount, execOneParams.requestCount);
-            if (execOneParams.isRetry()) {
-                request.setParameters(originalParameters);
-                request.setHeaders(originalHeaders);
-                request.setContent(originalContent);
-            }
+            prepareAttempt(request, execOneParams, originalParameters, originalHeaders, originalContent,
+                    awsRequestMetrics);
             try {
                 Response<T> response = executeOneRequest(request, responseHandler, errorResponseHandler,
                         executionContext, awsRequestMetrics, execOneParams, requestHandlers);
@@ -633,44 +728,117 @@ public class AmazonHttpClient {
                     return response;
                 }
             } catch (IOException ioe) {
-                if (log.isInfoEnabled()) {
-                    log.info("Unable to execute HTTP request: " + ioe.getMessage(), ioe);
-                }
-                captureExceptionMetrics(ioe, awsRequestMetrics);
-                awsRequestMetrics.addProperty(Field.AWSRequestID, null);
-                AmazonClientException ace = new AmazonClientException(
-                        "Unable to execute HTTP request: " + ioe.getMessage(), ioe);
-                if (!shouldRetry(request.getOriginalRequest(), execOneParams, ace,
-                        executionContext)) {
-                    throw lastReset(ace, request);
-                }
                 // Cache the retryable exception
-                execOneParams.retriedException = ace;
+                execOneParams.retriedException = handleIOException(request, ioe, execOneParams,
+                        executionContext, awsRequestMetrics);
             } catch (RuntimeException e) {
                 throw lastReset(captureExceptionMetrics(e, awsRequestMetrics), request);
             } catch (Error e) {
                 throw lastReset(captureExceptionMetrics(e, awsRequestMetrics), request);
             } finally {
-                /*
-                 * Some response handlers need to manually manage the HTTP connection and will take
-                 * care of releasing the connection on their own, but if this response handler
-                 * doesn't need the connection left open, we go ahead and release the it to free up
-                 * resources.
-                 */
-                if (!execOneParams.leaveHttpConnectionOpen) {
-                    if (execOneParams.apacheResponse != null) {
-                        HttpEntity entity = execOneParams.apacheResponse.getEntity();
-                        if (entity != null) {
-                            try {
-                                closeQuietly(entity.getContent(), log);
-                            } catch (IOException e) {
-                                log.warn("Cannot close the response content.", e);
-                            }
-                        }
+                releaseResponseContent(execOneParams);
+            }
+        } /* end while (true) */
+    }
+
+    /**
+     * Marks the original content input stream of the request before execution, unless it is a
+     * {@link BufferedInputStream}, which is marked before every attempt instead.
+     */
+    private void markOriginalContent(final Request<?> request, final InputStream originalContent) {
+        if (originalContent != null && originalContent.markSupported()
+                && !(originalContent instanceof BufferedInputStream)) {
+            // Mark only once for non-BufferedInputStream
+            AmazonWebServiceRequest awsreq = request.getOriginalRequest();
+            final int readLimit = awsreq.getRequestClientOptions().getReadLimit();
+            originalContent.mark(readLimit);
+        }
+    }
+
+    /**
+     * Prepares the request for the next attempt, pointing it to the redirected or retried endpoint
+     * and restoring the original parameters, headers and content if this is a retry.
+     */
+    private void prepareAttempt(final Request<?> request,
+                                final ExecOneRequestParams execOneParams,
+                                final Map<String, List<String>> originalParameters,
+                                final Map<String, String> originalHeaders,
+                                final InputStream originalContent,
+                                final AWSRequestMetrics awsRequestMetrics) {
+        if (originalContent instanceof BufferedInputStream && originalContent.markSupported()) {
+            // Mark everytime for BufferedInputStream, since the marker could
+            // have been invalidated
+            AmazonWebServiceRequest awsreq = request.getOriginalRequest();
+            final int readLimit = awsreq.getRequestClientOptions().getReadLimit();
+            originalContent.mark(readLimit);
+        }
+        execOneParams.initPerRetry();
+        if (execOneParams.redirectedURI != null) {
+            /*
+             * [scheme:][//authority][path][?query][#fragment]
+             */
+            String scheme = execOneParams.redirectedURI.getScheme();
+            String beforeAuthority = scheme == null ? "" : scheme + "://";
+            String authority = execOneParams.redirectedURI.getAuthority();
+            String path = execOneParams.redirectedURI.getPath();
+
+            request.setEndpoint(URI.create(beforeAuthority + authority));
+            request.setResourcePath(path);
+        }
+        if (execOneParams.authRetryParam != null) {
+            request.setEndpoint(execOneParams.authRetryParam.getEndpointForRetry());
+        }
+        awsRequestMetrics.setCounter(Field.RequestCount, execOneParams.requestCount);
+        if (execOneParams.isRetry()) {
+            request.setParameters(originalParameters);
+            request.setHeaders(originalHeaders);
+            request.setContent(originalContent);
+        }
+    }
+
+    /**
+     * Returns the client exception to cache for the retry of a request that failed with the given
+     * I/O exception.
+     *
+     * @throws AmazonClientException if the request should not be retried
+     */
+    private AmazonClientException handleIOException(final Request<?> request,
+                                                    final IOException ioe,
+                                                    final ExecOneRequestParams execOneParams,
+                                                    final ExecutionContext executionContext,
+                                                    final AWSRequestMetrics awsRequestMetrics) {
+        if (log.isInfoEnabled()) {
+            log.info("Unable to execute HTTP request: " + ioe.getMessage(), ioe);
+        }
+        captureExceptionMetrics(ioe, awsRequestMetrics);
+        awsRequestMetrics.addProperty(Field.AWSRequestID, null);
+        AmazonClientException ace = new AmazonClientException(
+                "Unable to execute HTTP request: " + ioe.getMessage(), ioe);
+        if (!shouldRetry(request.getOriginalRequest(), execOneParams, ace,
+                executionContext)) {
+            throw lastReset(ace, request);
+        }
+        return ace;
+    }
+
+    /**
+     * Some response handlers need to manually manage the HTTP connection and will take care of
+     * releasing the connection on their own, but if this response handler doesn't need the
+     * connection left open, we go ahead and release the it to free up resources.
+     */
+    private void releaseResponseContent(final ExecOneRequestParams execOneParams) {
+        if (!execOneParams.leaveHttpConnectionOpen) {
+            if (execOneParams.apacheResponse != null) {
+                HttpEntity entity = execOneParams.apacheResponse.getEntity();
+                if (entity != null) {
+                    try {
+                        closeQuietly(entity.getContent(), log);
+                    } catch (IOException e) {
+                        log.warn("Cannot close the response content.", e);
                     }
                 }
             }
-        } /* end while (true) */
+        }
     }
 
     /**
@@ -740,28 +908,7 @@ public class AmazonHttpClient {
             pauseBeforeRetry(request, awsRequestMetrics, execOneParams, listener);
         }
         updateRetryHeaderInfo(request, execOneParams);
-
-        // Sign the request if a signer was provided
-        execOneParams.newSigner(request, execContext);
-        if (execOneParams.signer != null && credentials != null) {
-            awsRequestMetrics.startEvent(Field.RequestSigningTime);
-            try {
-                if (timeOffset != 0) {
-                    // Always use the client level timeOffset if it was
-                    // non-zero; Otherwise, we respect the timeOffset in the
-                    // request, which could have been externally configured (at
-                    // least for the 1st non-retry request).
-                    //
-                    // For retry due to clock skew, the timeOffset in the
-                    // request used for the retry is assumed to have been
-                    // adjusted when execution reaches here.
-                    request.setTimeOffset(timeOffset);
-                }
-                execOneParams.signer.sign(request, credentials);
-            } finally {
-                awsRequestMetrics.endEvent(Field.RequestSigningTime);
-            }
-        }
+        signRequest(request, execContext, awsRequestMetrics, execOneParams, credentials);
 
         checkInterrupted();
         execOneParams.newApacheRequest(httpRequestFactory, request, httpClientSettings);
@@ -769,13 +916,11 @@ public class AmazonHttpClient {
         captureConnectionPoolMetrics(awsRequestMetrics);
 
         final HttpClientContext localRequestContext =
-                ApacheUtils.newClientContext(httpClientSettings, ImmutableMapParameter.of
-                        (AWSRequestMetrics.class.getSimpleName(), awsRequestMetrics));
+                ApacheUtils.newClientContext(httpClientSettings, null);
+        localRequestContext.setAttribute(AWSRequestMetrics.HTTP_CONTEXT_ATTRIBUTE, awsRequestMetrics);
 
         execOneParams.resetBeforeHttpRequest();
-        publishProgress(listener, ProgressEventType.HTTP_REQUEST_STARTED_EVENT);
-        awsRequestMetrics.startEvent(Field.HttpRequestTime);
-        awsRequestMetrics.setCounter(Field.RetryCapacityConsumed, retryCapacity.consumedCapacity());
+        beforeHttpRequest(awsRequestMetrics, listener);
 
         /////////// Send HTTP request ////////////
         execContext.getClientExecutionTrackerTask().setCurrentHttpRequest(execOneParams.apacheRequest);
@@ -805,6 +950,64 @@ public class AmazonHttpClient {
             awsRequestMetrics.endEvent(Field.HttpRequestTime);
         }
 
+        return handleOneResponse(request, responseHandler, errorResponseHandler, execContext, awsRequestMetrics,
+                execOneParams, requestHandlers, isHeaderReqIdAvail);
+    }
+
+    /**
+     * Sign the request if a signer was provided.
+     */
+    private void signRequest(final Request<?> request,
+                             final ExecutionContext execContext,
+                             final AWSRequestMetrics awsRequestMetrics,
+                             final ExecOneRequestParams execOneParams,
+                             final AWSCredentials credentials) {
+        execOneParams.newSigner(request, execContext);
+        if (execOneParams.signer != null && credentials != null) {
+            awsRequestMetrics.startEvent(Field.RequestSigningTime);
+            try {
+                if (timeOffset != 0) {
+                    // Always use the client level timeOffset if it was
+                    // non-zero; Otherwise, we respect the timeOffset in the
+                    // request, which could have been externally configured (at
+                    // least for the 1st non-retry request).
+                    //
+                    // For retry due to clock skew, the timeOffset in the
+                    // request used for the retry is assumed to have been
+                    // adjusted when execution reaches here.
+                    request.setTimeOffset(timeOffset);
+                }
+                execOneParams.signer.sign(request, credentials);
+            } finally {
+                awsRequestMetrics.endEvent(Field.RequestSigningTime);
+            }
+        }
+    }
+
+    /**
+     * Publishes the start of the HTTP request and starts its timing.
+     */
+    private void beforeHttpRequest(final AWSRequestMetrics awsRequestMetrics, final ProgressListener listener) {
+        publishProgress(listener, ProgressEventType.HTTP_REQUEST_STARTED_EVENT);
+        awsRequestMetrics.startEvent(Field.HttpRequestTime);
+        awsRequestMetrics.setCounter(Field.RetryCapacityConsumed, retryCapacity.consumedCapacity());
+        awsRequestMetrics.setCounter(Field.RetryCapacityAvailable, retryCapacity.availableCapacity());
+    }
+
+    /**
+     * Returns the response from handling the HTTP response of one httpClientSettings request; or null for
+     * retry.
+     */
+    private <T> Response<T> handleOneResponse(final Request<?> request,
+                                              final HttpResponseHandler<AmazonWebServiceResponse<T>> responseHandler,
+                                              final HttpResponseHandler<AmazonServiceException> errorResponseHandler,
+                                              final ExecutionContext execContext,
+                                              final AWSRequestMetrics awsRequestMetrics,
+                                              final ExecOneRequestParams execOneParams,
+                                              final List<RequestHandler2> requestHandlers,
+                                              final boolean isHeaderReqIdAvail)
+            throws IOException, InterruptedException {
+        final ProgressListener listener = request.getOriginalRequest().getGeneralProgressListener();
         publishProgress(listener, ProgressEventType.HTTP_REQUEST_COMPLETED_EVENT);
         final StatusLine statusLine = execOneParams.apacheResponse.getStatusLine();
         final int statusCode = statusLine == null ? -1 : statusLine.getStatusCode();
@@ -965,10 +1168,11 @@ public class AmazonHttpClient {
             ConnPoolControl<?> control = (ConnPoolControl<?>) httpClient
                     .getHttpClientConnectionManager();
 
+            PoolStats totalStats = control.getTotalStats();
             awsRequestMetrics
-                    .withCounter(HttpClientPoolAvailableCount, control.getTotalStats().getAvailable())
-                    .withCounter(HttpClientPoolLeasedCount, control.getTotalStats().getLeased())
-                    .withCounter(HttpClientPoolPendingCount, control.getTotalStats().getPending());
+                    .withCounter(HttpClientPoolAvailableCount, totalStats.getAvailable())
+                    .withCounter(HttpClientPoolLeasedCount, totalStats.getLeased())
+                    .withCounter(HttpClientPoolPendingCount, totalStats.getPending());
         }
 
     }
@@ -989,6 +1193,15 @@ public class AmazonHttpClient {
         return t;
     }
 
+    /**
+     * Returns a copy of the given request parameters, to restore them from before each retry.
+     * Requests without parameters, such as most JSON and REST requests, share an empty map.
+     */
+    private static Map<String, List<String>> copyParameters(Map<String, List<String>> parameters) {
+        return parameters.isEmpty() ? Collections.<String, List<String>>emptyMap()
+                : new LinkedHashMap<String, List<String>>(parameters);
+    }
+
     /**
      * Create a client side identifier that will be sent with the initial request and each retry.
      */
@@ -1026,25 +1239,58 @@ public class AmazonHttpClient {
     private void updateRetryHeaderInfo(Request<?> request, ExecOneRequestParams execOneRequestParams) {
         int availableRetryCapacity = retryCapacity.availableCapacity();
 
-        String headerValue = String.format("%s/%s/%s",
-                execOneRequestParams.requestCount - 1,
-                execOneRequestParams.lastBackoffDelay,
-                availableRetryCapacity >= 0 ? availableRetryCapacity : "");
+        String headerValue = (execOneRequestParams.requestCount - 1) + "/"
+                + execOneRequestParams.lastBackoffDelay + "/"
+                + (availableRetryCapacity >= 0 ? String.valueOf(availableRetryCapacity) : "");
 
         request.addHeader(HEADER_SDK_RETRY_INFO, headerValue);
     }
 
+    /**
+     * Warms up the connection pool of this client by opening the given number of connections to the
+     * given endpoint, so that the first requests sent to the endpoint don't pay for the TCP and TLS
+     * handshakes. Connections already pooled count towards the number. The time taken is
+     * collected as the {@link AWSServiceMetrics#HttpClientWarmUpConnectionsTime} metric.
+     * <p>
+     * Warming up is best effort: a connection that can't be opened is logged, and ends the warm-up
+     * without failing it.
+     *
+     * @param endpoint
+     *            The endpoint the connections are opened to.
+     * @param count
+     *            The number of connections to pre-establish.
+     * @return The number of connections opened
+     */
+    public int warmUpConnections(URI endpoint, int count) {
+        if (count <= 0) {
+            return 0;
+        }
+        ServiceLatencyProvider latencyProvider = new ServiceLatencyProvider(
+                AWSServiceMetrics.HttpClientWarmUpConnectionsTime);
+        int opened = ApacheConnectionManagerFactory.warmUp(httpClient.getHttpClientConnectionManager(),
+                httpClientSettings, endpoint, count);
+        AwsSdkMetrics.getServiceMetricCollector().collectLatency(latencyProvider.endTiming());
+        if (log.isDebugEnabled()) {
+            log.debug("Opened " + opened + " connections to " + endpoint + " in "
+                    + latencyProvider.getDurationMilli() + " ms");
+        }
+        return opened;
+    }
+
     /**
      * Shuts down this HTTP client object, releasing any resources that might be held open. This is an optional method,
      * and callers are not expected to call it, but can if they want to explicitly release any open resources. Once a
      * client has been shutdown, it cannot be used to make more requests.
      */
     public void shutdown() {
-        clientExecutionTimer.shutdown();
-        httpRequestTimer.shutdown();
+        timeoutTimer.shutdown();
         IdleConnectionReaper.removeConnectionManager(httpClient
                 .getHttpClientConnectionManager());
         httpClient.getHttpClientConnectionManager().shutdown();
+        if (nonBlockingHttpClient != null) {
+            nonBlockingScheduler.shutdownNow();
+            nonBlockingHttpClient.shutdown();
+        }
     }
 
     /**
@@ -1368,6 +1614,23 @@ public class AmazonHttpClient {
                                     int requestCount,
                                     RetryPolicy retryPolicy,
                                     ExecOneRequestParams execOneParams) throws InterruptedException {
+        Thread.sleep(computeBackoffDelay(originalRequest, previousException, requestCount, retryPolicy,
+                execOneParams));
+    }
+
+    /**
+     * Returns the delay in milliseconds before the next retry of a failed request.
+     *
+     * @param originalRequest   The original service request that is being executed.
+     * @param previousException Exception information for the previous attempt, if any.
+     * @param requestCount      current request count (including the next attempt after the delay)
+     * @param retryPolicy       The retry policy configured in this httpClientSettings client.
+     */
+    private long computeBackoffDelay(AmazonWebServiceRequest originalRequest,
+                                     AmazonClientException previousException,
+                                     int requestCount,
+                                     RetryPolicy retryPolicy,
+                                     ExecOneRequestParams execOneParams) {
         final int retries = requestCount // including next attempt
                 - 1 // number of attempted requests
                 - 1; // number of attempted retries
@@ -1378,8 +1641,7 @@ public class AmazonHttpClient {
         if (log.isDebugEnabled()) {
             log.debug("Retriable error detected, " + "will retry in " + delay + "ms, attempt number: " + retries);
         }
-
-        Thread.sleep(delay);
+        return delay;
     }
 
     // SWF: Signature not yet current: 20140819T173921Z is still later than 20140819T173829Z
@@ -1484,6 +1746,473 @@ public class AmazonHttpClient {
 
     }
 
+    /**
+     * A request executed through the non-blocking HTTP transport.
+     * <p>
+     * The credentials are fetched, and the first attempt is signed and sent, on the calling
+     * thread. The I/O threads of the transport only receive and unmarshall the responses: retries
+     * are handed over to the scheduler, which signs and sends them once the back-off delay has
+     * elapsed. The attempts never overlap, so the request is only accessed by one thread at a time.
+     * <p>
+     * Each thread working on the request, and each attempt in flight, holds it. The original
+     * content of the request is only restored, and the future only completed, once the request
+     * is done and no longer held, so that a timeout or a cancellation never restores the content
+     * while an aborted attempt may still be reading it.
+     */
+    private final class NonBlockingExecution<T> {
+        private final Request<?> request;
+        private final HttpResponseHandler<AmazonWebServiceResponse<T>> responseHandler;
+        private final HttpResponseHandler<AmazonServiceException> errorResponseHandler;
+        private final ExecutionContext executionContext;
+        private final AWSRequestMetrics awsRequestMetrics;
+        private final ProgressListener listener;
+        private final ExecOneRequestParams execOneParams = new ExecOneRequestParams();
+        private final ResponseFuture future;
+        /**
+         * Set once the request has completed, failed, timed out or been cancelled.
+         */
+        private final AtomicBoolean done = new AtomicBoolean();
+        /**
+         * The number of holds on the request, starting with the one of the execution itself,
+         * which is released once the request is done.
+         */
+        private final AtomicInteger holds = new AtomicInteger(1);
+        /**
+         * The original content of the request, restored once the request is released.
+         */
+        private final InputStream origContent;
+
+        private List<RequestHandler2> requestHandler2s = Collections.emptyList();
+        private Map<String, List<String>> originalParameters;
+        private Map<String, String> originalHeaders;
+        private InputStream originalContent;
+        private InputStream toBeClosed;
+        private AWSCredentials credentials;
+        private volatile Attempt currentAttempt;
+        private volatile ScheduledFuture<?> clientExecutionTimeoutTask;
+        private volatile Response<T> result;
+        private volatile Exception failure;
+
+        NonBlockingExecution(Request<?> request,
+                             HttpResponseHandler<AmazonWebServiceResponse<T>> responseHandler,
+                             HttpResponseHandler<AmazonServiceException> errorResponseHandler,
+                             ExecutionContext executionContext,
+                             FutureCallback<Response<T>> callback) {
+            this.request = request;
+            this.responseHandler = responseHandler;
+            this.errorResponseHandler = errorResponseHandler;
+            this.executionContext = executionContext;
+            this.awsRequestMetrics = executionContext.getAwsRequestMetrics();
+            this.listener = request.getOriginalRequest().getGeneralProgressListener();
+            this.origContent = request.getContent();
+            this.future = new ResponseFuture(callback);
+        }
+
+        void start() {
+            acquire();
+            try {
+                try {
+                    requestHandler2s = requestHandler2s(request, executionContext);
+                    addSdkHeadersAndParameters(request);
+                    toBeClosed = beforeRequest(request); // for progress tracking
+                    // make "notCloseable", so reset would work with retries
+                    request.setContent(toBeClosed == null ? null
+                            : ReleasableInputStream.wrap(toBeClosed).disableClose());
+                    publishProgress(listener, ProgressEventType.CLIENT_REQUEST_STARTED_EVENT);
+
+                    awsRequestMetrics.addPropertyWith(Field.ServiceName, request.getServiceName())
+                            .addPropertyWith(Field.ServiceEndpoint, request.getEndpoint());
+                    originalParameters = copyParameters(request.getParameters());
+                    originalHeaders = new HashMap<String, String>(request.getHeaders());
+                    originalContent = request.getContent();
+                    markOriginalContent(request, originalContent);
+                    // Fetched once, so that no attempt waits on a credentials provider off this thread
+                    credentials = getCredentialsFromContext(executionContext, awsRequestMetrics);
+
+                    int clientExecutionTimeout = getClientExecutionTimeout(request.getOriginalRequest());
+                    if (clientExecutionTimeout > 0) {
+                        clientExecutionTimeoutTask = nonBlockingScheduler.schedule(new Runnable() {
+                            @Override
+                            public void run() {
+                                onClientExecutionTimeout();
+                            }
+                        }, clientExecutionTimeout, TimeUnit.MILLISECONDS);
+                    }
+                } catch (RuntimeException e) {
+                    fail(e);
+                    return;
+                }
+                nextAttempt();
+            } finally {
+                release();
+            }
+        }
+
+        /**
+         * Prepares the next attempt, and sends it right away or schedules it after the back-off
+         * delay if this is a retry. Never called on an I/O thread of the transport.
+         */
+        private void nextAttempt() {
+            try {
+                prepareAttempt(request, execOneParams, originalParameters, originalHeaders, originalContent,
+                        awsRequestMetrics);
+                if (!execOneParams.isRetry()) {
+                    send();
+                    return;
+                }
+                resetRequestInputStream(request);
+                publishProgress(listener, ProgressEventType.CLIENT_REQUEST_RETRY_EVENT);
+                awsRequestMetrics.startEvent(Field.RetryPauseTime);
+                // don't pause if the retry was not due to a redirection
+                // ie when retried exception is null
+                long delay = execOneParams.retriedException == null ? 0
+                        : computeBackoffDelay(request.getOriginalRequest(), execOneParams.retriedException,
+                                execOneParams.requestCount, config.getRetryPolicy(), execOneParams);
+                if (delay <= 0) {
+                    awsRequestMetrics.endEvent(Field.RetryPauseTime);
+                    send();
+                    return;
+                }
+                schedule(new Runnable() {
+                    @Override
+                    public void run() {
+                        awsRequestMetrics.endEvent(Field.RetryPauseTime);
+                        send();
+                    }
+                }, delay);
+            } catch (RuntimeException e) {
+                fail(lastReset(captureExceptionMetrics(e, awsRequestMetrics), request));
+            }
+        }
+
+        /**
+         * Hands the next attempt over to the scheduler, so that the I/O thread which handled the
+         * previous attempt neither signs nor sends it.
+         */
+        private void retry() {
+            try {
+                schedule(new Runnable() {
+                    @Override
+                    public void run() {
+                        nextAttempt();
+                    }
+                }, 0);
+            } catch (RuntimeException e) {
+                fail(lastReset(captureExceptionMetrics(e, awsRequestMetrics), request));
+            }
+        }
+
+        /**
+         * Signs and sends the current attempt.
+         */
+        private void send() {
+            if (done.get()) {
+                return;
+            }
+            try {
+                if (requestLog.isDebugEnabled()) {
+                    requestLog.debug("Sending Request: " + request);
+                }
+                updateRetryHeaderInfo(request, execOneParams);
+                signRequest(request, executionContext, awsRequestMetrics, execOneParams, credentials);
+                execOneParams.newApacheRequest(httpRequestFactory, request, httpClientSettings);
+
+                final HttpClientContext localRequestContext =
+                        ApacheUtils.newClientContext(httpClientSettings, null);
+                localRequestContext.setAttribute(AWSRequestMetrics.HTTP_CONTEXT_ATTRIBUTE, awsRequestMetrics);
+
+                execOneParams.resetBeforeHttpRequest();
+                beforeHttpRequest(awsRequestMetrics, listener);
+
+                /////////// Send HTTP request ////////////
+                final Attempt attempt = new Attempt();
+                currentAttempt = attempt;
+                // Released by the attempt once the transport is done with it
+                acquire();
+                try {
+                    attempt.exchange = nonBlockingHttpClient.execute(execOneParams.apacheRequest,
+                            localRequestContext, attempt);
+                } catch (RuntimeException e) {
+                    awsRequestMetrics.endEvent(Field.HttpRequestTime);
+                    release();
+                    throw e;
+                }
+                if (done.get()) {
+                    // Timed out or cancelled while being sent
+                    attempt.exchange.cancel(true);
+                }
+                int requestTimeout = getRequestTimeout(request.getOriginalRequest());
+                if (requestTimeout > 0) {
+                    attempt.timeoutTask = nonBlockingScheduler.schedule(attempt, requestTimeout,
+                            TimeUnit.MILLISECONDS);
+                }
+            } catch (IOException ioe) {
+                onIOException(ioe);
+            } catch (RuntimeException e) {
+                fail(lastReset(captureExceptionMetrics(e, awsRequestMetrics), request));
+            }
+        }
+
+        private void onResponse(final org.apache.http.HttpResponse apacheResponse) {
+            execOneParams.apacheResponse = apacheResponse;
+            final Response<T> response;
+            try {
+                response = handleOneResponse(request, responseHandler, errorResponseHandler, executionContext,
+                        awsRequestMetrics, execOneParams, requestHandler2s, logHeaderRequestId(apacheResponse));
+            } catch (IOException ioe) {
+                onIOException(ioe);
+                return;
+            } catch (InterruptedException e) {
+                fail(new AmazonClientException(e));
+                return;
+            } catch (RuntimeException e) {
+                fail(lastReset(captureExceptionMetrics(e, awsRequestMetrics), request));
+                return;
+            } finally {
+                releaseResponseContent(execOneParams);
+            }
+            if (response == null) {
+                retry();
+            } else {
+                succeed(response);
+            }
+        }
+
+        private void onIOException(final IOException ioe) {
+            try {
+                // Cache the retryable exception
+                execOneParams.retriedException = handleIOException(request, ioe, execOneParams,
+                        executionContext, awsRequestMetrics);
+            } catch (AmazonClientException e) {
+                fail(e);
+                return;
+            }
+            retry();
+        }
+
+        private void onClientExecutionTimeout() {
+            if (done.compareAndSet(false, true)) {
+                abortCurrentAttempt();
+                notifyFailure(null, new ClientExecutionTimeoutException());
+            }
+        }
+
+        private void succeed(final Response<T> response) {
+            if (!done.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                publishProgress(listener, ProgressEventType.CLIENT_REQUEST_SUCCESS_EVENT);
+                awsRequestMetrics.getTimingInfo().endTiming();
+                for (RequestHandler2 handler2 : requestHandler2s) {
+                    handler2.afterResponse(request, response);
+                }
+            } catch (AmazonClientException e) {
+                notifyFailure(response, e);
+                return;
+            }
+            finish(response, null);
+        }
+
+        private void fail(final Exception e) {
+            if (done.compareAndSet(false, true)) {
+                abortCurrentAttempt();
+                notifyFailure(null, e);
+            }
+        }
+
+        /**
+         * Publishes the failure of the request and runs the error handlers, as the blocking
+         * transport does, whichever way the request failed.
+         */
+        private void notifyFailure(final Response<?> response, Exception e) {
+            try {
+                if (e instanceof AmazonClientException) {
+                    publishProgress(listener, ProgressEventType.CLIENT_REQUEST_FAILED_EVENT);
+                    for (RequestHandler2 handler2 : requestHandler2s) {
+                        handler2.afterError(request, response, (AmazonClientException) e);
+                    }
+                }
+            } catch (RuntimeException handlerException) {
+                e = handlerException;
+            }
+            finish(null, e);
+        }
+
+        /**
+         * Records the outcome of the request and releases the hold of the execution. The future
+         * is completed with the outcome once the request is no longer held.
+         */
+        private void finish(final Response<T> response, final Exception e) {
+            result = response;
+            failure = e;
+            release();
+        }
+
+        private void abortCurrentAttempt() {
+            Attempt attempt = currentAttempt;
+            if (attempt != null && attempt.exchange != null) {
+                attempt.exchange.cancel(true);
+            }
+        }
+
+        private void acquire() {
+            holds.incrementAndGet();
+        }
+
+        private void release() {
+            if (holds.decrementAndGet() == 0) {
+                cleanUp();
+            }
+        }
+
+        /**
+         * Runs the given task on the scheduler after the given delay, unless the request is done
+         * by then, holding the request until the task has run.
+         */
+        private void schedule(final Runnable task, long delay) {
+            acquire();
+            try {
+                nonBlockingScheduler.schedule(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            if (!done.get()) {
+                                task.run();
+                            }
+                        } finally {
+                            release();
+                        }
+                    }
+                }, delay, TimeUnit.MILLISECONDS);
+            } catch (RuntimeException e) {
+                release();
+                throw e;
+            }
+        }
+
+        /**
+         * Called once the request is done and no longer held, by the last thread releasing it.
+         */
+        private void cleanUp() {
+            ScheduledFuture<?> timeoutTask = clientExecutionTimeoutTask;
+            if (timeoutTask != null) {
+                timeoutTask.cancel(false);
+            }
+            // Always close so any progress tracking would get the final events propagated.
+            closeQuietly(toBeClosed, log);
+            // restore the original content, unless it was read in place from a buffer since released
+            request.setContent(JsonRequestContent.isReleased(origContent) ? null : origContent);
+            if (failure != null) {
+                future.failed(failure);
+            } else if (result != null) {
+                future.completed(result);
+            }
+        }
+
+        /**
+         * One HTTP request of the execution, which also acts as the task enforcing the request
+         * timeout of that HTTP request. The attempt holds the request until the transport is done
+         * with it.
+         */
+        private final class Attempt implements FutureCallback<org.apache.http.HttpResponse>, Runnable {
+            private volatile Future<org.apache.http.HttpResponse> exchange;
+            private volatile ScheduledFuture<?> timeoutTask;
+            private volatile boolean timedOut;
+
+            @Override
+            public void completed(org.apache.http.HttpResponse apacheResponse) {
+                try {
+                    if (afterHttpRequest()) {
+                        onResponse(apacheResponse);
+                    }
+                } finally {
+                    release();
+                }
+            }
+
+            @Override
+            public void failed(Exception e) {
+                try {
+                    if (afterHttpRequest()) {
+                        if (e instanceof IOException) {
+                            onIOException((IOException) e);
+                        } else {
+                            fail(lastReset(captureExceptionMetrics(new AmazonClientException(
+                                    "Unable to execute HTTP request: " + e.getMessage(), e), awsRequestMetrics),
+                                    request));
+                        }
+                    }
+                } finally {
+                    release();
+                }
+            }
+
+            @Override
+            public void cancelled() {
+                try {
+                    if (afterHttpRequest()) {
+                        if (timedOut) {
+                            onIOException(new HttpRequestTimeoutException(
+                                    "Request did not complete before the request timeout configuration."));
+                        } else {
+                            fail(new AmazonClientException("The HTTP request was cancelled."));
+                        }
+                    }
+                } finally {
+                    release();
+                }
+            }
+
+            /**
+             * Aborts the HTTP request once the request timeout has elapsed.
+             */
+            @Override
+            public void run() {
+                timedOut = true;
+                Future<org.apache.http.HttpResponse> toAbort = exchange;
+                if (toAbort != null) {
+                    toAbort.cancel(true);
+                }
+            }
+
+            /**
+             * Returns true if the outcome of the HTTP request should be handled, i.e. the
+             * execution was not already completed by a timeout or cancelled by the caller.
+             */
+            private boolean afterHttpRequest() {
+                ScheduledFuture<?> task = timeoutTask;
+                if (task != null) {
+                    task.cancel(false);
+                }
+                awsRequestMetrics.endEvent(Field.HttpRequestTime);
+                return !done.get();
+            }
+        }
+
+        /**
+         * Future of the response, which also aborts the in-flight HTTP request when cancelled.
+         * The original content of the request is restored once the aborted request is released.
+         */
+        private final class ResponseFuture extends BasicFuture<Response<T>> {
+
+            ResponseFuture(FutureCallback<Response<T>> callback) {
+                super(callback);
+            }
+
+            @Override
+            public boolean cancel(boolean mayInterruptIfRunning) {
+                if (!done.compareAndSet(false, true)) {
+                    return false;
+                }
+                abortCurrentAttempt();
+                boolean cancelled = super.cancel(mayInterruptIfRunning);
+                finish(null, null);
+                return cancelled;
+            }
+        }
+    }
+
     /**
      * Stateful parameters that are used for executing a single httpClientSettings request.
      */
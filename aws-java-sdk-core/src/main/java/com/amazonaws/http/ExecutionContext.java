@@ -68,7 +68,14 @@ public class ExecutionContext {
     public ExecutionContext(List<RequestHandler2> requestHandler2s, boolean isMetricEnabled,
             AmazonWebServiceClient awsClient) {
         this.requestHandler2s = requestHandler2s;
-        awsRequestMetrics = isMetricEnabled ? new AWSRequestMetricsFullSupport() : new AWSRequestMetrics();
+        if (isMetricEnabled) {
+            awsRequestMetrics = new AWSRequestMetricsFullSupport();
+        } else if (requestHandler2s == null || requestHandler2s.isEmpty()) {
+            // Only request handlers may observe the timing of a request whose metrics are not collected
+            awsRequestMetrics = AWSRequestMetrics.UNTIMED;
+        } else {
+            awsRequestMetrics = new AWSRequestMetrics();
+        }
         this.awsClient = awsClient;
     }
 
@@ -14,13 +14,20 @@
  */
 package com.amazonaws.http;
 
+import com.amazonaws.metrics.AwsSdkMetrics;
+import com.amazonaws.util.AWSServiceMetrics;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.pool.ConnPoolControl;
+import org.apache.http.pool.PoolStats;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Daemon thread to periodically check connection pools for idle connections.
@@ -39,53 +46,89 @@ import java.util.concurrent.TimeUnit;
  * cleaning up old/inactive HTTP connections, we'd see more IO exceptions when
  * stale connections (i.e. closed on the AWS side) are left in the connection
  * pool, and requests grab one of them to begin executing a request.
+ * <p/>
+ * Each connection manager is swept on its own schedule, derived from the
+ * maximum idle time and the time to live of its connections, so that a
+ * connection is closed shortly after it has been idle for too long or has
+ * expired. Connection managers are registered, removed and swept without any
+ * global lock; the number of connections closed is collected as the
+ * {@link AWSServiceMetrics#HttpClientIdleConnectionsClosedCount} metric.
  */
-public final class IdleConnectionReaper extends Thread {
+public final class IdleConnectionReaper {
 
     /**
      * Shared log for any errors during connection reaping.
      */
     static final Log log = LogFactory.getLog(IdleConnectionReaper.class);
     /**
-     * The period between invocations of the idle connection reaper.
+     * The maximum idle time of the connections of a connection manager
+     * registered without one.
+     */
+    private static final long DEFAULT_MAX_IDLE_MILLIS = 1000 * 60 * 1;
+    /**
+     * The connections of a manager are swept four times over their maximum
+     * idle time or time to live, so that they are closed no later than a
+     * quarter of that time after they should be.
      */
-    private static final int PERIOD_MILLISECONDS = 1000 * 60 * 1;
+    private static final int SWEEPS_PER_IDLE_TIME = 4;
     /**
-     * The list of registered connection managers, whose connections
-     * will be periodically checked and idle connections closed.
+     * Bounds of the period between two sweeps of a connection manager.
      */
-    private static final ArrayList<HttpClientConnectionManager>
-            connectionManagers = new ArrayList<HttpClientConnectionManager>();
+    private static final long MIN_PERIOD_MILLIS = 1000;
+    private static final long MAX_PERIOD_MILLIS = 1000 * 60 * 1;
     /**
-     * Singleton instance of the connection reaper.
+     * The registered connection managers, whose connections will be
+     * periodically checked and idle connections closed.
      */
-    private static IdleConnectionReaper instance;
+    private static final ConcurrentMap<HttpClientConnectionManager, Registration>
+            connectionManagers = new ConcurrentHashMap<HttpClientConnectionManager, Registration>();
     /**
-     * Set to true when shutting down the reaper;  Once set to true, this
-     * flag is never set back to false.
+     * The registered connection managers, in the order they are next swept.
      */
-    private volatile boolean shuttingDown;
+    private static final DelayQueue<Registration> schedule = new DelayQueue<Registration>();
+    /**
+     * The running reaper thread, if any.
+     */
+    private static final AtomicReference<ReaperThread> instance = new AtomicReference<ReaperThread>();
 
     /**
-     * Private constructor - singleton pattern.
+     * Private constructor - static methods only.
      */
     private IdleConnectionReaper() {
-        super("java-sdk-http-connection-reaper");
-        setDaemon(true);
     }
 
     /**
-     * Registers the given connection manager with this reaper;
+     * Registers the given connection manager with this reaper, closing the
+     * connections idle for a minute.
+     *
+     * @return true if the connection manager has been successfully registered;
+     * false otherwise.
+     */
+    public static boolean registerConnectionManager(HttpClientConnectionManager connectionManager) {
+        return registerConnectionManager(connectionManager, DEFAULT_MAX_IDLE_MILLIS, -1);
+    }
+
+    /**
+     * Registers the given connection manager with this reaper.
      *
+     * @param maxIdleMillis
+     *            the time (in milliseconds) after which an idle connection is
+     *            closed; or a non-positive value for a minute.
+     * @param connectionTTLMillis
+     *            the time to live (in milliseconds) of the connections of the
+     *            manager; or a non-positive value if they don't expire.
      * @return true if the connection manager has been successfully registered;
      * false otherwise.
      */
-    public static synchronized boolean registerConnectionManager(HttpClientConnectionManager connectionManager) {
-        if (instance == null) {
-            instance = new IdleConnectionReaper();
-            instance.start();
+    public static boolean registerConnectionManager(HttpClientConnectionManager connectionManager,
+                                                    long maxIdleMillis, long connectionTTLMillis) {
+        Registration registration = new Registration(connectionManager, maxIdleMillis, connectionTTLMillis);
+        if (connectionManagers.putIfAbsent(connectionManager, registration) != null) {
+            return false;
         }
-        return connectionManagers.add(connectionManager);
+        schedule.add(registration);
+        start();
+        return true;
     }
 
     /**
@@ -95,11 +138,19 @@ public final class IdleConnectionReaper extends Thread {
      * @return true if the connection manager has been successfully removed;
      * false otherwise.
      */
-    public static synchronized boolean removeConnectionManager(HttpClientConnectionManager connectionManager) {
-        boolean b = connectionManagers.remove(connectionManager);
-        if (connectionManagers.isEmpty())
-            shutdown();
-        return b;
+    public static boolean removeConnectionManager(HttpClientConnectionManager connectionManager) {
+        Registration registration = connectionManagers.remove(connectionManager);
+        if (registration != null) {
+            schedule.remove(registration);
+        }
+        if (connectionManagers.isEmpty()) {
+            stop();
+            // A connection manager registered in the meantime needs a thread
+            if (!connectionManagers.isEmpty()) {
+                start();
+            }
+        }
+        return registration != null;
     }
 
     /**
@@ -113,12 +164,10 @@ public final class IdleConnectionReaper extends Thread {
      *
      * @return true if an actual shutdown has been made; false otherwise.
      */
-    public static synchronized boolean shutdown() {
-        if (instance != null) {
-            instance.markShuttingDown();
-            instance.interrupt();
+    public static boolean shutdown() {
+        if (stop()) {
             connectionManagers.clear();
-            instance = null;
+            schedule.clear();
             return true;
         }
         return false;
@@ -129,46 +178,141 @@ public final class IdleConnectionReaper extends Thread {
      * Returns the number of connection managers currently monitored by this
      * reaper.
      */
-    static synchronized int size() {
+    static int size() {
         return connectionManagers.size();
     }
 
-    private void markShuttingDown() {
-        shuttingDown = true;
+    private static void start() {
+        if (instance.get() == null) {
+            ReaperThread thread = new ReaperThread();
+            if (instance.compareAndSet(null, thread)) {
+                thread.start();
+            }
+        }
     }
 
-    @SuppressWarnings("unchecked")
-    @Override
-    public void run() {
-        while (true) {
-            if (shuttingDown) {
-                log.debug("Shutting down reaper thread.");
-                return;
+    private static boolean stop() {
+        ReaperThread thread = instance.getAndSet(null);
+        if (thread == null) {
+            return false;
+        }
+        thread.markShuttingDown();
+        thread.interrupt();
+        return true;
+    }
+
+    private static final class ReaperThread extends Thread {
+        /**
+         * Set to true when shutting down the reaper;  Once set to true, this
+         * flag is never set back to false.
+         */
+        private volatile boolean shuttingDown;
+
+        private ReaperThread() {
+            super("java-sdk-http-connection-reaper");
+            setDaemon(true);
+        }
+
+        private void markShuttingDown() {
+            shuttingDown = true;
+        }
+
+        @Override
+        public void run() {
+            while (!shuttingDown) {
+                Registration registration;
+                try {
+                    registration = schedule.take();
+                } catch (InterruptedException e) {
+                    // Only interrupted on shutdown
+                    continue;
+                }
+                // Skip the connection managers removed meanwhile
+                if (connectionManagers.get(registration.connectionManager) != registration) {
+                    continue;
+                }
+                try {
+                    registration.sweep();
+                } catch (Throwable t) {
+                    log.debug("Reaper thread: ", t);
+                }
+                registration.scheduleNextSweep();
+                schedule.add(registration);
             }
+            log.debug("Shutting down reaper thread.");
+        }
+    }
+
+    /**
+     * A registered connection manager, and when it is next swept.
+     */
+    private static final class Registration implements Delayed {
+        private final HttpClientConnectionManager connectionManager;
+        private final long maxIdleMillis;
+        private final long periodNanos;
+        private volatile long nextSweepNanos;
+
+        private Registration(HttpClientConnectionManager connectionManager, long maxIdleMillis,
+                             long connectionTTLMillis) {
+            this.connectionManager = connectionManager;
+            this.maxIdleMillis = maxIdleMillis > 0 ? maxIdleMillis : DEFAULT_MAX_IDLE_MILLIS;
+            long lifetimeMillis = connectionTTLMillis > 0
+                    ? Math.min(this.maxIdleMillis, connectionTTLMillis)
+                    : this.maxIdleMillis;
+            long periodMillis = Math.max(MIN_PERIOD_MILLIS,
+                    Math.min(MAX_PERIOD_MILLIS, lifetimeMillis / SWEEPS_PER_IDLE_TIME));
+            this.periodNanos = TimeUnit.MILLISECONDS.toNanos(periodMillis);
+            scheduleNextSweep();
+        }
+
+        private void scheduleNextSweep() {
+            nextSweepNanos = System.nanoTime() + periodNanos;
+        }
+
+        /**
+         * Closes the idle and the expired connections of the connection manager.
+         */
+        private void sweep() {
+            PoolStats before = totalStats();
+            // When we release connections, the connection manager leaves them
+            // open so they can be reused.  We want to close out any idle
+            // connections so that they don't sit around in CLOSE_WAIT.
             try {
-                Thread.sleep(PERIOD_MILLISECONDS);
-
-                // Copy the list of managed ConnectionManagers to avoid possible
-                // ConcurrentModificationExceptions if registerConnectionManager or
-                // removeConnectionManager are called while we're iterating (rather
-                // than block/lock while this loop executes).
-                List<HttpClientConnectionManager> connectionManagers = null;
-                synchronized (IdleConnectionReaper.class) {
-                    connectionManagers = (List<HttpClientConnectionManager>) IdleConnectionReaper.connectionManagers.clone();
-                }
-                for (HttpClientConnectionManager connectionManager : connectionManagers) {
-                    // When we release connections, the connection manager leaves them
-                    // open so they can be reused.  We want to close out any idle
-                    // connections so that they don't sit around in CLOSE_WAIT.
-                    try {
-                        connectionManager.closeIdleConnections(60, TimeUnit.SECONDS);
-                    } catch (Exception t) {
-                        log.warn("Unable to close idle connections", t);
+                connectionManager.closeExpiredConnections();
+                connectionManager.closeIdleConnections(maxIdleMillis, TimeUnit.MILLISECONDS);
+            } catch (Exception t) {
+                log.warn("Unable to close idle connections", t);
+            }
+            PoolStats after = totalStats();
+            if (before != null && after != null) {
+                // Approximate, as connections may be opened meanwhile
+                long closed = (before.getAvailable() + before.getLeased())
+                        - (after.getAvailable() + after.getLeased());
+                if (closed > 0) {
+                    if (log.isDebugEnabled()) {
+                        log.debug("Closed " + closed + " idle or expired connections");
                     }
+                    AwsSdkMetrics.getServiceMetricCollector().collectCount(
+                            AWSServiceMetrics.HttpClientIdleConnectionsClosedCount, closed);
                 }
-            } catch (Throwable t) {
-                log.debug("Reaper thread: ", t);
             }
         }
+
+        private PoolStats totalStats() {
+            return connectionManager instanceof ConnPoolControl<?>
+                    ? ((ConnPoolControl<?>) connectionManager).getTotalStats()
+                    : null;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(nextSweepNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            long diff = nextSweepNanos - ((Registration) other).nextSweepNanos;
+            return diff < 0 ? -1 : diff > 0 ? 1 : 0;
+        }
     }
-}
\ No newline at end of file
+}
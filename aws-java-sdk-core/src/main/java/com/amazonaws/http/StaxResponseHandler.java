@@ -21,12 +21,14 @@ import java.util.Map;
 import javax.xml.stream.XMLEventReader;
 import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import com.amazonaws.AmazonWebServiceResponse;
 import com.amazonaws.ResponseMetadata;
+import com.amazonaws.transform.StaxCursorUnmarshaller;
 import com.amazonaws.transform.StaxUnmarshallerContext;
 import com.amazonaws.transform.Unmarshaller;
 import com.amazonaws.transform.VoidStaxUnmarshaller;
@@ -48,7 +50,11 @@ public class StaxResponseHandler<T> implements HttpResponseHandler<AmazonWebServ
     /** Shared logger for profiling information */
     private static final Log log = LogFactory.getLog("com.amazonaws.request");
 
-    /** Shared factory for creating XML event readers */
+    /**
+     * Shared factory for creating XML event and stream readers. The factory is never
+     * reconfigured, and creating readers from it is thread safe, so no lock
+     * is held while creating a reader.
+     */
     private static final XMLInputFactory xmlInputFactory = XMLInputFactory.newInstance();
 
     /**
@@ -86,14 +92,24 @@ public class StaxResponseHandler<T> implements HttpResponseHandler<AmazonWebServ
             content = new ByteArrayInputStream("<eof/>".getBytes(StringUtils.UTF8));
         }
 
-        XMLEventReader eventReader;
-        synchronized (xmlInputFactory) {
+        /*
+         * Unmarshallers that only read the events through their type don't
+         * need an event object for each node, so the document is read with
+         * the cursor of a stream reader for them.
+         */
+        XMLEventReader eventReader = null;
+        XMLStreamReader streamReader = null;
+        StaxUnmarshallerContext unmarshallerContext;
+        if (responseUnmarshaller instanceof StaxCursorUnmarshaller) {
+            streamReader = xmlInputFactory.createXMLStreamReader(content);
+            unmarshallerContext = new StaxUnmarshallerContext(streamReader, response.getHeaders());
+        } else {
             eventReader = xmlInputFactory.createXMLEventReader(content);
+            unmarshallerContext = new StaxUnmarshallerContext(eventReader, response.getHeaders());
         }
 
         try {
             AmazonWebServiceResponse<T> awsResponse = new AmazonWebServiceResponse<T>();
-            StaxUnmarshallerContext unmarshallerContext = new StaxUnmarshallerContext(eventReader, response.getHeaders());
             unmarshallerContext.registerMetadataExpression("ResponseMetadata/RequestId", 2, ResponseMetadata.AWS_REQUEST_ID);
             unmarshallerContext.registerMetadataExpression("requestId", 2, ResponseMetadata.AWS_REQUEST_ID);
             registerAdditionalMetadataExpressions(unmarshallerContext);
@@ -115,7 +131,11 @@ public class StaxResponseHandler<T> implements HttpResponseHandler<AmazonWebServ
             return awsResponse;
         } finally {
             try {
-                eventReader.close();
+                if (streamReader != null) {
+                    streamReader.close();
+                } else {
+                    eventReader.close();
+                }
             } catch (XMLStreamException e) {
                 log.warn("Error closing xml parser", e);
             }
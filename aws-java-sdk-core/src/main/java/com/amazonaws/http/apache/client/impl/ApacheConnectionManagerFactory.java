@@ -14,6 +14,8 @@
  */
 package com.amazonaws.http.apache.client.impl;
 
+import com.amazonaws.CachingDnsResolver;
+import com.amazonaws.DnsResolver;
 import com.amazonaws.SDKGlobalConfiguration;
 import com.amazonaws.http.AmazonHttpClient;
 import com.amazonaws.http.DelegatingDnsResolver;
@@ -23,12 +25,17 @@ import com.amazonaws.http.settings.HttpClientSettings;
 import com.amazonaws.internal.SdkSSLContext;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.apache.http.HttpClientConnection;
 import org.apache.http.HttpHost;
+import org.apache.http.client.protocol.HttpClientContext;
 import org.apache.http.config.ConnectionConfig;
 import org.apache.http.config.Registry;
 import org.apache.http.config.RegistryBuilder;
 import org.apache.http.config.SocketConfig;
+import org.apache.http.conn.ConnectionRequest;
 import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.conn.UnsupportedSchemeException;
+import org.apache.http.conn.routing.HttpRoute;
 import org.apache.http.conn.socket.ConnectionSocketFactory;
 import org.apache.http.conn.socket.LayeredConnectionSocketFactory;
 import org.apache.http.conn.socket.PlainConnectionSocketFactory;
@@ -43,11 +50,17 @@ import javax.net.ssl.SSLSocket;
 import javax.net.ssl.TrustManager;
 import javax.net.ssl.X509TrustManager;
 import java.io.IOException;
+import java.net.ConnectException;
 import java.net.InetSocketAddress;
+import java.net.NoRouteToHostException;
 import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.net.URI;
 import java.net.UnknownHostException;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import static com.amazonaws.SDKGlobalConfiguration.DISABLE_CERT_CHECKING_SYSTEM_PROPERTY;
@@ -58,7 +71,7 @@ import static com.amazonaws.SDKGlobalConfiguration.DISABLE_CERT_CHECKING_SYSTEM_
 public class ApacheConnectionManagerFactory implements
         ConnectionManagerFactory<HttpClientConnectionManager> {
 
-    private final Log LOG = LogFactory.getLog(AmazonHttpClient.class);
+    private static final Log LOG = LogFactory.getLog(AmazonHttpClient.class);
 
     @Override
     public HttpClientConnectionManager create(final HttpClientSettings settings) {
@@ -66,7 +79,7 @@ public class ApacheConnectionManagerFactory implements
 
         final PoolingHttpClientConnectionManager cm = new
                 PoolingHttpClientConnectionManager(
-                createSocketFactoryRegistry(sslsf),
+                createSocketFactoryRegistry(sslsf, settings.getDnsResolver()),
                 null,
                 DefaultSchemePortResolver.INSTANCE,
                 new DelegatingDnsResolver(settings.getDnsResolver()),
@@ -81,6 +94,77 @@ public class ApacheConnectionManagerFactory implements
         return cm;
     }
 
+    /**
+     * Opens up to the given number of connections to the given endpoint, completing the TCP and,
+     * for HTTPS, the TLS handshakes, and releases them into the pool of the given connection
+     * manager so that the first requests sent to the endpoint reuse them. Connections already
+     * pooled for the endpoint count towards the number, which is capped by the maximum number of
+     * connections.
+     * <p>
+     * Connections to an HTTPS endpoint through a proxy are tunnelled with a CONNECT request sent
+     * by the http client, and so are never warmed up.
+     *
+     * @return the number of connections opened
+     */
+    public static int warmUp(HttpClientConnectionManager cm, HttpClientSettings settings, URI endpoint, int count) {
+        HttpRoute route = buildRoute(settings, endpoint);
+        if (route.isTunnelled()) {
+            LOG.debug("Not warming up tunnelled connections to " + route);
+            return 0;
+        }
+        count = Math.min(count, settings.getMaxConnections());
+
+        HttpClientContext context = HttpClientContext.create();
+        List<HttpClientConnection> leased = new ArrayList<HttpClientConnection>(Math.max(count, 0));
+        int opened = 0;
+        try {
+            // The connections are all held until the end so that each one leased is a new one
+            for (int i = 0; i < count; i++) {
+                ConnectionRequest request = cm.requestConnection(route, null);
+                HttpClientConnection conn = request.get(settings.getConnectionPoolRequestTimeout(),
+                        TimeUnit.MILLISECONDS);
+                leased.add(conn);
+                if (!conn.isOpen()) {
+                    cm.connect(conn, route, settings.getConnectionTimeout(), context);
+                    cm.routeComplete(conn, route, context);
+                    opened++;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            LOG.warn("Unable to warm up connections to " + route + ": " + e.getMessage(), e);
+        } finally {
+            // Connections whose handshake failed aren't reusable and are discarded by the pool
+            for (HttpClientConnection conn : leased) {
+                cm.releaseConnection(conn, null, settings.getMaxIdleConnectionTime(), TimeUnit.MILLISECONDS);
+            }
+        }
+        return opened;
+    }
+
+    /**
+     * Returns the route the http client plans for requests to the given endpoint, so that the
+     * connections warmed up are found in the pool by those requests.
+     */
+    private static HttpRoute buildRoute(HttpClientSettings settings, URI endpoint) {
+        HttpHost target = new HttpHost(endpoint.getHost(), endpoint.getPort(), endpoint.getScheme());
+        if (target.getPort() <= 0) {
+            try {
+                target = new HttpHost(target.getHostName(),
+                        DefaultSchemePortResolver.INSTANCE.resolve(target), target.getSchemeName());
+            } catch (UnsupportedSchemeException e) {
+                throw new IllegalArgumentException("Unsupported endpoint: " + endpoint, e);
+            }
+        }
+        boolean secure = "https".equalsIgnoreCase(target.getSchemeName());
+        String proxyHost = settings.getProxyHost();
+        int proxyPort = settings.getProxyPort();
+        return proxyHost != null && proxyPort > 0
+                ? new HttpRoute(target, settings.getLocalAddress(), new HttpHost(proxyHost, proxyPort), secure)
+                : new HttpRoute(target, settings.getLocalAddress(), secure);
+    }
+
     private ConnectionSocketFactory getPreferredSocketFactory(HttpClientSettings settings) {
         ConnectionSocketFactory sslsf = settings.getApacheHttpClientConfig().getSslSocketFactory();
 
@@ -120,7 +204,8 @@ public class ApacheConnectionManagerFactory implements
                 : SSLConnectionSocketFactory.STRICT_HOSTNAME_VERIFIER;
     }
 
-    private Registry<ConnectionSocketFactory> createSocketFactoryRegistry(ConnectionSocketFactory sslSocketFactory) {
+    private Registry<ConnectionSocketFactory> createSocketFactoryRegistry(ConnectionSocketFactory sslSocketFactory,
+                                                                          DnsResolver dnsResolver) {
 
         /*
          * If SSL cert checking for endpoints has been explicitly disabled,
@@ -135,12 +220,83 @@ public class ApacheConnectionManagerFactory implements
             sslSocketFactory = new TrustingSocketFactory();
         }
 
+        ConnectionSocketFactory plainSocketFactory = PlainConnectionSocketFactory.getSocketFactory();
+
+        /*
+         * Spreading the connections over the addresses of a host, a caching
+         * resolver is told of the addresses that can't be connected to so that
+         * it stops returning them.
+         */
+        if (dnsResolver instanceof CachingDnsResolver) {
+            CachingDnsResolver resolver = (CachingDnsResolver) dnsResolver;
+            plainSocketFactory = new UnhealthyAddressReportingSocketFactory(plainSocketFactory, resolver);
+            sslSocketFactory = sslSocketFactory instanceof LayeredConnectionSocketFactory
+                    ? new LayeredUnhealthyAddressReportingSocketFactory(
+                            (LayeredConnectionSocketFactory) sslSocketFactory, resolver)
+                    : new UnhealthyAddressReportingSocketFactory(sslSocketFactory, resolver);
+        }
+
         return RegistryBuilder.<ConnectionSocketFactory>create()
-                .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                .register("http", plainSocketFactory)
                 .register("https", sslSocketFactory)
                 .build();
     }
 
+    /**
+     * Reports the addresses a socket couldn't be connected to as unhealthy
+     * to the given resolver.
+     */
+    private static class UnhealthyAddressReportingSocketFactory implements ConnectionSocketFactory {
+
+        private final ConnectionSocketFactory delegate;
+        private final CachingDnsResolver resolver;
+
+        UnhealthyAddressReportingSocketFactory(ConnectionSocketFactory delegate, CachingDnsResolver resolver) {
+            this.delegate = delegate;
+            this.resolver = resolver;
+        }
+
+        @Override
+        public Socket createSocket(HttpContext context) throws IOException {
+            return delegate.createSocket(context);
+        }
+
+        @Override
+        public Socket connectSocket(int connectTimeout, Socket sock, HttpHost host, InetSocketAddress remoteAddress,
+                                    InetSocketAddress localAddress, HttpContext context) throws IOException {
+            try {
+                return delegate.connectSocket(connectTimeout, sock, host, remoteAddress, localAddress, context);
+            } catch (ConnectException e) {
+                resolver.markUnhealthy(remoteAddress.getAddress());
+                throw e;
+            } catch (NoRouteToHostException e) {
+                resolver.markUnhealthy(remoteAddress.getAddress());
+                throw e;
+            } catch (SocketTimeoutException e) {
+                resolver.markUnhealthy(remoteAddress.getAddress());
+                throw e;
+            }
+        }
+    }
+
+    private static class LayeredUnhealthyAddressReportingSocketFactory extends UnhealthyAddressReportingSocketFactory
+            implements LayeredConnectionSocketFactory {
+
+        private final LayeredConnectionSocketFactory delegate;
+
+        LayeredUnhealthyAddressReportingSocketFactory(LayeredConnectionSocketFactory delegate,
+                                                       CachingDnsResolver resolver) {
+            super(delegate, resolver);
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Socket createLayeredSocket(Socket socket, String target, int port, HttpContext context)
+                throws IOException {
+            return delegate.createLayeredSocket(socket, target, port, context);
+        }
+    }
+
     /**
      * Simple implementation of SchemeSocketFactory (and
      * LayeredSchemeSocketFactory) that bypasses SSL certificate checks. This
@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2016. Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.http.apache.client.impl;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.SDKGlobalConfiguration;
+import com.amazonaws.http.AmazonHttpClient;
+import com.amazonaws.http.DelegatingDnsResolver;
+import com.amazonaws.http.apache.utils.ApacheUtils;
+import com.amazonaws.http.client.HttpClientFactory;
+import com.amazonaws.http.conn.SdkConnectionKeepAliveStrategy;
+import com.amazonaws.http.settings.HttpClientSettings;
+import com.amazonaws.internal.SdkSSLContext;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.config.ConnectionConfig;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.ssl.NoopHostnameVerifier;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.conn.ssl.TrustStrategy;
+import org.apache.http.impl.client.DefaultRedirectStrategy;
+import org.apache.http.impl.conn.DefaultSchemePortResolver;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.conn.NoopIOSessionStrategy;
+import org.apache.http.nio.conn.SchemeIOSessionStrategy;
+import org.apache.http.nio.conn.ssl.SSLIOSessionStrategy;
+import org.apache.http.nio.reactor.IOReactorException;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.ssl.SSLContexts;
+
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.SSLContext;
+import java.security.cert.X509Certificate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Factory class that builds the non-blocking apache http client from the
+ * settings. The client multiplexes all its connections over a small number of
+ * I/O threads, and is started before being returned.
+ */
+public class ApacheNonBlockingHttpClientFactory implements HttpClientFactory<NonBlockingHttpClient> {
+
+    private static final Log LOG = LogFactory.getLog(AmazonHttpClient.class);
+
+    @Override
+    public NonBlockingHttpClient create(HttpClientSettings settings) {
+        final HttpAsyncClientBuilder builder = HttpAsyncClients.custom();
+
+        builder.setConnectionManager(createConnectionManager(settings))
+                .setRedirectStrategy(new NeverRedirectStrategy());
+
+        if (settings.getMaxIdleConnectionTime() > 0) {
+            builder.setKeepAliveStrategy(
+                    new SdkConnectionKeepAliveStrategy(settings.getMaxIdleConnectionTime()));
+        }
+
+        addProxyConfig(builder, settings);
+
+        final CloseableHttpAsyncClient client = builder.build();
+        client.start();
+        return new SdkNonBlockingHttpClient(client);
+    }
+
+    private PoolingNHttpClientConnectionManager createConnectionManager(HttpClientSettings settings) {
+        final DefaultConnectingIOReactor ioReactor;
+        try {
+            ioReactor = new DefaultConnectingIOReactor(buildIOReactorConfig(settings));
+        } catch (IOReactorException e) {
+            throw new AmazonClientException("Unable to create the non-blocking I/O reactor: "
+                    + e.getMessage(), e);
+        }
+
+        final PoolingNHttpClientConnectionManager cm = new PoolingNHttpClientConnectionManager(
+                ioReactor,
+                null,
+                createSessionStrategyRegistry(settings),
+                DefaultSchemePortResolver.INSTANCE,
+                new DelegatingDnsResolver(settings.getDnsResolver()),
+                settings.getConnectionPoolTTL(),
+                TimeUnit.MILLISECONDS);
+
+        cm.setDefaultMaxPerRoute(settings.getMaxConnections());
+        cm.setMaxTotal(settings.getMaxConnections());
+
+        int socketBufferSize = Math.max(settings.getSocketBufferSize()[0],
+                settings.getSocketBufferSize()[1]);
+        if (socketBufferSize > 0) {
+            cm.setDefaultConnectionConfig(ConnectionConfig.custom()
+                    .setBufferSize(socketBufferSize)
+                    .build());
+        }
+        return cm;
+    }
+
+    private IOReactorConfig buildIOReactorConfig(HttpClientSettings settings) {
+        final IOReactorConfig.Builder builder = IOReactorConfig.custom()
+                .setConnectTimeout(settings.getConnectionTimeout())
+                .setSoTimeout(settings.getSocketTimeout())
+                .setSoKeepAlive(settings.useTcpKeepAlive())
+                .setTcpNoDelay(true);
+
+        if (settings.getNonBlockingIoThreadCount() > 0) {
+            builder.setIoThreadCount(settings.getNonBlockingIoThreadCount());
+        }
+        if (settings.getSocketBufferSize()[0] > 0) {
+            builder.setSndBufSize(settings.getSocketBufferSize()[0]);
+        }
+        if (settings.getSocketBufferSize()[1] > 0) {
+            builder.setRcvBufSize(settings.getSocketBufferSize()[1]);
+        }
+        return builder.build();
+    }
+
+    private Registry<SchemeIOSessionStrategy> createSessionStrategyRegistry(HttpClientSettings settings) {
+        final SchemeIOSessionStrategy sslStrategy;
+        /*
+         * If SSL cert checking for endpoints has been explicitly disabled,
+         * register a new scheme for HTTPS that won't cause self-signed certs to
+         * error out.
+         */
+        if (SDKGlobalConfiguration.isCertCheckingDisabled()) {
+            if (LOG.isWarnEnabled()) {
+                LOG.warn("SSL Certificate checking for endpoints has been " +
+                        "explicitly disabled.");
+            }
+            sslStrategy = new SSLIOSessionStrategy(createTrustingSSLContext(),
+                    NoopHostnameVerifier.INSTANCE);
+        } else {
+            sslStrategy = new SSLIOSessionStrategy(
+                    SdkSSLContext.getPreferredSSLContext(settings.getSecureRandom()),
+                    getHostNameVerifier(settings));
+        }
+
+        return RegistryBuilder.<SchemeIOSessionStrategy>create()
+                .register("http", NoopIOSessionStrategy.INSTANCE)
+                .register("https", sslStrategy)
+                .build();
+    }
+
+    private SSLContext createTrustingSSLContext() {
+        try {
+            return SSLContexts.custom()
+                    .loadTrustMaterial(null, new TrustStrategy() {
+                        @Override
+                        public boolean isTrusted(X509Certificate[] chain, String authType) {
+                            return true;
+                        }
+                    })
+                    .build();
+        } catch (Exception e) {
+            throw new AmazonClientException("Unable to create SSL context: " + e.getMessage(), e);
+        }
+    }
+
+    private HostnameVerifier getHostNameVerifier
+            (HttpClientSettings options) {
+        return options.useBrowserCompatibleHostNameVerifier()
+                ? SSLConnectionSocketFactory.BROWSER_COMPATIBLE_HOSTNAME_VERIFIER
+                : SSLConnectionSocketFactory.STRICT_HOSTNAME_VERIFIER;
+    }
+
+    private void addProxyConfig(HttpAsyncClientBuilder builder,
+                                HttpClientSettings settings) {
+        if (settings.getProxyHost() != null && settings.getProxyPort() > 0) {
+
+            LOG.info("Configuring Proxy. Proxy Host: " + settings.getProxyHost() + " " +
+                    "Proxy Port: " + settings.getProxyPort());
+            builder.setProxy(new HttpHost(settings.getProxyHost(), settings.getProxyPort()));
+
+            if (settings.getProxyUsername() != null && settings.getProxyPassword() != null) {
+                builder.setDefaultCredentialsProvider(ApacheUtils
+                        .newProxyCredentialsProvider(settings));
+            }
+        }
+    }
+
+    /**
+     * Redirects are handled by the SDK itself, as with the blocking client.
+     */
+    private static class NeverRedirectStrategy extends DefaultRedirectStrategy {
+        @Override
+        public boolean isRedirected(HttpRequest request, HttpResponse response, HttpContext context) {
+            return false;
+        }
+    }
+}
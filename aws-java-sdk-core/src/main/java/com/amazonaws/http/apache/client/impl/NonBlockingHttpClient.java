@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2016. Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.http.apache.client.impl;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.protocol.HttpContext;
+
+import java.util.concurrent.Future;
+
+/**
+ * A non-blocking http client that executes requests on a small number of I/O
+ * threads and notifies a callback once the response has been received.
+ * <p>
+ * Only the types of this interface are visible to the rest of the SDK, so that
+ * the underlying non-blocking library is only loaded when the non-blocking
+ * transport is enabled.
+ */
+public interface NonBlockingHttpClient {
+
+    /**
+     * Starts executing the given request and returns immediately. The response
+     * entity, if any, is fully buffered in memory before the callback is
+     * notified.
+     *
+     * @param request  the request to execute.
+     * @param context  the context used for the execution.
+     * @param callback the callback notified on completion, failure or
+     *                 cancellation of the request.
+     * @return a future that can be used to cancel the request.
+     */
+    Future<HttpResponse> execute(HttpUriRequest request, HttpContext context,
+                                 FutureCallback<HttpResponse> callback);
+
+    /**
+     * Shuts down the client, closing all its connections and I/O threads.
+     */
+    void shutdown();
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2016. Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.http.apache.client.impl;
+
+import com.amazonaws.http.AmazonHttpClient;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.protocol.HttpContext;
+
+import java.io.IOException;
+import java.util.concurrent.Future;
+
+/**
+ * An instance of {@link NonBlockingHttpClient} that delegates all the requests
+ * to the given Apache HttpAsyncClient.
+ */
+public class SdkNonBlockingHttpClient implements NonBlockingHttpClient {
+
+    private static final Log LOG = LogFactory.getLog(AmazonHttpClient.class);
+
+    private final CloseableHttpAsyncClient delegate;
+
+    public SdkNonBlockingHttpClient(final CloseableHttpAsyncClient delegate) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("delegate " +
+                    "cannot be null");
+        }
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Future<HttpResponse> execute(HttpUriRequest request, HttpContext context,
+                                        FutureCallback<HttpResponse> callback) {
+        return delegate.execute(request, context, callback);
+    }
+
+    @Override
+    public void shutdown() {
+        try {
+            delegate.close();
+        } catch (IOException e) {
+            LOG.debug("Unable to shut down the non-blocking http client", e);
+        }
+    }
+}
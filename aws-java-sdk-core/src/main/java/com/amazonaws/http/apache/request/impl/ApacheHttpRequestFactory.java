@@ -48,6 +48,9 @@ public class ApacheHttpRequestFactory implements
 
     private static final String DEFAULT_ENCODING = "UTF-8";
 
+    private static final String DEFAULT_CONTENT_TYPE =
+            "application/x-www-form-urlencoded; charset=" + DEFAULT_ENCODING.toLowerCase();
+
     private static final List<String> ignoreHeaders = Arrays.asList
             (HttpHeaders.CONTENT_LENGTH, HttpHeaders.HOST);
 
@@ -192,12 +195,8 @@ public class ApacheHttpRequestFactory implements
         }
 
         /* Set content type and encoding */
-        if (httpRequest.getHeaders(HttpHeaders.CONTENT_TYPE) == null || httpRequest
-                .getHeaders
-                        (HttpHeaders.CONTENT_TYPE).length == 0) {
-            httpRequest.addHeader(HttpHeaders.CONTENT_TYPE,
-                    "application/x-www-form-urlencoded; " +
-                            "charset=" + DEFAULT_ENCODING.toLowerCase());
+        if (!httpRequest.containsHeader(HttpHeaders.CONTENT_TYPE)) {
+            httpRequest.addHeader(HttpHeaders.CONTENT_TYPE, DEFAULT_CONTENT_TYPE);
         }
     }
 
@@ -42,7 +42,7 @@ public class SdkHttpRequestExecutor extends HttpRequestExecutor {
             final HttpContext context)
                 throws IOException, HttpException {
         AWSRequestMetrics awsRequestMetrics = (AWSRequestMetrics) context
-                .getAttribute(AWSRequestMetrics.class.getSimpleName());
+                .getAttribute(AWSRequestMetrics.HTTP_CONTEXT_ATTRIBUTE);
 
         if (awsRequestMetrics == null) {
             return super.doSendRequest(request, conn, context);
@@ -73,7 +73,7 @@ public class SdkHttpRequestExecutor extends HttpRequestExecutor {
             final HttpContext          context)
                 throws HttpException, IOException {
         AWSRequestMetrics awsRequestMetrics = (AWSRequestMetrics) context
-                .getAttribute(AWSRequestMetrics.class.getSimpleName());
+                .getAttribute(AWSRequestMetrics.HTTP_CONTEXT_ATTRIBUTE);
         if (awsRequestMetrics == null) {
             return super.doReceiveResponse(request, conn, context);
         }
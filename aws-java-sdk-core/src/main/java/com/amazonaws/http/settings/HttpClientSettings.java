@@ -143,4 +143,16 @@ public class HttpClientSettings {
         return config.isUseExpectContinue();
     }
 
+    public boolean useNonBlockingHttpTransport() {
+        return config.useNonBlockingHttpTransport();
+    }
+
+    public int getNonBlockingIoThreadCount() {
+        return config.getNonBlockingIoThreadCount();
+    }
+
+    public int getWarmUpConnections() {
+        return config.getWarmUpConnections();
+    }
+
 }
@@ -0,0 +1,435 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.http.timers;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.amazonaws.annotation.SdkInternalApi;
+import com.amazonaws.annotation.SdkTestInternalApi;
+import com.amazonaws.annotation.ThreadSafe;
+
+/**
+ * A hashed wheel timer for the request timeout and client execution timeout features, which share
+ * one timer per {@link com.amazonaws.http.AmazonHttpClient}.
+ * <p>
+ * Scheduling and canceling a timeout are O(1) and don't take any lock: new timeouts and canceled
+ * timeouts are handed to the worker thread through lock-free queues, and the worker thread alone
+ * links them into, and unlinks them from, the buckets of the wheel. Canceled timeouts are therefore
+ * never left behind to be purged. The price is precision: a timeout expires on the first tick at or
+ * after its deadline, i.e. up to one tick late.
+ * <p>
+ * The worker thread is started on demand, and stops once no timeout has been pending for the idle
+ * time given, so that an idle client doesn't hold a thread. The worker thread only keeps the wheel:
+ * expired tasks are handed to at most two task threads, also started on demand and stopped when
+ * idle, so that a task blocking for a while, e.g. to close an SSL socket, doesn't delay the other
+ * timeouts.
+ */
+@SdkInternalApi
+@ThreadSafe
+public class HashedWheelTimer {
+
+    private static final Log LOG = LogFactory.getLog(HashedWheelTimer.class);
+
+    /**
+     * Default duration of a tick. Small enough to keep the timeouts reasonably precise.
+     */
+    private static final long DEFAULT_TICK_MILLIS = 10;
+
+    /**
+     * Default number of buckets; one rotation of the wheel with the default tick covers a little
+     * more than 5 seconds. Longer timeouts are held for several rotations.
+     */
+    private static final int DEFAULT_WHEEL_SIZE = 512;
+
+    /**
+     * Default time after which an idle worker thread stops.
+     */
+    private static final long DEFAULT_IDLE_MILLIS = 5000;
+
+    /**
+     * Default maximum number of threads running the expired tasks. Timeouts rarely expire, so the
+     * second thread only covers a task blocking the first one.
+     */
+    private static final int DEFAULT_TASK_THREADS = 2;
+
+    private static final int WORKER_IDLE = 0;
+    private static final int WORKER_RUNNING = 1;
+    private static final int WORKER_SHUTDOWN = 2;
+
+    private final String threadName;
+    private final long tickNanos;
+    private final long idleNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final ThreadPoolExecutor taskExecutor;
+
+    /** Time the deadlines are relative to, so that they don't overflow. */
+    private final long startNanos = System.nanoTime();
+
+    private final Queue<Timeout> newTimeouts = new ConcurrentLinkedQueue<Timeout>();
+    private final Queue<Timeout> canceledTimeouts = new ConcurrentLinkedQueue<Timeout>();
+
+    /** Number of timeouts neither expired nor canceled. */
+    private final AtomicInteger pendingTimeouts = new AtomicInteger();
+    private final AtomicLong expiredTimeouts = new AtomicLong();
+
+    private final AtomicInteger workerState = new AtomicInteger(WORKER_IDLE);
+    private volatile Thread workerThread;
+
+    /** The last tick processed; only accessed by the worker thread. */
+    private long tick;
+
+    /** Number of timeouts linked into the buckets; only accessed by the worker thread. */
+    private int linkedTimeouts;
+
+    public HashedWheelTimer(String threadName) {
+        this(threadName, DEFAULT_TICK_MILLIS, DEFAULT_WHEEL_SIZE, DEFAULT_IDLE_MILLIS);
+    }
+
+    /**
+     * @param threadName
+     *            Name of the worker thread
+     * @param tickMillis
+     *            Duration of a tick, i.e. the precision of the timer
+     * @param wheelSize
+     *            Number of buckets of the wheel, rounded up to a power of two
+     * @param idleMillis
+     *            Time after which the worker thread stops when no timeout is pending
+     */
+    public HashedWheelTimer(String threadName, long tickMillis, int wheelSize, long idleMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tickMillis must be positive: " + tickMillis);
+        }
+        if (wheelSize <= 0 || wheelSize > (1 << 30)) {
+            throw new IllegalArgumentException("wheelSize must be between 1 and 2^30: " + wheelSize);
+        }
+        this.threadName = threadName;
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        this.idleNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(idleMillis, tickMillis));
+        int size = 1;
+        while (size < wheelSize) {
+            size <<= 1;
+        }
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+        this.taskExecutor = new ThreadPoolExecutor(DEFAULT_TASK_THREADS, DEFAULT_TASK_THREADS,
+                idleNanos, TimeUnit.NANOSECONDS, new LinkedBlockingQueue<Runnable>(),
+                new ThreadFactory() {
+                    @Override
+                    public Thread newThread(Runnable runnable) {
+                        Thread thread = new Thread(runnable, HashedWheelTimer.this.threadName + "-task");
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+        taskExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Schedules the given task to run on a task thread once the given delay has elapsed.
+     *
+     * @return A handle to cancel the task
+     * @throws IllegalStateException
+     *             If the timer has been shut down
+     */
+    public Timeout newTimeout(Runnable task, long delayMillis) {
+        if (workerState.get() == WORKER_SHUTDOWN) {
+            throw new IllegalStateException("The timer has been shut down");
+        }
+        long deadline = System.nanoTime() - startNanos + TimeUnit.MILLISECONDS.toNanos(delayMillis);
+        Timeout timeout = new Timeout(this, task, deadline);
+        // Counted before being queued, so that an idle worker never misses it
+        pendingTimeouts.incrementAndGet();
+        newTimeouts.add(timeout);
+        if (workerState.get() == WORKER_IDLE && workerState.compareAndSet(WORKER_IDLE, WORKER_RUNNING)) {
+            startWorker();
+        }
+        return timeout;
+    }
+
+    /**
+     * Stops the worker thread and the task threads. Pending timeouts never expire, and no timeout
+     * can be scheduled afterwards.
+     */
+    public void shutdown() {
+        workerState.set(WORKER_SHUTDOWN);
+        Thread thread = workerThread;
+        if (thread != null) {
+            thread.interrupt();
+        }
+        taskExecutor.shutdown();
+    }
+
+    /**
+     * @return The number of timeouts neither expired nor canceled
+     */
+    @SdkTestInternalApi
+    public int getPendingTimeoutCount() {
+        return pendingTimeouts.get();
+    }
+
+    /**
+     * @return The number of timeouts whose task has been handed to a task thread
+     */
+    @SdkTestInternalApi
+    public long getExpiredTimeoutCount() {
+        return expiredTimeouts.get();
+    }
+
+    /**
+     * @return True if the worker thread is running
+     */
+    @SdkTestInternalApi
+    public boolean isWorkerRunning() {
+        Thread thread = workerThread;
+        return thread != null && thread.isAlive();
+    }
+
+    private void startWorker() {
+        Thread thread = new Thread(new Worker(), threadName);
+        thread.setDaemon(true);
+        workerThread = thread;
+        thread.start();
+    }
+
+    private final class Worker implements Runnable {
+
+        @Override
+        public void run() {
+            // Timeouts left in the wheel by a previous worker are linked relative to its last tick,
+            // which must then be resumed from so that no bucket is skipped
+            if (linkedTimeouts == 0) {
+                tick = currentTick();
+            }
+            long idleSince = System.nanoTime();
+            while (workerState.get() == WORKER_RUNNING) {
+                if (!sleepUntilNextTick()) {
+                    break;
+                }
+                long now = currentTick();
+                removeCanceledTimeouts();
+                transferNewTimeouts();
+                // Catch up on the ticks missed, e.g. after a long GC pause
+                while (tick < now) {
+                    tick++;
+                    expireTimeouts(wheel[(int) (tick & mask)]);
+                }
+                if (pendingTimeouts.get() > 0) {
+                    idleSince = System.nanoTime();
+                } else if (System.nanoTime() - idleSince >= idleNanos && stop()) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Stops the worker, unless a timeout was scheduled in the meantime.
+         *
+         * @return True if the worker has stopped and must not touch the wheel any longer
+         */
+        private boolean stop() {
+            removeCanceledTimeouts();
+            transferNewTimeouts();
+            if (!workerState.compareAndSet(WORKER_RUNNING, WORKER_IDLE)) {
+                return true;
+            }
+            // A timeout scheduled before the state changed is counted already
+            if (pendingTimeouts.get() > 0) {
+                if (workerState.compareAndSet(WORKER_IDLE, WORKER_RUNNING)) {
+                    return false;
+                }
+                // Another worker has been started to take over
+            }
+            return true;
+        }
+
+        private boolean sleepUntilNextTick() {
+            long sleepNanos = (tick + 1) * tickNanos - (System.nanoTime() - startNanos);
+            if (sleepNanos <= 0) {
+                return true;
+            }
+            try {
+                TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                return true;
+            } catch (InterruptedException e) {
+                // Only interrupted on shutdown
+                return false;
+            }
+        }
+    }
+
+    private long currentTick() {
+        return (System.nanoTime() - startNanos) / tickNanos;
+    }
+
+    private void transferNewTimeouts() {
+        Timeout timeout;
+        while ((timeout = newTimeouts.poll()) != null) {
+            if (timeout.state.get() != Timeout.ST_INIT) {
+                continue;
+            }
+            // The first tick at or after the deadline, so that no timeout expires early
+            long expiryTick = Math.max((timeout.deadline + tickNanos - 1) / tickNanos, tick + 1);
+            timeout.remainingRounds = (expiryTick - tick - 1) / wheel.length;
+            wheel[(int) (expiryTick & mask)].add(timeout);
+            linkedTimeouts++;
+        }
+    }
+
+    private void removeCanceledTimeouts() {
+        Timeout timeout;
+        while ((timeout = canceledTimeouts.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+                linkedTimeouts--;
+            }
+        }
+    }
+
+    private void expireTimeouts(Bucket bucket) {
+        Timeout timeout = bucket.head;
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            if (timeout.remainingRounds > 0) {
+                timeout.remainingRounds--;
+            } else {
+                bucket.remove(timeout);
+                linkedTimeouts--;
+                timeout.expire();
+            }
+            timeout = next;
+        }
+    }
+
+    /**
+     * A doubly linked list of timeouts, only accessed by the worker thread.
+     */
+    private static final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.prev == null) {
+                head = timeout.next;
+            } else {
+                timeout.prev.next = timeout.next;
+            }
+            if (timeout.next == null) {
+                tail = timeout.prev;
+            } else {
+                timeout.next.prev = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+
+    /**
+     * A task scheduled on a {@link HashedWheelTimer}.
+     */
+    public static final class Timeout {
+        private static final int ST_INIT = 0;
+        private static final int ST_CANCELED = 1;
+        private static final int ST_EXPIRED = 2;
+
+        private final HashedWheelTimer timer;
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(ST_INIT);
+
+        // Only accessed by the worker thread
+        private long remainingRounds;
+        private Bucket bucket;
+        private Timeout prev;
+        private Timeout next;
+
+        private Timeout(HashedWheelTimer timer, Runnable task, long deadline) {
+            this.timer = timer;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancels the task, unless it has already expired.
+         *
+         * @return True if the task has been canceled by this call
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(ST_INIT, ST_CANCELED)) {
+                return false;
+            }
+            timer.pendingTimeouts.decrementAndGet();
+            timer.canceledTimeouts.add(this);
+            return true;
+        }
+
+        public boolean isCanceled() {
+            return state.get() == ST_CANCELED;
+        }
+
+        public boolean isExpired() {
+            return state.get() == ST_EXPIRED;
+        }
+
+        private void expire() {
+            if (!state.compareAndSet(ST_INIT, ST_EXPIRED)) {
+                return;
+            }
+            timer.pendingTimeouts.decrementAndGet();
+            // Counted before the task runs, so that the count is up to date once the task is done
+            timer.expiredTimeouts.incrementAndGet();
+            try {
+                timer.taskExecutor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            task.run();
+                        } catch (Throwable t) {
+                            LOG.warn("Timeout task threw an exception", t);
+                        }
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // The timer has been shut down
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.internal;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.amazonaws.annotation.ThreadSafe;
+
+/**
+ * A bounded cache with lock-free reads and an approximate FIFO eviction policy
+ * when the cache is full. Unlike {@link FIFOCache}, readers never block each
+ * other or writers, which makes this cache suitable for lookups on the hot
+ * path of every request.
+ * <p>
+ * Eviction is approximate: while entries are being added concurrently the
+ * cache may briefly hold a few more entries than the maximum size, and the
+ * evicted entry is the earliest one added by the time the eviction runs.
+ *
+ * @param <T>
+ *            value type
+ */
+@ThreadSafe
+public final class ConcurrentFIFOCache<T> {
+    private final ConcurrentMap<String, T> map;
+    /** Keys of the cache in insertion order. */
+    private final Queue<String> insertionOrder;
+    private final AtomicInteger size = new AtomicInteger();
+    private final int maxSize;
+
+    /**
+     * @param maxSize
+     *            the maximum number of entries of the cache
+     */
+    public ConcurrentFIFOCache(final int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize " + maxSize
+                    + " must be at least 1");
+        }
+        this.maxSize = maxSize;
+        this.map = new ConcurrentHashMap<String, T>(maxSize);
+        this.insertionOrder = new ConcurrentLinkedQueue<String>();
+    }
+
+    /**
+     * Adds an entry to the cache, evicting the earliest entry if necessary.
+     */
+    public T add(String key, T value) {
+        T previous = map.put(key, value);
+        if (previous == null) {
+            insertionOrder.offer(key);
+            if (size.incrementAndGet() > maxSize) {
+                evict();
+            }
+        }
+        return previous;
+    }
+
+    /** Returns the value of the given key; or null of no such entry exists. */
+    public T get(String key) {
+        return map.get(key);
+    }
+
+    /**
+     * Returns the current size of the cache.
+     */
+    public int size() {
+        return Math.max(size.get(), 0);
+    }
+
+    /**
+     * Returns the maximum size of the cache.
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    @Override
+    public String toString() {
+        return map.toString();
+    }
+
+    /**
+     * Removes the earliest entries until the cache is back within its maximum
+     * size.
+     */
+    private void evict() {
+        while (size.get() > maxSize) {
+            String eldest = insertionOrder.poll();
+            if (eldest == null) {
+                return;
+            }
+            if (map.remove(eldest) != null) {
+                size.decrementAndGet();
+            }
+        }
+    }
+}
@@ -116,6 +116,19 @@ public enum AwsSdkMetrics {
      */
     public static final String INCLUDE_PER_HOST_METRICS = "includePerHostMetrics";
 
+    /**
+     * Used to aggregate the metric data points into statistics as they are
+     * collected, instead of queuing each data point until it is uploaded, when
+     * the AWS SDK default metrics is enabled. No data point is then dropped
+     * however high the request rate, and the metric queue size is ignored.
+     *
+     * <pre>
+     * Example:
+     *  -Dcom.amazonaws.sdk.enableDefaultMetrics=aggregateMetricsInPlace
+     * </pre>
+     */
+    public static final String AGGREGATE_METRICS_IN_PLACE = "aggregateMetricsInPlace";
+
     /**
      * Used to specify an AWS credential property file.
      * By default, the {@link DefaultAWSCredentialsProviderChain} is used.
@@ -245,6 +258,12 @@ public enum AwsSdkMetrics {
      */
     private static volatile boolean httpSocketReadMetricEnabled;
 
+    /**
+     * True if the metric data points are to be aggregated as they are
+     * collected; false if they are to be queued.
+     */
+    private static volatile boolean metricsAggregatedInPlace;
+
     private static volatile Regions region;
     private static volatile Integer metricQueueSize;
     private static volatile Long queuePollTimeoutMilli;
@@ -286,6 +305,7 @@ public enum AwsSdkMetrics {
             boolean includePerHostMetrics = false;
             boolean useSingleMetricNamespace = false;
             boolean enableHttpSocketReadMetric = false;
+            boolean aggregateMetricsInPlace = false;
             for (String s: values) {
                 String part = s.trim();
                 if (!excludeMachineMetrics && EXCLUDE_MACHINE_METRICS.equals(part)) {
@@ -296,6 +316,8 @@ public enum AwsSdkMetrics {
                     useSingleMetricNamespace = true;
                 } else if (!enableHttpSocketReadMetric && ENABLE_HTTP_SOCKET_READ_METRIC.equals(part)) {
                     enableHttpSocketReadMetric = true;
+                } else if (!aggregateMetricsInPlace && AGGREGATE_METRICS_IN_PLACE.equals(part)) {
+                    aggregateMetricsInPlace = true;
                 } else {
                     String[] pair = part.split("=");
                     if (pair.length == 2) {
@@ -336,6 +358,7 @@ public enum AwsSdkMetrics {
             perHostMetricsIncluded = includePerHostMetrics;
             singleMetricNamespace = useSingleMetricNamespace;
             httpSocketReadMetricEnabled = enableHttpSocketReadMetric;
+            metricsAggregatedInPlace = aggregateMetricsInPlace;
         }
     }
 
@@ -759,6 +782,25 @@ public enum AwsSdkMetrics {
         }
     }
 
+    /**
+     * Returns true if the metric data points are to be aggregated into
+     * statistics as they are collected by the default AWS SDK metric
+     * collector; false if they are to be queued until uploaded.
+     */
+    public static boolean isMetricsAggregatedInPlace() {
+        return metricsAggregatedInPlace;
+    }
+
+    /**
+     * Sets whether the metric data points are to be aggregated into
+     * statistics as they are collected by the default AWS SDK metric
+     * collector, rather than queued until uploaded. Takes effect when the
+     * default collector is next started.
+     */
+    public static void setMetricsAggregatedInPlace(boolean aggregatedInPlace) {
+        metricsAggregatedInPlace = aggregatedInPlace;
+    }
+
     /**
      * Returns the internal metric queue size to be used for the default AWS SDK
      * metric collector; or null if the default is to be used.
@@ -873,6 +915,7 @@ public enum AwsSdkMetrics {
 //            metricTypes.add(Field.ResponseProcessingTime);
             metricTypes.add(Field.RetryCount);
             metricTypes.add(Field.RetryCapacityConsumed);
+            metricTypes.add(Field.RetryCapacityAvailable);
             metricTypes.add(Field.HttpClientSendRequestTime);
             metricTypes.add(Field.HttpClientReceiveResponseTime);
             metricTypes.add(Field.HttpSocketReadTime);
@@ -880,6 +923,8 @@ public enum AwsSdkMetrics {
             metricTypes.add(Field.HttpClientPoolLeasedCount);
             metricTypes.add(Field.HttpClientPoolPendingCount);
             metricTypes.add(AWSServiceMetrics.HttpClientGetConnectionTime);
+            metricTypes.add(AWSServiceMetrics.HttpClientWarmUpConnectionsTime);
+            metricTypes.add(AWSServiceMetrics.HttpClientIdleConnectionsClosedCount);
             syncReadOnly();
         }
 
@@ -94,6 +94,14 @@ public class MetricAdmin implements MetricAdminMBean {
         AwsSdkMetrics.setQueuePollTimeoutMilli(timeoutMilli == null ? null : timeoutMilli.longValue());
     }
     @Override
+    public boolean isMetricsAggregatedInPlace() {
+        return AwsSdkMetrics.isMetricsAggregatedInPlace();
+    }
+    @Override
+    public void setMetricsAggregatedInPlace(boolean aggregatedInPlace) {
+        AwsSdkMetrics.setMetricsAggregatedInPlace(aggregatedInPlace);
+    }
+    @Override
     public String getMetricNameSpace() {
         return AwsSdkMetrics.getMetricNameSpace();
     }
@@ -134,6 +134,20 @@ public interface MetricAdminMBean {
      */
     public void setQueuePollTimeoutMilli(Integer timeoutMilli);
 
+    /**
+     * Returns true if the metric data points are to be aggregated as they are
+     * collected by the default AWS SDK metric collector; false if they are to
+     * be queued.
+     */
+    public boolean isMetricsAggregatedInPlace();
+
+    /**
+     * Used to set whether the metric data points are to be aggregated as they
+     * are collected by the default AWS SDK metric collector, rather than
+     * queued.
+     */
+    public void setMetricsAggregatedInPlace(boolean aggregatedInPlace);
+
     /**
      * Returns the metric name space.
      */
@@ -35,6 +35,11 @@ public abstract class ServiceMetricCollector {
      * Collects metrics for non-request specific latencies.
      */
     public abstract void collectLatency(ServiceLatencyProvider provider);
+    /**
+     * Collects metrics on the number of times a non-request specific event
+     * occurred. Ignored by default.
+     */
+    public void collectCount(ServiceMetricType type, long count) {}
 
     public boolean isEnabled() { return true; }
     /** A convenient instance of a no-op service metric collector. */
@@ -75,6 +75,10 @@
  * <ol>
  * <li>HttpClientGetConnectionTime - Total number of milliseconds taken for the
  * underlying http client library to get a connection.
+ * <li>HttpClientWarmUpConnectionsTime - Number of milliseconds taken to warm up the
+ * connection pool of a client.</li>
+ * <li>HttpClientIdleConnectionsClosedCount - Number of idle or expired connections
+ * closed by the idle connection reaper.</li>
  * <li>S3DownloadThroughput - Number of bytes downloaded from S3 per second.</li>
  * <li>S3DownloadByteCount - Number of bytes downloaded from S3.</li>
  * <li>S3UploadThroughput - Number of bytes uploaded to S3 per second.</li>
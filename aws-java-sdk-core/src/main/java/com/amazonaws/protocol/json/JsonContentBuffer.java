@@ -0,0 +1,231 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.protocol.json;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.commons.logging.LogFactory;
+
+import com.amazonaws.SDKGlobalConfiguration;
+import com.amazonaws.annotation.SdkInternalApi;
+
+/**
+ * The buffer the content of a request is generated into.
+ * <p>
+ * When {@link SDKGlobalConfiguration#JSON_MARSHALLING_BUFFER_SIZE_SYSTEM_PROPERTY}
+ * is set, each thread keeps a buffer which is leased to one generator at a
+ * time, so that marshalling a request does not allocate (and grow) a new
+ * buffer. The buffer is given back when the content has been copied out of
+ * it, or when the stream reading it in place is closed, which may happen on
+ * another thread. A buffer still leased, e.g. to a generator abandoned after
+ * a failure, is never reused: the thread then allocates a new one.
+ */
+@SdkInternalApi
+class JsonContentBuffer extends ByteArrayOutputStream {
+
+    /**
+     * Default buffer size. Chosen somewhat arbitrarily. Should be large enough to
+     * prevent frequent resizings but small enough to avoid wasted allocations for
+     * small requests.
+     */
+    private static final int DEFAULT_BUFFER_SIZE = 1024;
+
+    /**
+     * The maximum size of a buffer kept between requests, or 0 if the buffers
+     * are not reused.
+     */
+    private static final int MAX_RETAINED_SIZE = retainedSizeProperty();
+
+    private static final ThreadLocal<AtomicReference<JsonContentBuffer>> THREAD_BUFFERS =
+            new ThreadLocal<AtomicReference<JsonContentBuffer>>() {
+                @Override
+                protected AtomicReference<JsonContentBuffer> initialValue() {
+                    return new AtomicReference<JsonContentBuffer>();
+                }
+            };
+
+    /** The slot of the thread this buffer is kept by, or null if not reused. */
+    private final AtomicReference<JsonContentBuffer> slot;
+
+    private final int maxRetainedSize;
+
+    private JsonContentBuffer(AtomicReference<JsonContentBuffer> slot, int maxRetainedSize) {
+        super(DEFAULT_BUFFER_SIZE);
+        this.slot = slot;
+        this.maxRetainedSize = maxRetainedSize;
+    }
+
+    /**
+     * Returns an empty buffer: the buffer of the current thread if buffers are
+     * reused and it is not leased, or else a new buffer.
+     */
+    static JsonContentBuffer acquire() {
+        return acquire(MAX_RETAINED_SIZE);
+    }
+
+    static JsonContentBuffer acquire(int maxRetainedSize) {
+        if (maxRetainedSize <= 0) {
+            return new JsonContentBuffer(null, 0);
+        }
+        AtomicReference<JsonContentBuffer> slot = THREAD_BUFFERS.get();
+        JsonContentBuffer buffer = slot.getAndSet(null);
+        return buffer != null ? buffer : new JsonContentBuffer(slot, maxRetainedSize);
+    }
+
+    /**
+     * Gives the buffer back to the thread that keeps it, trimmed down if it
+     * grew beyond the maximum size retained. The content must not be read
+     * after this call.
+     */
+    void release() {
+        if (slot == null) {
+            return;
+        }
+        reset();
+        if (buf.length > maxRetainedSize) {
+            buf = new byte[DEFAULT_BUFFER_SIZE];
+        }
+        slot.compareAndSet(null, this);
+    }
+
+    /**
+     * Returns a copy of the content, and releases the buffer.
+     */
+    byte[] toByteArrayAndRelease() {
+        byte[] bytes = toByteArray();
+        release();
+        return bytes;
+    }
+
+    /**
+     * Returns a stream reading the content in place; closing the stream
+     * releases the buffer.
+     */
+    ContentStream toInputStream() {
+        return new ContentStream(this);
+    }
+
+    /**
+     * Reads the content of a buffer in place, and supports mark and reset so
+     * that the content can be signed and retried. Reading the stream after it
+     * has been closed fails, as the buffer may have been reused.
+     */
+    static final class ContentStream extends InputStream {
+        private final JsonContentBuffer buffer;
+        private final byte[] bytes;
+        private final int length;
+        private int position;
+        private int mark;
+        private boolean closed;
+
+        ContentStream(JsonContentBuffer buffer) {
+            this.buffer = buffer;
+            this.bytes = buffer.buf;
+            this.length = buffer.count;
+        }
+
+        int getLength() {
+            return length;
+        }
+
+        boolean isClosed() {
+            return closed;
+        }
+
+        @Override
+        public int read() throws IOException {
+            ensureOpen();
+            return position < length ? bytes[position++] & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            ensureOpen();
+            if (len == 0) {
+                return 0;
+            }
+            if (position >= length) {
+                return -1;
+            }
+            int n = Math.min(len, length - position);
+            System.arraycopy(bytes, position, b, off, n);
+            position += n;
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            ensureOpen();
+            long skipped = Math.max(0, Math.min(n, length - position));
+            position += (int) skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() throws IOException {
+            ensureOpen();
+            return length - position;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return true;
+        }
+
+        @Override
+        public void mark(int readLimit) {
+            mark = position;
+        }
+
+        @Override
+        public void reset() throws IOException {
+            ensureOpen();
+            position = mark;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                buffer.release();
+            }
+        }
+
+        private void ensureOpen() throws IOException {
+            if (closed) {
+                throw new IOException("The request content has been released");
+            }
+        }
+    }
+
+    private static int retainedSizeProperty() {
+        String value = System.getProperty(
+                SDKGlobalConfiguration.JSON_MARSHALLING_BUFFER_SIZE_SYSTEM_PROPERTY);
+        if (value == null) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            LogFactory.getLog(JsonContentBuffer.class).warn("Ignoring invalid value of "
+                    + SDKGlobalConfiguration.JSON_MARSHALLING_BUFFER_SIZE_SYSTEM_PROPERTY
+                    + ": " + value);
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.protocol.json;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+import com.amazonaws.Request;
+import com.amazonaws.annotation.SdkProtectedApi;
+
+/**
+ * Sets the JSON content generated for a request.
+ */
+@SdkProtectedApi
+public final class JsonRequestContent {
+
+    private JsonRequestContent() {
+    }
+
+    /**
+     * Sets the content generated by the given generator, and its length, on
+     * the request. The content of an {@link SdkJsonGenerator} is read in place;
+     * the content of any other generator is copied out by
+     * {@link StructuredJsonGenerator#getBytes()}.
+     */
+    public static void setContent(Request<?> request, StructuredJsonGenerator jsonGenerator) {
+        if (jsonGenerator instanceof SdkJsonGenerator) {
+            SdkJsonGenerator sdkJsonGenerator = (SdkJsonGenerator) jsonGenerator;
+            request.setContent(sdkJsonGenerator.getContentStream());
+            request.addHeader("Content-Length", Integer.toString(sdkJsonGenerator.getContentLength()));
+        } else {
+            byte[] content = jsonGenerator.getBytes();
+            request.setContent(new ByteArrayInputStream(content));
+            request.addHeader("Content-Length", Integer.toString(content.length));
+        }
+    }
+
+    /**
+     * Returns true if the given content was read in place from a generator
+     * buffer which has since been released, so that it cannot be read again.
+     */
+    public static boolean isReleased(InputStream content) {
+        return content instanceof JsonContentBuffer.ContentStream
+                && ((JsonContentBuffer.ContentStream) content).isClosed();
+    }
+}
@@ -22,8 +22,9 @@ import com.amazonaws.util.DateUtils;
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonGenerator;
 
-import java.io.ByteArrayOutputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
@@ -35,12 +36,6 @@ import java.util.Date;
 @SdkInternalApi
 public class SdkJsonGenerator implements StructuredJsonGenerator {
 
-    /**
-     * Default buffer size for the BAOS. Chosen somewhat arbitrarily. Should be large enough to
-     * prevent frequent resizings but small enough to avoid wasted allocations for small requests.
-     */
-    private static final int DEFAULT_BUFFER_SIZE = 1024;
-
     /**
      * Indicates an issue writing JSON content.
      */
@@ -51,19 +46,25 @@ public class SdkJsonGenerator implements StructuredJsonGenerator {
         }
     }
 
-    private final ByteArrayOutputStream baos = new ByteArrayOutputStream(DEFAULT_BUFFER_SIZE);
+    private final JsonContentBuffer buffer = JsonContentBuffer.acquire();
 
     private final JsonGenerator generator;
 
     private final String contentType;
 
+    /** The content copied out of the buffer by {@link #getBytes()}, if any. */
+    private byte[] bytes;
+
+    /** The stream reading the content in place, if any. */
+    private JsonContentBuffer.ContentStream contentStream;
+
     public SdkJsonGenerator(JsonFactory factory, String contentType) {
         try {
             /**
              * A {@link JsonGenerator} created is by default enabled with
              * UTF-8 encoding
              */
-            this.generator = factory.createGenerator(baos);
+            this.generator = factory.createGenerator(buffer);
             this.contentType = contentType;
         } catch (IOException e) {
             throw new JsonGenerationException(e);
@@ -252,7 +253,44 @@ public class SdkJsonGenerator implements StructuredJsonGenerator {
     @Override
     public byte[] getBytes() {
         close();
-        return baos.toByteArray();
+        if (bytes != null) {
+            return bytes.clone();
+        }
+        if (contentStream != null) {
+            throw new IllegalStateException("The content is already read in place");
+        }
+        bytes = buffer.toByteArrayAndRelease();
+        return bytes;
+    }
+
+    /**
+     * Get the JSON content as a stream reading the generated bytes in place. Closing the stream
+     * releases the buffer, which may then be reused to generate another request; the stream
+     * cannot be read afterwards. Repeated calls return the same stream.
+     */
+    public InputStream getContentStream() {
+        close();
+        if (bytes != null) {
+            return new ByteArrayInputStream(bytes);
+        }
+        if (contentStream == null) {
+            contentStream = buffer.toInputStream();
+        }
+        return contentStream;
+    }
+
+    /**
+     * Get the length in bytes of the JSON content.
+     */
+    public int getContentLength() {
+        close();
+        if (bytes != null) {
+            return bytes.length;
+        }
+        if (contentStream == null) {
+            contentStream = buffer.toInputStream();
+        }
+        return contentStream.getLength();
     }
 
     @Override
@@ -125,6 +125,23 @@ public abstract class JsonUnmarshallerContext {
         return false;
     }
 
+    /**
+     * Returns the JSON field name at the current position in the JSON document
+     * being parsed, if the current position is at the specified stack depth.
+     * This lets an unmarshaller dispatch on the field name in one step, instead
+     * of calling {@link #testExpression(String, int)} once per expected field.
+     *
+     * @param stackDepth
+     *            The depth in the stack the current position must be at.
+     *
+     * @return The field name an expression would be tested against at the
+     *         current position, or null if the current position is not at the
+     *         specified depth or not within a field. Returns null by default.
+     */
+    public String getCurrentFieldName(int stackDepth) {
+        return null;
+    }
+
     /**
      * Returns the next JsonToken from the JsonParser. Returns null by default.
      */
@@ -187,6 +187,17 @@ public class JsonUnmarshallerContextImpl extends JsonUnmarshallerContext {
         }
     }
 
+    @Override
+    public String getCurrentFieldName(int stackDepth) {
+        if (stackDepth != getCurrentDepth()) {
+            return null;
+        }
+        if (currentField != null) {
+            return currentField;
+        }
+        return stack.isEmpty() ? null : stack.peek().getField();
+    }
+
     @Override
     public JsonToken nextToken() throws IOException {
         // Use the value from the nextToken field if
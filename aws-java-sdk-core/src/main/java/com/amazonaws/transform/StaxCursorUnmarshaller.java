@@ -0,0 +1,31 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.transform;
+
+import com.amazonaws.annotation.SdkProtectedApi;
+
+/**
+ * A StAX unmarshaller that reads the events of its context only with
+ * {@link StaxUnmarshallerContext#nextEventType()}, {@link StaxUnmarshallerContext#readText()}
+ * and the expression tests, and only delegates to unmarshallers that do the same. Such an
+ * unmarshaller can be given a context reading the document with the cursor of an
+ * {@link javax.xml.stream.XMLStreamReader}.
+ *
+ * @param <T>
+ *            The type being unmarshalled.
+ */
+@SdkProtectedApi
+public interface StaxCursorUnmarshaller<T> extends Unmarshaller<T, StaxUnmarshallerContext> {
+}
@@ -24,6 +24,7 @@ import java.util.Stack;
 import javax.xml.stream.XMLEventReader;
 import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import javax.xml.stream.events.Attribute;
 import javax.xml.stream.events.XMLEvent;
 
@@ -34,14 +35,37 @@ import javax.xml.stream.events.XMLEvent;
  * response. It also tracks the current position and element depth of the
  * document being parsed and provides utilties for accessing the next XML event
  * from the parser, reading element text, handling attribute XML events, etc.
+ * <p>
+ * A context reads its document either from an {@link XMLEventReader}, or with
+ * the cursor of an {@link XMLStreamReader}, which doesn't allocate an event
+ * object for each node of the document. A context created over a stream
+ * reader only delivers its events through {@link #nextEventType()}.
  */
 public class StaxUnmarshallerContext {
 
+    /** The type of the current event before the first event is read. */
+    private static final int NO_EVENT = -1;
+
     private XMLEvent currentEvent;
+    private int currentEventType = NO_EVENT;
     private final XMLEventReader eventReader;
 
+    private final XMLStreamReader streamReader;
+    /**
+     * True when the cursor was moved to an event that wasn't delivered yet,
+     * because the context had to look past the current event.
+     */
+    private boolean advanced;
+    /** The attributes of the last start element read with the cursor. */
+    private String[] attributeNames;
+    private String[] attributeValues;
+    private int attributeCount;
+    private int attributeIndex;
+
     public final Stack<String> stack = new Stack<String>();
     private String stackString = "";
+    /** The paths of the elements on the stack, so that none is rebuilt on each end element. */
+    private final List<String> elementPaths = new ArrayList<String>();
 
     private Map<String, String> metadata = new HashMap<String, String>();
     private List<MetadataExpression> metadataExpressions = new ArrayList<MetadataExpression>();
@@ -56,7 +80,7 @@ public class StaxUnmarshallerContext {
     }
 
     public boolean isInsideResponseHeader() {
-        return currentEvent == null;
+        return currentEventType == NO_EVENT;
     }
 
     /**
@@ -81,6 +105,25 @@ public class StaxUnmarshallerContext {
      */
     public StaxUnmarshallerContext(XMLEventReader eventReader, Map<String, String> headers) {
         this.eventReader = eventReader;
+        this.streamReader = null;
+        this.headers = headers;
+    }
+
+    /**
+     * Constructs a new unmarshaller context reading the XML document with the
+     * cursor of the specified stream reader, and a set of response headers.
+     * The events of such a context can only be read with
+     * {@link #nextEventType()}.
+     *
+     * @param streamReader
+     *            The stream reader positioned at the start of the document.
+     * @param headers
+     *            The set of response headers associated with this unmarshaller
+     *            context.
+     */
+    public StaxUnmarshallerContext(XMLStreamReader streamReader, Map<String, String> headers) {
+        this.eventReader = null;
+        this.streamReader = streamReader;
         this.headers = headers;
     }
 
@@ -110,19 +153,32 @@ public class StaxUnmarshallerContext {
         if (isInsideResponseHeader()) {
             return getHeader(currentHeader);
         }
+        if (streamReader != null) {
+            return readTextWithCursor();
+        }
         if (currentEvent.isAttribute()) {
             Attribute attribute = (Attribute)currentEvent;
             return attribute.getValue();
         }
 
-        StringBuilder sb = new StringBuilder();
+        // Most elements have a single characters event, whose data is returned as is
+        String text = null;
+        StringBuilder sb = null;
         while (true) {
             XMLEvent event = eventReader.peek();
             if (event.getEventType() == XMLStreamConstants.CHARACTERS) {
                 eventReader.nextEvent();
-                sb.append(event.asCharacters().getData());
+                String data = event.asCharacters().getData();
+                if (text == null) {
+                    text = data;
+                } else {
+                    if (sb == null) {
+                        sb = new StringBuilder(text);
+                    }
+                    sb.append(data);
+                }
             } else if (event.getEventType() == XMLStreamConstants.END_ELEMENT) {
-                return sb.toString();
+                return sb != null ? sb.toString() : text != null ? text : "";
             } else {
                 throw new RuntimeException("Encountered unexpected event: " + event.toString());
             }
@@ -172,16 +228,21 @@ public class StaxUnmarshallerContext {
         if (expression.equals(".")) return true;
 
         int index = -1;
-        while ((index = expression.indexOf("/", index + 1)) > -1) {
+        while ((index = expression.indexOf('/', index + 1)) > -1) {
             // Don't consider attributes a new depth level
             if (expression.charAt(index + 1) != '@') {
                 startingStackDepth++;
             }
         }
 
-
-        return (startingStackDepth == getCurrentDepth()
-                && stackString.endsWith("/" + expression));
+        if (startingStackDepth != getCurrentDepth()) {
+            return false;
+        }
+        // Same as stackString.endsWith("/" + expression), without building the suffix
+        int separatorIndex = stackString.length() - expression.length() - 1;
+        return separatorIndex >= 0
+                && stackString.charAt(separatorIndex) == '/'
+                && stackString.endsWith(expression);
     }
 
     /**
@@ -193,9 +254,51 @@ public class StaxUnmarshallerContext {
      *         yet).
      */
     public boolean isStartOfDocument() throws XMLStreamException {
+        if (streamReader != null) {
+            return currentEventType == NO_EVENT
+                    && streamReader.getEventType() == XMLStreamConstants.START_DOCUMENT;
+        }
         return eventReader.peek().isStartDocument();
     }
 
+    /**
+     * Moves to the next XML event for the document being parsed, and returns
+     * its type, one of the {@link XMLStreamConstants}. Attributes of an
+     * element are reported as {@link XMLStreamConstants#ATTRIBUTE} events
+     * following its start element, as they are by {@link #nextEvent()}.
+     *
+     * @return The type of the next XML event for the document being parsed.
+     *
+     * @throws XMLStreamException
+     */
+    public int nextEventType() throws XMLStreamException {
+        if (streamReader == null) {
+            return nextEvent().getEventType();
+        }
+
+        if (attributeIndex < attributeCount) {
+            currentEventType = XMLStreamConstants.ATTRIBUTE;
+            attribute(attributeNames[attributeIndex++]);
+            return currentEventType;
+        }
+
+        if (currentEventType == NO_EVENT || advanced) {
+            advanced = false;
+            currentEventType = streamReader.getEventType();
+        } else {
+            currentEventType = streamReader.next();
+        }
+
+        if (currentEventType == XMLStreamConstants.START_ELEMENT) {
+            startElement(streamReader.getLocalName());
+            readAttributes();
+            readMetadata();
+        } else if (currentEventType == XMLStreamConstants.END_ELEMENT) {
+            endElement();
+        }
+        return currentEventType;
+    }
+
     /**
      * Returns the next XML event for the document being parsed.
      *
@@ -204,11 +307,16 @@ public class StaxUnmarshallerContext {
      * @throws XMLStreamException
      */
     public XMLEvent nextEvent() throws XMLStreamException {
+        if (streamReader != null) {
+            throw new IllegalStateException(
+                    "This context reads its document with a stream reader, use nextEventType() instead");
+        }
         if (attributeIterator != null && attributeIterator.hasNext()) {
             currentEvent = (XMLEvent)attributeIterator.next();
         } else {
             currentEvent = eventReader.nextEvent();
         }
+        currentEventType = currentEvent.getEventType();
 
         if (currentEvent.isStartElement()) {
             attributeIterator = currentEvent.asStartElement().getAttributes();
@@ -284,22 +392,114 @@ public class StaxUnmarshallerContext {
         if (event == null) return;
 
         if (event.isEndElement()) {
-            stack.pop();
-            stackString = "";
-            for (String s : stack) {
-                stackString += "/" + s;
-            }
+            endElement();
         } else if (event.isStartElement()) {
-            stack.push(event.asStartElement().getName().getLocalPart());
-            stackString += "/" + event.asStartElement().getName().getLocalPart();
+            startElement(event.asStartElement().getName().getLocalPart());
         } else if (event.isAttribute()) {
             Attribute attribute = (Attribute)event;
-            stackString = "";
-            for (String s : stack) {
-                stackString += "/" + s;
+            attribute(attribute.getName().getLocalPart());
+        }
+    }
+
+    private void startElement(String localPart) {
+        stack.push(localPart);
+        stackString = currentElementPath() + "/" + localPart;
+        elementPaths.add(stackString);
+    }
+
+    private void endElement() {
+        stack.pop();
+        elementPaths.remove(elementPaths.size() - 1);
+        stackString = currentElementPath();
+    }
+
+    private void attribute(String localPart) {
+        stackString = currentElementPath() + "/@" + localPart;
+    }
+
+    /**
+     * Copies the attributes of the start element under the cursor, which are
+     * lost once the cursor moves, so that they can be delivered as events.
+     */
+    private void readAttributes() {
+        attributeIndex = 0;
+        attributeCount = streamReader.getAttributeCount();
+        if (attributeCount == 0) return;
+
+        if (attributeNames == null || attributeNames.length < attributeCount) {
+            attributeNames = new String[attributeCount];
+            attributeValues = new String[attributeCount];
+        }
+        for (int i = 0; i < attributeCount; i++) {
+            attributeNames[i] = streamReader.getAttributeLocalName(i);
+            attributeValues[i] = streamReader.getAttributeValue(i);
+        }
+    }
+
+    /**
+     * Stores the text following the start element under the cursor for each
+     * matching metadata expression. The cursor has to move to that text, so
+     * it is left on an event that the next read delivers.
+     */
+    private void readMetadata() throws XMLStreamException {
+        for (MetadataExpression metadataExpression : metadataExpressions) {
+            if (testExpression(metadataExpression.expression, metadataExpression.targetDepth)) {
+                if (!advanced) {
+                    streamReader.next();
+                    advanced = true;
+                }
+                if (isText(streamReader.getEventType())) {
+                    metadata.put(metadataExpression.key, streamReader.getText());
+                }
             }
-            stackString += "/@" + attribute.getName().getLocalPart();
         }
     }
 
+    /**
+     * Same as the event reading part of {@link #readText()}, with the cursor.
+     */
+    private String readTextWithCursor() throws XMLStreamException {
+        if (currentEventType == XMLStreamConstants.ATTRIBUTE) {
+            return attributeValues[attributeIndex - 1];
+        }
+
+        String text = null;
+        StringBuilder sb = null;
+        while (true) {
+            int eventType = advanced ? streamReader.getEventType() : streamReader.next();
+            advanced = false;
+            if (isText(eventType)) {
+                String data = streamReader.getText();
+                if (text == null) {
+                    text = data;
+                } else {
+                    if (sb == null) {
+                        sb = new StringBuilder(text);
+                    }
+                    sb.append(data);
+                }
+            } else if (eventType == XMLStreamConstants.END_ELEMENT) {
+                // Left for the next read to deliver
+                advanced = true;
+                return sb != null ? sb.toString() : text != null ? text : "";
+            } else {
+                throw new RuntimeException("Encountered unexpected event type: " + eventType);
+            }
+        }
+    }
+
+    private static boolean isText(int eventType) {
+        return eventType == XMLStreamConstants.CHARACTERS
+                || eventType == XMLStreamConstants.CDATA
+                || eventType == XMLStreamConstants.SPACE;
+    }
+
+    /**
+     * Returns the path of the current element, made of the names of the
+     * elements on the stack.
+     */
+    private String currentElementPath() {
+        return elementPaths.isEmpty() ? "" : elementPaths.get(elementPaths.size() - 1);
+    }
+
 }
@@ -15,6 +15,7 @@
 
 package com.amazonaws.util;
 
+import com.amazonaws.annotation.SdkInternalApi;
 import com.amazonaws.metrics.MetricType;
 import com.amazonaws.metrics.RequestMetricType;
 import org.apache.http.annotation.NotThreadSafe;
@@ -92,6 +93,11 @@ public class AWSRequestMetrics {
          * Snapshot of currently consumed retry capacity.
          */
         RetryCapacityConsumed,
+        /**
+         * Snapshot of currently available retry capacity. A value near zero
+         * means throttled retries are being starved.
+         */
+        RetryCapacityAvailable,
         /**
          * Number of retries of the underlying http client library in sending a
          * request to AWS.
@@ -147,6 +153,22 @@ public class AWSRequestMetrics {
         ;
     }
 
+    /**
+     * The name of the attribute the request metrics are stored under in the
+     * HTTP context of each request sent.
+     */
+    @SdkInternalApi
+    public static final String HTTP_CONTEXT_ATTRIBUTE = AWSRequestMetrics.class.getSimpleName();
+
+    /**
+     * The metrics shared by the requests whose metrics are not collected, and
+     * which no request handler can observe the timing of. Its timing info is
+     * neither started nor ended, so that no metrics nor timing info needs to
+     * be allocated for these requests.
+     */
+    @SdkInternalApi
+    public static final AWSRequestMetrics UNTIMED = new AWSRequestMetrics(new UntimedInfo());
+
     protected final TimingInfo timingInfo;
 
     /**
@@ -222,4 +244,19 @@ public class AWSRequestMetrics {
     public void log() {}
     public List<Object> getProperty(String propertyName){ return Collections.emptyList(); }
     public List<Object> getProperty(MetricType f) { return Collections.emptyList(); }
+
+    /**
+     * A timing info with an unknown start time, which ignores being ended.
+     */
+    private static final class UntimedInfo extends TimingInfo {
+        UntimedInfo() {
+            super(null, 0, null);
+        }
+
+        @Deprecated @Override public void setEndTime(long endTimeMilli) {}
+        @Override public void setEndTimeNano(long endTimeNano) {}
+        @Override public TimingInfo endTiming() {
+            return this;
+        }
+    }
 }
@@ -27,6 +27,14 @@ public enum AWSServiceMetrics implements ServiceMetricType {
      * Time taken to get a connection by the http client library.
      */
     HttpClientGetConnectionTime("HttpClient"),
+    /**
+     * Time taken to warm up the connection pool of the http client library.
+     */
+    HttpClientWarmUpConnectionsTime("HttpClient"),
+    /**
+     * Number of idle or expired connections closed by the idle connection reaper.
+     */
+    HttpClientIdleConnectionsClosedCount("HttpClient"),
     ;
 
     private final String serviceName;
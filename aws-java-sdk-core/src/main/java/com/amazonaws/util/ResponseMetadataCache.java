@@ -14,19 +14,28 @@
  */
 package com.amazonaws.util;
 
-import java.util.LinkedHashMap;
-import java.util.Map.Entry;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import com.amazonaws.ResponseMetadata;
+import com.amazonaws.annotation.ThreadSafe;
+import com.amazonaws.internal.MetadataCache;
 
 /**
  * Cache of response metadata for recently executed requests for diagnostic
  * purposes. This cache has a max size and as entries are added, the oldest
  * entry is aged out once the max size has been reached.
+ * <p>
+ * Entries are kept in a fixed-size ring that is written without locking, so
+ * adding an entry on every response costs a single small allocation and an
+ * atomic increment. Lookups scan the ring from the newest entry, which is
+ * cheap for the small sizes this diagnostic cache is configured with.
  */
-public class ResponseMetadataCache {
-    private final InternalCache internalCache;
-
+@ThreadSafe
+public class ResponseMetadataCache implements MetadataCache {
+    private final AtomicReferenceArray<Entry> entries;
+    private final AtomicLong nextIndex = new AtomicLong();
+    private final int maxEntries;
 
     /**
      * Creates a new cache that will contain, at most the specified number of
@@ -36,7 +45,8 @@ public class ResponseMetadataCache {
      *            The maximum size of this cache.
      */
     public ResponseMetadataCache(int maxEntries) {
-        internalCache = new InternalCache(maxEntries);
+        this.maxEntries = Math.max(maxEntries, 0);
+        this.entries = new AtomicReferenceArray<Entry>(this.maxEntries);
     }
 
     /**
@@ -48,9 +58,11 @@ public class ResponseMetadataCache {
      * @param metadata
      *            The metadata for this entry.
      */
-    public synchronized void add(Object obj, ResponseMetadata metadata) {
-        if (obj == null) return;
-        internalCache.put(System.identityHashCode(obj), metadata);
+    @Override
+    public void add(Object obj, ResponseMetadata metadata) {
+        if (obj == null || maxEntries == 0) return;
+        int slot = (int) (nextIndex.getAndIncrement() % maxEntries);
+        entries.set(slot, new Entry(System.identityHashCode(obj), metadata));
     }
 
     /**
@@ -63,32 +75,37 @@ public class ResponseMetadataCache {
      * @return The response metadata associated with the given object key,
      *         otherwise null if no metadata is associated with that object.
      */
-    public synchronized ResponseMetadata get(Object obj) {
+    @Override
+    public ResponseMetadata get(Object obj) {
+        if (maxEntries == 0) return null;
         // System.identityHashCode isn't guaranteed to be unique
         // on all platforms, but should be reasonable enough to use
         // for a few requests at a time.  We can always easily move
         // to our own unique IDs if needed.
-        return internalCache.get(System.identityHashCode(obj));
+        int key = System.identityHashCode(obj);
+        long newest = nextIndex.get() - 1;
+        for (int i = 0; i < maxEntries; i++) {
+            long index = newest - i;
+            if (index < 0) break;
+            Entry entry = entries.get((int) (index % maxEntries));
+            if (entry != null && entry.key == key) {
+                return entry.metadata;
+            }
+        }
+        return null;
     }
 
-
     /**
-     * Simple implementation of LinkedHashMap that overrides the
-     * <code>removeEldestEntry</code> method to turn LinkedHashMap into a
-     * LRU(ish) cache that automatically evicts old entries.
+     * Immutable pairing of a request identity and its response metadata, so
+     * that readers never observe a key with another request's metadata.
      */
-    private static final class InternalCache extends LinkedHashMap<Integer, ResponseMetadata> {
-        private static final long serialVersionUID = 1L;
-        private int maxSize;
-
-        public InternalCache(int maxSize) {
-            super(maxSize);
-            this.maxSize = maxSize;
-        }
+    private static final class Entry {
+        private final int key;
+        private final ResponseMetadata metadata;
 
-        @Override
-        protected boolean removeEldestEntry(Entry<Integer,ResponseMetadata> eldest) {
-            return size() > maxSize;
+        private Entry(int key, ResponseMetadata metadata) {
+            this.key = key;
+            this.metadata = metadata;
         }
     }
 }
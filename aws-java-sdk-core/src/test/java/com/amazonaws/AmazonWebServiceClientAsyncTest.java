@@ -0,0 +1,187 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.amazonaws.handlers.AsyncHandler;
+import com.amazonaws.http.HttpMethodName;
+import com.amazonaws.http.HttpResponse;
+import com.amazonaws.http.HttpResponseHandler;
+import com.amazonaws.transform.Marshaller;
+import com.amazonaws.util.IOUtils;
+
+import utils.http.WireMockTestBase;
+
+public class AmazonWebServiceClientAsyncTest extends WireMockTestBase {
+
+    private static final String RESOURCE_PATH = "/async/";
+
+    private AmazonTestClient client;
+
+    @After
+    public void tearDown() {
+        if (client != null) {
+            client.shutdown();
+        }
+    }
+
+    @Test
+    public void nonBlockingTransportDisabledByDefault() {
+        client = new AmazonTestClient(new ClientConfiguration());
+        assertFalse(client.isNonBlockingHttpTransportEnabled());
+    }
+
+    @Test
+    public void successfulRequest_CompletesFutureAndAsyncHandler() throws Exception {
+        stubFor(get(urlEqualTo(RESOURCE_PATH)).willReturn(aResponse().withStatus(200).withBody("content")));
+        client = new AmazonTestClient(new ClientConfiguration().withNonBlockingHttpTransport(true));
+        assertTrue(client.isNonBlockingHttpTransportEnabled());
+        RecordingAsyncHandler asyncHandler = new RecordingAsyncHandler();
+        TestRequest originalRequest = new TestRequest();
+
+        Future<String> future = client.executeAsync(originalRequest, new TestMarshaller(),
+                new StringResponseHandler(), stubErrorHandler(), null, asyncHandler);
+
+        assertEquals("content", future.get(10, TimeUnit.SECONDS));
+        assertSame(originalRequest, asyncHandler.request.get());
+        assertEquals("content", asyncHandler.result.get());
+        assertNull(asyncHandler.error.get());
+    }
+
+    @Test
+    public void failedRequest_FailsFutureAndNotifiesAsyncHandler() throws Exception {
+        stubFor(get(urlEqualTo(RESOURCE_PATH)).willReturn(aResponse().withStatus(500)));
+        client = new AmazonTestClient(new ClientConfiguration()
+                .withNonBlockingHttpTransport(true)
+                .withMaxErrorRetry(0));
+        RecordingAsyncHandler asyncHandler = new RecordingAsyncHandler();
+
+        Future<String> future = client.executeAsync(new TestRequest(), new TestMarshaller(),
+                new StringResponseHandler(), stubErrorHandler(), null, asyncHandler);
+        try {
+            future.get(10, TimeUnit.SECONDS);
+            fail("Expected exception");
+        } catch (ExecutionException expected) {
+            assertTrue(expected.getCause() instanceof AmazonServiceException);
+            assertSame(expected.getCause(), asyncHandler.error.get());
+        }
+        assertNull(asyncHandler.result.get());
+    }
+
+    @Test
+    public void marshallingFailure_FailsFutureAndNotifiesAsyncHandler() throws Exception {
+        client = new AmazonTestClient(new ClientConfiguration().withNonBlockingHttpTransport(true));
+        RecordingAsyncHandler asyncHandler = new RecordingAsyncHandler();
+        final IllegalArgumentException failure = new IllegalArgumentException("invalid request");
+
+        Future<String> future = client.executeAsync(new TestRequest(), new Marshaller<Request<TestRequest>, TestRequest>() {
+            @Override
+            public Request<TestRequest> marshall(TestRequest in) {
+                throw failure;
+            }
+        }, new StringResponseHandler(), stubErrorHandler(), null, asyncHandler);
+        try {
+            future.get(10, TimeUnit.SECONDS);
+            fail("Expected exception");
+        } catch (ExecutionException expected) {
+            assertSame(failure, expected.getCause());
+            assertSame(failure, asyncHandler.error.get());
+        }
+    }
+
+    @Test
+    public void cancelledFuture_IsCancelled() throws Exception {
+        stubFor(get(urlEqualTo(RESOURCE_PATH)).willReturn(aResponse().withStatus(200).withFixedDelay(5000)));
+        client = new AmazonTestClient(new ClientConfiguration().withNonBlockingHttpTransport(true));
+
+        Future<String> future = client.executeAsync(new TestRequest(), new TestMarshaller(),
+                new StringResponseHandler(), stubErrorHandler(), null, null);
+        assertTrue(future.cancel(true));
+        assertTrue(future.isCancelled());
+    }
+
+    private class AmazonTestClient extends AmazonWebServiceClient {
+        public AmazonTestClient(final ClientConfiguration config) {
+            super(config);
+            super.setEndpoint("http://localhost:" + mockServer.port());
+        }
+    }
+
+    private static class TestRequest extends AmazonWebServiceRequest {
+    }
+
+    private static class TestMarshaller implements Marshaller<Request<TestRequest>, TestRequest> {
+        @Override
+        public Request<TestRequest> marshall(TestRequest in) {
+            Request<TestRequest> request = new DefaultRequest<TestRequest>(in, "test");
+            request.setHttpMethod(HttpMethodName.GET);
+            request.setResourcePath(RESOURCE_PATH);
+            return request;
+        }
+    }
+
+    private static class RecordingAsyncHandler implements AsyncHandler<TestRequest, String> {
+        private final AtomicReference<TestRequest> request = new AtomicReference<TestRequest>();
+        private final AtomicReference<String> result = new AtomicReference<String>();
+        private final AtomicReference<Exception> error = new AtomicReference<Exception>();
+
+        @Override
+        public void onError(Exception exception) {
+            error.set(exception);
+        }
+
+        @Override
+        public void onSuccess(TestRequest request, String result) {
+            this.request.set(request);
+            this.result.set(result);
+        }
+    }
+
+    /**
+     * Response handler returning the content of the response as a string.
+     */
+    private static class StringResponseHandler implements HttpResponseHandler<AmazonWebServiceResponse<String>> {
+
+        @Override
+        public AmazonWebServiceResponse<String> handle(HttpResponse response) throws Exception {
+            AmazonWebServiceResponse<String> awsResponse = new AmazonWebServiceResponse<String>();
+            awsResponse.setResult(IOUtils.toString(response.getContent()));
+            return awsResponse;
+        }
+
+        @Override
+        public boolean needsConnectionLeftOpen() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class CachingDnsResolverTest {
+
+    private static final String HOST = "s3.amazonaws.com";
+    private static final long TTL_MILLIS = 1000;
+
+    private final InetAddress a = address(10, 0, 0, 1);
+    private final InetAddress b = address(10, 0, 0, 2);
+    private final InetAddress c = address(10, 0, 0, 3);
+
+    private FakeDnsResolver delegate;
+    private Queue<Runnable> refreshTasks;
+    private long now;
+    private CachingDnsResolver resolver;
+
+    @Before
+    public void setup() {
+        delegate = new FakeDnsResolver(a, b, c);
+        refreshTasks = new LinkedList<Runnable>();
+        resolver = new CachingDnsResolver(delegate, TTL_MILLIS, new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                refreshTasks.add(command);
+            }
+        }) {
+            @Override
+            long nanoTime() {
+                return now;
+            }
+        };
+    }
+
+    @Test
+    public void addressesAreCached() throws UnknownHostException {
+        resolver.resolve(HOST);
+        resolver.resolve(HOST);
+        assertEquals(1, delegate.lookUps);
+        assertTrue(refreshTasks.isEmpty());
+    }
+
+    @Test
+    public void lookUpsStartFromEachAddressInTurn() throws UnknownHostException {
+        assertArrayEquals(new InetAddress[] { a, b, c }, resolver.resolve(HOST));
+        assertArrayEquals(new InetAddress[] { b, c, a }, resolver.resolve(HOST));
+        assertArrayEquals(new InetAddress[] { c, a, b }, resolver.resolve(HOST));
+        assertArrayEquals(new InetAddress[] { a, b, c }, resolver.resolve(HOST));
+    }
+
+    @Test
+    public void addressesAreRefreshedInBackgroundBeforeExpiring() throws UnknownHostException {
+        resolver.resolve(HOST);
+        delegate.addresses = new InetAddress[] { c };
+        advanceMillis(TTL_MILLIS * 4 / 5);
+
+        assertEquals(3, resolver.resolve(HOST).length);
+        assertEquals(3, resolver.resolve(HOST).length);
+        assertEquals(1, refreshTasks.size());
+        assertEquals(1, delegate.lookUps);
+
+        refreshTasks.poll().run();
+        assertEquals(2, delegate.lookUps);
+        assertArrayEquals(new InetAddress[] { c }, resolver.resolve(HOST));
+    }
+
+    @Test
+    public void expiredAddressesAreLookedUpAgain() throws UnknownHostException {
+        resolver.resolve(HOST);
+        delegate.addresses = new InetAddress[] { c };
+        advanceMillis(TTL_MILLIS);
+
+        assertArrayEquals(new InetAddress[] { c }, resolver.resolve(HOST));
+        assertEquals(2, delegate.lookUps);
+    }
+
+    @Test
+    public void failedRefreshKeepsAddressesUntilExpiry() throws UnknownHostException {
+        resolver.resolve(HOST);
+        delegate.addresses = new InetAddress[0];
+        advanceMillis(TTL_MILLIS * 4 / 5);
+
+        resolver.resolve(HOST);
+        refreshTasks.poll().run();
+        assertEquals(3, resolver.resolve(HOST).length);
+        // Retried on the next lookup
+        assertEquals(1, refreshTasks.size());
+    }
+
+    @Test
+    public void unknownHostIsNotCached() throws UnknownHostException {
+        delegate.addresses = new InetAddress[0];
+        try {
+            resolver.resolve(HOST);
+            fail("UnknownHostException is expected");
+        } catch (UnknownHostException expected) {
+        }
+
+        delegate.addresses = new InetAddress[] { a };
+        assertArrayEquals(new InetAddress[] { a }, resolver.resolve(HOST));
+        assertEquals(2, delegate.lookUps);
+    }
+
+    @Test
+    public void unhealthyAddressIsLeftOutUntilRefreshed() throws UnknownHostException {
+        resolver.resolve(HOST);
+        resolver.markUnhealthy(b);
+        for (int i = 0; i < 3; i++) {
+            InetAddress[] addresses = resolver.resolve(HOST);
+            assertEquals(2, addresses.length);
+            assertFalse(Arrays.asList(addresses).contains(b));
+        }
+
+        advanceMillis(TTL_MILLIS);
+        assertEquals(3, resolver.resolve(HOST).length);
+    }
+
+    @Test
+    public void allAddressesAreReturnedWhenAllAreUnhealthy() throws UnknownHostException {
+        resolver.resolve(HOST);
+        resolver.markUnhealthy(a);
+        resolver.markUnhealthy(b);
+        resolver.markUnhealthy(c);
+        assertEquals(3, resolver.resolve(HOST).length);
+    }
+
+    private void advanceMillis(long millis) {
+        now += TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    private static InetAddress address(int... bytes) {
+        byte[] address = new byte[bytes.length];
+        for (int i = 0; i < bytes.length; i++) {
+            address[i] = (byte) bytes[i];
+        }
+        try {
+            return InetAddress.getByAddress(address);
+        } catch (UnknownHostException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static class FakeDnsResolver implements DnsResolver {
+        private volatile InetAddress[] addresses;
+        private int lookUps;
+
+        FakeDnsResolver(InetAddress... addresses) {
+            this.addresses = addresses;
+        }
+
+        @Override
+        public InetAddress[] resolve(String host) throws UnknownHostException {
+            lookUps++;
+            if (addresses.length == 0) {
+                throw new UnknownHostException(host);
+            }
+            return addresses;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.event;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Future;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class CoalescingProgressDispatcherTest {
+
+    private CoalescingProgressDispatcher dispatcher;
+
+    @After
+    public void tearDown() {
+        if (dispatcher != null) {
+            dispatcher.shutdown(true);
+        }
+    }
+
+    @Test
+    public void byteTransferEventsAreAggregated() throws Exception {
+        dispatcher = new CoalescingProgressDispatcher(2, 10000, 100);
+        RecordingListener listener = new RecordingListener(0);
+        for (int i = 0; i < 1000; i++) {
+            assertNull(dispatcher.deliver(listener,
+                    new ProgressEvent(ProgressEventType.REQUEST_BYTE_TRANSFER_EVENT, 3)));
+            assertNull(dispatcher.deliver(listener,
+                    new ProgressEvent(ProgressEventType.RESPONSE_BYTE_TRANSFER_EVENT, 2)));
+        }
+        dispatcher.deliver(listener,
+                new ProgressEvent(ProgressEventType.TRANSFER_COMPLETED_EVENT)).get();
+
+        List<ProgressEvent> events = listener.events();
+        assertEquals(3, events.size());
+        assertEquals(ProgressEventType.REQUEST_BYTE_TRANSFER_EVENT, events.get(0).getEventType());
+        assertEquals(3000, events.get(0).getBytes());
+        assertEquals(ProgressEventType.RESPONSE_BYTE_TRANSFER_EVENT, events.get(1).getEventType());
+        assertEquals(2000, events.get(1).getBytes());
+        assertEquals(ProgressEventType.TRANSFER_COMPLETED_EVENT, events.get(2).getEventType());
+    }
+
+    @Test
+    public void pendingBytesAreFlushedAfterTheInterval() throws Exception {
+        dispatcher = new CoalescingProgressDispatcher(1, 10, 100);
+        RecordingListener listener = new RecordingListener(0);
+        dispatcher.deliver(listener,
+                new ProgressEvent(ProgressEventType.REQUEST_BYTE_TRANSFER_EVENT, 42));
+        long deadline = System.currentTimeMillis() + 5000;
+        while (listener.events().isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, listener.events().size());
+        assertEquals(42, listener.events().get(0).getBytes());
+    }
+
+    @Test
+    public void eventsOfEachListenerAreDeliveredInOrder() throws Exception {
+        dispatcher = new CoalescingProgressDispatcher(4, 1, 16);
+        List<RecordingListener> listeners = new ArrayList<RecordingListener>();
+        for (int i = 0; i < 16; i++) {
+            listeners.add(new RecordingListener(0));
+        }
+        Future<?> last = null;
+        List<Future<?>> lastOfEach = new ArrayList<Future<?>>();
+        for (RecordingListener listener : listeners) {
+            for (int i = 0; i < 200; i++) {
+                dispatcher.deliver(listener,
+                        new ProgressEvent(ProgressEventType.REQUEST_BYTE_TRANSFER_EVENT, 1));
+                last = dispatcher.deliver(listener,
+                        new ProgressEvent(ProgressEventType.HTTP_REQUEST_STARTED_EVENT, i));
+            }
+            lastOfEach.add(last);
+        }
+        for (Future<?> f : lastOfEach) {
+            f.get();
+        }
+        for (RecordingListener listener : listeners) {
+            long bytes = 0;
+            long expected = 0;
+            for (ProgressEvent event : listener.events()) {
+                if (event.getEventType() == ProgressEventType.REQUEST_BYTE_TRANSFER_EVENT) {
+                    bytes += event.getBytes();
+                } else {
+                    assertEquals(expected++, event.getBytes());
+                    // every byte published before an event is delivered before it
+                    assertEquals(expected, bytes);
+                }
+            }
+            assertEquals(200, expected);
+        }
+    }
+
+    @Test
+    public void slowListenerBlocksPublishersWithoutLosingEvents() throws Exception {
+        dispatcher = new CoalescingProgressDispatcher(1, 1, 2);
+        RecordingListener listener = new RecordingListener(1);
+        Future<?> last = null;
+        for (int i = 0; i < 50; i++) {
+            dispatcher.deliver(listener,
+                    new ProgressEvent(ProgressEventType.RESPONSE_BYTE_TRANSFER_EVENT, 10));
+            last = dispatcher.submit(listener, new Runnable() {
+                public void run() {
+                }
+            });
+        }
+        last.get();
+        long bytes = 0;
+        for (ProgressEvent event : listener.events()) {
+            bytes += event.getBytes();
+        }
+        assertEquals(500, bytes);
+    }
+
+    @Test
+    public void listenerCanPublishFromItsDeliveryThread() throws Exception {
+        dispatcher = new CoalescingProgressDispatcher(1, 1, 2);
+        final RecordingListener inner = new RecordingListener(0);
+        ProgressListener outer = new ProgressListener() {
+            @Override
+            public void progressChanged(ProgressEvent event) {
+                for (int i = 0; i < 10; i++) {
+                    dispatcher.deliver(inner, new ProgressEvent(ProgressEventType.HTTP_REQUEST_STARTED_EVENT));
+                }
+            }
+        };
+        dispatcher.deliver(outer, new ProgressEvent(ProgressEventType.TRANSFER_STARTED_EVENT)).get();
+        dispatcher.deliver(inner, new ProgressEvent(ProgressEventType.TRANSFER_COMPLETED_EVENT)).get();
+        assertEquals(11, inner.events().size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void queueMustHoldAnEventAndItsPendingBytes() {
+        new CoalescingProgressDispatcher(1, 1, 1);
+    }
+
+    private static class RecordingListener implements ProgressListener {
+        private final List<ProgressEvent> events =
+                Collections.synchronizedList(new ArrayList<ProgressEvent>());
+        private final long delayMillis;
+
+        RecordingListener(long delayMillis) {
+            this.delayMillis = delayMillis;
+        }
+
+        @Override
+        public void progressChanged(ProgressEvent event) {
+            assertTrue(Thread.currentThread().getName()
+                    .startsWith("java-sdk-progress-listener-callback-thread-"));
+            events.add(event);
+            if (delayMillis > 0) {
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        List<ProgressEvent> events() {
+            synchronized (events) {
+                return new ArrayList<ProgressEvent>(events);
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.http;
+
+import java.io.ByteArrayInputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+
+import org.apache.http.ProtocolVersion;
+import org.apache.http.entity.BasicHttpEntity;
+import org.apache.http.message.BasicHttpResponse;
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.amazonaws.AmazonWebServiceResponse;
+import com.amazonaws.ClientConfiguration;
+import com.amazonaws.DefaultRequest;
+import com.amazonaws.Request;
+import com.amazonaws.http.apache.client.impl.ConnectionManagerAwareHttpClient;
+
+/**
+ * Profiles the memory allocated by the calling thread to execute a request,
+ * excluding the network, the signing and the marshalling of the request, and
+ * the unmarshalling of the response.
+ */
+public class AmazonHttpClientAllocationTest {
+
+    private static final int WARMUP_REQUESTS = 20000;
+    private static final int PROFILED_REQUESTS = 20000;
+
+    private static com.sun.management.ThreadMXBean threadMXBean;
+
+    @BeforeClass
+    public static void setUp() {
+        Object bean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        threadMXBean = (com.sun.management.ThreadMXBean) bean;
+        Assume.assumeTrue(threadMXBean.isThreadAllocatedMemorySupported());
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    @Test
+    public void profileRequestWithoutMetrics() {
+        profile(false);
+    }
+
+    @Test
+    public void profileRequestWithMetrics() {
+        profile(true);
+    }
+
+    private void profile(boolean isMetricsEnabled) {
+        AmazonHttpClient client = new AmazonHttpClient(new ClientConfiguration(), stubHttpClient(), null);
+        HttpResponseHandler<AmazonWebServiceResponse<Object>> responseHandler = stubResponseHandler();
+        for (int i = 0; i < WARMUP_REQUESTS; i++) {
+            execute(client, responseHandler, isMetricsEnabled);
+        }
+        long threadId = Thread.currentThread().getId();
+        long allocatedBytes = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < PROFILED_REQUESTS; i++) {
+            execute(client, responseHandler, isMetricsEnabled);
+        }
+        allocatedBytes = threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBytes;
+        System.out.println("Bytes allocated per request " + (isMetricsEnabled ? "with" : "without")
+                + " metrics: " + allocatedBytes / PROFILED_REQUESTS);
+    }
+
+    private static void execute(AmazonHttpClient client,
+            HttpResponseHandler<AmazonWebServiceResponse<Object>> responseHandler, boolean isMetricsEnabled) {
+        Request<?> request = new DefaultRequest<Object>("testsvc");
+        request.setEndpoint(URI.create("http://testsvc.region.amazonaws.com"));
+        request.addHeader("Content-Type", "application/x-amz-json-1.0");
+        request.addParameter("Action", "Test");
+        request.setContent(new ByteArrayInputStream(new byte[0]));
+        client.execute(request, responseHandler, null, new ExecutionContext(isMetricsEnabled));
+    }
+
+    private static HttpResponseHandler<AmazonWebServiceResponse<Object>> stubResponseHandler() {
+        final AmazonWebServiceResponse<Object> response = new AmazonWebServiceResponse<Object>();
+        return new HttpResponseHandler<AmazonWebServiceResponse<Object>>() {
+            @Override
+            public AmazonWebServiceResponse<Object> handle(HttpResponse httpResponse) {
+                return response;
+            }
+
+            @Override
+            public boolean needsConnectionLeftOpen() {
+                return false;
+            }
+        };
+    }
+
+    private static ConnectionManagerAwareHttpClient stubHttpClient() {
+        return (ConnectionManagerAwareHttpClient) Proxy.newProxyInstance(
+                ConnectionManagerAwareHttpClient.class.getClassLoader(),
+                new Class<?>[] { ConnectionManagerAwareHttpClient.class },
+                new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) {
+                        if (method.getName().equals("execute")) {
+                            BasicHttpEntity entity = new BasicHttpEntity();
+                            entity.setContent(new ByteArrayInputStream(new byte[0]));
+                            BasicHttpResponse response = new BasicHttpResponse(
+                                    new ProtocolVersion("http", 1, 1), 200, "OK");
+                            response.setEntity(entity);
+                            return response;
+                        }
+                        return null;
+                    }
+                });
+    }
+}
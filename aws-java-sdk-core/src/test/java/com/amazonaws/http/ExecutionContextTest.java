@@ -0,0 +1,59 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.http;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.amazonaws.handlers.RequestHandler2;
+import com.amazonaws.util.AWSRequestMetrics;
+import com.amazonaws.util.TimingInfo;
+
+public class ExecutionContextTest {
+
+    @Test
+    public void requestWithoutMetricsNorHandlersIsUntimed() {
+        AWSRequestMetrics metrics = new ExecutionContext(false).getAwsRequestMetrics();
+        assertSame(AWSRequestMetrics.UNTIMED, metrics);
+
+        TimingInfo timingInfo = metrics.getTimingInfo().endTiming();
+        assertNull(timingInfo.getEndTimeNanoIfKnown());
+    }
+
+    @Test
+    public void requestWithHandlersIsTimed() {
+        List<RequestHandler2> requestHandler2s = Collections.<RequestHandler2>singletonList(new RequestHandler2() {});
+        AWSRequestMetrics metrics = new ExecutionContext(requestHandler2s, false, null).getAwsRequestMetrics();
+        assertNotSame(AWSRequestMetrics.UNTIMED, metrics);
+        assertFalse(metrics.isEnabled());
+
+        assertNotNull(metrics.getTimingInfo().endTiming().getEndTimeNanoIfKnown());
+    }
+
+    @Test
+    public void requestWithMetricsIsTimed() {
+        AWSRequestMetrics metrics = new ExecutionContext(true).getAwsRequestMetrics();
+        assertTrue(metrics.isEnabled());
+    }
+}
@@ -27,13 +27,30 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
+import com.amazonaws.ClientConfiguration;
+import com.amazonaws.http.apache.client.impl.ApacheConnectionManagerFactory;
+import com.amazonaws.http.conn.ClientConnectionManagerFactory;
+import com.amazonaws.http.settings.HttpClientSettings;
+import com.amazonaws.metrics.AwsSdkMetrics;
+import com.amazonaws.metrics.ByteThroughputProvider;
+import com.amazonaws.metrics.MetricCollector;
+import com.amazonaws.metrics.RequestMetricCollector;
+import com.amazonaws.metrics.ServiceLatencyProvider;
+import com.amazonaws.metrics.ServiceMetricCollector;
+import com.amazonaws.metrics.ServiceMetricType;
+import com.amazonaws.util.AWSServiceMetrics;
+
 import org.apache.http.conn.ClientConnectionManager;
 import org.apache.http.conn.ClientConnectionRequest;
 import org.apache.http.conn.ManagedClientConnection;
 import org.apache.http.conn.routing.HttpRoute;
 import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.pool.ConnPoolControl;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -77,7 +94,87 @@ public class IdleConnectionReaperTest {
         }
     }
 
+    @Test
+    public void duplicateRegistrationIsIgnored() throws Exception {
+        HttpClientConnectionManager m = new TestClientConnectionManager();
+        assertTrue(IdleConnectionReaper.registerConnectionManager(m));
+        assertFalse(IdleConnectionReaper.registerConnectionManager(m));
+        assertEquals(1, IdleConnectionReaper.size());
+        assertTrue(IdleConnectionReaper.removeConnectionManager(m));
+        assertFalse(IdleConnectionReaper.removeConnectionManager(m));
+    }
+
+    @Test
+    public void managerIsSweptWithItsOwnMaxIdleTime() throws Exception {
+        TestClientConnectionManager m = new TestClientConnectionManager();
+        assertTrue(IdleConnectionReaper.registerConnectionManager(m, 1500, -1));
+        try {
+            assertTrue(m.swept.await(5, TimeUnit.SECONDS));
+            assertEquals(1500, m.idleMillis);
+            assertTrue(m.expiredClosed);
+        } finally {
+            IdleConnectionReaper.removeConnectionManager(m);
+        }
+    }
+
+    @Test
+    public void closedConnectionsAreCollectedAsMetric() throws Exception {
+        final CountDownLatch closed = new CountDownLatch(2);
+        AwsSdkMetrics.setMetricCollector(new CountingMetricCollector(closed));
+        ServerSocket server = new ServerSocket(0);
+        HttpClientSettings settings = HttpClientSettings.adapt(new ClientConfiguration());
+        HttpClientConnectionManager m = ClientConnectionManagerFactory.wrap(
+                new ApacheConnectionManagerFactory().create(settings));
+        try {
+            assertEquals(2, ApacheConnectionManagerFactory.warmUp(m, settings,
+                    URI.create("http://localhost:" + server.getLocalPort()), 2));
+            assertTrue(IdleConnectionReaper.registerConnectionManager(m, 1, -1));
+            assertTrue(closed.await(5, TimeUnit.SECONDS));
+            assertEquals(0, ((ConnPoolControl<?>) m).getTotalStats().getAvailable());
+        } finally {
+            IdleConnectionReaper.removeConnectionManager(m);
+            AwsSdkMetrics.setMetricCollector(MetricCollector.NONE);
+            m.shutdown();
+            server.close();
+        }
+    }
+
+    private static class CountingMetricCollector extends MetricCollector {
+        private final CountDownLatch closed;
+
+        CountingMetricCollector(CountDownLatch closed) {
+            this.closed = closed;
+        }
+
+        @Override public boolean start() { return true; }
+        @Override public boolean stop() { return true; }
+        @Override public boolean isEnabled() { return true; }
+        @Override
+        public RequestMetricCollector getRequestMetricCollector() {
+            return RequestMetricCollector.NONE;
+        }
+        @Override
+        public ServiceMetricCollector getServiceMetricCollector() {
+            return new ServiceMetricCollector() {
+                @Override public void collectByteThroughput(ByteThroughputProvider provider) {}
+                @Override public void collectLatency(ServiceLatencyProvider provider) {}
+                @Override
+                public void collectCount(ServiceMetricType type, long count) {
+                    if (type == AWSServiceMetrics.HttpClientIdleConnectionsClosedCount) {
+                        for (long i = 0; i < count; i++) {
+                            closed.countDown();
+                        }
+                    }
+                }
+            };
+        }
+    }
+
     private static class TestClientConnectionManager implements HttpClientConnectionManager {
+        private final CountDownLatch swept = new CountDownLatch(1);
+        private volatile boolean expiredClosed;
+        private volatile long idleMillis;
+
         @Override
         public void releaseConnection(HttpClientConnection conn, Object newState, long validDuration, TimeUnit timeUnit) {}
         @Override
@@ -87,8 +184,13 @@ public class IdleConnectionReaperTest {
         @Override
         public void routeComplete(HttpClientConnection conn, HttpRoute route, HttpContext context) throws IOException {}
         @Override public void shutdown() {}
-        @Override public void closeIdleConnections(long idletime, TimeUnit tunit) {}
-        @Override public void closeExpiredConnections() { }
+        @Override public void closeIdleConnections(long idletime, TimeUnit tunit) {
+            idleMillis = tunit.toMillis(idletime);
+            swept.countDown();
+        }
+        @Override public void closeExpiredConnections() {
+            expiredClosed = true;
+        }
 
         @Override
         public ConnectionRequest requestConnection(HttpRoute route, Object state) {
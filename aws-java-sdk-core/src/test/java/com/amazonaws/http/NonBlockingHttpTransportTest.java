@@ -0,0 +1,315 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.http;
+
+import static com.amazonaws.http.AmazonHttpClient.HEADER_SDK_RETRY_INFO;
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.containing;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.http.concurrent.FutureCallback;
+import org.junit.After;
+import org.junit.Test;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.AmazonWebServiceResponse;
+import com.amazonaws.ClientConfiguration;
+import com.amazonaws.Request;
+import com.amazonaws.Response;
+import com.amazonaws.SignableRequest;
+import com.amazonaws.auth.AWSCredentials;
+import com.amazonaws.auth.AWSCredentialsProvider;
+import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.auth.Signer;
+import com.amazonaws.handlers.RequestHandler2;
+import com.amazonaws.http.exception.HttpRequestTimeoutException;
+import com.amazonaws.http.response.DummyResponseHandler;
+import com.amazonaws.http.timers.client.ClientExecutionTimeoutException;
+import com.amazonaws.retry.RetryPolicy;
+import com.amazonaws.util.IOUtils;
+import com.amazonaws.util.StringUtils;
+
+import utils.http.WireMockTestBase;
+import utils.retry.AlwaysRetryCondition;
+import utils.retry.SimpleArrayBackoffStrategy;
+
+public class NonBlockingHttpTransportTest extends WireMockTestBase {
+
+    private static final String RESOURCE_PATH = "/non-blocking/";
+
+    private AmazonHttpClient httpClient;
+
+    @After
+    public void tearDown() {
+        if (httpClient != null) {
+            httpClient.shutdown();
+        }
+    }
+
+    @Test
+    public void successfulRequest_CompletesFutureAndCallback() throws Exception {
+        stubFor(get(urlEqualTo(RESOURCE_PATH)).willReturn(aResponse().withStatus(200).withBody("content")));
+        httpClient = new AmazonHttpClient(new ClientConfiguration().withNonBlockingHttpTransport(true));
+
+        final CountDownLatch latch = new CountDownLatch(1);
+        final AtomicReference<Response<String>> callbackResponse = new AtomicReference<Response<String>>();
+        Future<Response<String>> future = httpClient.executeAsync(newGetRequest(RESOURCE_PATH),
+                new StringResponseHandler(), stubErrorHandler(), new ExecutionContext(),
+                new FutureCallback<Response<String>>() {
+                    @Override
+                    public void completed(Response<String> result) {
+                        callbackResponse.set(result);
+                        latch.countDown();
+                    }
+
+                    @Override
+                    public void failed(Exception ex) {
+                        latch.countDown();
+                    }
+
+                    @Override
+                    public void cancelled() {
+                        latch.countDown();
+                    }
+                });
+
+        Response<String> response = future.get(10, TimeUnit.SECONDS);
+        assertEquals("content", response.getAwsResponse());
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertSame(response, callbackResponse.get());
+    }
+
+    @Test
+    public void concurrentRequests_AllComplete() throws Exception {
+        stubFor(get(urlEqualTo(RESOURCE_PATH)).willReturn(aResponse().withStatus(200).withBody("content")
+                .withFixedDelay(100)));
+        httpClient = new AmazonHttpClient(new ClientConfiguration()
+                .withNonBlockingHttpTransport(true)
+                .withNonBlockingIoThreadCount(2)
+                .withMaxConnections(100));
+
+        List<Future<Response<String>>> futures = new ArrayList<Future<Response<String>>>();
+        for (int i = 0; i < 100; i++) {
+            futures.add(httpClient.executeAsync(newGetRequest(RESOURCE_PATH), new StringResponseHandler(),
+                    stubErrorHandler(), new ExecutionContext(), null));
+        }
+        for (Future<Response<String>> future : futures) {
+            assertEquals("content", future.get(30, TimeUnit.SECONDS).getAwsResponse());
+        }
+    }
+
+    @Test
+    public void failedRequest_IsRetriedWithBackoff() throws Exception {
+        stubFor(get(urlEqualTo(RESOURCE_PATH)).willReturn(aResponse().withStatus(500)));
+        RetryPolicy retryPolicy = new RetryPolicy(new AlwaysRetryCondition(),
+                new SimpleArrayBackoffStrategy(new int[] { 0, 10, 20 }), 3, false);
+        httpClient = new AmazonHttpClient(new ClientConfiguration()
+                .withNonBlockingHttpTransport(true)
+                .withRetryPolicy(retryPolicy));
+
+        Future<Response<String>> future = httpClient.executeAsync(newGetRequest(RESOURCE_PATH),
+                new StringResponseHandler(), stubErrorHandler(), new ExecutionContext(), null);
+        try {
+            future.get(10, TimeUnit.SECONDS);
+            fail("Expected exception");
+        } catch (ExecutionException expected) {
+            assertTrue(expected.getCause() instanceof AmazonServiceException);
+        }
+
+        verify(1, getRequestedFor(urlEqualTo(RESOURCE_PATH)).withHeader(HEADER_SDK_RETRY_INFO, containing("0/0/")));
+        verify(1, getRequestedFor(urlEqualTo(RESOURCE_PATH)).withHeader(HEADER_SDK_RETRY_INFO, containing("1/0/")));
+        verify(1, getRequestedFor(urlEqualTo(RESOURCE_PATH)).withHeader(HEADER_SDK_RETRY_INFO, containing("2/10/")));
+        verify(1, getRequestedFor(urlEqualTo(RESOURCE_PATH)).withHeader(HEADER_SDK_RETRY_INFO, containing("3/20/")));
+    }
+
+    @Test
+    public void slowResponse_FailsWithRequestTimeout() throws Exception {
+        stubFor(get(urlEqualTo(RESOURCE_PATH)).willReturn(aResponse().withStatus(200).withFixedDelay(5000)));
+        httpClient = new AmazonHttpClient(new ClientConfiguration()
+                .withNonBlockingHttpTransport(true)
+                .withRequestTimeout(200)
+                .withMaxErrorRetry(0));
+
+        Future<Response<String>> future = httpClient.executeAsync(newGetRequest(RESOURCE_PATH),
+                new StringResponseHandler(), stubErrorHandler(), new ExecutionContext(), null);
+        try {
+            future.get(4, TimeUnit.SECONDS);
+            fail("Expected exception");
+        } catch (ExecutionException expected) {
+            assertTrue(expected.getCause() instanceof AmazonClientException);
+            assertTrue(expected.getCause().getCause() instanceof HttpRequestTimeoutException);
+        }
+    }
+
+    @Test(expected = AmazonClientException.class)
+    public void nonBlockingTransportNotEnabled_ThrowsException() throws Exception {
+        httpClient = new AmazonHttpClient(new ClientConfiguration());
+        httpClient.executeAsync(newGetRequest(RESOURCE_PATH), new StringResponseHandler(), stubErrorHandler(),
+                new ExecutionContext(), null);
+    }
+
+    @Test(expected = AmazonClientException.class)
+    public void streamingResponseHandler_IsNotSupported() throws Exception {
+        httpClient = new AmazonHttpClient(new ClientConfiguration().withNonBlockingHttpTransport(true));
+        httpClient.executeAsync(newGetRequest(RESOURCE_PATH), new DummyResponseHandler().leaveConnectionOpen(),
+                stubErrorHandler(), new ExecutionContext(), null);
+    }
+
+    @Test
+    public void clientExecutionTimeout_RunsErrorHandlersAndRestoresContent() throws Exception {
+        stubFor(post(urlEqualTo(RESOURCE_PATH)).willReturn(aResponse().withStatus(200).withFixedDelay(5000)));
+        httpClient = new AmazonHttpClient(new ClientConfiguration()
+                .withNonBlockingHttpTransport(true)
+                .withClientExecutionTimeout(300));
+        final AtomicReference<Exception> handledError = new AtomicReference<Exception>();
+        RequestHandler2 handler = new RequestHandler2() {
+            @Override
+            public void afterError(Request<?> request, Response<?> response, Exception e) {
+                handledError.set(e);
+            }
+        };
+        Request<?> request = newPostRequest();
+        InputStream content = request.getContent();
+
+        Future<Response<String>> future = httpClient.executeAsync(request, new StringResponseHandler(),
+                stubErrorHandler(), new ExecutionContext(Collections.singletonList(handler), false, null), null);
+        try {
+            future.get(4, TimeUnit.SECONDS);
+            fail("Expected exception");
+        } catch (ExecutionException expected) {
+            assertTrue(expected.getCause() instanceof ClientExecutionTimeoutException);
+            assertSame(expected.getCause(), handledError.get());
+        }
+        assertSame(content, request.getContent());
+    }
+
+    @Test
+    public void retries_AreSignedOffIoThreadsWithCredentialsFetchedOnce() throws Exception {
+        stubFor(get(urlEqualTo(RESOURCE_PATH)).willReturn(aResponse().withStatus(500)));
+        RetryPolicy retryPolicy = new RetryPolicy(new AlwaysRetryCondition(),
+                new SimpleArrayBackoffStrategy(new int[] { 0, 10, 20 }), 3, false);
+        httpClient = new AmazonHttpClient(new ClientConfiguration()
+                .withNonBlockingHttpTransport(true)
+                .withRetryPolicy(retryPolicy));
+        final List<String> signingThreads = Collections.synchronizedList(new ArrayList<String>());
+        final AtomicInteger credentialsFetched = new AtomicInteger();
+        ExecutionContext context = new ExecutionContext() {
+            @Override
+            public Signer getSignerByURI(URI uri) {
+                return new Signer() {
+                    @Override
+                    public void sign(SignableRequest<?> request, AWSCredentials credentials) {
+                        signingThreads.add(Thread.currentThread().getName());
+                    }
+                };
+            }
+        };
+        context.setCredentialsProvider(new AWSCredentialsProvider() {
+            @Override
+            public AWSCredentials getCredentials() {
+                credentialsFetched.incrementAndGet();
+                return new BasicAWSCredentials("akid", "skid");
+            }
+
+            @Override
+            public void refresh() {
+            }
+        });
+
+        Future<Response<String>> future = httpClient.executeAsync(newGetRequest(RESOURCE_PATH),
+                new StringResponseHandler(), stubErrorHandler(), context, null);
+        try {
+            future.get(10, TimeUnit.SECONDS);
+            fail("Expected exception");
+        } catch (ExecutionException expected) {
+            assertTrue(expected.getCause() instanceof AmazonServiceException);
+        }
+
+        assertEquals(1, credentialsFetched.get());
+        assertEquals(4, signingThreads.size());
+        assertEquals(Thread.currentThread().getName(), signingThreads.get(0));
+        for (String retryThread : signingThreads.subList(1, signingThreads.size())) {
+            assertTrue(retryThread, retryThread.startsWith("java-sdk-non-blocking-http-scheduler"));
+        }
+    }
+
+    @Test
+    public void cancelledRequest_RestoresContentOnceAborted() throws Exception {
+        stubFor(post(urlEqualTo(RESOURCE_PATH)).willReturn(aResponse().withStatus(200).withFixedDelay(5000)));
+        httpClient = new AmazonHttpClient(new ClientConfiguration().withNonBlockingHttpTransport(true));
+        Request<?> request = newPostRequest();
+        InputStream content = request.getContent();
+
+        Future<Response<String>> future = httpClient.executeAsync(request, new StringResponseHandler(),
+                stubErrorHandler(), new ExecutionContext(), null);
+        assertTrue(future.cancel(true));
+        assertTrue(future.isCancelled());
+
+        // The content is restored once the transport has released the aborted request
+        long deadline = System.currentTimeMillis() + 4000;
+        while (request.getContent() != content && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertSame(content, request.getContent());
+    }
+
+    private Request<?> newPostRequest() {
+        Request<?> request = newGetRequest(RESOURCE_PATH);
+        request.setHttpMethod(HttpMethodName.POST);
+        request.setContent(new ByteArrayInputStream("content".getBytes(StringUtils.UTF8)));
+        return request;
+    }
+
+    /**
+     * Response handler returning the content of the response as a string.
+     */
+    private static class StringResponseHandler implements HttpResponseHandler<AmazonWebServiceResponse<String>> {
+
+        @Override
+        public AmazonWebServiceResponse<String> handle(HttpResponse response) throws Exception {
+            AmazonWebServiceResponse<String> awsResponse = new AmazonWebServiceResponse<String>();
+            awsResponse.setResult(IOUtils.toString(response.getContent()));
+            return awsResponse;
+        }
+
+        @Override
+        public boolean needsConnectionLeftOpen() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.http;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.events.XMLEvent;
+
+import org.junit.Test;
+
+import com.amazonaws.AmazonWebServiceResponse;
+import com.amazonaws.DefaultRequest;
+import com.amazonaws.transform.StaxCursorUnmarshaller;
+import com.amazonaws.transform.StaxUnmarshallerContext;
+import com.amazonaws.transform.Unmarshaller;
+import com.amazonaws.util.StringInputStream;
+
+public class StaxResponseHandlerTest {
+
+    private static final String XML =
+            "<GetResponse><GetResult><Name>foo</Name></GetResult>"
+            + "<ResponseMetadata><RequestId>abc</RequestId></ResponseMetadata></GetResponse>";
+
+    @Test
+    public void cursorUnmarshallerIsGivenAStreamReaderContext() throws Exception {
+        AmazonWebServiceResponse<String> response =
+                new StaxResponseHandler<String>(new CursorNameUnmarshaller()).handle(newResponse());
+        assertEquals("foo", response.getResult());
+        assertEquals("abc", response.getRequestId());
+    }
+
+    @Test
+    public void eventUnmarshallerIsGivenAnEventReaderContext() throws Exception {
+        AmazonWebServiceResponse<String> response =
+                new StaxResponseHandler<String>(new EventNameUnmarshaller()).handle(newResponse());
+        assertEquals("foo", response.getResult());
+        assertEquals("abc", response.getRequestId());
+    }
+
+    @Test
+    public void requestIdIsCollectedWithoutUnmarshaller() throws Exception {
+        AmazonWebServiceResponse<String> response =
+                new StaxResponseHandler<String>(null).handle(newResponse());
+        assertNull(response.getResult());
+        assertEquals("abc", response.getRequestId());
+    }
+
+    private static HttpResponse newResponse() throws Exception {
+        HttpResponse response = new HttpResponse(new DefaultRequest<String>("someService"), null);
+        response.setContent(new StringInputStream(XML));
+        return response;
+    }
+
+    private static class CursorNameUnmarshaller implements StaxCursorUnmarshaller<String> {
+        public String unmarshall(StaxUnmarshallerContext context) throws Exception {
+            try {
+                context.nextEvent();
+                fail("The context should read the response with a stream reader");
+            } catch (IllegalStateException expected) {
+            }
+
+            String name = null;
+            while (true) {
+                int xmlEvent = context.nextEventType();
+                if (xmlEvent == XMLStreamConstants.END_DOCUMENT) return name;
+                if (xmlEvent == XMLStreamConstants.START_ELEMENT && context.testExpression("Name", 3)) {
+                    name = context.readText();
+                }
+            }
+        }
+    }
+
+    private static class EventNameUnmarshaller implements Unmarshaller<String, StaxUnmarshallerContext> {
+        public String unmarshall(StaxUnmarshallerContext context) throws Exception {
+            String name = null;
+            while (true) {
+                XMLEvent xmlEvent = context.nextEvent();
+                if (xmlEvent.isEndDocument()) return name;
+                if (xmlEvent.isStartElement() && context.testExpression("Name", 3)) {
+                    name = context.readText();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.http.apache.client.impl;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.http.HttpHost;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.DefaultRoutePlanner;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.message.BasicHttpRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.amazonaws.CachingDnsResolver;
+import com.amazonaws.ClientConfiguration;
+import com.amazonaws.http.settings.HttpClientSettings;
+
+public class ApacheConnectionManagerFactoryTest {
+
+    private final ApacheConnectionManagerFactory factory = new ApacheConnectionManagerFactory();
+
+    /** Accepts nothing; the connections are established in its backlog. */
+    private ServerSocket server;
+    private URI endpoint;
+    private HttpClientConnectionManager cm;
+
+    @Before
+    public void setup() throws IOException {
+        server = new ServerSocket(0);
+        endpoint = URI.create("http://localhost:" + server.getLocalPort());
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        if (cm != null) {
+            cm.shutdown();
+        }
+        server.close();
+    }
+
+    @Test
+    public void warmUp_OpensConnectionsIntoThePoolOfTheRouteUsedByRequests() throws Exception {
+        HttpClientSettings settings = HttpClientSettings.adapt(new ClientConfiguration());
+        PoolingHttpClientConnectionManager pool = createPool(settings);
+
+        assertEquals(3, ApacheConnectionManagerFactory.warmUp(cm, settings, endpoint, 3));
+
+        HttpRoute route = new DefaultRoutePlanner(null).determineRoute(
+                new HttpHost("localhost", server.getLocalPort(), "http"),
+                new BasicHttpRequest("GET", "/"), HttpClientContext.create());
+        assertEquals(3, pool.getStats(route).getAvailable());
+        assertEquals(0, pool.getStats(route).getLeased());
+    }
+
+    @Test
+    public void warmUp_CountsConnectionsAlreadyPooled() throws Exception {
+        HttpClientSettings settings = HttpClientSettings.adapt(new ClientConfiguration());
+        PoolingHttpClientConnectionManager pool = createPool(settings);
+
+        assertEquals(2, ApacheConnectionManagerFactory.warmUp(cm, settings, endpoint, 2));
+        assertEquals(3, ApacheConnectionManagerFactory.warmUp(cm, settings, endpoint, 5));
+        assertEquals(5, pool.getTotalStats().getAvailable());
+    }
+
+    @Test
+    public void warmUp_IsCappedByMaxConnections() throws Exception {
+        HttpClientSettings settings = HttpClientSettings.adapt(
+                new ClientConfiguration().withMaxConnections(2));
+        PoolingHttpClientConnectionManager pool = createPool(settings);
+
+        assertEquals(2, ApacheConnectionManagerFactory.warmUp(cm, settings, endpoint, 10));
+        assertEquals(2, pool.getTotalStats().getAvailable());
+    }
+
+    @Test
+    public void warmUp_UnreachableEndpoint_OpensNoConnection() throws Exception {
+        HttpClientSettings settings = HttpClientSettings.adapt(
+                new ClientConfiguration().withConnectionTimeout(1000));
+        PoolingHttpClientConnectionManager pool = createPool(settings);
+        server.close();
+
+        assertEquals(0, ApacheConnectionManagerFactory.warmUp(cm, settings, endpoint, 3));
+        assertEquals(0, pool.getTotalStats().getAvailable());
+        assertEquals(0, pool.getTotalStats().getLeased());
+    }
+
+    @Test
+    public void warmUp_TunnelledRoute_IsSkipped() throws Exception {
+        HttpClientSettings settings = HttpClientSettings.adapt(new ClientConfiguration()
+                .withProxyHost("localhost").withProxyPort(server.getLocalPort()));
+        PoolingHttpClientConnectionManager pool = createPool(settings);
+
+        assertEquals(0, ApacheConnectionManagerFactory.warmUp(cm, settings,
+                URI.create("https://localhost:" + server.getLocalPort()), 3));
+        assertEquals(0, pool.getTotalStats().getAvailable());
+    }
+
+    @Test
+    public void connectFailure_IsReportedToCachingDnsResolver() throws Exception {
+        final List<InetAddress> unhealthy = new ArrayList<InetAddress>();
+        CachingDnsResolver resolver = new CachingDnsResolver() {
+            @Override
+            public void markUnhealthy(InetAddress address) {
+                unhealthy.add(address);
+                super.markUnhealthy(address);
+            }
+        };
+        HttpClientSettings settings = HttpClientSettings.adapt(new ClientConfiguration()
+                .withConnectionTimeout(1000).withDnsResolver(resolver));
+        createPool(settings);
+        server.close();
+
+        URI unreachable = URI.create("http://127.0.0.1:" + server.getLocalPort());
+        assertEquals(0, ApacheConnectionManagerFactory.warmUp(cm, settings, unreachable, 1));
+        assertEquals(Arrays.asList(InetAddress.getByName("127.0.0.1")), unhealthy);
+    }
+
+    private PoolingHttpClientConnectionManager createPool(HttpClientSettings settings) {
+        cm = factory.create(settings);
+        return (PoolingHttpClientConnectionManager) cm;
+    }
+}
@@ -19,7 +19,8 @@
 package com.amazonaws.http.timers;
 
 import static org.junit.Assert.assertEquals;
-import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.never;
@@ -28,8 +29,6 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import java.io.IOException;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
 
 import com.amazonaws.http.apache.client.impl.ApacheHttpClientFactory;
 import com.amazonaws.http.apache.client.impl.ConnectionManagerAwareHttpClient;
@@ -64,26 +63,35 @@ import com.amazonaws.http.timers.request.HttpRequestTimer;
 public class ClientExecutionAndRequestTimerTestUtils {
 
     /**
-     * Can take a little bit for ScheduledThreadPoolExecutor to update it's internal state
+     * Can take a little bit for HashedWheelTimer to update it's internal state
      */
     private static final int WAIT_BEFORE_ASSERT_ON_EXECUTOR = 500;
 
     /**
-     * Assert that the executor backing {@link ClientExecutionTimer} was never created or used
+     * Time after which the worker thread of an idle HashedWheelTimer stops
+     */
+    private static final int TIMER_IDLE_TIME = 5000;
+
+    /**
+     * Assert that the timer shared by {@link HttpRequestTimer} and {@link ClientExecutionTimer} was
+     * never used, and so never started a thread
      * 
-     * @param requestTimer
+     * @param httpClient
      */
-    public static void assertRequestTimerExecutorNotCreated(HttpRequestTimer requestTimer) {
-        assertNull(requestTimer.getExecutor());
+    public static void assertTimerNeverStarted(AmazonHttpClient httpClient) {
+        HashedWheelTimer timer = getTimer(httpClient);
+        assertFalse(timer.isWorkerRunning());
+        assertEquals(0, timer.getPendingTimeoutCount());
+        assertEquals(0, timer.getExpiredTimeoutCount());
     }
 
     /**
-     * Assert that the executor backing {@link ClientExecutionTimer} was never created or used
-     * 
-     * @param clientExecutionTimer
+     * @return The timer shared by {@link HttpRequestTimer} and {@link ClientExecutionTimer}
      */
-    public static void assertClientExecutionTimerExecutorNotCreated(ClientExecutionTimer clientExecutionTimer) {
-        assertNull(clientExecutionTimer.getExecutor());
+    public static HashedWheelTimer getTimer(AmazonHttpClient httpClient) {
+        HashedWheelTimer timer = httpClient.getHttpRequestTimer().getTimer();
+        assertSame(timer, httpClient.getClientExecutionTimer().getTimer());
+        return timer;
     }
 
     /**
@@ -109,56 +117,55 @@ public class ClientExecutionAndRequestTimerTestUtils {
     }
 
     /**
-     * Waits until a little after the thread pools keep alive time and then asserts that all thre
+     * Waits until a little after the timer's idle time and then asserts that its worker thread has
+     * stopped
      * 
-     * @param timerExecutor
-     *            Executor used by timer implementation
-     * @throws InterruptedException
+     * @param timer
+     *            Timer used by timer implementation
      */
-    public static void assertCoreThreadsShutDownAfterBeingIdle(ScheduledThreadPoolExecutor timerExecutor) {
+    public static void assertWorkerThreadStoppedAfterBeingIdle(HashedWheelTimer timer) {
         try {
-            Thread.sleep(timerExecutor.getKeepAliveTime(TimeUnit.MILLISECONDS) + 1000);
+            Thread.sleep(TIMER_IDLE_TIME + 1000);
         } catch (InterruptedException ignored) {
         }
-        assertEquals(0, timerExecutor.getPoolSize());
+        assertFalse(timer.isWorkerRunning());
     }
 
     /**
      * If the request completes successfully then the timer task should be canceled and should be
-     * removed from the thread pool to prevent build up of canceled tasks
+     * removed from the timer to prevent build up of canceled tasks
      * 
-     * @param timerExecutor
-     *            Executor used by timer implementation
+     * @param timer
+     *            Timer used by timer implementation
      */
-    public static void assertCanceledTasksRemoved(ScheduledThreadPoolExecutor timerExecutor) {
+    public static void assertCanceledTasksRemoved(HashedWheelTimer timer) {
         waitBeforeAssertOnExecutor();
-        assertEquals(0, timerExecutor.getQueue().size());
+        assertEquals(0, timer.getPendingTimeoutCount());
     }
 
     /**
      * Asserts the timer never went off (I.E. no timeout was exceeded and no timer task was
      * executed)
      * 
-     * @param timerExecutor
-     *            Executor used by timer implementation
+     * @param timer
+     *            Timer used by timer implementation
      */
-    public static void assertTimerNeverTriggered(ScheduledThreadPoolExecutor timerExecutor) {
-        assertNumberOfTasksTriggered(timerExecutor, 0);
+    public static void assertTimerNeverTriggered(HashedWheelTimer timer) {
+        assertNumberOfTasksTriggered(timer, 0);
     }
 
-    public static void assertNumberOfTasksTriggered(ClientExecutionTimer clientExecutionTimer,
-                                                    int expectedNumberOfTasks) {
-        assertNumberOfTasksTriggered(clientExecutionTimer.getExecutor(), expectedNumberOfTasks);
-    }
-
-    public static void assertNumberOfTasksTriggered(HttpRequestTimer requestTimer, int expectedNumberOfTasks) {
-        assertNumberOfTasksTriggered(requestTimer.getExecutor(), expectedNumberOfTasks);
+    /**
+     * Asserts the number of request timeout and client execution timeout tasks that went off, which
+     * share one timer
+     */
+    public static void assertNumberOfTasksTriggered(AmazonHttpClient httpClient, int expectedNumberOfTasks) {
+        assertNumberOfTasksTriggered(getTimer(httpClient), expectedNumberOfTasks);
     }
 
-    private static void assertNumberOfTasksTriggered(ScheduledThreadPoolExecutor timerExecutor,
+    private static void assertNumberOfTasksTriggered(HashedWheelTimer timer,
                                                      int expectedNumberOfTasks) {
         waitBeforeAssertOnExecutor();
-        assertEquals(expectedNumberOfTasks, timerExecutor.getCompletedTaskCount());
+        assertEquals(expectedNumberOfTasks, timer.getExpiredTimeoutCount());
     }
 
     /**
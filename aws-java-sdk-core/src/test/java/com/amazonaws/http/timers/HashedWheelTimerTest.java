@@ -0,0 +1,195 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.http.timers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class HashedWheelTimerTest {
+
+    private static final long TICK_MILLIS = 10;
+    private static final int WHEEL_SIZE = 8;
+    private static final long IDLE_MILLIS = 200;
+
+    private final HashedWheelTimer timer = new HashedWheelTimer("test-timer", TICK_MILLIS, WHEEL_SIZE, IDLE_MILLIS);
+
+    @After
+    public void tearDown() {
+        timer.shutdown();
+    }
+
+    @Test
+    public void timeoutExpiresNoEarlierThanItsDelay() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final AtomicLong expiredAt = new AtomicLong();
+        long start = System.nanoTime();
+        HashedWheelTimer.Timeout timeout = timer.newTimeout(new Runnable() {
+            @Override
+            public void run() {
+                expiredAt.set(System.nanoTime());
+                latch.countDown();
+            }
+        }, 50);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(expiredAt.get() - start) >= 50);
+        assertTrue(timeout.isExpired());
+        assertFalse(timeout.cancel());
+        assertEquals(1, timer.getExpiredTimeoutCount());
+        assertEquals(0, timer.getPendingTimeoutCount());
+    }
+
+    /**
+     * A delay spanning several rotations of the wheel must not expire on the first rotation
+     */
+    @Test
+    public void timeoutLongerThanOneRotationWaitsForItsRound() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        long start = System.nanoTime();
+        timer.newTimeout(new CountDown(latch), TICK_MILLIS * WHEEL_SIZE * 3);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= TICK_MILLIS * WHEEL_SIZE * 3);
+    }
+
+    @Test
+    public void canceledTimeoutNeverExpires() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        HashedWheelTimer.Timeout timeout = timer.newTimeout(new CountDown(latch), 50);
+        assertTrue(timeout.cancel());
+        assertTrue(timeout.isCanceled());
+        assertFalse(timeout.cancel());
+        assertEquals(0, timer.getPendingTimeoutCount());
+
+        assertFalse(latch.await(200, TimeUnit.MILLISECONDS));
+        assertEquals(0, timer.getExpiredTimeoutCount());
+    }
+
+    @Test
+    public void workerStopsWhenIdleAndRestartsOnDemand() throws InterruptedException {
+        CountDownLatch first = new CountDownLatch(1);
+        timer.newTimeout(new CountDown(first), 10);
+        assertTrue(timer.isWorkerRunning());
+        assertTrue(first.await(5, TimeUnit.SECONDS));
+
+        Thread.sleep(IDLE_MILLIS * 5);
+        assertFalse(timer.isWorkerRunning());
+
+        CountDownLatch second = new CountDownLatch(1);
+        timer.newTimeout(new CountDown(second), 10);
+        assertTrue(second.await(5, TimeUnit.SECONDS));
+        assertEquals(2, timer.getExpiredTimeoutCount());
+    }
+
+    @Test
+    public void manyTimeoutsExpireOrCancelIndependently() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(50);
+        for (int i = 0; i < 100; i++) {
+            HashedWheelTimer.Timeout timeout = timer.newTimeout(new CountDown(latch), i % 20 * 5);
+            if (i % 2 == 1) {
+                timeout.cancel();
+            }
+        }
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        Thread.sleep(TICK_MILLIS * 5);
+        assertEquals(50, timer.getExpiredTimeoutCount());
+        assertEquals(0, timer.getPendingTimeoutCount());
+    }
+
+    /**
+     * A task blocking for a while must not delay the other timeouts
+     */
+    @Test
+    public void blockingTaskDoesNotDelayOtherTimeouts() throws InterruptedException {
+        final CountDownLatch release = new CountDownLatch(1);
+        timer.newTimeout(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }, 10);
+        CountDownLatch latch = new CountDownLatch(1);
+        timer.newTimeout(new CountDown(latch), 50);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        release.countDown();
+    }
+
+    /**
+     * Expired tasks run on at most two task threads, at normal priority
+     */
+    @Test
+    public void expiredTasksRunOnAtMostTwoTaskThreads() throws InterruptedException {
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch started = new CountDownLatch(2);
+        final Set<Thread> taskThreads = Collections.synchronizedSet(new HashSet<Thread>());
+        for (int i = 0; i < 4; i++) {
+            timer.newTimeout(new Runnable() {
+                @Override
+                public void run() {
+                    taskThreads.add(Thread.currentThread());
+                    started.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }, 10);
+        }
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Thread.sleep(TICK_MILLIS * 10);
+        assertEquals(2, taskThreads.size());
+        for (Thread taskThread : taskThreads) {
+            assertEquals(Thread.NORM_PRIORITY, taskThread.getPriority());
+        }
+        release.countDown();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void newTimeoutAfterShutdownIsRejected() {
+        timer.shutdown();
+        timer.newTimeout(new CountDown(new CountDownLatch(1)), 10);
+    }
+
+    private static class CountDown implements Runnable {
+        private final CountDownLatch latch;
+
+        CountDown(CountDownLatch latch) {
+            this.latch = latch;
+        }
+
+        @Override
+        public void run() {
+            latch.countDown();
+        }
+    }
+}
@@ -14,7 +14,7 @@
  */
 package com.amazonaws.http.timers.client;
 
-import static com.amazonaws.http.timers.ClientExecutionAndRequestTimerTestUtils.assertClientExecutionTimerExecutorNotCreated;
+import static com.amazonaws.http.timers.ClientExecutionAndRequestTimerTestUtils.assertTimerNeverStarted;
 import static com.amazonaws.http.timers.ClientExecutionAndRequestTimerTestUtils.assertNumberOfTasksTriggered;
 import static com.amazonaws.http.timers.ClientExecutionAndRequestTimerTestUtils.interruptCurrentThreadAfterDelay;
 import static com.amazonaws.http.timers.TimeoutTestConstants.CLIENT_EXECUTION_TIMEOUT;
@@ -68,7 +68,7 @@ public class UnresponsiveServerTests extends UnresponsiveMockServerTestBase {
             fail("Exception expected");
         } catch (AmazonClientException e) {
             assertThat(e.getCause(), instanceOf(SocketTimeoutException.class));
-            assertClientExecutionTimerExecutorNotCreated(httpClient.getClientExecutionTimer());
+            assertTimerNeverStarted(httpClient);
         }
     }
 
@@ -114,7 +114,7 @@ public class UnresponsiveServerTests extends UnresponsiveMockServerTestBase {
             fail("Exception expected");
         } catch (AmazonClientException e) {
             assertThat(e, instanceOf(ClientExecutionTimeoutException.class));
-            assertNumberOfTasksTriggered(httpClient.getClientExecutionTimer(), 1);
+            assertNumberOfTasksTriggered(httpClient, 1);
         }
     }
 
@@ -130,7 +130,7 @@ public class UnresponsiveServerTests extends UnresponsiveMockServerTestBase {
             fail("Exception expected");
         } catch (AmazonClientException e) {
             assertThat(e.getCause(), instanceOf(SocketTimeoutException.class));
-            assertNumberOfTasksTriggered(httpClient.getClientExecutionTimer(), 0);
+            assertNumberOfTasksTriggered(httpClient, 0);
         }
     }
 
@@ -146,8 +146,7 @@ public class UnresponsiveServerTests extends UnresponsiveMockServerTestBase {
             fail("Exception expected");
         } catch (AmazonClientException e) {
             assertThat(e, instanceOf(ClientExecutionTimeoutException.class));
-            assertNumberOfTasksTriggered(httpClient.getClientExecutionTimer(), 1);
-            assertNumberOfTasksTriggered(httpClient.getHttpRequestTimer(), 0);
+            assertNumberOfTasksTriggered(httpClient, 1);
         }
     }
 
@@ -163,9 +162,8 @@ public class UnresponsiveServerTests extends UnresponsiveMockServerTestBase {
             fail("Exception expected");
         } catch (AmazonClientException e) {
             assertThat(e.getCause(), instanceOf(HttpRequestTimeoutException.class));
-            // Completed tasks means the client execution was aborted by the timer
-            assertNumberOfTasksTriggered(httpClient.getClientExecutionTimer(), 0);
-            assertNumberOfTasksTriggered(httpClient.getHttpRequestTimer(), 1);
+            // Only the request timeout went off
+            assertNumberOfTasksTriggered(httpClient, 1);
         }
     }
 
@@ -186,9 +184,8 @@ public class UnresponsiveServerTests extends UnresponsiveMockServerTestBase {
             fail("Exception expected");
         } catch (AmazonClientException e) {
             assertThat(e, instanceOf(ClientExecutionTimeoutException.class));
-            // Completed tasks means the client execution was aborted by the timer
-            assertNumberOfTasksTriggered(httpClient.getClientExecutionTimer(), 1);
-            assertNumberOfTasksTriggered(httpClient.getHttpRequestTimer(), 1);
+            // Both the request timeout and the client execution timeout went off
+            assertNumberOfTasksTriggered(httpClient, 2);
         }
     }
 }
@@ -74,8 +74,7 @@ public class DummyResponseServerTests extends MockServerTestBase {
             assertEquals(e.getStatusCode(), STATUS_CODE);
             int expectedNumberOfRequests = 1 + maxRetries;
             assertNumberOfRetries(rawHttpClient, expectedNumberOfRequests);
-            assertNumberOfTasksTriggered(httpClient.getHttpRequestTimer(), 0);
-            assertNumberOfTasksTriggered(httpClient.getClientExecutionTimer(), 0);
+            assertNumberOfTasksTriggered(httpClient, 0);
         }
     }
 
@@ -15,7 +15,7 @@
 package com.amazonaws.http.timers.request;
 
 import static com.amazonaws.http.timers.ClientExecutionAndRequestTimerTestUtils.assertCanceledTasksRemoved;
-import static com.amazonaws.http.timers.ClientExecutionAndRequestTimerTestUtils.assertCoreThreadsShutDownAfterBeingIdle;
+import static com.amazonaws.http.timers.ClientExecutionAndRequestTimerTestUtils.assertWorkerThreadStoppedAfterBeingIdle;
 import static com.amazonaws.http.timers.ClientExecutionAndRequestTimerTestUtils.assertResponseIsBuffered;
 import static com.amazonaws.http.timers.ClientExecutionAndRequestTimerTestUtils.assertResponseWasNotBuffered;
 import static com.amazonaws.http.timers.ClientExecutionAndRequestTimerTestUtils.assertTimerNeverTriggered;
@@ -25,13 +25,14 @@ import static com.amazonaws.http.timers.ClientExecutionAndRequestTimerTestUtils.
 import static com.amazonaws.http.timers.ClientExecutionAndRequestTimerTestUtils.createMockHeadRequest;
 import static com.amazonaws.http.timers.ClientExecutionAndRequestTimerTestUtils.createRawHttpClientSpy;
 import static com.amazonaws.http.timers.ClientExecutionAndRequestTimerTestUtils.execute;
+import static com.amazonaws.http.timers.ClientExecutionAndRequestTimerTestUtils.getTimer;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doReturn;
 
-import java.util.concurrent.ScheduledThreadPoolExecutor;
 
 import com.amazonaws.http.apache.client.impl.ConnectionManagerAwareHttpClient;
 import org.apache.http.client.HttpClient;
@@ -47,6 +48,7 @@ import com.amazonaws.ClientConfiguration;
 import com.amazonaws.TestPreConditions;
 import com.amazonaws.http.AmazonHttpClient;
 import com.amazonaws.http.ExecutionContext;
+import com.amazonaws.http.timers.HashedWheelTimer;
 import com.amazonaws.http.response.HttpResponseProxy;
 import com.amazonaws.http.response.NullErrorResponseHandler;
 import com.amazonaws.http.response.NullResponseHandler;
@@ -82,13 +84,51 @@ public class MockedClientTests {
         }
 
         assertResponseIsBuffered(responseProxy);
-        ScheduledThreadPoolExecutor requestTimerExecutor = httpClient.getHttpRequestTimer().getExecutor();
-        assertTimerNeverTriggered(requestTimerExecutor);
-        assertCanceledTasksRemoved(requestTimerExecutor);
-        // Core threads should be spun up on demand. Since only one task was submitted only one
-        // thread should exist
-        assertEquals(1, requestTimerExecutor.getPoolSize());
-        assertCoreThreadsShutDownAfterBeingIdle(requestTimerExecutor);
+        HashedWheelTimer timer = httpClient.getHttpRequestTimer().getTimer();
+        assertTimerNeverTriggered(timer);
+        assertCanceledTasksRemoved(timer);
+        // The worker thread should be spun up on demand and stop once idle
+        assertTrue(timer.isWorkerRunning());
+        assertWorkerThreadStoppedAfterBeingIdle(timer);
+    }
+
+    /**
+     * The request timeout and the client execution timeout are both kept by the single timer of the
+     * client, which only starts its worker thread to do so.
+     */
+    @Test
+    public void requestAndClientExecutionTimeoutsEnabled_ShareOneTimerThread() throws Exception {
+        ClientConfiguration config = new ClientConfiguration().withRequestTimeout(5 * 1000)
+                .withClientExecutionTimeout(5 * 1000).withMaxErrorRetry(0);
+        ConnectionManagerAwareHttpClient rawHttpClient = createRawHttpClientSpy(config);
+
+        HttpResponseProxy responseProxy = createHttpResponseProxySpy();
+        doReturn(responseProxy).when(rawHttpClient).execute(any(HttpRequestBase.class), any(HttpContext.class));
+
+        httpClient = new AmazonHttpClient(config, rawHttpClient, null);
+
+        try {
+            execute(httpClient, createMockGetRequest());
+            fail("Exception expected");
+        } catch (AmazonClientException e) {
+            NullResponseHandler.assertIsUnmarshallingException(e);
+        }
+
+        HashedWheelTimer timer = getTimer(httpClient);
+        assertTimerNeverTriggered(timer);
+        assertCanceledTasksRemoved(timer);
+        assertEquals(1, countThreadsNamed("java-sdk-timeout-timer"));
+        httpClient.shutdown();
+    }
+
+    private static int countThreadsNamed(String prefix) {
+        int count = 0;
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.isAlive() && thread.getName().startsWith(prefix)) {
+                count++;
+            }
+        }
+        return count;
     }
 
     /**
@@ -77,7 +77,7 @@ public class OverloadServerTests extends OverloadedMockServerTestBase {
             assertThat(e.getCause(), instanceOf(HttpRequestTimeoutException.class));
             int expectedNumberOfRequests = 1 + maxRetries;
             assertNumberOfRetries(rawHttpClient, expectedNumberOfRequests);
-            assertNumberOfTasksTriggered(httpClient.getHttpRequestTimer(), expectedNumberOfRequests);
+            assertNumberOfTasksTriggered(httpClient, expectedNumberOfRequests);
         }
     }
 
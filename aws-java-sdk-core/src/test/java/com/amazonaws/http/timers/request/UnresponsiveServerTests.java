@@ -14,7 +14,7 @@
  */
 package com.amazonaws.http.timers.request;
 
-import static com.amazonaws.http.timers.ClientExecutionAndRequestTimerTestUtils.assertRequestTimerExecutorNotCreated;
+import static com.amazonaws.http.timers.ClientExecutionAndRequestTimerTestUtils.assertTimerNeverStarted;
 import static com.amazonaws.http.timers.ClientExecutionAndRequestTimerTestUtils.execute;
 import static com.amazonaws.http.timers.TimeoutTestConstants.PRECISION_MULTIPLIER;
 import static com.amazonaws.http.timers.TimeoutTestConstants.TEST_TIMEOUT;
@@ -67,7 +67,7 @@ public class UnresponsiveServerTests extends UnresponsiveMockServerTestBase {
             fail("Exception expected");
         } catch (AmazonClientException e) {
             assertThat(e.getCause(), instanceOf(SocketTimeoutException.class));
-            assertRequestTimerExecutorNotCreated(httpClient.getHttpRequestTimer());
+            assertTimerNeverStarted(httpClient);
         }
     }
 
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.protocol.json;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.junit.Test;
+
+import com.amazonaws.util.IOUtils;
+
+public class JsonContentBufferTest {
+
+    private static final int MAX_RETAINED_SIZE = 4096;
+
+    @Test
+    public void buffersAreNotReusedByDefault() {
+        JsonContentBuffer buffer = JsonContentBuffer.acquire(0);
+        buffer.release();
+        assertNotSame(buffer, JsonContentBuffer.acquire(0));
+    }
+
+    @Test
+    public void releasedBufferIsReusedByTheSameThread() throws IOException {
+        JsonContentBuffer buffer = JsonContentBuffer.acquire(MAX_RETAINED_SIZE);
+        buffer.write(new byte[] { 1, 2, 3 });
+        assertArrayEquals(new byte[] { 1, 2, 3 }, buffer.toByteArrayAndRelease());
+
+        JsonContentBuffer reused = JsonContentBuffer.acquire(MAX_RETAINED_SIZE);
+        assertSame(buffer, reused);
+        assertEquals(0, reused.size());
+        reused.release();
+    }
+
+    @Test
+    public void leasedBufferIsNotShared() {
+        JsonContentBuffer leased = JsonContentBuffer.acquire(MAX_RETAINED_SIZE);
+        JsonContentBuffer other = JsonContentBuffer.acquire(MAX_RETAINED_SIZE);
+        assertNotSame(leased, other);
+        other.release();
+        leased.release();
+    }
+
+    @Test
+    public void contentStreamReadsInPlaceAndReleasesOnClose() throws IOException {
+        JsonContentBuffer buffer = JsonContentBuffer.acquire(MAX_RETAINED_SIZE);
+        buffer.write("{\"a\":1}".getBytes("UTF-8"));
+        InputStream content = buffer.toInputStream();
+        content.mark(0);
+        assertEquals("{\"a\":1}", IOUtils.toString(content));
+        content.reset();
+        assertEquals("{\"a\":1}", IOUtils.toString(content));
+
+        content.close();
+        assertSame(buffer, JsonContentBuffer.acquire(MAX_RETAINED_SIZE));
+        buffer.release();
+    }
+
+    @Test(expected = IOException.class)
+    public void contentStreamCannotBeReadAfterClose() throws IOException {
+        JsonContentBuffer buffer = JsonContentBuffer.acquire(MAX_RETAINED_SIZE);
+        buffer.write(1);
+        InputStream content = buffer.toInputStream();
+        content.close();
+        content.read();
+    }
+
+    @Test
+    public void largeBufferIsTrimmedOnRelease() throws IOException {
+        JsonContentBuffer buffer = JsonContentBuffer.acquire(MAX_RETAINED_SIZE);
+        buffer.write(new byte[MAX_RETAINED_SIZE * 2]);
+        buffer.toInputStream().close();
+
+        JsonContentBuffer reused = JsonContentBuffer.acquire(MAX_RETAINED_SIZE);
+        assertSame(buffer, reused);
+        reused.write(new byte[10]);
+        assertEquals(10, reused.toByteArrayAndRelease().length);
+    }
+
+    @Test
+    public void bufferReleasedOnAnotherThreadReturnsToItsThread() throws Exception {
+        final JsonContentBuffer buffer = JsonContentBuffer.acquire(MAX_RETAINED_SIZE);
+        Thread thread = new Thread() {
+            @Override
+            public void run() {
+                buffer.release();
+            }
+        };
+        thread.start();
+        thread.join();
+        assertSame(buffer, JsonContentBuffer.acquire(MAX_RETAINED_SIZE));
+        buffer.release();
+    }
+}
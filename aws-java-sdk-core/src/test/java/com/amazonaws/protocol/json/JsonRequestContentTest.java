@@ -0,0 +1,98 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.protocol.json;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import org.junit.Test;
+
+import com.amazonaws.DefaultRequest;
+import com.amazonaws.Request;
+import com.amazonaws.util.IOUtils;
+import com.fasterxml.jackson.core.JsonFactory;
+
+public class JsonRequestContentTest {
+
+    private static final String CONTENT = "{\"stringProp\":\"stringVal\"}";
+
+    @Test
+    public void sdkGeneratorContentIsReadInPlace() throws IOException {
+        SdkJsonGenerator jsonGenerator = new SdkJsonGenerator(new JsonFactory(), "application/json");
+        jsonGenerator.writeStartObject();
+        jsonGenerator.writeFieldName("stringProp").writeValue("stringVal");
+        jsonGenerator.writeEndObject();
+
+        Request<Void> request = new DefaultRequest<Void>("service");
+        JsonRequestContent.setContent(request, jsonGenerator);
+
+        assertTrue(request.getContent() instanceof JsonContentBuffer.ContentStream);
+        assertEquals(Integer.toString(CONTENT.length()), request.getHeaders().get("Content-Length"));
+        assertEquals(CONTENT, IOUtils.toString(request.getContent()));
+    }
+
+    @Test
+    public void otherGeneratorContentIsCopied() throws IOException {
+        Request<Void> request = new DefaultRequest<Void>("service");
+        JsonRequestContent.setContent(request, bytesOnlyGenerator(CONTENT.getBytes("UTF-8")));
+
+        assertTrue(request.getContent() instanceof ByteArrayInputStream);
+        assertEquals(Integer.toString(CONTENT.length()), request.getHeaders().get("Content-Length"));
+        assertEquals(CONTENT, IOUtils.toString(request.getContent()));
+    }
+
+    @Test
+    public void contentIsReleasedOnceTheStreamIsClosed() throws IOException {
+        InputStream content = JsonContentBuffer.acquire(0).toInputStream();
+        assertFalse(JsonRequestContent.isReleased(content));
+        content.close();
+        assertTrue(JsonRequestContent.isReleased(content));
+    }
+
+    @Test
+    public void otherContentIsNeverReleased() throws IOException {
+        InputStream content = new ByteArrayInputStream(new byte[0]);
+        content.close();
+        assertFalse(JsonRequestContent.isReleased(content));
+        assertFalse(JsonRequestContent.isReleased(null));
+    }
+
+    /**
+     * A generator implemented outside of the SDK, which only knows about the
+     * methods of {@link StructuredJsonGenerator}.
+     */
+    private static StructuredJsonGenerator bytesOnlyGenerator(final byte[] bytes) {
+        return (StructuredJsonGenerator) Proxy.newProxyInstance(
+                StructuredJsonGenerator.class.getClassLoader(),
+                new Class<?>[] { StructuredJsonGenerator.class },
+                new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) {
+                        if (method.getName().equals("getBytes")) {
+                            return bytes.clone();
+                        }
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
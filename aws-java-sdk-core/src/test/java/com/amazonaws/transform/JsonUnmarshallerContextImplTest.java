@@ -0,0 +1,82 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.transform;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonToken;
+
+public class JsonUnmarshallerContextImplTest {
+
+    private static final String JSON =
+            "{\"Items\":[{\"S\":{\"S\":\"foo\"},\"N\":{\"N\":\"1\"}},"
+            + "{\"L\":[{\"BOOL\":true},{\"NULL\":true}]}],"
+            + "\"Count\":2,\"LastEvaluatedKey\":{\"Id\":{\"S\":\"bar\"}}}";
+
+    private static final List<String> FIELD_NAMES = Arrays.asList(
+            "Items", "S", "N", "L", "BOOL", "NULL", "Count", "LastEvaluatedKey", "Id", "Missing");
+
+    /**
+     * The field name returned at each position is the one expressions are
+     * tested against, at the same depth.
+     */
+    @Test
+    public void currentFieldNameMatchesTestExpression() throws Exception {
+        JsonUnmarshallerContext context = newContext(JSON);
+        int positions = 0;
+        while (context.nextToken() != null) {
+            for (int depth = 0; depth <= context.getCurrentDepth() + 1; depth++) {
+                String fieldName = context.getCurrentFieldName(depth);
+                for (String expression : FIELD_NAMES) {
+                    assertEquals(context.testExpression(expression, depth),
+                            expression.equals(fieldName));
+                }
+            }
+            positions++;
+        }
+        assertTrue(positions > 0);
+    }
+
+    @Test
+    public void currentFieldNameIsNullAtAnotherDepth() throws Exception {
+        JsonUnmarshallerContext context = newContext("{\"Count\":2}");
+        assertEquals(JsonToken.START_OBJECT, context.nextToken());
+        assertEquals(JsonToken.FIELD_NAME, context.nextToken());
+        assertEquals("Count", context.getCurrentFieldName(1));
+        assertNull(context.getCurrentFieldName(2));
+        assertNull(context.getCurrentFieldName(0));
+    }
+
+    @Test
+    public void currentFieldNameIsNullBeforeAnyField() throws Exception {
+        JsonUnmarshallerContext context = newContext("{\"Count\":2}");
+        context.nextToken();
+        assertNull(context.getCurrentFieldName(context.getCurrentDepth()));
+    }
+
+    private static JsonUnmarshallerContext newContext(String json) throws Exception {
+        return new JsonUnmarshallerContextImpl(new JsonFactory().createParser(json),
+                Collections.<Class<?>, Unmarshaller<?, JsonUnmarshallerContext>>emptyMap(), null);
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.transform;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.events.XMLEvent;
+
+import org.junit.Test;
+
+public class StaxUnmarshallerContextTest {
+
+    private static final String XML =
+            "<DescribeResponse><requestId>abc</requestId>"
+            + "<items><item><name>foo</name></item>"
+            + "<item id=\"2\"><name>bar</name></item></items></DescribeResponse>";
+
+    @Test
+    public void expressionsMatchTheCurrentPosition() throws Exception {
+        StaxUnmarshallerContext context = newContext(XML);
+        nextStartElement(context, "name");
+        assertTrue(context.testExpression("name", 4));
+        assertTrue(context.testExpression("item/name", 3));
+        assertTrue(context.testExpression("DescribeResponse/items/item/name", 1));
+        assertTrue(context.testExpression("item/name"));
+        assertFalse(context.testExpression("name", 3));
+        assertFalse(context.testExpression("tem/name", 3));
+        assertFalse(context.testExpression("Response/items/item/name", 1));
+        assertEquals("foo", context.readText());
+
+        // Back to the parent element once the children are closed
+        nextStartElement(context, "item");
+        XMLEvent event = context.nextEvent();
+        assertTrue(event.isAttribute());
+        assertTrue(context.testExpression("item/@id", 3));
+        assertEquals("2", context.readText());
+        assertEquals(3, context.getCurrentDepth());
+
+        // The attribute is not part of the path of the next element
+        nextStartElement(context, "name");
+        assertTrue(context.testExpression("items/item/name", 2));
+        assertEquals("bar", context.readText());
+    }
+
+    @Test
+    public void metadataIsCollectedAtTheTargetDepth() throws Exception {
+        StaxUnmarshallerContext context = newContext(XML);
+        context.registerMetadataExpression("requestId", 2, "RequestId");
+        context.registerMetadataExpression("name", 2, "Name");
+        while (!context.nextEvent().isEndDocument()) {
+        }
+        assertEquals("abc", context.getMetadata().get("RequestId"));
+        assertFalse(context.getMetadata().containsKey("Name"));
+    }
+
+    @Test
+    public void readTextJoinsAllTheCharactersOfTheElement() throws Exception {
+        StaxUnmarshallerContext context = newContext("<a>x&amp;y<![CDATA[<z>]]></a>");
+        nextStartElement(context, "a");
+        assertEquals("x&y<z>", context.readText());
+
+        context = newContext("<a></a>");
+        nextStartElement(context, "a");
+        assertEquals("", context.readText());
+    }
+
+    @Test
+    public void cursorExpressionsMatchTheCurrentPosition() throws Exception {
+        StaxUnmarshallerContext context = newCursorContext(XML);
+        assertTrue(context.isStartOfDocument());
+        nextCursorStartElement(context, "name");
+        assertFalse(context.isStartOfDocument());
+        assertTrue(context.testExpression("name", 4));
+        assertTrue(context.testExpression("DescribeResponse/items/item/name", 1));
+        assertFalse(context.testExpression("name", 3));
+        assertEquals("foo", context.readText());
+        assertEquals(XMLStreamConstants.END_ELEMENT, context.nextEventType());
+        assertEquals(3, context.getCurrentDepth());
+
+        nextCursorStartElement(context, "item");
+        assertEquals(XMLStreamConstants.ATTRIBUTE, context.nextEventType());
+        assertTrue(context.testExpression("item/@id", 3));
+        assertEquals("2", context.readText());
+        assertEquals(3, context.getCurrentDepth());
+
+        nextCursorStartElement(context, "name");
+        assertTrue(context.testExpression("items/item/name", 2));
+        assertEquals("bar", context.readText());
+    }
+
+    @Test
+    public void cursorDeliversTheSameEventsAsTheEventReader() throws Exception {
+        assertEquals(readAll(newContext(XML)), readAll(newCursorContext(XML)));
+    }
+
+    @Test
+    public void cursorMetadataIsCollectedAtTheTargetDepth() throws Exception {
+        StaxUnmarshallerContext context = newCursorContext(XML);
+        context.registerMetadataExpression("requestId", 2, "RequestId");
+        context.registerMetadataExpression("name", 2, "Name");
+        nextCursorStartElement(context, "requestId");
+        assertEquals("abc", context.getMetadata().get("RequestId"));
+        // The text read ahead for the metadata is still the text of the element
+        assertEquals("abc", context.readText());
+        while (context.nextEventType() != XMLStreamConstants.END_DOCUMENT) {
+        }
+        assertFalse(context.getMetadata().containsKey("Name"));
+    }
+
+    @Test
+    public void cursorReadTextJoinsAllTheCharactersOfTheElement() throws Exception {
+        StaxUnmarshallerContext context = newCursorContext("<a>x&amp;y<![CDATA[<z>]]></a>");
+        nextCursorStartElement(context, "a");
+        assertEquals("x&y<z>", context.readText());
+        assertEquals(XMLStreamConstants.END_ELEMENT, context.nextEventType());
+
+        context = newCursorContext("<a></a>");
+        nextCursorStartElement(context, "a");
+        assertEquals("", context.readText());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void cursorContextDoesNotCreateEvents() throws Exception {
+        newCursorContext(XML).nextEvent();
+    }
+
+    /**
+     * Reads the whole document, recording the type, depth and text of each
+     * event, reading the text of the elements named "name" and of attributes.
+     */
+    private static List<String> readAll(StaxUnmarshallerContext context) throws Exception {
+        List<String> events = new ArrayList<String>();
+        while (true) {
+            int eventType = context.nextEventType();
+            String event = eventType + "@" + context.getCurrentDepth();
+            if (eventType == XMLStreamConstants.ATTRIBUTE
+                    || (eventType == XMLStreamConstants.START_ELEMENT && context.testExpression("name"))) {
+                event += "=" + context.readText();
+            }
+            events.add(event);
+            if (eventType == XMLStreamConstants.END_DOCUMENT) {
+                return events;
+            }
+        }
+    }
+
+    private static StaxUnmarshallerContext newCursorContext(String xml) throws Exception {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.FALSE);
+        return new StaxUnmarshallerContext(factory.createXMLStreamReader(new StringReader(xml)), null);
+    }
+
+    private static void nextCursorStartElement(StaxUnmarshallerContext context, String name)
+            throws Exception {
+        while (true) {
+            int eventType = context.nextEventType();
+            assertFalse(eventType == XMLStreamConstants.END_DOCUMENT);
+            if (eventType == XMLStreamConstants.START_ELEMENT && context.stack.peek().equals(name)) {
+                return;
+            }
+        }
+    }
+
+    private static StaxUnmarshallerContext newContext(String xml) throws Exception {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.FALSE);
+        return new StaxUnmarshallerContext(factory.createXMLEventReader(new StringReader(xml)));
+    }
+
+    private static void nextStartElement(StaxUnmarshallerContext context, String name)
+            throws Exception {
+        while (true) {
+            XMLEvent event = context.nextEvent();
+            assertFalse(event.isEndDocument());
+            if (event.isStartElement()
+                    && event.asStartElement().getName().getLocalPart().equals(name)) {
+                return;
+            }
+        }
+    }
+}
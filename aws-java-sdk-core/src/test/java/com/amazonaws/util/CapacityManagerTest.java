@@ -17,6 +17,13 @@
 
 package com.amazonaws.util;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -71,4 +78,36 @@ public class CapacityManagerTest {
         Assert.assertEquals(mgr.consumedCapacity(), 0);
     }
 
+    /**
+     * Tests that concurrent acquires and releases never over-commit capacity
+     * and that all capacity is returned once every consumer has released.
+     */
+    @Test
+    public void concurrentAcquireAndRelease() throws Exception {
+        final CapacityManager mgr = new CapacityManager(20);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<Future<?>>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(new Callable<Void>() {
+                    public Void call() {
+                        for (int i = 0; i < 10000; i++) {
+                            if (mgr.acquire(5)) {
+                                Assert.assertTrue(mgr.availableCapacity() >= 0);
+                                mgr.release(5);
+                            }
+                        }
+                        return null;
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Assert.assertEquals(mgr.availableCapacity(), 20);
+        Assert.assertEquals(mgr.consumedCapacity(), 0);
+    }
 }
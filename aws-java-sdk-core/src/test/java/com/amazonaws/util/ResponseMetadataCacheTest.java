@@ -28,6 +28,7 @@ import org.junit.Test;
 
 import com.amazonaws.AmazonWebServiceRequest;
 import com.amazonaws.ResponseMetadata;
+import com.amazonaws.internal.NullResponseMetadataCache;
 
 /** Tests for the response metadata cache class. */
 public class ResponseMetadataCacheTest {
@@ -78,6 +79,31 @@ public class ResponseMetadataCacheTest {
         assertNull(cache.get(key));
     }
 
+    /** Tests that re-adding a key returns the most recent metadata.  */
+    @Test
+    public void testReAddReturnsLatest() {
+        ResponseMetadataCache cache = new ResponseMetadataCache(3);
+
+        AmazonWebServiceRequest key = new TestRequest();
+        ResponseMetadata metadata1 = newResponseMetadata();
+        ResponseMetadata metadata2 = newResponseMetadata();
+        cache.add(key, metadata1);
+        cache.add(key, metadata2);
+
+        assertEquals(metadata2, cache.get(key));
+    }
+
+    /** Tests that the disabled cache never returns metadata.  */
+    @Test
+    public void testNullCache() {
+        NullResponseMetadataCache cache = new NullResponseMetadataCache();
+
+        AmazonWebServiceRequest key = new TestRequest();
+        cache.add(key, newResponseMetadata());
+
+        assertNull(cache.get(key));
+    }
+
     private class TestRequest extends AmazonWebServiceRequest {}
 
     private ResponseMetadata newResponseMetadata() {
@@ -25,6 +25,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.util.Date;
 
@@ -136,6 +137,20 @@ public class SdkJsonGeneratorTest {
         assertEquals(3, node.size());
     }
 
+    @Test
+    public void contentStream_ReadsSameContentAsBytes() throws IOException {
+        jsonGenerator.writeStartObject();
+        jsonGenerator.writeFieldName("stringProp").writeValue("stringVal");
+        jsonGenerator.writeEndObject();
+        SdkJsonGenerator sdkJsonGenerator = (SdkJsonGenerator) jsonGenerator;
+        int length = sdkJsonGenerator.getContentLength();
+        InputStream content = sdkJsonGenerator.getContentStream();
+        assertEquals(length, content.available());
+        JsonNode node = MAPPER.readTree(content);
+        assertEquals("stringVal", node.get("stringProp").textValue());
+        content.close();
+    }
+
     private JsonNode toJsonNode() throws IOException {
         return MAPPER.readTree(jsonGenerator.getBytes());
     }
@@ -16,6 +16,10 @@
 package com.amazonaws.services.dynamodbv2;
 
 import com.amazonaws.services.dynamodbv2.model.*;
+import com.amazonaws.services.dynamodbv2.model.transform.*;
+import com.amazonaws.*;
+import com.amazonaws.http.*;
+import com.amazonaws.protocol.json.*;
 import com.amazonaws.annotation.ThreadSafe;
 
 /**
@@ -458,6 +462,16 @@ public class AmazonDynamoDBAsyncClient extends AmazonDynamoDBClient implements
             final BatchGetItemRequest request,
             final com.amazonaws.handlers.AsyncHandler<BatchGetItemRequest, BatchGetItemResult> asyncHandler) {
 
+        if (isNonBlockingHttpTransportEnabled()) {
+            HttpResponseHandler<AmazonWebServiceResponse<BatchGetItemResult>> responseHandler = protocolFactory
+                    .createResponseHandler(new JsonOperationMetadata()
+                            .withPayloadJson(true)
+                            .withHasStreamingSuccessResponse(false),
+                            new BatchGetItemResultJsonUnmarshaller());
+            return invokeAsync(request, new BatchGetItemRequestMarshaller(protocolFactory),
+                    responseHandler, asyncHandler);
+        }
+
         return executorService
                 .submit(new java.util.concurrent.Callable<BatchGetItemResult>() {
                     @Override
@@ -555,6 +569,16 @@ public class AmazonDynamoDBAsyncClient extends AmazonDynamoDBClient implements
             final BatchWriteItemRequest request,
             final com.amazonaws.handlers.AsyncHandler<BatchWriteItemRequest, BatchWriteItemResult> asyncHandler) {
 
+        if (isNonBlockingHttpTransportEnabled()) {
+            HttpResponseHandler<AmazonWebServiceResponse<BatchWriteItemResult>> responseHandler = protocolFactory
+                    .createResponseHandler(new JsonOperationMetadata()
+                            .withPayloadJson(true)
+                            .withHasStreamingSuccessResponse(false),
+                            new BatchWriteItemResultJsonUnmarshaller());
+            return invokeAsync(request, new BatchWriteItemRequestMarshaller(protocolFactory),
+                    responseHandler, asyncHandler);
+        }
+
         return executorService
                 .submit(new java.util.concurrent.Callable<BatchWriteItemResult>() {
                     @Override
@@ -619,6 +643,16 @@ public class AmazonDynamoDBAsyncClient extends AmazonDynamoDBClient implements
             final CreateTableRequest request,
             final com.amazonaws.handlers.AsyncHandler<CreateTableRequest, CreateTableResult> asyncHandler) {
 
+        if (isNonBlockingHttpTransportEnabled()) {
+            HttpResponseHandler<AmazonWebServiceResponse<CreateTableResult>> responseHandler = protocolFactory
+                    .createResponseHandler(new JsonOperationMetadata()
+                            .withPayloadJson(true)
+                            .withHasStreamingSuccessResponse(false),
+                            new CreateTableResultJsonUnmarshaller());
+            return invokeAsync(request, new CreateTableRequestMarshaller(protocolFactory),
+                    responseHandler, asyncHandler);
+        }
+
         return executorService
                 .submit(new java.util.concurrent.Callable<CreateTableResult>() {
                     @Override
@@ -693,6 +727,16 @@ public class AmazonDynamoDBAsyncClient extends AmazonDynamoDBClient implements
             final DeleteItemRequest request,
             final com.amazonaws.handlers.AsyncHandler<DeleteItemRequest, DeleteItemResult> asyncHandler) {
 
+        if (isNonBlockingHttpTransportEnabled()) {
+            HttpResponseHandler<AmazonWebServiceResponse<DeleteItemResult>> responseHandler = protocolFactory
+                    .createResponseHandler(new JsonOperationMetadata()
+                            .withPayloadJson(true)
+                            .withHasStreamingSuccessResponse(false),
+                            new DeleteItemResultJsonUnmarshaller());
+            return invokeAsync(request, new DeleteItemRequestMarshaller(protocolFactory),
+                    responseHandler, asyncHandler);
+        }
+
         return executorService
                 .submit(new java.util.concurrent.Callable<DeleteItemResult>() {
                     @Override
@@ -788,6 +832,16 @@ public class AmazonDynamoDBAsyncClient extends AmazonDynamoDBClient implements
             final DeleteTableRequest request,
             final com.amazonaws.handlers.AsyncHandler<DeleteTableRequest, DeleteTableResult> asyncHandler) {
 
+        if (isNonBlockingHttpTransportEnabled()) {
+            HttpResponseHandler<AmazonWebServiceResponse<DeleteTableResult>> responseHandler = protocolFactory
+                    .createResponseHandler(new JsonOperationMetadata()
+                            .withPayloadJson(true)
+                            .withHasStreamingSuccessResponse(false),
+                            new DeleteTableResultJsonUnmarshaller());
+            return invokeAsync(request, new DeleteTableRequestMarshaller(protocolFactory),
+                    responseHandler, asyncHandler);
+        }
+
         return executorService
                 .submit(new java.util.concurrent.Callable<DeleteTableResult>() {
                     @Override
@@ -851,6 +905,16 @@ public class AmazonDynamoDBAsyncClient extends AmazonDynamoDBClient implements
             final DescribeLimitsRequest request,
             final com.amazonaws.handlers.AsyncHandler<DescribeLimitsRequest, DescribeLimitsResult> asyncHandler) {
 
+        if (isNonBlockingHttpTransportEnabled()) {
+            HttpResponseHandler<AmazonWebServiceResponse<DescribeLimitsResult>> responseHandler = protocolFactory
+                    .createResponseHandler(new JsonOperationMetadata()
+                            .withPayloadJson(true)
+                            .withHasStreamingSuccessResponse(false),
+                            new DescribeLimitsResultJsonUnmarshaller());
+            return invokeAsync(request, new DescribeLimitsRequestMarshaller(protocolFactory),
+                    responseHandler, asyncHandler);
+        }
+
         return executorService
                 .submit(new java.util.concurrent.Callable<DescribeLimitsResult>() {
                     @Override
@@ -886,6 +950,16 @@ public class AmazonDynamoDBAsyncClient extends AmazonDynamoDBClient implements
             final DescribeTableRequest request,
             final com.amazonaws.handlers.AsyncHandler<DescribeTableRequest, DescribeTableResult> asyncHandler) {
 
+        if (isNonBlockingHttpTransportEnabled()) {
+            HttpResponseHandler<AmazonWebServiceResponse<DescribeTableResult>> responseHandler = protocolFactory
+                    .createResponseHandler(new JsonOperationMetadata()
+                            .withPayloadJson(true)
+                            .withHasStreamingSuccessResponse(false),
+                            new DescribeTableResultJsonUnmarshaller());
+            return invokeAsync(request, new DescribeTableRequestMarshaller(protocolFactory),
+                    responseHandler, asyncHandler);
+        }
+
         return executorService
                 .submit(new java.util.concurrent.Callable<DescribeTableResult>() {
                     @Override
@@ -950,6 +1024,16 @@ public class AmazonDynamoDBAsyncClient extends AmazonDynamoDBClient implements
             final GetItemRequest request,
             final com.amazonaws.handlers.AsyncHandler<GetItemRequest, GetItemResult> asyncHandler) {
 
+        if (isNonBlockingHttpTransportEnabled()) {
+            HttpResponseHandler<AmazonWebServiceResponse<GetItemResult>> responseHandler = protocolFactory
+                    .createResponseHandler(new JsonOperationMetadata()
+                            .withPayloadJson(true)
+                            .withHasStreamingSuccessResponse(false),
+                            new GetItemResultJsonUnmarshaller());
+            return invokeAsync(request, new GetItemRequestMarshaller(protocolFactory),
+                    responseHandler, asyncHandler);
+        }
+
         return executorService
                 .submit(new java.util.concurrent.Callable<GetItemResult>() {
                     @Override
@@ -1043,6 +1127,16 @@ public class AmazonDynamoDBAsyncClient extends AmazonDynamoDBClient implements
             final ListTablesRequest request,
             final com.amazonaws.handlers.AsyncHandler<ListTablesRequest, ListTablesResult> asyncHandler) {
 
+        if (isNonBlockingHttpTransportEnabled()) {
+            HttpResponseHandler<AmazonWebServiceResponse<ListTablesResult>> responseHandler = protocolFactory
+                    .createResponseHandler(new JsonOperationMetadata()
+                            .withPayloadJson(true)
+                            .withHasStreamingSuccessResponse(false),
+                            new ListTablesResultJsonUnmarshaller());
+            return invokeAsync(request, new ListTablesRequestMarshaller(protocolFactory),
+                    responseHandler, asyncHandler);
+        }
+
         return executorService
                 .submit(new java.util.concurrent.Callable<ListTablesResult>() {
                     @Override
@@ -1190,6 +1284,16 @@ public class AmazonDynamoDBAsyncClient extends AmazonDynamoDBClient implements
             final PutItemRequest request,
             final com.amazonaws.handlers.AsyncHandler<PutItemRequest, PutItemResult> asyncHandler) {
 
+        if (isNonBlockingHttpTransportEnabled()) {
+            HttpResponseHandler<AmazonWebServiceResponse<PutItemResult>> responseHandler = protocolFactory
+                    .createResponseHandler(new JsonOperationMetadata()
+                            .withPayloadJson(true)
+                            .withHasStreamingSuccessResponse(false),
+                            new PutItemResultJsonUnmarshaller());
+            return invokeAsync(request, new PutItemRequestMarshaller(protocolFactory),
+                    responseHandler, asyncHandler);
+        }
+
         return executorService
                 .submit(new java.util.concurrent.Callable<PutItemResult>() {
                     @Override
@@ -1283,6 +1387,16 @@ public class AmazonDynamoDBAsyncClient extends AmazonDynamoDBClient implements
             final QueryRequest request,
             final com.amazonaws.handlers.AsyncHandler<QueryRequest, QueryResult> asyncHandler) {
 
+        if (isNonBlockingHttpTransportEnabled()) {
+            HttpResponseHandler<AmazonWebServiceResponse<QueryResult>> responseHandler = protocolFactory
+                    .createResponseHandler(new JsonOperationMetadata()
+                            .withPayloadJson(true)
+                            .withHasStreamingSuccessResponse(false),
+                            new QueryResultJsonUnmarshaller());
+            return invokeAsync(request, new QueryRequestMarshaller(protocolFactory),
+                    responseHandler, asyncHandler);
+        }
+
         return executorService
                 .submit(new java.util.concurrent.Callable<QueryResult>() {
                     @Override
@@ -1317,6 +1431,16 @@ public class AmazonDynamoDBAsyncClient extends AmazonDynamoDBClient implements
             final ScanRequest request,
             final com.amazonaws.handlers.AsyncHandler<ScanRequest, ScanResult> asyncHandler) {
 
+        if (isNonBlockingHttpTransportEnabled()) {
+            HttpResponseHandler<AmazonWebServiceResponse<ScanResult>> responseHandler = protocolFactory
+                    .createResponseHandler(new JsonOperationMetadata()
+                            .withPayloadJson(true)
+                            .withHasStreamingSuccessResponse(false),
+                            new ScanResultJsonUnmarshaller());
+            return invokeAsync(request, new ScanRequestMarshaller(protocolFactory),
+                    responseHandler, asyncHandler);
+        }
+
         return executorService
                 .submit(new java.util.concurrent.Callable<ScanResult>() {
                     @Override
@@ -1440,6 +1564,16 @@ public class AmazonDynamoDBAsyncClient extends AmazonDynamoDBClient implements
             final UpdateItemRequest request,
             final com.amazonaws.handlers.AsyncHandler<UpdateItemRequest, UpdateItemResult> asyncHandler) {
 
+        if (isNonBlockingHttpTransportEnabled()) {
+            HttpResponseHandler<AmazonWebServiceResponse<UpdateItemResult>> responseHandler = protocolFactory
+                    .createResponseHandler(new JsonOperationMetadata()
+                            .withPayloadJson(true)
+                            .withHasStreamingSuccessResponse(false),
+                            new UpdateItemResultJsonUnmarshaller());
+            return invokeAsync(request, new UpdateItemRequestMarshaller(protocolFactory),
+                    responseHandler, asyncHandler);
+        }
+
         return executorService
                 .submit(new java.util.concurrent.Callable<UpdateItemResult>() {
                     @Override
@@ -1542,6 +1676,16 @@ public class AmazonDynamoDBAsyncClient extends AmazonDynamoDBClient implements
             final UpdateTableRequest request,
             final com.amazonaws.handlers.AsyncHandler<UpdateTableRequest, UpdateTableResult> asyncHandler) {
 
+        if (isNonBlockingHttpTransportEnabled()) {
+            HttpResponseHandler<AmazonWebServiceResponse<UpdateTableResult>> responseHandler = protocolFactory
+                    .createResponseHandler(new JsonOperationMetadata()
+                            .withPayloadJson(true)
+                            .withHasStreamingSuccessResponse(false),
+                            new UpdateTableResultJsonUnmarshaller());
+            return invokeAsync(request, new UpdateTableRequestMarshaller(protocolFactory),
+                    responseHandler, asyncHandler);
+        }
+
         return executorService
                 .submit(new java.util.concurrent.Callable<UpdateTableResult>() {
                     @Override
@@ -263,7 +263,11 @@ public class AmazonDynamoDBClient extends AmazonWebServiceClient implements
      */
     protected static final com.amazonaws.services.dynamodbv2.AmazonDynamoDBClientConfigurationFactory configFactory = new com.amazonaws.services.dynamodbv2.AmazonDynamoDBClientConfigurationFactory();
 
-    private final SdkJsonProtocolFactory protocolFactory = new SdkJsonProtocolFactory(
+    /**
+     * Also used by the asynchronous client to marshall the requests it sends
+     * itself.
+     */
+    final SdkJsonProtocolFactory protocolFactory = new SdkJsonProtocolFactory(
             new JsonClientMetadata()
                     .withProtocolVersion("1.0")
                     .withSupportsCbor(false)
@@ -2034,6 +2038,23 @@ public class AmazonDynamoDBClient extends AmazonWebServiceClient implements
         return doInvoke(request, responseHandler, executionContext);
     }
 
+    /**
+     * Invoke with authentication through the non-blocking HTTP transport,
+     * notifying the given async handler on an I/O thread of the transport.
+     * Credentials are required and may be overriden at the request level.
+     **/
+    <X, Y extends AmazonWebServiceRequest> java.util.concurrent.Future<X> invokeAsync(
+            Y originalRequest, Marshaller<Request<Y>, Y> marshaller,
+            HttpResponseHandler<AmazonWebServiceResponse<X>> responseHandler,
+            AsyncHandler<Y, X> asyncHandler) {
+
+        HttpResponseHandler<AmazonServiceException> errorResponseHandler = protocolFactory
+                .createErrorResponseHandler(new JsonErrorResponseMetadata());
+
+        return executeAsync(originalRequest, marshaller, responseHandler,
+                errorResponseHandler, awsCredentialsProvider, asyncHandler);
+    }
+
     /**
      * Invoke the request using the http client. Assumes credentials (or lack
      * thereof) have been configured in the ExecutionContext beforehand.
@@ -200,6 +200,10 @@ public class DynamoDBMapper extends AbstractDynamoDBMapper {
 
     /** The max number of items allowed in a BatchWrite request */
     static final int MAX_ITEMS_PER_BATCH = 25;
+
+    /** The max number of keys allowed in a BatchGet request */
+    static final int MAX_KEYS_PER_BATCH_GET = 100;
+
     /**
      * This retry count is applicable only when every batch get item request
      * results in no data retrieved from server and the un processed keys is
@@ -1361,52 +1365,54 @@ public class DynamoDBMapper extends AbstractDynamoDBMapper {
                     new WriteRequest().withDeleteRequest(new DeleteRequest().withKey(key)));
         }
 
-        // Break into chunks of 25 items and make service requests to DynamoDB
-        while ( !requestItems.isEmpty() ) {
+        if (isParallelBatch(config)) {
+            totalFailedBatches.addAll(writeBatchesInParallel(requestItems, config));
+        } else {
+            // Break into chunks of 25 items and make service requests to DynamoDB
+            while ( !requestItems.isEmpty() ) {
 
-            HashMap<String, List<WriteRequest>> batch =
-                    new HashMap<String, List<WriteRequest>>();
+                HashMap<String, List<WriteRequest>> batch =
+                        new HashMap<String, List<WriteRequest>>();
 
-            int i = 0;
+                int i = 0;
 
-            Iterator<Entry<String, List<WriteRequest>>> tableIter = requestItems.entrySet().iterator();
-            while ( tableIter.hasNext() && i < MAX_ITEMS_PER_BATCH ) {
+                Iterator<Entry<String, List<WriteRequest>>> tableIter = requestItems.entrySet().iterator();
+                while ( tableIter.hasNext() && i < MAX_ITEMS_PER_BATCH ) {
 
-                Entry<String, List<WriteRequest>> tableRequest = tableIter.next();
+                    Entry<String, List<WriteRequest>> tableRequest = tableIter.next();
 
-                batch.put(tableRequest.getKey(), new LinkedList<WriteRequest>());
-                Iterator<WriteRequest> writeRequestIter = tableRequest.getValue().iterator();
+                    batch.put(tableRequest.getKey(), new LinkedList<WriteRequest>());
+                    Iterator<WriteRequest> writeRequestIter = tableRequest.getValue().iterator();
 
-                while ( writeRequestIter.hasNext() && i++ < MAX_ITEMS_PER_BATCH ) {
-                    WriteRequest writeRequest = writeRequestIter.next();
-                    batch.get(tableRequest.getKey()).add(writeRequest);
-                    writeRequestIter.remove();
-                }
+                    while ( writeRequestIter.hasNext() && i++ < MAX_ITEMS_PER_BATCH ) {
+                        WriteRequest writeRequest = writeRequestIter.next();
+                        batch.get(tableRequest.getKey()).add(writeRequest);
+                        writeRequestIter.remove();
+                    }
 
-                // If we've processed all the write requests for this table,
-                // remove it from the parent iterator.
-                if ( !writeRequestIter.hasNext() ) {
-                    tableIter.remove();
+                    // If we've processed all the write requests for this table,
+                    // remove it from the parent iterator.
+                    if ( !writeRequestIter.hasNext() ) {
+                        tableIter.remove();
+                    }
                 }
-            }
 
-            List<FailedBatch> failedBatches = writeOneBatch(batch, config.getBatchWriteRetryStrategy());
-            if (failedBatches != null) {
-                totalFailedBatches.addAll(failedBatches);
+                List<FailedBatch> failedBatches = writeOneBatch(batch, config.getBatchWriteRetryStrategy());
+                if (failedBatches != null) {
+                    totalFailedBatches.addAll(failedBatches);
 
-                // If contains throttling exception, we do a backoff
-                if (containsThrottlingException(failedBatches)) {
-                    try {
-                        Thread.sleep(1000 * 2);
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
+                    // If contains throttling exception, we do a backoff
+                    if (containsThrottlingException(failedBatches)) {
+                        try {
+                            Thread.sleep(1000 * 2);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
                     }
                 }
             }
         }
 
-
-
         // Once the entire batch is processed, update assigned keys in memory
         for ( ValueUpdate update : inMemoryUpdates ) {
             update.apply();
@@ -1415,6 +1421,88 @@ public class DynamoDBMapper extends AbstractDynamoDBMapper {
         return totalFailedBatches;
     }
 
+    /**
+     * Whether the batch operations send their batches concurrently.
+     */
+    private static boolean isParallelBatch(DynamoDBMapperConfig config) {
+        return config.getBatchConcurrency() != null && config.getBatchConcurrency() > 1;
+    }
+
+    /**
+     * Sends the given write requests in batches of up to 25 items, running up
+     * to {@link DynamoDBMapperConfig#getBatchConcurrency()} batches at once.
+     * The unprocessed items of a batch are sent again with later batches,
+     * after the delay given by the batch write retry strategy.
+     */
+    private List<FailedBatch> writeBatchesInParallel(
+            Map<String, List<WriteRequest>> requestItems,
+            DynamoDBMapperConfig config) {
+
+        final BatchWriteRetryStrategy batchWriteRetryStrategy = config.getBatchWriteRetryStrategy();
+        final List<FailedBatch> failedBatches =
+                Collections.synchronizedList(new LinkedList<FailedBatch>());
+
+        new ParallelBatchTask<WriteRequest>(config.getBatchConcurrency(), MAX_ITEMS_PER_BATCH) {
+            @Override
+            protected Map<String, List<WriteRequest>> send(
+                    Map<String, List<WriteRequest>> batch, int attempt) {
+                try {
+                    return db.batchWriteItem(applyBatchOperationUserAgent(
+                            new BatchWriteItemRequest().withRequestItems(batch)))
+                            .getUnprocessedItems();
+                } catch (AmazonServiceException e) {
+                    if (!RetryUtils.isRequestEntityTooLargeException(e)
+                            || countItems(batch) == 1) {
+                        throw e;
+                    }
+                    // Too large a request: send it in smaller parts on this thread
+                    Map<String, List<WriteRequest>> firstHalfBatch = new HashMap<String, List<WriteRequest>>();
+                    Map<String, List<WriteRequest>> secondHalfBatch = new HashMap<String, List<WriteRequest>>();
+                    divideBatch(batch, firstHalfBatch, secondHalfBatch);
+                    failedBatches.addAll(writeOneBatch(firstHalfBatch, batchWriteRetryStrategy));
+                    failedBatches.addAll(writeOneBatch(secondHalfBatch, batchWriteRetryStrategy));
+                    return null;
+                }
+            }
+
+            @Override
+            protected void onFailure(Map<String, List<WriteRequest>> batch, Exception exception) {
+                FailedBatch failedBatch = new FailedBatch();
+                failedBatch.setUnprocessedItems(batch);
+                failedBatch.setException(exception);
+                failedBatches.add(failedBatch);
+
+                // If throttled, we back off before sending more batches
+                if (exception instanceof AmazonServiceException
+                        && RetryUtils.isThrottlingException((AmazonServiceException) exception)) {
+                    pauseSending(1000 * 2);
+                }
+            }
+
+            @Override
+            protected void onRetriesExhausted(Map<String, List<WriteRequest>> unprocessed) {
+                FailedBatch failedBatch = new FailedBatch();
+                failedBatch.setUnprocessedItems(unprocessed);
+                failedBatch.setException(null);
+                failedBatches.add(failedBatch);
+            }
+
+            @Override
+            protected int getMaxRetries(Map<String, List<WriteRequest>> batch) {
+                return batchWriteRetryStrategy.getMaxRetryOnUnprocessedItems(
+                        Collections.unmodifiableMap(batch));
+            }
+
+            @Override
+            protected long getRetryDelayMillis(Map<String, List<WriteRequest>> unprocessed, int attempt) {
+                return batchWriteRetryStrategy.getDelayBeforeRetryUnprocessedItems(
+                        Collections.unmodifiableMap(unprocessed), attempt);
+            }
+        }.execute(requestItems);
+
+        return failedBatches;
+    }
+
     /**
      * Process one batch of requests(max 25). It will divide the batch if
      * receives request too large exception(the total size of the request is beyond 1M).
@@ -1493,11 +1581,16 @@ public class DynamoDBMapper extends AbstractDynamoDBMapper {
      */
 
     private int computeFailedBatchSize(FailedBatch failedBatch) {
+        return countItems(failedBatch.getUnprocessedItems());
+    }
 
+    /**
+     * Count the total number of items of the given batch, across tables.
+     */
+    private static int countItems(Map<String, ? extends List<?>> batch) {
         int count = 0;
-
-        for (String tableName : failedBatch.getUnprocessedItems().keySet()) {
-            count += failedBatch.getUnprocessedItems().get(tableName).size();
+        for (List<?> items : batch.values()) {
+            count += items.size();
         }
         return count;
     }
@@ -1572,6 +1665,24 @@ public class DynamoDBMapper extends AbstractDynamoDBMapper {
 
         ItemConverter converter = getConverter(config);
 
+        if (isParallelBatch(config)) {
+            Map<String, List<Map<String, AttributeValue>>> keysByTableName =
+                    new HashMap<String, List<Map<String, AttributeValue>>>();
+            for ( Object keyObject : itemsToGet ) {
+                Class<?> clazz = keyObject.getClass();
+
+                String tableName = getTableName(clazz, keyObject, config);
+                classesByTableName.put(tableName, clazz);
+
+                if ( !keysByTableName.containsKey(tableName) ) {
+                    keysByTableName.put(tableName, new LinkedList<Map<String, AttributeValue>>());
+                }
+                keysByTableName.get(tableName).add(getKey(converter, keyObject));
+            }
+            loadBatchesInParallel(classesByTableName, keysByTableName, resultSet, config, converter);
+            return resultSet;
+        }
+
         for ( Object keyObject : itemsToGet ) {
             Class<?> clazz = keyObject.getClass();
 
@@ -1589,7 +1700,7 @@ public class DynamoDBMapper extends AbstractDynamoDBMapper {
                     getKey(converter, keyObject));
 
             // Reach the maximum number which can be handled in a single batchGet
-            if ( ++count == 100 ) {
+            if ( ++count == MAX_KEYS_PER_BATCH_GET ) {
                 processBatchGetRequest(classesByTableName, requestItems, resultSet, config, converter);
                 requestItems.clear();
                 count = 0;
@@ -1625,6 +1736,101 @@ public class DynamoDBMapper extends AbstractDynamoDBMapper {
         return batchLoad(keys, config);
     }
 
+    /**
+     * Loads the given keys in batches of up to 100 keys, running up to
+     * {@link DynamoDBMapperConfig#getBatchConcurrency()} batches at once. The
+     * unprocessed keys of a batch are sent again with later batches, after an
+     * exponential backoff.
+     *
+     * @param config never null
+     */
+    private void loadBatchesInParallel(
+            final Map<String, Class<?>> classesByTableName,
+            final Map<String, List<Map<String, AttributeValue>>> keysByTableName,
+            final Map<String, List<Object>> resultSet,
+            final DynamoDBMapperConfig config,
+            final ItemConverter converter) {
+
+        final boolean consistentReads = (config.getConsistentReads() == ConsistentReads.CONSISTENT);
+
+        new ParallelBatchTask<Map<String, AttributeValue>>(config.getBatchConcurrency(), MAX_KEYS_PER_BATCH_GET) {
+            @Override
+            protected Map<String, List<Map<String, AttributeValue>>> send(
+                    Map<String, List<Map<String, AttributeValue>>> batch, int attempt) {
+
+                Map<String, KeysAndAttributes> requestItems = new HashMap<String, KeysAndAttributes>();
+                for ( Entry<String, List<Map<String, AttributeValue>>> entry : batch.entrySet() ) {
+                    requestItems.put(entry.getKey(), new KeysAndAttributes()
+                            .withConsistentRead(consistentReads).withKeys(entry.getValue()));
+                }
+                BatchGetItemRequest batchGetItemRequest = new BatchGetItemRequest()
+                    .withRequestMetricCollector(config.getRequestMetricCollector());
+                batchGetItemRequest.setRequestItems(requestItems);
+
+                BatchGetItemResult batchGetItemResult = db.batchGetItem(
+                        applyBatchOperationUserAgent(batchGetItemRequest));
+
+                Map<String, List<Map<String, AttributeValue>>> responses = batchGetItemResult.getResponses();
+                for ( String tableName : responses.keySet() ) {
+                    Class<?> clazz = classesByTableName.get(tableName);
+
+                    List<Object> objects = new LinkedList<Object>();
+                    for ( Map<String, AttributeValue> item : responses.get(tableName) ) {
+                        AttributeTransformer.Parameters<?> parameters =
+                            toParameters(item, clazz, tableName, config);
+                        objects.add(privateMarshallIntoObject(converter, parameters));
+                    }
+
+                    synchronized (resultSet) {
+                        if ( resultSet.get(tableName) != null ) {
+                            resultSet.get(tableName).addAll(objects);
+                        } else {
+                            resultSet.put(tableName, objects);
+                        }
+                    }
+                }
+
+                Map<String, List<Map<String, AttributeValue>>> unprocessed =
+                        new HashMap<String, List<Map<String, AttributeValue>>>();
+                if ( batchGetItemResult.getUnprocessedKeys() != null ) {
+                    for ( Entry<String, KeysAndAttributes> entry : batchGetItemResult.getUnprocessedKeys().entrySet() ) {
+                        unprocessed.put(entry.getKey(), entry.getValue().getKeys());
+                    }
+                }
+                if ( attempt >= BATCH_GET_MAX_RETRY_COUNT_ALL_KEYS
+                        && countItems(unprocessed) == countItems(batch) ) {
+                    throw new AmazonClientException(
+                            "Batch Get Item request to server hasn't received any data. "
+                            + "Please try again later.");
+                }
+                return unprocessed;
+            }
+
+            @Override
+            protected void onFailure(Map<String, List<Map<String, AttributeValue>>> batch, Exception exception) {
+                if (exception instanceof RuntimeException) {
+                    throw (RuntimeException) exception;
+                }
+                throw new AmazonClientException(exception.getMessage(), exception);
+            }
+
+            @Override
+            protected void onRetriesExhausted(Map<String, List<Map<String, AttributeValue>>> unprocessed) {
+                // Never called: unprocessed keys are retried until the batch fails
+            }
+
+            @Override
+            protected int getMaxRetries(Map<String, List<Map<String, AttributeValue>>> batch) {
+                return -1;
+            }
+
+            @Override
+            protected long getRetryDelayMillis(Map<String, List<Map<String, AttributeValue>>> unprocessed, int attempt) {
+                return exponentialDelay(attempt + 1);
+            }
+        }.execute(keysByTableName);
+    }
+
     /**
      * @param config never null
      */
@@ -2489,13 +2695,15 @@ public class DynamoDBMapper extends AbstractDynamoDBMapper {
             return;
         }
 
+        pause(exponentialDelay(retries));
+    }
+
+    private static long exponentialDelay(int retries) {
         Random random = new Random();
         long delay = 0;
         long scaleFactor = 500 + random.nextInt(100);
         delay = (long) (Math.pow(2, retries) * scaleFactor);
-        delay = Math.min(delay, MAX_BACKOFF_IN_MILLISECONDS);
-
-        pause(delay);
+        return Math.min(delay, MAX_BACKOFF_IN_MILLISECONDS);
     }
 
     private void pause(long delay) {
@@ -87,6 +87,24 @@ final class DynamoDBReflectionRegistry {
             this.field = ReflectionUtils.getClassFieldByName(getDeclaringType(), getFieldName());
             this.getterType = getGetter().getReturnType();
             this.setterType = (setter == null || setter.getParameterTypes().length != 1 ? null : setter.getParameterTypes()[0]);
+            makeAccessible(getter);
+            makeAccessible(setter);
+        }
+
+        /**
+         * Suppresses the access checks otherwise made on every invocation of
+         * the method; its accessibility was checked when it was looked up.
+         * @param method The method, or null.
+         */
+        private static void makeAccessible(final Method method) {
+            if (method == null) {
+                return;
+            }
+            try {
+                method.setAccessible(true);
+            } catch (final SecurityException e) {
+                // Not permitted by the security manager; checked on invocation
+            }
         }
 
         /**
@@ -16,15 +16,11 @@ package com.amazonaws.services.dynamodbv2.datamodeling;
 
 import java.lang.reflect.Method;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock.ReadLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock.WriteLock;
-
-import org.apache.http.annotation.GuardedBy;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import com.amazonaws.annotation.SdkInternalApi;
 
@@ -39,42 +35,69 @@ import com.amazonaws.annotation.SdkInternalApi;
 class DynamoDBReflector {
 
     /*
-     * Several caches for performance. Collectively, they can make this class
-     * over twice as fast.
+     * Caches for performance. The getters and keys of a class are computed
+     * once, into an immutable model published through a concurrent map, so
+     * that lookups never lock. Each cache keyed by a Method uses the getter
+     * for a particular mapped property.
      */
-    private final Map<Class<?>, Collection<Method>> getterCache = new HashMap<Class<?>, Collection<Method>>();
-    private final Map<Class<?>, Method> primaryHashKeyGetterCache = new HashMap<Class<?>, Method>();
-    private final Map<Class<?>, Method> primaryRangeKeyGetterCache = new HashMap<Class<?>, Method>();
-    private final Map<Class<?>, List<Method>> primaryKeyGettersCache = new HashMap<Class<?>, List<Method>>();
+    private final ConcurrentMap<Class<?>, ClassModel> classModelCache = new ConcurrentHashMap<Class<?>, ClassModel>();
+    private final ConcurrentMap<Method, Method> setterCache = new ConcurrentHashMap<Method, Method>();
+    private final ConcurrentMap<Method, String> attributeNameCache = new ConcurrentHashMap<Method, String>();
+    private final ConcurrentMap<Method, Boolean> versionAttributeGetterCache = new ConcurrentHashMap<Method, Boolean>();
+    private final ConcurrentMap<Method, Boolean> autoGeneratedKeyGetterCache = new ConcurrentHashMap<Method, Boolean>();
 
-    /*
-     * All caches keyed by a Method use the getter for a particular mapped
-     * property
+    /**
+     * The getters of a class relevant to the mapper, and its key getters.
      */
-    private final Map<Method, Method> setterCache = new HashMap<Method, Method>();
+    private static final class ClassModel {
+        private final Collection<Method> relevantGetters;
+        private final Method hashKeyGetter;
+        private final Method rangeKeyGetter;
+        private final Collection<Method> primaryKeyGetters;
 
-    @GuardedBy("readWriteLockAttrName")
-    private final Map<Method, String> attributeNameCache = new HashMap<Method, String>();
-
-    private final Map<Method, Boolean> versionAttributeGetterCache = new HashMap<Method, Boolean>();
-    private final Map<Method, Boolean> autoGeneratedKeyGetterCache = new HashMap<Method, Boolean>();
+        private ClassModel(Class<?> clazz) {
+            List<Method> getters = findRelevantGetters(clazz);
+            Method hashKey = null;
+            Method rangeKey = null;
+            List<Method> keyGetters = new LinkedList<Method>();
+            for ( Method getter : getters ) {
+                boolean isHashKey = ReflectionUtils.getterOrFieldHasAnnotation(getter, DynamoDBHashKey.class);
+                boolean isRangeKey = ReflectionUtils.getterOrFieldHasAnnotation(getter, DynamoDBRangeKey.class);
+                if ( isHashKey && hashKey == null ) {
+                    hashKey = getter;
+                }
+                if ( isRangeKey && rangeKey == null ) {
+                    rangeKey = getter;
+                }
+                if ( isHashKey || isRangeKey ) {
+                    keyGetters.add(getter);
+                }
+            }
+            this.relevantGetters = Collections.unmodifiableList(getters);
+            this.hashKeyGetter = hashKey;
+            this.rangeKeyGetter = rangeKey;
+            this.primaryKeyGetters = Collections.unmodifiableList(keyGetters);
+        }
+    }
 
-    private final ReentrantReadWriteLock readWriteLockAttrName = new ReentrantReadWriteLock();
-    private final ReadLock readLockAttrName = readWriteLockAttrName.readLock();
-    private final WriteLock writeLockAttrName = readWriteLockAttrName.writeLock();
+    private ClassModel getClassModel(Class<?> clazz) {
+        ClassModel model = classModelCache.get(clazz);
+        if ( model == null ) {
+            model = new ClassModel(clazz);
+            ClassModel existing = classModelCache.putIfAbsent(clazz, model);
+            if ( existing != null ) {
+                model = existing;
+            }
+        }
+        return model;
+    }
 
     /**
      * Returns the set of getter methods which are relevant when marshalling or
      * unmarshalling an object.
      */
     Collection<Method> getRelevantGetters(Class<?> clazz) {
-        synchronized (getterCache) {
-            if ( !getterCache.containsKey(clazz) ) {
-                List<Method> relevantGetters = findRelevantGetters(clazz);
-                getterCache.put(clazz, relevantGetters);
-            }
-            return getterCache.get(clazz);
-        }
+        return getClassModel(clazz).relevantGetters;
     }
 
     static List<Method> findRelevantGetters(Class<?> clazz) {
@@ -111,20 +134,7 @@ class DynamoDBReflector {
      * given, or null if the class doesn't have one.
      */
     <T> Method getPrimaryRangeKeyGetter(Class<T> clazz) {
-        synchronized (primaryRangeKeyGetterCache) {
-            if ( !primaryRangeKeyGetterCache.containsKey(clazz) ) {
-                Method rangeKeyMethod = null;
-                for ( Method method : getRelevantGetters(clazz) ) {
-                    if ( method.getParameterTypes().length == 0
-                            && ReflectionUtils.getterOrFieldHasAnnotation(method, DynamoDBRangeKey.class)) {
-                        rangeKeyMethod = method;
-                        break;
-                    }
-                }
-                primaryRangeKeyGetterCache.put(clazz, rangeKeyMethod);
-            }
-            return primaryRangeKeyGetterCache.get(clazz);
-        }
+        return getClassModel(clazz).rangeKeyGetter;
     }
 
     /**
@@ -133,19 +143,7 @@ class DynamoDBReflector {
      * exception if there isn't one.
      */
     <T> Collection<Method> getPrimaryKeyGetters(Class<T> clazz) {
-        synchronized (primaryKeyGettersCache) {
-            if ( !primaryKeyGettersCache.containsKey(clazz) ) {
-                List<Method> keyGetters = new LinkedList<Method>();
-                for (Method getter : getRelevantGetters(clazz)) {
-                    if (ReflectionUtils.getterOrFieldHasAnnotation(getter, DynamoDBHashKey.class)
-                        || ReflectionUtils.getterOrFieldHasAnnotation(getter, DynamoDBRangeKey.class)) {
-                        keyGetters.add(getter);
-                    }
-                }
-                primaryKeyGettersCache.put(clazz, keyGetters);
-            }
-            return primaryKeyGettersCache.get(clazz);
-        }
+        return getClassModel(clazz).primaryKeyGetters;
     }
 
 
@@ -154,20 +152,7 @@ class DynamoDBReflector {
      * throwing an exception if there isn't one.
      */
     <T> Method getPrimaryHashKeyGetter(Class<T> clazz) {
-        Method hashKeyMethod;
-        synchronized (primaryHashKeyGetterCache) {
-            if ( !primaryHashKeyGetterCache.containsKey(clazz) ) {
-                for ( Method method : getRelevantGetters(clazz) ) {
-                    if ( method.getParameterTypes().length == 0
-                            && ReflectionUtils.getterOrFieldHasAnnotation(method, DynamoDBHashKey.class)) {
-                        primaryHashKeyGetterCache.put(clazz, method);
-                        break;
-                    }
-                }
-            }
-            hashKeyMethod = primaryHashKeyGetterCache.get(clazz);
-        }
-
+        Method hashKeyMethod = getClassModel(clazz).hashKeyGetter;
         if ( hashKeyMethod == null ) {
             throw new DynamoDBMappingException("Public, zero-parameter hash key property must be annotated with "
                     + DynamoDBHashKey.class);
@@ -190,13 +175,7 @@ class DynamoDBReflector {
      * Returns the attribute name corresponding to the given getter method.
      */
     String getAttributeName(Method getter) {
-        String attributeName;
-        readLockAttrName.lock();
-        try {
-            attributeName = attributeNameCache.get(getter);
-        } finally {
-            readLockAttrName.unlock();
-        }
+        String attributeName = attributeNameCache.get(getter);
         if ( attributeName != null )
             return attributeName;
         DynamoDBHashKey hashKeyAnnotation = ReflectionUtils.getAnnotationFromGetterOrField(getter, DynamoDBHashKey.class);
@@ -242,12 +221,7 @@ class DynamoDBReflector {
     }
 
     private String cacheAttributeName(Method getter, String attributeName) {
-        writeLockAttrName.lock();
-        try {
-            attributeNameCache.put(getter, attributeName);
-        } finally {
-            writeLockAttrName.unlock();
-        }
+        attributeNameCache.putIfAbsent(getter, attributeName);
         return attributeName;
     }
 
@@ -256,24 +230,23 @@ class DynamoDBReflector {
      * setter exists.
      */
     Method getSetter(Method getter) {
-        synchronized (setterCache) {
-            if ( !setterCache.containsKey(getter) ) {
-                String fieldName = ReflectionUtils.getFieldNameByGetter(getter, false);
-                String setterName = "set" + fieldName;
-                Method setter = null;
-                try {
-                    setter = getter.getDeclaringClass().getMethod(setterName, getter.getReturnType());
-                } catch ( NoSuchMethodException e ) {
-                    throw new DynamoDBMappingException("Expected a public, one-argument method called " + setterName
-                            + " on class " + getter.getDeclaringClass(), e);
-                } catch ( SecurityException e ) {
-                    throw new DynamoDBMappingException("No access to public, one-argument method called " + setterName
-                            + " on class " + getter.getDeclaringClass(), e);
-                }
-                setterCache.put(getter, setter);
-            }
-            return setterCache.get(getter);
+        Method setter = setterCache.get(getter);
+        if ( setter != null ) {
+            return setter;
         }
+        String fieldName = ReflectionUtils.getFieldNameByGetter(getter, false);
+        String setterName = "set" + fieldName;
+        try {
+            setter = getter.getDeclaringClass().getMethod(setterName, getter.getReturnType());
+        } catch ( NoSuchMethodException e ) {
+            throw new DynamoDBMappingException("Expected a public, one-argument method called " + setterName
+                    + " on class " + getter.getDeclaringClass(), e);
+        } catch ( SecurityException e ) {
+            throw new DynamoDBMappingException("No access to public, one-argument method called " + setterName
+                    + " on class " + getter.getDeclaringClass(), e);
+        }
+        setterCache.putIfAbsent(getter, setter);
+        return setter;
     }
 
     /**
@@ -281,33 +254,29 @@ class DynamoDBReflector {
      * version attribute.
      */
     boolean isVersionAttributeGetter(Method getter) {
-        synchronized (versionAttributeGetterCache) {
-            if ( !versionAttributeGetterCache.containsKey(getter) ) {
-                versionAttributeGetterCache.put(
-                        getter,
-                        getter.getName().startsWith("get") && getter.getParameterTypes().length == 0
-                                && ReflectionUtils.getterOrFieldHasAnnotation(getter, DynamoDBVersionAttribute.class));
-            }
-            return versionAttributeGetterCache.get(getter);
+        Boolean isVersionAttributeGetter = versionAttributeGetterCache.get(getter);
+        if ( isVersionAttributeGetter == null ) {
+            isVersionAttributeGetter = getter.getName().startsWith("get") && getter.getParameterTypes().length == 0
+                    && ReflectionUtils.getterOrFieldHasAnnotation(getter, DynamoDBVersionAttribute.class);
+            versionAttributeGetterCache.putIfAbsent(getter, isVersionAttributeGetter);
         }
+        return isVersionAttributeGetter;
     }
 
     /**
      * Returns whether the method given is an assignable key getter.
      */
     boolean isAssignableKey(Method getter) {
-        synchronized (autoGeneratedKeyGetterCache) {
-            if ( !autoGeneratedKeyGetterCache.containsKey(getter) ) {
-                autoGeneratedKeyGetterCache.put(
-                        getter,
-                        ReflectionUtils.getterOrFieldHasAnnotation(getter, DynamoDBAutoGeneratedKey.class)
-                                && ( ReflectionUtils.getterOrFieldHasAnnotation(getter, DynamoDBHashKey.class) ||
-                                     ReflectionUtils.getterOrFieldHasAnnotation(getter, DynamoDBRangeKey.class) ||
-                                     ReflectionUtils.getterOrFieldHasAnnotation(getter, DynamoDBIndexHashKey.class) ||
-                                     ReflectionUtils.getterOrFieldHasAnnotation(getter, DynamoDBIndexRangeKey.class)));
-            }
-            return autoGeneratedKeyGetterCache.get(getter);
+        Boolean isAssignableKey = autoGeneratedKeyGetterCache.get(getter);
+        if ( isAssignableKey == null ) {
+            isAssignableKey = ReflectionUtils.getterOrFieldHasAnnotation(getter, DynamoDBAutoGeneratedKey.class)
+                    && ( ReflectionUtils.getterOrFieldHasAnnotation(getter, DynamoDBHashKey.class) ||
+                         ReflectionUtils.getterOrFieldHasAnnotation(getter, DynamoDBRangeKey.class) ||
+                         ReflectionUtils.getterOrFieldHasAnnotation(getter, DynamoDBIndexHashKey.class) ||
+                         ReflectionUtils.getterOrFieldHasAnnotation(getter, DynamoDBIndexRangeKey.class));
+            autoGeneratedKeyGetterCache.putIfAbsent(getter, isAssignableKey);
         }
+        return isAssignableKey;
     }
 
     /**
@@ -0,0 +1,340 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.services.dynamodbv2.datamodeling;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.amazonaws.AmazonClientException;
+
+/**
+ * Sends the items of a batch operation in chunks, running up to a given number
+ * of chunks concurrently.
+ * <p>
+ * The unprocessed items of a chunk are not retried inline: they are put back in
+ * the pool of pending items, to be sent with later chunks once their retry
+ * delay has elapsed, while the other chunks keep being sent. As a chunk may mix
+ * items sent for the first time with items sent again, the retries are counted
+ * per item. The chunks are
+ * assembled and the outcomes are handled on the calling thread; only the
+ * service calls run on the thread pool.
+ *
+ * @param <T>
+ *            the type of an item of a chunk, such as a write request or a key
+ */
+abstract class ParallelBatchTask<T> {
+
+    private final int concurrency;
+    private final int maxBatchSize;
+
+    /** Items sent for the first time, in their original order. */
+    private final LinkedList<Pending<T>> fresh = new LinkedList<Pending<T>>();
+
+    /** Unprocessed items to be sent again, by the time they become eligible. */
+    private final PriorityQueue<Pending<T>> retries = new PriorityQueue<Pending<T>>();
+
+    /** No chunk is sent before this time, e.g. after being throttled. */
+    private long pausedUntilNanos;
+
+    /**
+     * @param concurrency
+     *            the maximum number of chunks sent at once
+     * @param maxBatchSize
+     *            the maximum number of items of a chunk
+     */
+    ParallelBatchTask(int concurrency, int maxBatchSize) {
+        this.concurrency = concurrency;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Sends the given chunk; runs on the thread pool.
+     *
+     * @return the unprocessed items of the chunk, possibly empty or null
+     */
+    protected abstract Map<String, List<T>> send(Map<String, List<T>> batch, int attempt) throws Exception;
+
+    /**
+     * Called on the calling thread when a chunk failed with an exception.
+     */
+    protected abstract void onFailure(Map<String, List<T>> batch, Exception exception);
+
+    /**
+     * Called on the calling thread with the unprocessed items of a chunk that
+     * are not to be retried any longer.
+     */
+    protected abstract void onRetriesExhausted(Map<String, List<T>> unprocessed);
+
+    /**
+     * Returns the maximum number of times the unprocessed items of the given
+     * chunk are sent again, or a negative value for no limit.
+     */
+    protected abstract int getMaxRetries(Map<String, List<T>> batch);
+
+    /**
+     * Returns the delay, in milliseconds, before the given unprocessed items
+     * are sent again.
+     */
+    protected abstract long getRetryDelayMillis(Map<String, List<T>> unprocessed, int attempt);
+
+    /**
+     * Pauses the sending of new chunks for the given time, e.g. after being
+     * throttled. Chunks already being sent are not affected.
+     */
+    protected final void pauseSending(long millis) {
+        pausedUntilNanos = Math.max(pausedUntilNanos,
+                System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    /**
+     * Sends all the given items, and returns once every item has been
+     * processed or handed to {@link #onFailure} or {@link #onRetriesExhausted}.
+     */
+    final void execute(Map<String, List<T>> items) {
+        for (Entry<String, List<T>> entry : items.entrySet()) {
+            for (T item : entry.getValue()) {
+                fresh.add(new Pending<T>(entry.getKey(), item, 0, 0));
+            }
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        try {
+            CompletionService<Outcome<T>> completionService =
+                    new ExecutorCompletionService<Outcome<T>>(executor);
+            int inFlight = 0;
+
+            while (inFlight > 0 || !fresh.isEmpty() || !retries.isEmpty()) {
+                long now = System.nanoTime();
+                while (inFlight < concurrency && now >= pausedUntilNanos && hasEligible(now)) {
+                    submit(completionService, nextBatch(now));
+                    inFlight++;
+                }
+
+                Outcome<T> outcome;
+                if (inFlight > 0) {
+                    outcome = take(completionService);
+                    inFlight--;
+                } else {
+                    // Sending is paused, or only delayed items are left
+                    long eligibleNanos = fresh.isEmpty() ? retries.peek().notBeforeNanos : now;
+                    sleepUntil(Math.max(pausedUntilNanos, eligibleNanos));
+                    continue;
+                }
+                handle(outcome);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private boolean hasEligible(long now) {
+        return !fresh.isEmpty() || (!retries.isEmpty() && retries.peek().notBeforeNanos <= now);
+    }
+
+    /**
+     * Assembles the next chunk, from the eligible unprocessed items first.
+     */
+    private Batch<T> nextBatch(long now) {
+        Batch<T> batch = new Batch<T>();
+        while (batch.size < maxBatchSize && !retries.isEmpty()
+                && retries.peek().notBeforeNanos <= now) {
+            batch.add(retries.poll());
+        }
+        while (batch.size < maxBatchSize && !fresh.isEmpty()) {
+            batch.add(fresh.poll());
+        }
+        return batch;
+    }
+
+    private void submit(CompletionService<Outcome<T>> completionService, final Batch<T> batch) {
+        completionService.submit(new Callable<Outcome<T>>() {
+            public Outcome<T> call() {
+                try {
+                    return new Outcome<T>(batch, send(batch.items, batch.attempt), null);
+                } catch (Exception e) {
+                    return new Outcome<T>(batch, null, e);
+                }
+            }
+        });
+    }
+
+    private void handle(Outcome<T> outcome) {
+        Batch<T> batch = outcome.batch;
+        if (outcome.exception != null) {
+            onFailure(batch.items, outcome.exception);
+            return;
+        }
+        Map<String, List<T>> unprocessed = outcome.unprocessed;
+        if (unprocessed == null || unprocessed.isEmpty()) {
+            return;
+        }
+        int maxRetries = getMaxRetries(batch.items);
+        Map<String, List<T>> exhausted = new HashMap<String, List<T>>();
+        // The items to be sent again, by the attempt they were last sent with
+        Map<Integer, Map<String, List<T>>> retriable = new TreeMap<Integer, Map<String, List<T>>>();
+        for (Entry<String, List<T>> entry : unprocessed.entrySet()) {
+            for (T item : entry.getValue()) {
+                int attempt = batch.attemptOf(entry.getKey(), item);
+                if (maxRetries >= 0 && attempt >= maxRetries) {
+                    addItem(exhausted, entry.getKey(), item);
+                } else {
+                    Map<String, List<T>> items = retriable.get(attempt);
+                    if (items == null) {
+                        items = new HashMap<String, List<T>>();
+                        retriable.put(attempt, items);
+                    }
+                    addItem(items, entry.getKey(), item);
+                }
+            }
+        }
+        if (!exhausted.isEmpty()) {
+            onRetriesExhausted(exhausted);
+        }
+        for (Entry<Integer, Map<String, List<T>>> attemptItems : retriable.entrySet()) {
+            int attempt = attemptItems.getKey();
+            long notBefore = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(
+                    getRetryDelayMillis(attemptItems.getValue(), attempt));
+            for (Entry<String, List<T>> entry : attemptItems.getValue().entrySet()) {
+                for (T item : entry.getValue()) {
+                    retries.add(new Pending<T>(entry.getKey(), item, attempt + 1, notBefore));
+                }
+            }
+        }
+    }
+
+    private static <T> void addItem(Map<String, List<T>> items, String tableName, T item) {
+        List<T> tableItems = items.get(tableName);
+        if (tableItems == null) {
+            tableItems = new ArrayList<T>();
+            items.put(tableName, tableItems);
+        }
+        tableItems.add(item);
+    }
+
+    private Outcome<T> take(CompletionService<Outcome<T>> completionService) {
+        try {
+            return completionService.take().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AmazonClientException(e.getMessage(), e);
+        } catch (ExecutionException e) {
+            // send failures are captured in the outcome
+            throw new AmazonClientException(e.getMessage(), e.getCause());
+        }
+    }
+
+    private static void sleepUntil(long nanos) {
+        long delay = nanos - System.nanoTime();
+        if (delay <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AmazonClientException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * An item waiting to be sent.
+     */
+    private static final class Pending<T> implements Comparable<Pending<T>> {
+        final String tableName;
+        final T item;
+        final int attempt;
+        final long notBeforeNanos;
+
+        Pending(String tableName, T item, int attempt, long notBeforeNanos) {
+            this.tableName = tableName;
+            this.item = item;
+            this.attempt = attempt;
+            this.notBeforeNanos = notBeforeNanos;
+        }
+
+        @Override
+        public int compareTo(Pending<T> other) {
+            long diff = notBeforeNanos - other.notBeforeNanos;
+            return diff < 0 ? -1 : (diff > 0 ? 1 : 0);
+        }
+    }
+
+    /**
+     * A chunk of items, by table name. The attempt the chunk is sent with is
+     * the highest attempt of its items.
+     */
+    private static final class Batch<T> {
+        final Map<String, List<T>> items = new HashMap<String, List<T>>();
+        final Map<String, List<Pending<T>>> pendings = new HashMap<String, List<Pending<T>>>();
+        int size;
+        int attempt;
+
+        void add(Pending<T> pending) {
+            addItem(items, pending.tableName, pending.item);
+            addItem(pendings, pending.tableName, pending);
+            size++;
+            attempt = Math.max(attempt, pending.attempt);
+        }
+
+        /**
+         * Returns the attempt the given unprocessed item of this chunk was
+         * sent with. The item returned by the service is matched by equality,
+         * each item of the chunk being matched once.
+         */
+        int attemptOf(String tableName, T item) {
+            List<Pending<T>> tablePendings = pendings.get(tableName);
+            if (tablePendings != null) {
+                for (Iterator<Pending<T>> it = tablePendings.iterator(); it.hasNext();) {
+                    Pending<T> pending = it.next();
+                    if (pending.item.equals(item)) {
+                        it.remove();
+                        return pending.attempt;
+                    }
+                }
+            }
+            return attempt;
+        }
+    }
+
+    /**
+     * The outcome of sending a chunk: either its unprocessed items, or the
+     * exception it failed with.
+     */
+    private static final class Outcome<T> {
+        final Batch<T> batch;
+        final Map<String, List<T>> unprocessed;
+        final Exception exception;
+
+        Outcome(Batch<T> batch, Map<String, List<T>> unprocessed, Exception exception) {
+            this.batch = batch;
+            this.unprocessed = unprocessed;
+            this.exception = exception;
+        }
+    }
+}
@@ -0,0 +1,319 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.services.dynamodbv2.datamodeling;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import junit.framework.Assert;
+
+import org.easymock.IAnswer;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.easymock.EasyMock.anyObject;
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.getCurrentArguments;
+import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.verify;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper.FailedBatch;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig.BatchWriteRetryStrategy;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.BatchGetItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchGetItemResult;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemResult;
+import com.amazonaws.services.dynamodbv2.model.KeysAndAttributes;
+import com.amazonaws.services.dynamodbv2.model.WriteRequest;
+
+public class ParallelBatchOperationsTest {
+
+    private static final int CONCURRENCY = 4;
+    private static final int MAX_RETRY = 3;
+    private static final String TABLE_NAME = "tableName";
+    private static final String HASH_ATTR = "hash";
+
+    private AmazonDynamoDB ddbMock;
+    private DynamoDBMapper mapper;
+
+    private final Set<String> written = Collections.synchronizedSet(new HashSet<String>());
+
+    @Before
+    public void setup() {
+        ddbMock = createMock(AmazonDynamoDB.class);
+        mapper = new DynamoDBMapper(ddbMock, new DynamoDBMapperConfig.Builder()
+                .withBatchWriteRetryStrategy(new BatchWriteRetryStrategyWithNoDelay(MAX_RETRY))
+                .withBatchConcurrency(CONCURRENCY)
+                .build());
+    }
+
+    @Test
+    public void testBatchSaveSendsEveryItemInBatchesOf25() {
+        expect(ddbMock.batchWriteItem(anyObject(BatchWriteItemRequest.class)))
+                .andAnswer(new WriteAnswer(0)).times(4);
+
+        replay(ddbMock);
+        List<FailedBatch> failedBatches = mapper.batchSave(items(100));
+        verify(ddbMock);
+
+        Assert.assertEquals(0, failedBatches.size());
+        Assert.assertEquals(100, written.size());
+    }
+
+    @Test
+    public void testUnprocessedItemsAreSentWithLaterBatches() {
+        // Every call leaves its first item unprocessed
+        expect(ddbMock.batchWriteItem(anyObject(BatchWriteItemRequest.class)))
+                .andAnswer(new WriteAnswer(1)).anyTimes();
+
+        replay(ddbMock);
+        List<FailedBatch> failedBatches = mapper.batchSave(items(100));
+        verify(ddbMock);
+
+        // The items left unprocessed by the last calls exhaust their retries
+        int failed = 0;
+        for (FailedBatch failedBatch : failedBatches) {
+            Assert.assertNull(failedBatch.getException());
+            failed += failedBatch.getUnprocessedItems().get(TABLE_NAME).size();
+        }
+        Assert.assertTrue(failed > 0 && failed <= 4);
+        Assert.assertEquals(100, written.size() + failed);
+    }
+
+    /**
+     * Items sent for the first time along with items on their last retry get
+     * their own retries
+     */
+    @Test
+    public void testRetriesAreCountedPerItem() {
+        final Map<String, Integer> sends = new HashMap<String, Integer>();
+        final List<String> exhausted = new ArrayList<String>();
+        Map<String, List<String>> items = new HashMap<String, List<String>>();
+        List<String> tableItems = new ArrayList<String>();
+        for (int i = 0; i < 70; i++) {
+            tableItems.add("item-" + i);
+        }
+        items.put(TABLE_NAME, tableItems);
+
+        new ParallelBatchTask<String>(1, DynamoDBMapper.MAX_ITEMS_PER_BATCH) {
+            @Override
+            protected Map<String, List<String>> send(Map<String, List<String>> batch, int attempt) {
+                List<String> unprocessed = new ArrayList<String>();
+                for (String item : batch.get(TABLE_NAME)) {
+                    Integer count = sends.get(item);
+                    sends.put(item, count = (count == null ? 1 : count + 1));
+                    // The first 5 items use up all their retries, the items
+                    // of the later batches need one retry each
+                    int index = Integer.parseInt(item.substring("item-".length()));
+                    if (count <= (index < 5 ? MAX_RETRY : (index < 25 ? 0 : 1))) {
+                        // Not the same instance, as with a service response
+                        unprocessed.add(new String(item));
+                    } else {
+                        written.add(item);
+                    }
+                }
+                return Collections.singletonMap(TABLE_NAME, unprocessed);
+            }
+
+            @Override
+            protected void onFailure(Map<String, List<String>> batch, Exception exception) {
+                throw new AssertionError(exception);
+            }
+
+            @Override
+            protected void onRetriesExhausted(Map<String, List<String>> unprocessed) {
+                exhausted.addAll(unprocessed.get(TABLE_NAME));
+            }
+
+            @Override
+            protected int getMaxRetries(Map<String, List<String>> batch) {
+                return MAX_RETRY;
+            }
+
+            @Override
+            protected long getRetryDelayMillis(Map<String, List<String>> unprocessed, int attempt) {
+                return 0;
+            }
+        }.execute(items);
+
+        Assert.assertEquals(Collections.emptyList(), exhausted);
+        Assert.assertEquals(70, written.size());
+    }
+
+    @Test
+    public void testExceptionFailsTheBatch() {
+        final RuntimeException exception = new RuntimeException("BOOM");
+        expect(ddbMock.batchWriteItem(anyObject(BatchWriteItemRequest.class)))
+                .andThrow(exception).once();
+        expect(ddbMock.batchWriteItem(anyObject(BatchWriteItemRequest.class)))
+                .andAnswer(new WriteAnswer(0)).times(3);
+
+        replay(ddbMock);
+        List<FailedBatch> failedBatches = mapper.batchSave(items(100));
+        verify(ddbMock);
+
+        Assert.assertEquals(1, failedBatches.size());
+        Assert.assertSame(exception, failedBatches.get(0).getException());
+        Assert.assertEquals(25, failedBatches.get(0).getUnprocessedItems().get(TABLE_NAME).size());
+        Assert.assertEquals(75, written.size());
+    }
+
+    @Test
+    public void testBatchLoadRequeuesUnprocessedKeys() {
+        expect(ddbMock.batchGetItem(anyObject(BatchGetItemRequest.class)))
+                .andAnswer(new GetAnswer(1)).once();
+        expect(ddbMock.batchGetItem(anyObject(BatchGetItemRequest.class)))
+                .andAnswer(new GetAnswer(0)).anyTimes();
+
+        replay(ddbMock);
+        Map<String, List<Object>> loaded = mapper.batchLoad(items(250));
+        verify(ddbMock);
+
+        Set<String> hashes = new HashSet<String>();
+        for (Object item : loaded.get(TABLE_NAME)) {
+            hashes.add(((Item) item).getHash());
+        }
+        Assert.assertEquals(250, hashes.size());
+    }
+
+    private static List<Item> items(int count) {
+        List<Item> items = new ArrayList<Item>();
+        for (int i = 0; i < count; i++) {
+            items.add(new Item("item-" + i));
+        }
+        return items;
+    }
+
+    /**
+     * Records the items written, leaving the given number of items of each
+     * batch unprocessed.
+     */
+    private class WriteAnswer implements IAnswer<BatchWriteItemResult> {
+        private final int unprocessedCount;
+
+        WriteAnswer(int unprocessedCount) {
+            this.unprocessedCount = unprocessedCount;
+        }
+
+        @Override
+        public BatchWriteItemResult answer() {
+            BatchWriteItemRequest request = (BatchWriteItemRequest) getCurrentArguments()[0];
+            List<WriteRequest> requests = request.getRequestItems().get(TABLE_NAME);
+            Assert.assertTrue(requests.size() <= DynamoDBMapper.MAX_ITEMS_PER_BATCH);
+
+            List<WriteRequest> unprocessed = new ArrayList<WriteRequest>();
+            for (WriteRequest writeRequest : requests) {
+                if (unprocessed.size() < unprocessedCount) {
+                    unprocessed.add(writeRequest);
+                } else {
+                    written.add(writeRequest.getPutRequest().getItem().get(HASH_ATTR).getS());
+                }
+            }
+            Map<String, List<WriteRequest>> unprocessedItems = new HashMap<String, List<WriteRequest>>();
+            if (!unprocessed.isEmpty()) {
+                unprocessedItems.put(TABLE_NAME, unprocessed);
+            }
+            return new BatchWriteItemResult().withUnprocessedItems(unprocessedItems);
+        }
+    }
+
+    /**
+     * Returns the keys requested as items, leaving the given number of keys
+     * of each batch unprocessed.
+     */
+    private static class GetAnswer implements IAnswer<BatchGetItemResult> {
+        private final int unprocessedCount;
+
+        GetAnswer(int unprocessedCount) {
+            this.unprocessedCount = unprocessedCount;
+        }
+
+        @Override
+        public BatchGetItemResult answer() {
+            BatchGetItemRequest request = (BatchGetItemRequest) getCurrentArguments()[0];
+            List<Map<String, AttributeValue>> keys = request.getRequestItems().get(TABLE_NAME).getKeys();
+            Assert.assertTrue(keys.size() <= 100);
+
+            List<Map<String, AttributeValue>> found = new ArrayList<Map<String, AttributeValue>>();
+            List<Map<String, AttributeValue>> unprocessed = new ArrayList<Map<String, AttributeValue>>();
+            for (Map<String, AttributeValue> key : keys) {
+                if (unprocessed.size() < unprocessedCount) {
+                    unprocessed.add(key);
+                } else {
+                    found.add(key);
+                }
+            }
+            Map<String, KeysAndAttributes> unprocessedKeys = new HashMap<String, KeysAndAttributes>();
+            if (!unprocessed.isEmpty()) {
+                unprocessedKeys.put(TABLE_NAME, new KeysAndAttributes().withKeys(unprocessed));
+            }
+            return new BatchGetItemResult()
+                    .withResponses(Collections.singletonMap(TABLE_NAME, found))
+                    .withUnprocessedKeys(unprocessedKeys);
+        }
+    }
+
+    private static class BatchWriteRetryStrategyWithNoDelay implements
+            BatchWriteRetryStrategy {
+
+        private final int maxRetry;
+
+        public BatchWriteRetryStrategyWithNoDelay(int maxRetry) {
+            this.maxRetry = maxRetry;
+        }
+
+        @Override
+        public int getMaxRetryOnUnprocessedItems(
+                Map<String, List<WriteRequest>> batchWriteItemInput) {
+            return maxRetry;
+        }
+
+        @Override
+        public long getDelayBeforeRetryUnprocessedItems(
+                Map<String, List<WriteRequest>> unprocessedItems,
+                int retriesAttempted) {
+            return 0;
+        }
+    }
+
+    @DynamoDBTable(tableName = TABLE_NAME)
+    public static class Item {
+
+        private String hash;
+
+        public Item() {
+        }
+
+        public Item(String hash) {
+            this.hash = hash;
+        }
+
+        @DynamoDBHashKey(attributeName = HASH_ATTR)
+        public String getHash() {
+            return hash;
+        }
+        public void setHash(String hash) {
+            this.hash = hash;
+        }
+    }
+}
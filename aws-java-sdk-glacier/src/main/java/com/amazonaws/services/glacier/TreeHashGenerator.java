@@ -14,15 +14,21 @@
  */
 package com.amazonaws.services.glacier;
 
-import java.io.BufferedInputStream;
-import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import com.amazonaws.AmazonClientException;
 import com.amazonaws.internal.ResettableInputStream;
@@ -37,6 +43,15 @@ import com.amazonaws.util.BinaryUtils;
  */
 public class TreeHashGenerator {
 
+    /** The size of the leaves of the tree: the data is hashed in 1MB portions. */
+    private static final int MB = 1024 * 1024;
+
+    /** The number of leaves hashed by each task when hashing a file concurrently. */
+    private static final int LEAVES_PER_TASK = 16;
+
+    /** The size of the buffer the data of a stream is read into. */
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+
 	/**
 	 * Calculates a hex encoded binary hash using a tree hashing algorithm for
 	 * the data in the specified file.
@@ -66,6 +81,105 @@ public class TreeHashGenerator {
         }
     }
 
+	/**
+	 * Calculates a hex encoded binary hash using a tree hashing algorithm for
+	 * the data in the specified file, hashing the 1MB portions of the file
+	 * concurrently on the specified executor. The file is read through
+	 * positional reads on a shared channel, so that no stream needs to be
+	 * opened per task.
+	 * 
+	 * @param file
+	 *            The file containing the data to hash.
+	 * @param executorService
+	 *            The executor to hash the portions of the file on. Must not be
+	 *            the executor the calling thread belongs to, if it has a
+	 *            bounded number of threads.
+	 * 
+	 * @return The hex encoded binary tree hash for the data in the specified
+	 *         file.
+	 * 
+	 * @throws AmazonClientException
+	 *             If any problems were encountered reading the data or
+	 *             computing the hash.
+	 */
+    public static String calculateTreeHash(File file, ExecutorService executorService)
+            throws AmazonClientException {
+        FileInputStream fis = null;
+        try {
+            fis = new FileInputStream(file);
+            final FileChannel channel = fis.getChannel();
+            final long size = channel.size();
+            final byte[][] leaves = new byte[(int) Math.max(1, (size + MB - 1) / MB)][];
+
+            List<Future<Void>> futures = new ArrayList<Future<Void>>();
+            for (int first = 0; first < leaves.length; first += LEAVES_PER_TASK) {
+                final int firstLeaf = first;
+                final int lastLeaf = Math.min(first + LEAVES_PER_TASK, leaves.length);
+                futures.add(executorService.submit(new Callable<Void>() {
+                    public Void call() throws Exception {
+                        hashLeaves(channel, size, leaves, firstLeaf, lastLeaf);
+                        return null;
+                    }
+                }));
+            }
+            try {
+                for (Future<Void> future : futures) {
+                    future.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancelAll(futures);
+                throw new AmazonClientException("Interrupted while computing hash for file: "
+                        + file.getAbsolutePath(), e);
+            } catch (ExecutionException e) {
+                cancelAll(futures);
+                throw new AmazonClientException("Unable to compute hash for file: "
+                        + file.getAbsolutePath(), e.getCause());
+            }
+            return calculateTreeHash(Arrays.asList(leaves));
+        } catch (IOException e) {
+            throw new AmazonClientException("Unable to compute hash for file: "
+                    + file.getAbsolutePath(), e);
+        } finally {
+            if (fis != null) {
+                try { fis.close(); } catch ( IOException e ) {}
+            }
+        }
+    }
+
+    /**
+     * Hashes the given range of 1MB leaves of the data of the given channel,
+     * reusing one buffer and one digest for all of them.
+     */
+    private static void hashLeaves(FileChannel channel, long size, byte[][] leaves,
+            int firstLeaf, int lastLeaf) throws IOException, NoSuchAlgorithmException {
+        MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+        ByteBuffer buffer = ByteBuffer.allocate(MB);
+        for (int leaf = firstLeaf; leaf < lastLeaf; leaf++) {
+            long position = (long) leaf * MB;
+            int length = (int) Math.min(MB, size - position);
+            buffer.clear();
+            buffer.limit(length);
+            while (buffer.hasRemaining()) {
+                if (Thread.interrupted()) {
+                    throw new IOException("Interrupted while computing hash");
+                }
+                if (channel.read(buffer, position + buffer.position()) < 0) {
+                    throw new IOException("Unexpected end of file at position "
+                            + (position + buffer.position()));
+                }
+            }
+            messageDigest.update(buffer.array(), 0, length);
+            leaves[leaf] = messageDigest.digest();
+        }
+    }
+
+    private static void cancelAll(List<Future<Void>> futures) {
+        for (Future<Void> future : futures) {
+            future.cancel(true);
+        }
+    }
+
 	/**
 	 * Calculates a hex encoded binary hash using a tree hashing algorithm for
 	 * the data in the specified input stream. The method will consume all the
@@ -86,7 +200,7 @@ public class TreeHashGenerator {
         try {
             TreeHashInputStream treeHashInputStream =
                 new TreeHashInputStream(input);
-            byte[] buffer = new byte[1024];
+            byte[] buffer = new byte[STREAM_BUFFER_SIZE];
             while (treeHashInputStream.read(buffer, 0, buffer.length) != -1);
             // closing is currently required to compute the checksum 
             treeHashInputStream.close();
@@ -120,19 +234,19 @@ public class TreeHashGenerator {
          */
         List<byte[]> hashes = new ArrayList<byte[]>();
         hashes.addAll(checksums);
+        MessageDigest messageDigest;
+        try {
+            messageDigest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new AmazonClientException("Unable to compute hash", e);
+        }
         while ( hashes.size() > 1 ) {
-            List<byte[]> treeHashes = new ArrayList<byte[]>();
+            List<byte[]> treeHashes = new ArrayList<byte[]>((hashes.size() + 1) / 2);
             for ( int i = 0; i < hashes.size() / 2; i++ ) {
-                byte[] firstPart = hashes.get(2 * i);
-                byte[] secondPart = hashes.get(2 * i + 1);
-                byte[] concatenation = new byte[firstPart.length + secondPart.length];
-                System.arraycopy(firstPart, 0, concatenation, 0, firstPart.length);
-                System.arraycopy(secondPart, 0, concatenation, firstPart.length, secondPart.length);
-                try {
-					treeHashes.add(computeSHA256Hash(concatenation));
-				} catch (Exception e) {
-					throw new AmazonClientException("Unable to compute hash", e);
-				}
+                // Digesting the two parts in turn is the same as digesting their concatenation
+                messageDigest.update(hashes.get(2 * i));
+                messageDigest.update(hashes.get(2 * i + 1));
+                treeHashes.add(messageDigest.digest());
             }
             if ( hashes.size() % 2 == 1 ) {
                 treeHashes.add(hashes.get(hashes.size() - 1));
@@ -142,20 +256,4 @@ public class TreeHashGenerator {
 
         return BinaryUtils.toHex(hashes.get(0));
     }
-    
-
-    private static byte[] computeSHA256Hash(byte[] data) throws NoSuchAlgorithmException, IOException {
-        BufferedInputStream bis = new BufferedInputStream(new ByteArrayInputStream(data));
-        try {
-            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
-            byte[] buffer = new byte[16384];
-            int bytesRead = -1;
-            while ( (bytesRead = bis.read(buffer, 0, buffer.length)) != -1 ) {
-                messageDigest.update(buffer, 0, bytesRead);
-            }
-            return messageDigest.digest();
-        } finally {
-            try { bis.close(); } catch ( Exception e ) {}
-        }
-    }
 }
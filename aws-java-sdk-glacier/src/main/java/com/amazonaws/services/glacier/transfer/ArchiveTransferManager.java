@@ -28,8 +28,13 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.RandomAccessFile;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -69,6 +74,14 @@ import com.amazonaws.util.BinaryUtils;
 
 /**
  * Utilities for uploading and downloading data to and from AWS Glacier.
+ * <p>
+ * By default the parts of a multipart upload, and the chunks of a download,
+ * are transferred one at a time. When constructed with an
+ * {@link ExecutorService}, an ArchiveTransferManager transfers them
+ * concurrently on that executor instead: each part is tree-hashed and uploaded
+ * by its own task, and each chunk is downloaded, verified against its tree
+ * hash and written in place by its own task. The executor is owned by the
+ * caller, who is responsible for shutting it down.
  */
 public class ArchiveTransferManager {
 
@@ -98,6 +111,9 @@ public class ArchiveTransferManager {
 
     private final AmazonSNSClient sns;
 
+    /** Executor to transfer parts and chunks concurrently, or null to transfer them one at a time. */
+    private final ExecutorService executorService;
+
     private static final Log log = LogFactory.getLog(ArchiveTransferManager.class);
 
     /**
@@ -163,11 +179,36 @@ public class ArchiveTransferManager {
      *            timeouts.
      */
     public ArchiveTransferManager(AmazonGlacierClient glacier, AWSCredentialsProvider credentialsProvider, ClientConfiguration clientConfiguration) {
+        this(glacier, credentialsProvider, clientConfiguration, null);
+    }
+
+    /**
+     * Constructs a new ArchiveTransferManager, using the specified Amazon
+     * Glacier client, AWS credentials provider and client configuration, which
+     * transfers the parts of multipart uploads and the chunks of downloads
+     * concurrently on the specified executor.
+     *
+     * @param glacier
+     *            The client for working with Amazon Glacier.
+     * @param credentialsProvider
+     *            The AWS credentials provider used to authenticate requests.
+     * @param clientConfiguration
+     *            Client specific options, such as proxy settings, retries, and
+     *            timeouts.
+     * @param executorService
+     *            The executor to transfer parts and chunks on, or null to
+     *            transfer them one at a time. The number of threads of the
+     *            executor bounds the number of concurrent requests, and should
+     *            not exceed the maximum number of connections of the client.
+     */
+    public ArchiveTransferManager(AmazonGlacierClient glacier, AWSCredentialsProvider credentialsProvider,
+            ClientConfiguration clientConfiguration, ExecutorService executorService) {
         this.credentialsProvider = credentialsProvider;
         this.clientConfiguration = clientConfiguration;
         this.glacier = glacier;
         this.sns = null;
         this.sqs = null;
+        this.executorService = executorService;
     }
 
     /**
@@ -190,11 +231,36 @@ public class ArchiveTransferManager {
      *            retrieval job status.
      */
     public ArchiveTransferManager(AmazonGlacierClient glacier, AmazonSQSClient sqs, AmazonSNSClient sns) {
+        this(glacier, sqs, sns, null);
+    }
+
+    /**
+     * Constructs a new ArchiveTransferManager, using the specified Amazon
+     * Glacier client, and the specified Amazon SQS and Amazon SNS clients for
+     * polling download job status, which transfers the parts of multipart
+     * uploads and the chunks of downloads concurrently on the specified
+     * executor.
+     *
+     * @param glacier
+     *            The client for working with Amazon Glacier.
+     * @param sqs
+     *            The client for working with Amazon SQS when polling archive
+     *            retrieval job status.
+     * @param sns
+     *            The client for working with Amazon SNS when polling archive
+     *            retrieval job status.
+     * @param executorService
+     *            The executor to transfer parts and chunks on, or null to
+     *            transfer them one at a time.
+     */
+    public ArchiveTransferManager(AmazonGlacierClient glacier, AmazonSQSClient sqs, AmazonSNSClient sns,
+            ExecutorService executorService) {
         this.credentialsProvider = null;
         this.clientConfiguration = null;
         this.glacier = glacier;
         this.sqs = sqs;
         this.sns = sns;
+        this.executorService = executorService;
     }
 
     /**
@@ -460,8 +526,9 @@ public class ArchiveTransferManager {
      * Downloads the job output for the specified job (which must be ready to
      * download already, and must be a complete archive retrieval, not a partial
      * range retrieval), into the specified file. This method will request
-     * individual chunks of the data, one at a time, in order to handle any
-     * transient errors along the way.
+     * individual chunks of the data, one at a time or concurrently if this
+     * ArchiveTransferManager has an executor, in order to handle any transient
+     * errors along the way.
      *
      * @param accountId
      *            The account ID containing the job output to download (or null
@@ -482,9 +549,10 @@ public class ArchiveTransferManager {
      * Downloads the job output for the specified job (which must be ready to
      * download already, and must be a complete archive retrieval, not a partial
      * range retrieval), into the specified file. This method will request
-     * individual chunks of the data, one at a time, in order to handle any
-     * transient errors along the way. You can also add an optional progress
-     * listener for receiving updates about the download status.
+     * individual chunks of the data, one at a time or concurrently if this
+     * ArchiveTransferManager has an executor, in order to handle any transient
+     * errors along the way. You can also add an optional progress listener for
+     * receiving updates about the download status.
      *
      * @param accountId
      *            The account ID containing the job output to download (or null
@@ -533,6 +601,17 @@ public class ArchiveTransferManager {
 
         try {
             publishProgress(progressListener, ProgressEventType.TRANSFER_STARTED_EVENT);
+            if (executorService != null) {
+                try {
+                    downloadChunksConcurrently(accountId, vaultName, jobId, file, output,
+                            archiveSize, chunkSize, progressListener);
+                } catch (Throwable t) {
+                    publishProgress(progressListener, ProgressEventType.TRANSFER_FAILED_EVENT);
+                    throw failure(t);
+                }
+                publishProgress(progressListener, ProgressEventType.TRANSFER_COMPLETED_EVENT);
+                return;
+            }
             while (currentPosition < archiveSize) {
                 if (currentPosition + chunkSize > archiveSize) {
                     endPosition = archiveSize - 1;
@@ -556,6 +635,37 @@ public class ArchiveTransferManager {
         }
     }
 
+    /**
+     * Downloads all the chunks of the job output concurrently, each chunk
+     * being written in place through its own file handle.
+     */
+    private void downloadChunksConcurrently(final String accountId, final String vaultName,
+            final String jobId, final File file, RandomAccessFile output, long archiveSize,
+            long chunkSize, final ProgressListener progressListener) throws IOException {
+        // Allocate the whole file up front, so that chunks can be written in any order
+        output.setLength(archiveSize);
+
+        List<Future<Void>> futures = new ArrayList<Future<Void>>();
+        for (long position = 0; position < archiveSize; position += chunkSize) {
+            final long startPosition = position;
+            final long endPosition = Math.min(position + chunkSize, archiveSize) - 1;
+            futures.add(executorService.submit(new Callable<Void>() {
+                public Void call() throws Exception {
+                    RandomAccessFile chunkOutput = new RandomAccessFile(file, "rw");
+                    try {
+                        chunkOutput.seek(startPosition);
+                        downloadOneChunk(accountId, vaultName, jobId, chunkOutput,
+                                startPosition, endPosition, progressListener);
+                    } finally {
+                        closeQuietly(chunkOutput, log);
+                    }
+                    return null;
+                }
+            }));
+        }
+        waitForAll(futures);
+    }
+
     private void validateChunkSize(long chunkSize) {
         if (chunkSize <= 0) {
             throw new AmazonClientException("Invalid chunk size, chunk size must be great than 0");
@@ -694,56 +804,21 @@ public class ArchiveTransferManager {
             throw failure(t);
         }
         publishProgress(progressListener, ProgressEventType.TRANSFER_STARTED_EVENT);
-        final String fileNotFoundMsg = "Unable to find file '"
-                + file.getAbsolutePath() + "'";
         try {
-            List<byte[]> binaryChecksums = new LinkedList<byte[]>();
-
-            long currentPosition = 0;
-            while (currentPosition < file.length()) {
-                long length = partSize;
-                if (currentPosition + partSize > file.length()) {
-                    length = file.length() - currentPosition;
+            List<byte[]> binaryChecksums;
+            if (executorService != null) {
+                binaryChecksums = uploadPartsConcurrently(accountId, vaultName, uploadId,
+                        file, partSize, progressListener);
+            } else {
+                binaryChecksums = new LinkedList<byte[]>();
+                long currentPosition = 0;
+                while (currentPosition < file.length()) {
+                    long length = Math.min(partSize, file.length() - currentPosition);
+                    binaryChecksums.add(uploadOnePart(accountId, vaultName, uploadId,
+                            file, currentPosition, length, progressListener));
+                    currentPosition += partSize;
                 }
-
-                Exception failedException = null;
-                boolean completed = false;
-                int tries = 0;
-                    while (!completed && tries < 5){
-                        tries++;
-                        InputSubstream inputSubStream = null;
-                        try {
-                            inputSubStream = new InputSubstream(
-                                    newResettableInputStream(file, fileNotFoundMsg)
-                                        .disableClose(), // requires explicit release
-                                    currentPosition, length, true);
-                            String checksum = TreeHashGenerator.calculateTreeHash(inputSubStream);
-                            byte[] binaryChecksum = BinaryUtils.fromHex(checksum);
-                            inputSubStream.reset();
-                            UploadMultipartPartRequest req = new UploadMultipartPartRequest()
-                                .withAccountId(accountId)
-                                .withChecksum(checksum)
-                                .withBody(inputSubStream)
-                                .withRange("bytes " + currentPosition + "-" + (currentPosition + length - 1) + "/*")
-                                .withUploadId(uploadId)
-                                .withVaultName(vaultName)
-                                .withGeneralProgressListener(progressListener)
-                                ;
-                            
-                            glacier.uploadMultipartPart(req);
-                            completed = true;
-                            binaryChecksums.add(binaryChecksum);
-                        } catch (Exception e){
-                            failedException = e;
-                        } finally {
-                            // We opened the file underneath; so need to release it
-                            release(inputSubStream, log);
-                        }
-                    } // end inner while
-                if (!completed && failedException!=null)
-                    throw failedException;
-                currentPosition += partSize;
-            } // end outer while
+            }
 
             String checksum = TreeHashGenerator.calculateTreeHash(binaryChecksums);
 
@@ -766,10 +841,109 @@ public class ArchiveTransferManager {
         }
     }
 
+    /**
+     * Uploads all the parts of a multipart upload concurrently. Each part is
+     * tree-hashed by the task uploading it, so that hashing a part overlaps
+     * with uploading the others.
+     *
+     * @return The binary tree hashes of the parts, in order
+     */
+    private List<byte[]> uploadPartsConcurrently(final String accountId, final String vaultName,
+            final String uploadId, final File file, long partSize,
+            final ProgressListener progressListener) throws Exception {
+        List<Future<byte[]>> futures = new ArrayList<Future<byte[]>>();
+        for (long position = 0; position < file.length(); position += partSize) {
+            final long currentPosition = position;
+            final long length = Math.min(partSize, file.length() - position);
+            futures.add(executorService.submit(new Callable<byte[]>() {
+                public byte[] call() throws Exception {
+                    return uploadOnePart(accountId, vaultName, uploadId, file,
+                            currentPosition, length, progressListener);
+                }
+            }));
+        }
+        return waitForAll(futures);
+    }
+
+    /**
+     * Uploads one part of a multipart upload, retrying up to 5 times.
+     *
+     * @return The binary tree hash of the part
+     */
+    private byte[] uploadOnePart(String accountId, String vaultName, String uploadId,
+            File file, long currentPosition, long length,
+            ProgressListener progressListener) throws Exception {
+        final String fileNotFoundMsg = "Unable to find file '"
+                + file.getAbsolutePath() + "'";
+        Exception failedException = null;
+        int tries = 0;
+        while (tries < 5) {
+            tries++;
+            InputSubstream inputSubStream = null;
+            try {
+                inputSubStream = new InputSubstream(
+                        newResettableInputStream(file, fileNotFoundMsg)
+                            .disableClose(), // requires explicit release
+                        currentPosition, length, true);
+                String checksum = TreeHashGenerator.calculateTreeHash(inputSubStream);
+                byte[] binaryChecksum = BinaryUtils.fromHex(checksum);
+                inputSubStream.reset();
+                UploadMultipartPartRequest req = new UploadMultipartPartRequest()
+                    .withAccountId(accountId)
+                    .withChecksum(checksum)
+                    .withBody(inputSubStream)
+                    .withRange("bytes " + currentPosition + "-" + (currentPosition + length - 1) + "/*")
+                    .withUploadId(uploadId)
+                    .withVaultName(vaultName)
+                    .withGeneralProgressListener(progressListener)
+                    ;
+
+                glacier.uploadMultipartPart(req);
+                return binaryChecksum;
+            } catch (Exception e){
+                failedException = e;
+            } finally {
+                // We opened the file underneath; so need to release it
+                release(inputSubStream, log);
+            }
+        }
+        throw failedException;
+    }
+
+    /**
+     * Waits for all the given tasks to complete, and returns their results in
+     * order. If a task fails, the others are canceled and its failure is
+     * rethrown.
+     */
+    private static <T> List<T> waitForAll(List<Future<T>> futures) {
+        List<T> results = new ArrayList<T>(futures.size());
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancelAll(futures);
+            throw new AmazonClientException("Interrupted while waiting for the transfer to complete", e);
+        } catch (ExecutionException e) {
+            cancelAll(futures);
+            throw failure(e.getCause());
+        }
+    }
+
+    private static void cancelAll(List<? extends Future<?>> futures) {
+        for (Future<?> future : futures) {
+            future.cancel(true);
+        }
+    }
+
     private UploadResult uploadInSinglePart(final String accountId,
             final String vaultName, final String archiveDescription,
             final File file, ProgressListener progressListener) {
-        String checksum = TreeHashGenerator.calculateTreeHash(file);
+        String checksum = executorService != null
+                ? TreeHashGenerator.calculateTreeHash(file, executorService)
+                : TreeHashGenerator.calculateTreeHash(file);
         ResettableInputStream is = newResettableInputStream(file);
         try {
             publishProgress(progressListener, ProgressEventType.TRANSFER_STARTED_EVENT);
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.services.s3.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.amazonaws.internal.SdkFilterInputStream;
+
+/**
+ * Input stream that replaces the carriage return (\r) characters of an UTF-8
+ * encoded XML document with explicit XML character entities as the document
+ * is read, to prevent the SAX parser from misinterpreting 0x0D characters as
+ * 0x0A. The 0x0D byte never occurs within the multi-byte sequence of another
+ * character in UTF-8, so the document is escaped byte by byte without being
+ * decoded.
+ * <p>
+ * Mark and reset are not supported.
+ */
+public class CarriageReturnEscapingInputStream extends SdkFilterInputStream {
+
+    private static final byte[] ESCAPED_CARRIAGE_RETURN = {
+        '&', '#', '0', '1', '3', ';'
+    };
+
+    private static final int BUFFER_SIZE = 8192;
+
+    /** The bytes read from the wrapped stream, not returned yet. */
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private int limit;
+
+    /** The index of the next byte of an escaped carriage return to return. */
+    private int escapeIndex = ESCAPED_CARRIAGE_RETURN.length;
+
+    public CarriageReturnEscapingInputStream(InputStream in) {
+        super(in);
+    }
+
+    @Override
+    public int read() throws IOException {
+        abortIfNeeded();
+        if (escapeIndex < ESCAPED_CARRIAGE_RETURN.length) {
+            return ESCAPED_CARRIAGE_RETURN[escapeIndex++];
+        }
+        int b = position < limit ? buffer[position++] & 0xFF : in.read();
+        if (b == '\r') {
+            escapeIndex = 1;
+            return ESCAPED_CARRIAGE_RETURN[0];
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        abortIfNeeded();
+        if (len == 0) {
+            return 0;
+        }
+        int count = 0;
+        while (count < len) {
+            if (escapeIndex < ESCAPED_CARRIAGE_RETURN.length) {
+                b[off + count++] = ESCAPED_CARRIAGE_RETURN[escapeIndex++];
+            } else if (position < limit) {
+                byte next = buffer[position++];
+                if (next == '\r') {
+                    escapeIndex = 0;
+                } else {
+                    b[off + count++] = next;
+                }
+            } else if (count > 0) {
+                // Don't block for more bytes than are available yet
+                break;
+            } else {
+                int read = in.read(buffer, 0, BUFFER_SIZE);
+                if (read == -1) {
+                    return -1;
+                }
+                position = 0;
+                limit = read;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        abortIfNeeded();
+        if (n <= 0) {
+            return 0;
+        }
+        byte[] skipped = new byte[(int) Math.min(n, BUFFER_SIZE)];
+        long remaining = n;
+        while (remaining > 0) {
+            int read = read(skipped, 0, (int) Math.min(remaining, skipped.length));
+            if (read == -1) {
+                break;
+            }
+            remaining -= read;
+        }
+        return n - remaining;
+    }
+
+    @Override
+    public int available() throws IOException {
+        abortIfNeeded();
+        return (ESCAPED_CARRIAGE_RETURN.length - escapeIndex) + (limit - position);
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public synchronized void mark(int readlimit) {
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        throw new IOException("mark/reset not supported");
+    }
+}
@@ -24,6 +24,15 @@ public class SkipMd5CheckStrategy {
      */
     public static final String DISABLE_PUT_OBJECT_MD5_VALIDATION_PROPERTY = "com.amazonaws.services.s3.disablePutObjectMD5Validation";
 
+    /**
+     * System property to compute the MD5 of a file uploaded with PutObject while the file is being
+     * uploaded, and validate it against the Etag returned by S3, instead of reading the whole file
+     * beforehand to send its MD5 for S3 to validate. The file is then read once instead of twice,
+     * but corrupted data is only detected once it has been stored. This has no effect on uploads
+     * that can't be validated client side. Any value set for this property will enable it.
+     */
+    public static final String COMPUTE_PUT_OBJECT_MD5_DURING_UPLOAD_PROPERTY = "com.amazonaws.services.s3.computePutObjectMD5DuringUpload";
+
     public static final SkipMd5CheckStrategy INSTANCE = new SkipMd5CheckStrategy();
 
     // Singleton
@@ -143,16 +152,19 @@ public class SkipMd5CheckStrategy {
      * header to be validated by S3 per the request.
      * <p>
      * Currently we always try and do server side validation unless it's been explicitly disabled by
-     * the {@value #DISABLE_PUT_OBJECT_MD5_VALIDATION_PROPERTY} property. Whether or not we actually
-     * calculate the MD5 header is determined in the client based on the source of the data (i.e. if
-     * it's a file we calculate, if not then we don't)
+     * the {@value #DISABLE_PUT_OBJECT_MD5_VALIDATION_PROPERTY} property, or the
+     * {@value #COMPUTE_PUT_OBJECT_MD5_DURING_UPLOAD_PROPERTY} property is set and the request can be
+     * validated client side instead. Whether or not we actually calculate the MD5 header is
+     * determined in the client based on the source of the data (i.e. if it's a file we calculate,
+     * if not then we don't)
      * </p>
      */
     public boolean skipServerSideValidation(PutObjectRequest request) {
         if (isPutObjectMd5ValidationDisabledByProperty()) {
             return true;
         }
-        return false;
+        return isPutObjectMd5ComputedDuringUploadByProperty()
+                && !skipClientSideValidationPerRequest(request);
     }
 
     /**
@@ -217,6 +229,10 @@ public class SkipMd5CheckStrategy {
         return System.getProperty(DISABLE_PUT_OBJECT_MD5_VALIDATION_PROPERTY) != null;
     }
 
+    private boolean isPutObjectMd5ComputedDuringUploadByProperty() {
+        return System.getProperty(COMPUTE_PUT_OBJECT_MD5_DURING_UPLOAD_PROPERTY) != null;
+    }
+
     /**
      * If SSE-C or SSE-KMS is involved then the Etag will be the MD5 of the ciphertext not the
      * plaintext so we can't validate it client side. Plain SSE with S3 managed keys will return an
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.services.s3.iterable;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+
+import com.amazonaws.AmazonClientException;
+
+/**
+ * Fetches the pages of a listing for an iterator, one page at a time.
+ * <p>
+ * Without an executor service, each page is fetched by the calling thread when
+ * it is needed. With an executor service, the next page of a listing is
+ * requested as soon as the current page is returned, so that it is fetched
+ * while the current page is being consumed.
+ * <p>
+ * With a delimiter, the root prefix is listed with the delimiter, and each
+ * common prefix found is then listed in full as a separate shard. Up to the
+ * given number of shards are fetched concurrently, each one page ahead; their
+ * pages are returned in the order in which they complete.
+ *
+ * @param <L>
+ *            the type of a page of the listing
+ */
+abstract class ListingPageFetcher<L> {
+    private final String prefix;
+    private final String delimiter;
+    private final int parallelism;
+    private final CompletionService<Page<L>> completionService;
+
+    /** The prefixes yet to be listed. */
+    private final Queue<String> pendingShards = new LinkedList<String>();
+    /** The number of pages being fetched. */
+    private int inFlight;
+    private boolean started;
+    /** The previous page returned, when fetching synchronously. */
+    private L previous;
+
+    /**
+     * @param prefix
+     *            the prefix to list
+     * @param executorService
+     *            the executor service to fetch the pages on; or null to fetch
+     *            each page on the calling thread when it is needed
+     * @param delimiter
+     *            the delimiter of the common prefixes to list in parallel; or
+     *            null to list the prefix as a whole
+     * @param parallelism
+     *            the maximum number of shards listed concurrently
+     */
+    ListingPageFetcher(String prefix, ExecutorService executorService,
+            String delimiter, int parallelism) {
+        if (delimiter != null && executorService == null) {
+            throw new IllegalStateException(
+                    "An executor service is required for parallel listing");
+        }
+        this.prefix = prefix;
+        this.delimiter = delimiter;
+        this.parallelism = delimiter == null ? 1 : Math.max(1, parallelism);
+        this.completionService = executorService == null
+                ? null
+                : new ExecutorCompletionService<Page<L>>(executorService);
+    }
+
+    /**
+     * Lists the first page of the given prefix, with the given delimiter if
+     * not null.
+     */
+    protected abstract L listFirstPage(String prefix, String delimiter);
+
+    protected abstract L listNextPage(L previousPage);
+
+    protected abstract boolean isTruncated(L page);
+
+    protected abstract List<String> getCommonPrefixes(L page);
+
+    /**
+     * Returns the next page of the listing; or null if there are no more
+     * pages.
+     */
+    L nextPage() {
+        if (completionService == null) {
+            return nextPageSynchronously();
+        }
+        if (!started) {
+            started = true;
+            submit(new Page<L>(true, null), prefix);
+        }
+        while (inFlight < parallelism && !pendingShards.isEmpty()) {
+            submit(new Page<L>(false, null), pendingShards.poll());
+        }
+        if (inFlight == 0) {
+            return null;
+        }
+        Page<L> page = take();
+        inFlight--;
+        if (page.isRoot && delimiter != null) {
+            pendingShards.addAll(getCommonPrefixes(page.listing));
+        }
+        if (isTruncated(page.listing)) {
+            // Fetch the next page of the same shard while this one is consumed
+            submit(page, null);
+        }
+        return page.listing;
+    }
+
+    private L nextPageSynchronously() {
+        if (!started) {
+            started = true;
+            return previous = listFirstPage(prefix, null);
+        }
+        if (previous == null || !isTruncated(previous)) {
+            return null;
+        }
+        return previous = listNextPage(previous);
+    }
+
+    /**
+     * Submits the fetch of the page following the given page, or of the first
+     * page of the given shard if the given page has no listing yet.
+     */
+    private void submit(final Page<L> after, final String shard) {
+        completionService.submit(new Callable<Page<L>>() {
+            public Page<L> call() {
+                if (after.listing == null) {
+                    String shardDelimiter = after.isRoot ? delimiter : null;
+                    return new Page<L>(after.isRoot, listFirstPage(shard, shardDelimiter));
+                }
+                return new Page<L>(after.isRoot, listNextPage(after.listing));
+            }
+        });
+        inFlight++;
+    }
+
+    private Page<L> take() {
+        try {
+            return completionService.take().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AmazonClientException("Interrupted while listing", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof AmazonClientException) {
+                throw (AmazonClientException) cause;
+            }
+            throw new AmazonClientException("Unable to list: " + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * A page of a shard, and whether the shard is the root prefix.
+     */
+    private static final class Page<P> {
+        final boolean isRoot;
+        final P listing;
+
+        Page(boolean isRoot, P listing) {
+            this.isRoot = isRoot;
+            this.listing = listing;
+        }
+    }
+}
@@ -14,7 +14,10 @@
  */
 package com.amazonaws.services.s3.iterable;
 
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.model.ListObjectsRequest;
@@ -34,6 +37,13 @@ import com.amazonaws.services.s3.model.S3ObjectSummary;
  * The list of {@link S3ObjectSummary}s will be fetched lazily, a page at a
  * time, as they are needed. The size of the page can be controlled with the
  * {@link S3Objects#withBatchSize(int)} method.
+ * <p>
+ * To speed up the iteration of large buckets, an executor service can be set
+ * with {@link S3Objects#withExecutorService(ExecutorService)} so that each
+ * page is fetched while the previous page is being consumed; and
+ * {@link S3Objects#withParallelListing(String, int)} can be used to list the
+ * common prefixes of the keys in parallel, in which case the object summaries
+ * are no longer returned in key order.
  */
 public class S3Objects implements Iterable<S3ObjectSummary> {
 
@@ -41,6 +51,9 @@ public class S3Objects implements Iterable<S3ObjectSummary> {
     private String prefix = null;
     private String bucketName;
     private Integer batchSize = null;
+    private ExecutorService executorService = null;
+    private String delimiter = null;
+    private int parallelism = 1;
 
     private S3Objects(AmazonS3 s3, String bucketName) {
         this.s3 = s3;
@@ -91,10 +104,61 @@ public class S3Objects implements Iterable<S3ObjectSummary> {
         return this;
     }
 
+    /**
+     * Sets the executor service used to fetch the next page of object
+     * summaries while the current page is being consumed. By default, each
+     * page is fetched by the iterating thread when it is needed.
+     *
+     * @param executorService
+     *            The executor service to fetch the pages on; or null to fetch
+     *            them on the iterating thread.
+     */
+    public S3Objects withExecutorService(ExecutorService executorService) {
+        this.executorService = executorService;
+        return this;
+    }
+
+    /**
+     * Lists the keys in parallel: the keys directly under the prefix are
+     * listed with the given delimiter, and the keys of each common prefix found
+     * are then listed separately, up to the given number of common prefixes at
+     * a time. Requires an executor service to be set with
+     * {@link #withExecutorService(ExecutorService)}.
+     * <p>
+     * With parallel listing, the object summaries are returned in key order
+     * within each common prefix, but in no particular order overall.
+     *
+     * @param delimiter
+     *            The delimiter of the common prefixes to list in parallel,
+     *            such as "/".
+     * @param parallelism
+     *            The maximum number of common prefixes listed at once.
+     */
+    public S3Objects withParallelListing(String delimiter, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        this.delimiter = delimiter;
+        this.parallelism = parallelism;
+        return this;
+    }
+
     public Integer getBatchSize() {
         return batchSize;
     }
 
+    public ExecutorService getExecutorService() {
+        return executorService;
+    }
+
+    public String getDelimiter() {
+        return delimiter;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
     public String getPrefix() {
         return prefix;
     }
@@ -109,10 +173,39 @@ public class S3Objects implements Iterable<S3ObjectSummary> {
 
     private class S3ObjectIterator implements Iterator<S3ObjectSummary> {
 
-        private ObjectListing currentListing = null;
+        private final ListingPageFetcher<ObjectListing> fetcher =
+                new ListingPageFetcher<ObjectListing>(getPrefix(), getExecutorService(),
+                        getDelimiter(), getParallelism()) {
+            @Override
+            protected ObjectListing listFirstPage(String prefix, String delimiter) {
+                ListObjectsRequest req = new ListObjectsRequest();
+                req.setBucketName(getBucketName());
+                req.setPrefix(prefix);
+                req.setDelimiter(delimiter);
+                req.setMaxKeys(getBatchSize());
+                return getS3().listObjects(req);
+            }
+
+            @Override
+            protected ObjectListing listNextPage(ObjectListing previousPage) {
+                return getS3().listNextBatchOfObjects(previousPage);
+            }
+
+            @Override
+            protected boolean isTruncated(ObjectListing page) {
+                return page.isTruncated();
+            }
+
+            @Override
+            protected List<String> getCommonPrefixes(ObjectListing page) {
+                return page.getCommonPrefixes();
+            }
+        };
 
         private Iterator<S3ObjectSummary> currentIterator = null;
 
+        private boolean done = false;
+
         @Override
         public boolean hasNext() {
             prepareCurrentListing();
@@ -131,19 +224,16 @@ public class S3Objects implements Iterable<S3ObjectSummary> {
         }
 
         private void prepareCurrentListing() {
-            while ( currentListing == null || (!currentIterator.hasNext() && currentListing.isTruncated()) ) {
-
+            while ( !done && (currentIterator == null || !currentIterator.hasNext()) ) {
+                ObjectListing currentListing = fetcher.nextPage();
                 if ( currentListing == null ) {
-                    ListObjectsRequest req = new ListObjectsRequest();
-                    req.setBucketName(getBucketName());
-                    req.setPrefix(getPrefix());
-                    req.setMaxKeys(getBatchSize());
-                    currentListing = getS3().listObjects(req);
+                    done = true;
+                    if ( currentIterator == null ) {
+                        currentIterator = Collections.<S3ObjectSummary>emptyList().iterator();
+                    }
                 } else {
-                    currentListing = getS3().listNextBatchOfObjects(currentListing);
+                    currentIterator = currentListing.getObjectSummaries().iterator();
                 }
-
-                currentIterator = currentListing.getObjectSummaries().iterator();
             }
         }
 
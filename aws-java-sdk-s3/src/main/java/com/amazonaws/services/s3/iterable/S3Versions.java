@@ -14,7 +14,10 @@
  */
 package com.amazonaws.services.s3.iterable;
 
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.model.ListVersionsRequest;
@@ -34,6 +37,13 @@ import com.amazonaws.services.s3.model.VersionListing;
  * The list of {@link S3VersionSummary}s will be fetched lazily, a page at a
  * time, as they are needed. The size of the page can be controlled with the
  * {@link S3Versions#withBatchSize(int)} method.
+ * <p>
+ * To speed up the iteration of large buckets, an executor service can be set
+ * with {@link S3Versions#withExecutorService(ExecutorService)} so that each
+ * page is fetched while the previous page is being consumed; and
+ * {@link S3Versions#withParallelListing(String, int)} can be used to list the
+ * common prefixes of the keys in parallel, in which case the version summaries
+ * are no longer returned in key order.
  */
 public class S3Versions implements Iterable<S3VersionSummary> {
 
@@ -42,6 +52,9 @@ public class S3Versions implements Iterable<S3VersionSummary> {
     private String prefix;
     private String key;
     private Integer batchSize;
+    private ExecutorService executorService;
+    private String delimiter;
+    private int parallelism = 1;
 
     private S3Versions(AmazonS3 s3, String bucketName) {
         this.s3 = s3;
@@ -111,10 +124,62 @@ public class S3Versions implements Iterable<S3VersionSummary> {
         return this;
     }
 
+    /**
+     * Sets the executor service used to fetch the next page of version
+     * summaries while the current page is being consumed. By default, each
+     * page is fetched by the iterating thread when it is needed.
+     *
+     * @param executorService
+     *            The executor service to fetch the pages on; or null to fetch
+     *            them on the iterating thread.
+     */
+    public S3Versions withExecutorService(ExecutorService executorService) {
+        this.executorService = executorService;
+        return this;
+    }
+
+    /**
+     * Lists the versions in parallel: the versions of the keys directly under
+     * the prefix are listed with the given delimiter, and the versions of the
+     * keys of each common prefix found are then listed separately, up to the
+     * given number of common prefixes at a time. Requires an executor service
+     * to be set with {@link #withExecutorService(ExecutorService)}, and has no
+     * effect when iterating the versions of a single key.
+     * <p>
+     * With parallel listing, the version summaries are returned in key order
+     * within each common prefix, but in no particular order overall.
+     *
+     * @param delimiter
+     *            The delimiter of the common prefixes to list in parallel,
+     *            such as "/".
+     * @param parallelism
+     *            The maximum number of common prefixes listed at once.
+     */
+    public S3Versions withParallelListing(String delimiter, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        this.delimiter = delimiter;
+        this.parallelism = parallelism;
+        return this;
+    }
+
     public Integer getBatchSize() {
         return batchSize;
     }
 
+    public ExecutorService getExecutorService() {
+        return executorService;
+    }
+
+    public String getDelimiter() {
+        return delimiter;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
     public String getPrefix() {
         return prefix;
     }
@@ -133,8 +198,37 @@ public class S3Versions implements Iterable<S3VersionSummary> {
 
     private class VersionIterator implements Iterator<S3VersionSummary> {
 
-        private VersionListing currentListing = null;
+        private final ListingPageFetcher<VersionListing> fetcher =
+                new ListingPageFetcher<VersionListing>(
+                        getKey() != null ? getKey() : getPrefix(), getExecutorService(),
+                        getKey() != null ? null : getDelimiter(), getParallelism()) {
+            @Override
+            protected VersionListing listFirstPage(String prefix, String delimiter) {
+                ListVersionsRequest req = new ListVersionsRequest();
+                req.setBucketName(getBucketName());
+                req.setPrefix(prefix);
+                req.setDelimiter(delimiter);
+                req.setMaxResults(getBatchSize());
+                return getS3().listVersions(req);
+            }
+
+            @Override
+            protected VersionListing listNextPage(VersionListing previousPage) {
+                return getS3().listNextBatchOfVersions(previousPage);
+            }
+
+            @Override
+            protected boolean isTruncated(VersionListing page) {
+                return page.isTruncated();
+            }
+
+            @Override
+            protected List<String> getCommonPrefixes(VersionListing page) {
+                return page.getCommonPrefixes();
+            }
+        };
         private Iterator<S3VersionSummary> currentIterator = null;
+        private boolean done = false;
         private S3VersionSummary nextSummary = null;
 
         @Override
@@ -167,27 +261,19 @@ public class S3Versions implements Iterable<S3VersionSummary> {
         }
 
         private void prepareCurrentListing() {
-            while (currentListing == null
-                    || (!currentIterator.hasNext() && currentListing
-                            .isTruncated())) {
+            while (!done
+                    && (currentIterator == null || !currentIterator.hasNext())) {
+                VersionListing currentListing = fetcher.nextPage();
                 if (currentListing == null) {
-                    ListVersionsRequest req = new ListVersionsRequest();
-                    req.setBucketName(getBucketName());
-
-                    if (getKey() != null) {
-                        req.setPrefix(getKey());
-                    } else {
-                        req.setPrefix(getPrefix());
+                    done = true;
+                    if (currentIterator == null) {
+                        currentIterator = Collections
+                                .<S3VersionSummary> emptyList().iterator();
                     }
-
-                    req.setMaxResults(getBatchSize());
-                    currentListing = getS3().listVersions(req);
                 } else {
-                    currentListing = getS3().listNextBatchOfVersions(
-                            currentListing);
+                    currentIterator = currentListing.getVersionSummaries()
+                            .iterator();
                 }
-                currentIterator = currentListing.getVersionSummaries()
-                        .iterator();
             }
 
             if (nextSummary == null && currentIterator.hasNext()) {
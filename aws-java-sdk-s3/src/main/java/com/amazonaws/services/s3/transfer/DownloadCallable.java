@@ -18,8 +18,10 @@ import java.io.File;
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.net.SocketException;
+import java.nio.channels.FileChannel;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CountDownLatch;
@@ -28,6 +30,7 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
 import javax.net.ssl.SSLProtocolException;
 
@@ -48,6 +51,8 @@ import com.amazonaws.services.s3.transfer.internal.AbstractTransfer;
 import com.amazonaws.services.s3.transfer.internal.DownloadImpl;
 import com.amazonaws.services.s3.transfer.internal.DownloadMonitor;
 import com.amazonaws.services.s3.transfer.internal.DownloadPartCallable;
+import com.amazonaws.services.s3.transfer.internal.DownloadRangeCallable;
+import com.amazonaws.services.s3.transfer.internal.TransferManagerUtils;
 import com.amazonaws.util.IOUtils;
 
 @SdkInternalApi
@@ -66,6 +71,9 @@ final class DownloadCallable implements Callable<File> {
     private final List<Future<File>> futureFiles;
     private final boolean isDownloadParallel;
     private Integer lastFullyMergedPartNumber;
+    private final ExecutorService rangeExecutor;
+    private final List<FutureTask<Long>> futureRanges;
+    private final long objectLength;
 
     private long expectedFileLength;
 
@@ -75,6 +83,19 @@ final class DownloadCallable implements Callable<File> {
             long expectedFileLength, long timeout,
             ScheduledExecutorService executor,
             Integer lastFullyDownloadedPartNumber, boolean isDownloadParallel)
+    {
+        this(s3, latch, req, resumeExistingDownload, download, dstfile, origStartingByte,
+                expectedFileLength, timeout, executor, lastFullyDownloadedPartNumber,
+                isDownloadParallel, null, -1);
+    }
+
+    DownloadCallable(AmazonS3 s3, CountDownLatch latch,
+            GetObjectRequest req, boolean resumeExistingDownload,
+            DownloadImpl download, File dstfile, long origStartingByte,
+            long expectedFileLength, long timeout,
+            ScheduledExecutorService executor,
+            Integer lastFullyDownloadedPartNumber, boolean isDownloadParallel,
+            ExecutorService rangeExecutor, long objectLength)
     {
         if (s3 == null || latch == null || req == null || dstfile == null || download == null)
             throw new IllegalArgumentException();
@@ -91,6 +112,9 @@ final class DownloadCallable implements Callable<File> {
         this.futureFiles = new ArrayList<Future<File>>();
         this.lastFullyMergedPartNumber = lastFullyDownloadedPartNumber;
         this.isDownloadParallel = isDownloadParallel;
+        this.rangeExecutor = rangeExecutor;
+        this.futureRanges = new ArrayList<FutureTask<Long>>();
+        this.objectLength = objectLength;
     }
 
     /**
@@ -122,7 +146,10 @@ final class DownloadCallable implements Callable<File> {
 
             download.setState(TransferState.InProgress);
 
-            if (isDownloadParallel) {
+            if (isDownloadInRanges()) {
+                downloadInRanges(download.getDownloadRangeSize());
+                download.setState(TransferState.Completed);
+            } else if (isDownloadParallel) {
                 downloadInParallel(ServiceUtils.getPartCount(req, s3));
                 download.setState(TransferState.Completed);
             } else {
@@ -137,6 +164,9 @@ final class DownloadCallable implements Callable<File> {
             for (Future<File> f : futureFiles) {
                 f.cancel(true);
             }
+            for (Future<Long> f : futureRanges) {
+                f.cancel(true);
+            }
             // Downloads aren't allowed to move from canceled to failed
             if (download.getState() != TransferState.Canceled) {
                 download.setState(TransferState.Failed);
@@ -172,15 +202,7 @@ final class DownloadCallable implements Callable<File> {
         }
 
         for (int i = lastFullyMergedPartNumber + 1; i <= partCount; i++) {
-            GetObjectRequest getPartRequest = new GetObjectRequest(req.getBucketName(), req.getKey(),
-                    req.getVersionId()).withUnmodifiedSinceConstraint(req.getUnmodifiedSinceConstraint())
-                            .withModifiedSinceConstraint(req.getModifiedSinceConstraint())
-                            .withResponseHeaders(req.getResponseHeaders()).withSSECustomerKey(req.getSSECustomerKey())
-                            .withGeneralProgressListener(req.getGeneralProgressListener());
-
-            getPartRequest.setMatchingETagConstraints(req.getMatchingETagConstraints());
-            getPartRequest.setNonmatchingETagConstraints(req.getNonmatchingETagConstraints());
-            getPartRequest.setRequesterPays(req.isRequesterPays());
+            GetObjectRequest getPartRequest = createPartialRequest();
 
             futureFiles.add(
                     executor.submit(new DownloadPartCallable(s3, getPartRequest.withPartNumber(i), dstfile.getName())));
@@ -189,6 +211,123 @@ final class DownloadCallable implements Callable<File> {
         combineFiles();
     }
 
+    /**
+     * Downloads each byte range of the object directly to its offset in
+     * dstFile. Ranges are handed to the range executor; the calling thread
+     * also runs any range that no pool thread has picked up yet, so the
+     * download always makes progress even when the executor is saturated.
+     * <p>
+     * All the ranges write through the same file channel, which is closed
+     * when a thread writing to it is interrupted: canceling any one range,
+     * including when the thread of the download is interrupted while running
+     * one, aborts the whole download. {@link #call()} accordingly cancels all
+     * the ranges together on failure. Ranges completed before that stay
+     * recorded in the download, so a paused download resumes with the others.
+     */
+    private void downloadInRanges(long rangeSize) throws Exception {
+        int rangeCount = TransferManagerUtils.getRangeCount(objectLength, rangeSize);
+        RandomAccessFile raf = prepareDestinationFileForRanges(rangeSize, rangeCount);
+        try {
+            FileChannel channel = raf.getChannel();
+            for (int i = 0; i < rangeCount; i++) {
+                if (download.isRangeCompleted(i)) {
+                    continue;
+                }
+                long firstByte = i * rangeSize;
+                long lastByte = Math.min(firstByte + rangeSize, objectLength) - 1;
+                GetObjectRequest getRangeRequest = createRangeRequest(firstByte, lastByte);
+                FutureTask<Long> futureRange = new FutureTask<Long>(
+                        new DownloadRangeCallable(s3, getRangeRequest, channel, download, i));
+                futureRanges.add(futureRange);
+                rangeExecutor.execute(futureRange);
+            }
+
+            for (FutureTask<Long> futureRange : futureRanges) {
+                // No-op if the task has already been started by the executor
+                futureRange.run();
+                futureRange.get();
+            }
+        } finally {
+            IOUtils.closeQuietly(raf, LOG);
+        }
+    }
+
+    /**
+     * Sizes dstFile to the full object length, so that every byte range can
+     * be written at its offset, and opens it for writing. A fresh download
+     * discards any existing content; a resumed download keeps the ranges that
+     * have already been written.
+     */
+    private RandomAccessFile prepareDestinationFileForRanges(long rangeSize, int rangeCount) throws IOException {
+        if (!FileLocks.lock(dstfile)) {
+            throw new FileLockException("Fail to lock " + dstfile);
+        }
+        try {
+            if (resumeExistingDownload && download.getCompletedRanges().length > 0
+                    && dstfile.length() != objectLength) {
+                throw new AmazonClientException(
+                        "File " + dstfile.getAbsolutePath() + " has been modified since last pause.");
+            }
+            RandomAccessFile raf = new RandomAccessFile(dstfile, "rw");
+            try {
+                if (!resumeExistingDownload) {
+                    raf.setLength(0);
+                }
+                raf.setLength(objectLength);
+            } catch (IOException e) {
+                IOUtils.closeQuietly(raf, LOG);
+                throw e;
+            }
+
+            long completedBytes = 0;
+            for (int i = 0; i < rangeCount; i++) {
+                if (download.isRangeCompleted(i)) {
+                    completedBytes += Math.min(rangeSize, objectLength - i * rangeSize);
+                }
+            }
+            if (completedBytes > 0) {
+                download.getProgress().updateProgress(completedBytes);
+            }
+            return raf;
+        } finally {
+            FileLocks.unlock(dstfile);
+        }
+    }
+
+    /**
+     * Returns a copy of the original request, carrying over everything but
+     * the range and the part number.
+     */
+    private GetObjectRequest createPartialRequest() {
+        GetObjectRequest partialRequest = new GetObjectRequest(req.getBucketName(), req.getKey(),
+                req.getVersionId()).withUnmodifiedSinceConstraint(req.getUnmodifiedSinceConstraint())
+                        .withModifiedSinceConstraint(req.getModifiedSinceConstraint())
+                        .withResponseHeaders(req.getResponseHeaders()).withSSECustomerKey(req.getSSECustomerKey())
+                        .withGeneralProgressListener(req.getGeneralProgressListener());
+
+        partialRequest.setMatchingETagConstraints(req.getMatchingETagConstraints());
+        partialRequest.setNonmatchingETagConstraints(req.getNonmatchingETagConstraints());
+        partialRequest.setRequesterPays(req.isRequesterPays());
+        return partialRequest;
+    }
+
+    /**
+     * Returns a request for the given byte range of the object, pinned to the
+     * ETag of the object when the download started, so that the ranges of an
+     * object modified meanwhile are not mixed up in dstFile.
+     */
+    private GetObjectRequest createRangeRequest(long firstByte, long lastByte) {
+        GetObjectRequest rangeRequest = createPartialRequest().withRange(firstByte, lastByte);
+        String eTag = download.getObjectMetadata().getETag();
+        List<String> matchingETags = req.getMatchingETagConstraints();
+        // If the original request only matches other ETags, keep its
+        // constraints so that the ranges still fail them
+        if (eTag != null && (matchingETags == null || matchingETags.isEmpty() || matchingETags.contains(eTag))) {
+            rangeRequest.setMatchingETagConstraints(Collections.singletonList(eTag));
+        }
+        return rangeRequest;
+    }
+
     /**
      * Merges all the individual part Files into dstFile
      */
@@ -317,6 +456,10 @@ final class DownloadCallable implements Callable<File> {
         }
     }
 
+    private boolean isDownloadInRanges() {
+        return rangeExecutor != null && download.getDownloadRangeSize() != null;
+    }
+
     private boolean isTimeoutEnabled() {
         return timeout > 0;
     }
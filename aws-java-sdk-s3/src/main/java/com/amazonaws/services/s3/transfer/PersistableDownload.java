@@ -15,6 +15,7 @@
 package com.amazonaws.services.s3.transfer;
 
 import com.amazonaws.services.s3.model.ResponseHeaderOverrides;
+import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 /**
@@ -75,11 +76,33 @@ public final class PersistableDownload extends PersistableTransfer {
     @JsonProperty
     private final long lastModifiedTime;
 
+    /**
+     * The size of each byte range for a ranged parallel download; null if the
+     * download is not split into byte ranges.
+     */
+    @JsonProperty
+    private final Long downloadRangeSize;
+
+    /**
+     * The indexes of the byte ranges that have been successfully written into
+     * the downloaded file.
+     */
+    @JsonProperty
+    private final int[] completedRanges;
+
 
     public PersistableDownload() {
         this(null, null, null, null, null, false, null, null, 0L);
     }
 
+    public PersistableDownload(String bucketName, String key, String versionId, long[] range,
+            ResponseHeaderOverrides responseHeaders, boolean isRequesterPays, String file,
+            Integer lastFullyDownloadedPartNumber, long lastModifiedTime) {
+        this(bucketName, key, versionId, range, responseHeaders, isRequesterPays, file,
+                lastFullyDownloadedPartNumber, lastModifiedTime, null, null);
+    }
+
+    @JsonCreator
     public PersistableDownload(
             @JsonProperty(value = "bucketName") String bucketName,
             @JsonProperty(value = "key") String key,
@@ -89,7 +112,9 @@ public final class PersistableDownload extends PersistableTransfer {
             @JsonProperty(value = "isRequesterPays") boolean isRequesterPays,
             @JsonProperty(value = "file") String file,
             @JsonProperty(value = "lastFullyDownloadedPartNumber") Integer lastFullyDownloadedPartNumber,
-            @JsonProperty(value = "lastModifiedTime") long lastModifiedTime) {
+            @JsonProperty(value = "lastModifiedTime") long lastModifiedTime,
+            @JsonProperty(value = "downloadRangeSize") Long downloadRangeSize,
+            @JsonProperty(value = "completedRanges") int[] completedRanges) {
         this.bucketName = bucketName;
         this.key = key;
         this.versionId = versionId;
@@ -99,6 +124,8 @@ public final class PersistableDownload extends PersistableTransfer {
         this.file = file;
         this.lastFullyDownloadedPartNumber = lastFullyDownloadedPartNumber;
         this.lastModifiedTime = lastModifiedTime;
+        this.downloadRangeSize = downloadRangeSize;
+        this.completedRanges = completedRanges == null ? null : completedRanges.clone();
     }
 
     /**
@@ -169,4 +196,20 @@ public final class PersistableDownload extends PersistableTransfer {
     Long getlastModifiedTime() {
         return lastModifiedTime;
     }
+
+    /**
+     * Returns the size of each byte range for a ranged parallel download, or
+     * null if the download is not split into byte ranges.
+     */
+    Long getDownloadRangeSize() {
+        return downloadRangeSize;
+    }
+
+    /**
+     * Returns the indexes of the byte ranges that were successfully written
+     * into the downloaded file.
+     */
+    int[] getCompletedRanges() {
+        return completedRanges == null ? null : completedRanges.clone();
+    }
 }
@@ -46,6 +46,7 @@ import com.amazonaws.event.ProgressListener;
 import com.amazonaws.event.ProgressListenerChain;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3Client;
+import com.amazonaws.services.s3.AmazonS3Encryption;
 import com.amazonaws.services.s3.internal.FileLocks;
 import com.amazonaws.services.s3.internal.Mimetypes;
 import com.amazonaws.services.s3.internal.ServiceUtils;
@@ -53,6 +54,7 @@ import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
 import com.amazonaws.services.s3.model.CopyObjectRequest;
 import com.amazonaws.services.s3.model.GetObjectMetadataRequest;
 import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
 import com.amazonaws.services.s3.model.ListMultipartUploadsRequest;
 import com.amazonaws.services.s3.model.ListObjectsRequest;
 import com.amazonaws.services.s3.model.MultipartUpload;
@@ -629,6 +631,84 @@ public class TransferManager {
         return upload;
     }
 
+    /**
+     * Returns an output stream that uploads the bytes written to it to Amazon
+     * S3, without the size of the object having to be known in advance and
+     * without buffering the whole object in memory or on disk.
+     * <p>
+     * The written bytes are cut into parts of
+     * {@link TransferManagerConfiguration#getMinimumUploadPartSize()} bytes,
+     * which are uploaded in parallel by this <code>TransferManager</code> as
+     * soon as they are complete. Writes block while
+     * {@link TransferManagerConfiguration#getStreamingUploadMaxPartsInFlight()}
+     * parts are being uploaded, which bounds the memory used by the upload.
+     * <p>
+     * Closing the returned stream completes the upload. If writing to the
+     * stream fails, callers should call {@link UploadOutputStream#abort()} to
+     * discard the parts uploaded so far.
+     *
+     * @param bucketName
+     *            The name of the bucket to upload the new object to.
+     * @param key
+     *            The key in the specified bucket by which to store the new
+     *            object.
+     * @param objectMetadata
+     *            Additional information about the object being uploaded, such
+     *            as its content type or custom user metadata; may be null.
+     *
+     * @return A new <code>UploadOutputStream</code> to write the content of
+     *         the object to.
+     *
+     * @see #uploadStream(InitiateMultipartUploadRequest)
+     */
+    public UploadOutputStream uploadStream(String bucketName, String key,
+            ObjectMetadata objectMetadata) {
+        return uploadStream(new InitiateMultipartUploadRequest(bucketName, key)
+                .withObjectMetadata(objectMetadata));
+    }
+
+    /**
+     * Returns an output stream that uploads the bytes written to it to Amazon
+     * S3, without the size of the object having to be known in advance and
+     * without buffering the whole object in memory or on disk.
+     * <p>
+     * The written bytes are cut into parts of
+     * {@link TransferManagerConfiguration#getMinimumUploadPartSize()} bytes,
+     * which are uploaded in parallel by this <code>TransferManager</code> as
+     * soon as they are complete. Writes block while
+     * {@link TransferManagerConfiguration#getStreamingUploadMaxPartsInFlight()}
+     * parts are being uploaded, which bounds the memory used by the upload.
+     * <p>
+     * Closing the returned stream completes the upload. If writing to the
+     * stream fails, callers should call {@link UploadOutputStream#abort()} to
+     * discard the parts uploaded so far.
+     * <p>
+     * Streaming uploads are not supported by the Amazon S3 encryption client.
+     *
+     * @param initiateMultipartUploadRequest
+     *            The request containing the parameters of the upload, such as
+     *            the object metadata, access control and storage class.
+     *
+     * @return A new <code>UploadOutputStream</code> to write the content of
+     *         the object to.
+     */
+    public UploadOutputStream uploadStream(
+            InitiateMultipartUploadRequest initiateMultipartUploadRequest) {
+        assertParameterNotNull(initiateMultipartUploadRequest,
+                "The InitiateMultipartUploadRequest parameter must be specified when uploading a stream");
+        assertParameterNotNull(initiateMultipartUploadRequest.getBucketName(),
+                "The bucket name parameter must be specified when uploading a stream");
+        assertParameterNotNull(initiateMultipartUploadRequest.getKey(),
+                "The key parameter must be specified when uploading a stream");
+        if (s3 instanceof AmazonS3Encryption) {
+            throw new UnsupportedOperationException(
+                    "Streaming uploads are not supported by the Amazon S3 encryption client");
+        }
+        return new UploadOutputStream(s3, executorService, initiateMultipartUploadRequest,
+                configuration.getMinimumUploadPartSize(),
+                configuration.getStreamingUploadMaxPartsInFlight());
+    }
+
     /**
      * Schedules a new transfer to download data from Amazon S3 and save it to
      * the specified file. This method is non-blocking and returns immediately
@@ -794,7 +874,7 @@ public class TransferManager {
     public Download download(final GetObjectRequest getObjectRequest,
                              final File file, long timeoutMillis) {
         return doDownload(getObjectRequest, file, null, null, OVERWRITE_MODE,
-                timeoutMillis, null, 0L);
+                timeoutMillis, null, 0L, null, null);
     }
 
     /**
@@ -836,7 +916,7 @@ public class TransferManager {
     public Download download(final GetObjectRequest getObjectRequest,
             final File file, final S3ProgressListener progressListener) {
         return doDownload(getObjectRequest, file, null, progressListener,
-                OVERWRITE_MODE, 0, null, 0L);
+                OVERWRITE_MODE, 0, null, 0L, null, null);
     }
 
     /**
@@ -885,7 +965,7 @@ public class TransferManager {
                              final File file, final S3ProgressListener progressListener,
                              final long timeoutMillis) {
         return doDownload(getObjectRequest, file, null, progressListener,
-                OVERWRITE_MODE, timeoutMillis, null, 0L);
+                OVERWRITE_MODE, timeoutMillis, null, 0L, null, null);
     }
 
     /**
@@ -900,7 +980,9 @@ public class TransferManager {
             final boolean resumeExistingDownload,
             final long timeoutMillis,
             final Integer lastFullyDownloadedPart,
-            final long lastModifiedTimeRecordedDuringPause)
+            final long lastModifiedTimeRecordedDuringPause,
+            final Long resumedDownloadRangeSize,
+            final int[] completedRanges)
     {
         assertParameterNotNull(getObjectRequest,
                 "A valid GetObjectRequest must be provided to initiate download");
@@ -945,11 +1027,22 @@ public class TransferManager {
         }
 
         final long origStartingByte = startingByte;
-        final boolean isDownloadParallel = TransferManagerUtils.isDownloadParallelizable(s3, getObjectRequest,
-                ServiceUtils.getPartCount(getObjectRequest, s3));
+        // A download paused while split into byte ranges is resumed in the
+        // same ranges, regardless of the current configuration
+        Long downloadRangeSize = resumedDownloadRangeSize;
+        if (downloadRangeSize == null && !resumeExistingDownload
+                && TransferManagerUtils.isRangedDownloadParallelizable(s3, getObjectRequest,
+                        configuration, objectMetadata.getContentLength())) {
+            downloadRangeSize = configuration.getDownloadRangeSize();
+        }
+        final boolean isDownloadInRanges = downloadRangeSize != null;
+        final boolean isDownloadParallel = !isDownloadInRanges
+                && TransferManagerUtils.isDownloadParallelizable(s3, getObjectRequest,
+                        ServiceUtils.getPartCount(getObjectRequest, s3));
         // We still pass the unfiltered listener chain into DownloadImpl
         final DownloadImpl download = new DownloadImpl(description, transferProgress, listenerChain, null,
-                stateListener, getObjectRequest, file, objectMetadata, isDownloadParallel);
+                stateListener, getObjectRequest, file, objectMetadata, isDownloadParallel,
+                downloadRangeSize, completedRanges);
 
         long totalBytesToDownload = lastByte - startingByte + 1;
         transferProgress.setTotalBytesToTransfer(totalBytesToDownload);
@@ -962,7 +1055,7 @@ public class TransferManager {
                         + " with key " + getObjectRequest.getKey() + " is modified on Amazon S3 since the last pause.");
             }
 
-            if (!isDownloadParallel) {
+            if (!isDownloadParallel && !isDownloadInRanges) {
                 if (!FileLocks.lock(file)) {
                     throw new FileLockException("Fail to lock " + file + " for resume download");
                 }
@@ -996,7 +1089,8 @@ public class TransferManager {
             new DownloadCallable(s3, latch,
                 getObjectRequest, resumeExistingDownload, download, file,
                 origStartingByte, fileLength, timeoutMillis, timedThreadPool,
-                lastFullyDownloadedPart, isDownloadParallel));
+                lastFullyDownloadedPart, isDownloadParallel, executorService,
+                objectMetadata.getContentLength()));
         download.setMonitor(new DownloadMonitor(download, future));
         latch.countDown();
         return download;
@@ -1112,7 +1206,7 @@ public class TransferManager {
                                             listener),
                             f,
                             transferListener, null, false, 0,
-                            null, 0L));
+                            null, 0L, null, null));
         }
 
         if ( downloads.isEmpty() ) {
@@ -1725,7 +1819,9 @@ public class TransferManager {
         return doDownload(request, new File(persistableDownload.getFile()), null, null,
                 APPEND_MODE, 0,
                 persistableDownload.getLastFullyDownloadedPartNumber(),
-                persistableDownload.getlastModifiedTime());
+                persistableDownload.getlastModifiedTime(),
+                persistableDownload.getDownloadRangeSize(),
+                persistableDownload.getCompletedRanges());
     }
 
     /**
@@ -39,6 +39,15 @@ public class TransferManagerConfiguration {
     /** Default minimum size of each part for multi-part copy. */
     private static final long DEFAULT_MINIMUM_COPY_PART_SIZE = 100 * MB;
 
+    /** Default size of each byte range for ranged parallel downloads. */
+    private static final long DEFAULT_DOWNLOAD_RANGE_SIZE = 16 * MB;
+
+    /** Default maximum number of parts uploaded at once by a streaming upload. */
+    private static final int DEFAULT_STREAMING_UPLOAD_MAX_PARTS_IN_FLIGHT = 4;
+
+    /** Default maximum number of parts uploaded at once by a pipelined encrypted upload. */
+    private static final int DEFAULT_ENCRYPTED_UPLOAD_MAX_PARTS_IN_FLIGHT = 4;
+
     /**
      * The minimum part size for upload parts. Decreasing the minimum part size
      * will cause multipart uploads to be split into a larger number of smaller
@@ -77,6 +86,41 @@ public class TransferManagerConfiguration {
      */
     private long multipartCopyPartSize = DEFAULT_MINIMUM_COPY_PART_SIZE;
 
+    /**
+     * Whether downloads are split into byte ranges that are fetched in
+     * parallel and written directly to their offsets in the destination file.
+     * Disabled by default.
+     */
+    private boolean rangedDownloadEnabled = false;
+
+    /**
+     * The size in bytes of each byte range fetched by a ranged parallel
+     * download. Objects no larger than this size are downloaded with a single
+     * request.
+     */
+    private long downloadRangeSize = DEFAULT_DOWNLOAD_RANGE_SIZE;
+
+    /**
+     * The maximum number of parts uploaded at once by each streaming upload.
+     * Together with the minimum upload part size, this bounds the memory used
+     * by a streaming upload.
+     */
+    private int streamingUploadMaxPartsInFlight = DEFAULT_STREAMING_UPLOAD_MAX_PARTS_IN_FLIGHT;
+
+    /**
+     * Whether multipart uploads through an Amazon S3 encryption client are
+     * encrypted ahead into temporary part files by a single thread, while the
+     * finished parts are uploaded in parallel. Disabled by default.
+     */
+    private boolean pipelinedEncryptedUploadEnabled = false;
+
+    /**
+     * The maximum number of parts uploaded at once by each pipelined encrypted
+     * upload. Together with the part size, this bounds the temporary disk
+     * space used by a pipelined encrypted upload.
+     */
+    private int encryptedUploadMaxPartsInFlight = DEFAULT_ENCRYPTED_UPLOAD_MAX_PARTS_IN_FLIGHT;
+
     /**
      * Returns the minimum part size for upload parts.
      * Decreasing the minimum part size causes
@@ -224,4 +268,148 @@ public class TransferManagerConfiguration {
     public void setMultipartUploadThreshold(int multipartUploadThreshold) {
         setMultipartUploadThreshold((long) multipartUploadThreshold);
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns true if downloads are split into byte ranges that are fetched in
+     * parallel and written directly to their offsets in the destination file.
+     * Ranged downloads apply to any object, regardless of whether it was
+     * uploaded using multipart upload, but are not used for encrypted objects
+     * or for requests that already specify a range or a part number.
+     *
+     * @return True if ranged parallel downloads are enabled.
+     */
+    public boolean isRangedDownloadEnabled() {
+        return rangedDownloadEnabled;
+    }
+
+    /**
+     * Sets whether downloads are split into byte ranges that are fetched in
+     * parallel and written directly to their offsets in the destination file.
+     * Ranged downloads apply to any object, regardless of whether it was
+     * uploaded using multipart upload, but are not used for encrypted objects
+     * or for requests that already specify a range or a part number.
+     *
+     * @param rangedDownloadEnabled
+     *            True to enable ranged parallel downloads.
+     */
+    public void setRangedDownloadEnabled(boolean rangedDownloadEnabled) {
+        this.rangedDownloadEnabled = rangedDownloadEnabled;
+    }
+
+    /**
+     * Returns the size in bytes of each byte range fetched by a ranged
+     * parallel download. Objects no larger than this size are downloaded with
+     * a single request.
+     *
+     * @return The size in bytes of each byte range of a ranged download.
+     */
+    public long getDownloadRangeSize() {
+        return downloadRangeSize;
+    }
+
+    /**
+     * Sets the size in bytes of each byte range fetched by a ranged parallel
+     * download. Decreasing the range size increases the number of requests
+     * made to Amazon S3 for each download.
+     *
+     * @param downloadRangeSize
+     *            The size in bytes of each byte range of a ranged download.
+     */
+    public void setDownloadRangeSize(long downloadRangeSize) {
+        if (downloadRangeSize <= 0) {
+            throw new IllegalArgumentException("Download range size must be positive");
+        }
+        this.downloadRangeSize = downloadRangeSize;
+    }
+
+    /**
+     * Returns the maximum number of parts uploaded at once by each streaming
+     * upload. Writes to the stream of a streaming upload block while that many
+     * parts are being uploaded, so that a streaming upload holds at most one
+     * more part in memory than this number.
+     *
+     * @return The maximum number of parts uploaded at once by a streaming
+     *         upload.
+     * @see TransferManager#uploadStream(com.amazonaws.services.s3.model.InitiateMultipartUploadRequest)
+     */
+    public int getStreamingUploadMaxPartsInFlight() {
+        return streamingUploadMaxPartsInFlight;
+    }
+
+    /**
+     * Sets the maximum number of parts uploaded at once by each streaming
+     * upload. Writes to the stream of a streaming upload block while that many
+     * parts are being uploaded, so that a streaming upload holds at most one
+     * more part in memory than this number.
+     *
+     * @param streamingUploadMaxPartsInFlight
+     *            The maximum number of parts uploaded at once by a streaming
+     *            upload.
+     */
+    public void setStreamingUploadMaxPartsInFlight(int streamingUploadMaxPartsInFlight) {
+        if (streamingUploadMaxPartsInFlight <= 0) {
+            throw new IllegalArgumentException("Maximum number of parts in flight must be positive");
+        }
+        this.streamingUploadMaxPartsInFlight = streamingUploadMaxPartsInFlight;
+    }
+
+    /**
+     * Returns true if multipart uploads through an Amazon S3 encryption client
+     * are pipelined: the object is encrypted in order by a single thread into
+     * temporary part files, while the finished parts are uploaded in parallel
+     * by the thread pool of the {@link TransferManager}. Otherwise, the parts
+     * of an encrypted upload are encrypted and uploaded one at a time.
+     * <p>
+     * Pipelined encrypted uploads are not used when the part size is below
+     * the minimum part size allowed by Amazon S3.
+     *
+     * @return True if pipelined encrypted uploads are enabled.
+     */
+    public boolean isPipelinedEncryptedUploadEnabled() {
+        return pipelinedEncryptedUploadEnabled;
+    }
+
+    /**
+     * Sets whether multipart uploads through an Amazon S3 encryption client
+     * are pipelined: the object is encrypted in order by a single thread into
+     * temporary part files, while the finished parts are uploaded in parallel
+     * by the thread pool of the {@link TransferManager}. Otherwise, the parts
+     * of an encrypted upload are encrypted and uploaded one at a time.
+     *
+     * @param pipelinedEncryptedUploadEnabled
+     *            True to enable pipelined encrypted uploads.
+     */
+    public void setPipelinedEncryptedUploadEnabled(boolean pipelinedEncryptedUploadEnabled) {
+        this.pipelinedEncryptedUploadEnabled = pipelinedEncryptedUploadEnabled;
+    }
+
+    /**
+     * Returns the maximum number of parts uploaded at once by each pipelined
+     * encrypted upload. Encryption waits for a part to be uploaded when that
+     * many parts are in flight, so that a pipelined encrypted upload keeps at
+     * most one more part than this number in temporary files.
+     *
+     * @return The maximum number of parts uploaded at once by a pipelined
+     *         encrypted upload.
+     */
+    public int getEncryptedUploadMaxPartsInFlight() {
+        return encryptedUploadMaxPartsInFlight;
+    }
+
+    /**
+     * Sets the maximum number of parts uploaded at once by each pipelined
+     * encrypted upload. Encryption waits for a part to be uploaded when that
+     * many parts are in flight, so that a pipelined encrypted upload keeps at
+     * most one more part than this number in temporary files.
+     *
+     * @param encryptedUploadMaxPartsInFlight
+     *            The maximum number of parts uploaded at once by a pipelined
+     *            encrypted upload.
+     */
+    public void setEncryptedUploadMaxPartsInFlight(int encryptedUploadMaxPartsInFlight) {
+        if (encryptedUploadMaxPartsInFlight <= 0) {
+            throw new IllegalArgumentException("Maximum number of parts in flight must be positive");
+        }
+        this.encryptedUploadMaxPartsInFlight = encryptedUploadMaxPartsInFlight;
+    }
+}
@@ -0,0 +1,351 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.services.s3.transfer;
+
+import static com.amazonaws.services.s3.internal.Constants.MAXIMUM_UPLOAD_PARTS;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.annotation.NotThreadSafe;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadResult;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PartETag;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.PutObjectResult;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import com.amazonaws.services.s3.transfer.model.UploadResult;
+
+/**
+ * An output stream that uploads the bytes written to it to Amazon S3 as a
+ * multipart upload, without having to know the size of the object in advance
+ * or to stage the data on disk.
+ * <p>
+ * The written bytes are cut into parts of
+ * {@link TransferManagerConfiguration#getMinimumUploadPartSize()} bytes, each
+ * of which is uploaded by the thread pool of the {@link TransferManager} as
+ * soon as it is complete. At most
+ * {@link TransferManagerConfiguration#getStreamingUploadMaxPartsInFlight()}
+ * parts are being uploaded at any time; writes block until a part has been
+ * uploaded when that many parts are in flight, so that the memory used by
+ * the stream is bounded by one more part than that number.
+ * <p>
+ * Closing the stream uploads the last part and completes the upload; objects
+ * smaller than one part are uploaded with a single request. If writing fails,
+ * callers should call {@link #abort()} to discard the parts uploaded so far.
+ * <p>
+ * As each part is held in memory, at most
+ * {@value com.amazonaws.services.s3.internal.Constants#MAXIMUM_UPLOAD_PARTS}
+ * times the part size can be written to the stream.
+ *
+ * @see TransferManager#uploadStream(InitiateMultipartUploadRequest)
+ */
+@NotThreadSafe
+public class UploadOutputStream extends OutputStream {
+    private static final Log log = LogFactory.getLog(UploadOutputStream.class);
+
+    private final AmazonS3 s3;
+    private final ExecutorService threadPool;
+    private final InitiateMultipartUploadRequest initiateRequest;
+    private final int partSize;
+    /** Limits the number of parts being uploaded. */
+    private final Semaphore partsInFlight;
+    /** Buffers of parts already uploaded, for reuse by the next parts. */
+    private final Queue<byte[]> freeBuffers = new ConcurrentLinkedQueue<byte[]>();
+    private final List<Future<PartETag>> futures = new ArrayList<Future<PartETag>>();
+
+    private byte[] buffer;
+    private int position;
+    private int partNumber;
+    private String uploadId;
+    private UploadResult uploadResult;
+    private boolean closed;
+    /** The first failure of a part upload; null if none. */
+    private volatile Throwable failure;
+
+    UploadOutputStream(AmazonS3 s3, ExecutorService threadPool,
+            InitiateMultipartUploadRequest initiateRequest, long partSize,
+            int maxPartsInFlight) {
+        if (maxPartsInFlight < 1) {
+            throw new IllegalArgumentException("The maximum number of parts in flight must be positive");
+        }
+        this.s3 = s3;
+        this.threadPool = threadPool;
+        this.initiateRequest = initiateRequest;
+        // Leave some headroom below the maximum size of an array
+        this.partSize = (int) Math.min(partSize, Integer.MAX_VALUE - 8);
+        this.partsInFlight = new Semaphore(maxPartsInFlight);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureWritable();
+        if (buffer == null) {
+            buffer = nextBuffer();
+        }
+        buffer[position++] = (byte) b;
+        if (position == partSize) {
+            uploadPart();
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        ensureWritable();
+        while (len > 0) {
+            if (buffer == null) {
+                buffer = nextBuffer();
+            }
+            int n = Math.min(len, partSize - position);
+            System.arraycopy(b, off, buffer, position, n);
+            position += n;
+            off += n;
+            len -= n;
+            if (position == partSize) {
+                uploadPart();
+            }
+        }
+    }
+
+    /**
+     * Uploads the last part and completes the upload, waiting for all the
+     * parts to be uploaded. The upload is aborted if any part failed to
+     * upload.
+     *
+     * @throws AmazonClientException
+     *             If any errors are encountered while uploading the object.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        ensureWritable();
+        closed = true;
+        try {
+            if (uploadId == null) {
+                uploadResult = putObject();
+            } else {
+                if (position > 0) {
+                    uploadPart();
+                }
+                uploadResult = completeUpload();
+            }
+        } catch (IOException e) {
+            abort();
+            throw e;
+        } catch (RuntimeException e) {
+            abort();
+            throw e;
+        } finally {
+            buffer = null;
+            freeBuffers.clear();
+        }
+    }
+
+    /**
+     * Aborts the upload, discarding the parts uploaded so far. Once aborted,
+     * the stream can no longer be written to. Has no effect once the upload
+     * has completed.
+     */
+    public void abort() {
+        if (uploadResult != null) {
+            return;
+        }
+        closed = true;
+        buffer = null;
+        for (Future<PartETag> future : futures) {
+            future.cancel(true);
+        }
+        if (uploadId != null) {
+            try {
+                s3.abortMultipartUpload(TransferManager.appendMultipartUserAgent(
+                        new AbortMultipartUploadRequest(initiateRequest.getBucketName(),
+                                initiateRequest.getKey(), uploadId)));
+            } catch (Exception e) {
+                log.info("Unable to abort multipart upload, you may need to manually remove uploaded parts: "
+                        + e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Returns the result of the upload once the stream has been closed; or
+     * null if the stream is still open or the upload failed.
+     */
+    public UploadResult getUploadResult() {
+        return uploadResult;
+    }
+
+    private void ensureWritable() throws IOException {
+        if (closed) {
+            throw new IOException("The upload stream is closed");
+        }
+        if (failure != null) {
+            abort();
+            throw new AmazonClientException("Unable to upload part: " + failure.getMessage(), failure);
+        }
+    }
+
+    private byte[] nextBuffer() {
+        byte[] b = freeBuffers.poll();
+        return b == null ? new byte[partSize] : b;
+    }
+
+    /**
+     * Submits the current buffer as the next part, waiting for a part to be
+     * uploaded if too many parts are in flight.
+     */
+    private void uploadPart() throws IOException {
+        if (partNumber == MAXIMUM_UPLOAD_PARTS) {
+            throw new AmazonClientException("Unable to upload more than " + MAXIMUM_UPLOAD_PARTS
+                    + " parts; increase the minimum upload part size to upload larger objects");
+        }
+        if (uploadId == null) {
+            uploadId = initiateUpload();
+        }
+        try {
+            partsInFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AmazonClientException("Interrupted while waiting for a part to be uploaded", e);
+        }
+        final byte[] part = buffer;
+        final UploadPartRequest request = new UploadPartRequest()
+            .withBucketName(initiateRequest.getBucketName())
+            .withKey(initiateRequest.getKey())
+            .withUploadId(uploadId)
+            .withPartNumber(++partNumber)
+            .withInputStream(new ByteArrayInputStream(part, 0, position))
+            .withPartSize(position)
+            .withLastPart(closed);
+        request.setSSECustomerKey(initiateRequest.getSSECustomerKey());
+        request.setGeneralProgressListener(initiateRequest.getGeneralProgressListener());
+        request.setRequestMetricCollector(initiateRequest.getRequestMetricCollector());
+        TransferManager.appendMultipartUserAgent(request);
+        buffer = null;
+        position = 0;
+        try {
+            futures.add(threadPool.submit(new Callable<PartETag>() {
+                public PartETag call() throws Exception {
+                    try {
+                        return s3.uploadPart(request).getPartETag();
+                    } catch (Exception e) {
+                        if (failure == null) {
+                            failure = e;
+                        }
+                        throw e;
+                    } finally {
+                        freeBuffers.offer(part);
+                        partsInFlight.release();
+                    }
+                }
+            }));
+        } catch (RuntimeException e) {
+            partsInFlight.release();
+            throw e;
+        }
+    }
+
+    private String initiateUpload() {
+        TransferManager.appendMultipartUserAgent(initiateRequest);
+        String id = s3.initiateMultipartUpload(initiateRequest).getUploadId();
+        log.debug("Initiated new multipart upload: " + id);
+        return id;
+    }
+
+    private UploadResult completeUpload() throws IOException {
+        List<PartETag> partETags = new ArrayList<PartETag>(futures.size());
+        for (Future<PartETag> future : futures) {
+            try {
+                partETags.add(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AmazonClientException("Interrupted while waiting for the upload to complete", e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof AmazonClientException) {
+                    throw (AmazonClientException) cause;
+                }
+                throw new AmazonClientException("Unable to upload part: " + cause.getMessage(), cause);
+            }
+        }
+        CompleteMultipartUploadRequest req = new CompleteMultipartUploadRequest(
+                initiateRequest.getBucketName(), initiateRequest.getKey(), uploadId, partETags)
+            .withGeneralProgressListener(initiateRequest.getGeneralProgressListener())
+            .withRequestMetricCollector(initiateRequest.getRequestMetricCollector());
+        CompleteMultipartUploadResult res = s3.completeMultipartUpload(
+                TransferManager.appendMultipartUserAgent(req));
+
+        UploadResult result = new UploadResult();
+        result.setBucketName(res.getBucketName());
+        result.setKey(res.getKey());
+        result.setETag(res.getETag());
+        result.setVersionId(res.getVersionId());
+        return result;
+    }
+
+    /**
+     * Uploads the bytes written so far, which fit in a single part, with a
+     * single request.
+     */
+    private UploadResult putObject() {
+        ObjectMetadata metadata = initiateRequest.getObjectMetadata();
+        metadata = metadata == null ? new ObjectMetadata() : metadata.clone();
+        metadata.setContentLength(position);
+        byte[] bytes = buffer == null ? new byte[0] : buffer;
+        PutObjectRequest req = new PutObjectRequest(initiateRequest.getBucketName(),
+                initiateRequest.getKey(), new ByteArrayInputStream(bytes, 0, position), metadata)
+            .withCannedAcl(initiateRequest.getCannedACL())
+            .withAccessControlList(initiateRequest.getAccessControlList())
+            .withRedirectLocation(initiateRequest.getRedirectLocation())
+            .withSSECustomerKey(initiateRequest.getSSECustomerKey())
+            .withSSEAwsKeyManagementParams(initiateRequest.getSSEAwsKeyManagementParams())
+            .withGeneralProgressListener(initiateRequest.getGeneralProgressListener())
+            .withRequestMetricCollector(initiateRequest.getRequestMetricCollector());
+        if (initiateRequest.getStorageClass() != null) {
+            req.setStorageClass(initiateRequest.getStorageClass());
+        }
+        PutObjectResult res = s3.putObject(TransferManager.appendSingleObjectUserAgent(req));
+
+        UploadResult result = new UploadResult();
+        result.setBucketName(initiateRequest.getBucketName());
+        result.setKey(initiateRequest.getKey());
+        result.setETag(res.getETag());
+        result.setVersionId(res.getVersionId());
+        return result;
+    }
+}
@@ -16,6 +16,7 @@ package com.amazonaws.services.s3.transfer.internal;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.BitSet;
 
 import com.amazonaws.annotation.SdkInternalApi;
 import com.amazonaws.event.ProgressEventType;
@@ -41,6 +42,18 @@ public class DownloadImpl extends AbstractTransfer implements Download {
      */
     private Integer lastFullyDownloadedPartNumber;
 
+    /**
+     * The size of each byte range for ranged parallel downloads; null if the
+     * download is not split into byte ranges.
+     */
+    private final Long downloadRangeSize;
+
+    /**
+     * The byte ranges that have been successfully written into the downloaded
+     * file, for ranged parallel downloads.
+     */
+    private final BitSet completedRanges = new BitSet();
+
     private final GetObjectRequest getObjectRequest;
     private final File file;
     private final ObjectMetadata objectMetadata;
@@ -58,8 +71,23 @@ public class DownloadImpl extends AbstractTransfer implements Download {
             ProgressListenerChain progressListenerChain, S3Object s3Object, TransferStateChangeListener listener,
             GetObjectRequest getObjectRequest, File file,
             ObjectMetadata objectMetadata, boolean isDownloadParallel) {
+        this(description, transferProgress, progressListenerChain, s3Object, listener,
+                getObjectRequest, file, objectMetadata, isDownloadParallel, null, null);
+    }
+
+    public DownloadImpl(String description, TransferProgress transferProgress,
+            ProgressListenerChain progressListenerChain, S3Object s3Object, TransferStateChangeListener listener,
+            GetObjectRequest getObjectRequest, File file,
+            ObjectMetadata objectMetadata, boolean isDownloadParallel,
+            Long downloadRangeSize, int[] completedRanges) {
         super(description, transferProgress, progressListenerChain, listener);
         this.s3Object = s3Object;
+        this.downloadRangeSize = downloadRangeSize;
+        if (completedRanges != null) {
+            for (int range : completedRanges) {
+                this.completedRanges.set(range);
+            }
+        }
         this.objectMetadata = objectMetadata;
         this.getObjectRequest = getObjectRequest;
         this.file = file;
@@ -123,6 +151,55 @@ public class DownloadImpl extends AbstractTransfer implements Download {
         return lastFullyDownloadedPartNumber;
     }
 
+    /**
+     * Only for internal use.
+     * For ranged parallel downloads, records that the given byte range has
+     * been successfully written into the download file. Then notify the
+     * listeners that new persistableTransfer is available.
+     */
+    @SdkInternalApi
+    public void updatePersistableTransferForRange(int completedRange) {
+        synchronized (this) {
+            completedRanges.set(completedRange);
+        }
+
+        persistableDownload = captureDownloadState(getObjectRequest, file);
+        S3ProgressPublisher.publishTransferPersistable(progressListenerChain, persistableDownload);
+    }
+
+    /**
+     * For ranged parallel downloads, returns the size of each byte range;
+     * returns null for downloads that are not split into byte ranges.
+     */
+    public Long getDownloadRangeSize() {
+        return downloadRangeSize;
+    }
+
+    /**
+     * For ranged parallel downloads, returns true if the given byte range has
+     * been successfully written into the download file.
+     */
+    public synchronized boolean isRangeCompleted(int range) {
+        return completedRanges.get(range);
+    }
+
+    /**
+     * For ranged parallel downloads, returns the indexes of the byte ranges
+     * that have been successfully written into the download file; returns null
+     * for downloads that are not split into byte ranges.
+     */
+    public synchronized int[] getCompletedRanges() {
+        if (downloadRangeSize == null) {
+            return null;
+        }
+        int[] ranges = new int[completedRanges.cardinality()];
+        int i = 0;
+        for (int range = completedRanges.nextSetBit(0); range >= 0; range = completedRanges.nextSetBit(range + 1)) {
+            ranges[i++] = range;
+        }
+        return ranges;
+    }
+
     /**
      * Cancels this download.
      *
@@ -180,7 +257,8 @@ public class DownloadImpl extends AbstractTransfer implements Download {
                     getObjectRequest.getVersionId(), getObjectRequest.getRange(),
                     getObjectRequest.getResponseHeaders(), getObjectRequest.isRequesterPays(),
                     file.getAbsolutePath(), getLastFullyDownloadedPartNumber(),
-                    getObjectMetadata().getLastModified().getTime());
+                    getObjectMetadata().getLastModified().getTime(),
+                    getDownloadRangeSize(), getCompletedRanges());
         }
         return null;
     }
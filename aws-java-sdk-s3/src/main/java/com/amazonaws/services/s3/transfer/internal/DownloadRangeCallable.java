@@ -0,0 +1,156 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *    http://aws.amazon.com/apache2.0
+ *
+ * This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.amazonaws.services.s3.transfer.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.Callable;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.amazonaws.AbortedException;
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.annotation.SdkInternalApi;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.S3Object;
+import com.amazonaws.services.s3.model.S3ObjectInputStream;
+import com.amazonaws.util.IOUtils;
+
+/**
+ * Helper class to get a byte range of an object from s3 and write the range
+ * data directly to its offset in the destination file, using positional writes
+ * on a file channel shared by all the ranges of the download.
+ * <p>
+ * A range which fails while its data is being transferred is downloaded once
+ * more, as a serial download is. Unlike a serial download, which is canceled
+ * by aborting its connection, a range is canceled by interrupting its thread,
+ * so a SocketException or SSLProtocolException is retried as well.
+ * <p>
+ * Interrupting a thread blocked in a write to the file channel closes the
+ * channel, and so the destination file, for every range of the download:
+ * canceling any one range aborts the whole download. Ranges are therefore
+ * only canceled together, when the download fails, is paused or is aborted,
+ * and a range failing because the channel was closed under it is reported
+ * as an {@link AbortedException}, which is never retried.
+ */
+@SdkInternalApi
+public class DownloadRangeCallable implements Callable<Long> {
+    private static final Log LOG = LogFactory.getLog(DownloadRangeCallable.class);
+    private static final int BUFFER_SIZE = 128 * 1024;
+
+    private final AmazonS3 s3;
+    private final GetObjectRequest getRangeRequest;
+    private final FileChannel destinationChannel;
+    private final DownloadImpl download;
+    private final int rangeIndex;
+
+    public DownloadRangeCallable(AmazonS3 s3, GetObjectRequest getRangeRequest,
+            FileChannel destinationChannel, DownloadImpl download, int rangeIndex) {
+        this.s3 = s3;
+        this.getRangeRequest = getRangeRequest;
+        this.destinationChannel = destinationChannel;
+        this.download = download;
+        this.rangeIndex = rangeIndex;
+    }
+
+    /**
+     * Returns the number of bytes written into the destination file.
+     */
+    public Long call() throws Exception {
+        boolean hasRetried = false;
+        for (;;) {
+            S3Object s3Object = s3.getObject(getRangeRequest);
+            if (s3Object == null) {
+                // The constraints of the request, including the ETag the
+                // ranges are pinned to, are no longer met
+                throw new AmazonClientException("Unable to download byte range " + rangeIndex
+                        + ": the object no longer satisfies the constraints of the request,"
+                        + " it may have been modified since the download started");
+            }
+            try {
+                long bytesWritten = downloadRange(s3Object.getObjectContent());
+                download.updatePersistableTransferForRange(rangeIndex);
+                return bytesWritten;
+            } catch (AmazonClientException ace) {
+                if (!ace.isRetryable() || hasRetried || Thread.currentThread().isInterrupted()) {
+                    throw ace;
+                }
+                LOG.info("Retry the download of byte range " + rangeIndex + " of object "
+                        + s3Object.getKey() + " (bucket " + s3Object.getBucketName() + ")", ace);
+                hasRetried = true;
+            }
+        }
+    }
+
+    private long downloadRange(S3ObjectInputStream objectContent) {
+        long position = getRangeRequest.getRange()[0];
+        long bytesWritten;
+        try {
+            bytesWritten = writeToChannel(objectContent, position);
+        } catch (ClosedByInterruptException e) {
+            // This range was canceled while writing, which closed the
+            // destination file for all the other ranges as well
+            objectContent.abort();
+            throw new AbortedException("Download of byte range " + rangeIndex + " was interrupted", e);
+        } catch (ClosedChannelException e) {
+            // Another range was canceled while writing, or the download has
+            // failed and closed the destination file
+            objectContent.abort();
+            throw new AbortedException("Download of byte range " + rangeIndex
+                    + " was aborted as the download was canceled or has failed", e);
+        } catch (IOException e) {
+            objectContent.abort();
+            throw new AmazonClientException("Unable to store byte range " + rangeIndex
+                    + " of object data: " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            objectContent.abort();
+            throw e;
+        }
+        IOUtils.closeQuietly(objectContent, LOG);
+
+        long expectedLength = getRangeRequest.getRange()[1] - position + 1;
+        if (bytesWritten != expectedLength) {
+            throw new AmazonClientException("Byte range " + rangeIndex + " of object data is incomplete: expected "
+                    + expectedLength + " bytes but received " + bytesWritten);
+        }
+        return bytesWritten;
+    }
+
+    private long writeToChannel(InputStream in, long startPosition) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        ByteBuffer byteBuffer = ByteBuffer.wrap(buffer);
+        long position = startPosition;
+        int bytesRead;
+        while ((bytesRead = in.read(buffer)) > -1) {
+            // Leave the interrupt status set for the thread running the range,
+            // which may be the one waiting on the whole download
+            if (Thread.currentThread().isInterrupted()) {
+                throw new AbortedException("Download of byte range " + rangeIndex + " was interrupted");
+            }
+            byteBuffer.clear();
+            byteBuffer.limit(bytesRead);
+            while (byteBuffer.hasRemaining()) {
+                position += destinationChannel.write(byteBuffer, position);
+            }
+        }
+        return position - startPosition;
+    }
+}
@@ -15,6 +15,7 @@
 package com.amazonaws.services.s3.transfer.internal;
 
 import static com.amazonaws.services.s3.internal.Constants.MAXIMUM_UPLOAD_PARTS;
+import static com.amazonaws.services.s3.internal.Constants.MB;
 
 import java.io.File;
 import java.util.concurrent.Executors;
@@ -23,6 +24,7 @@ import java.util.concurrent.ThreadPoolExecutor;
 
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3Encryption;
+import com.amazonaws.services.s3.AmazonS3EncryptionClient;
 import com.amazonaws.services.s3.model.CopyObjectRequest;
 import com.amazonaws.services.s3.model.GetObjectRequest;
 import com.amazonaws.services.s3.model.PutObjectRequest;
@@ -36,6 +38,9 @@ import com.amazonaws.util.ValidationUtils;
  */
 public class TransferManagerUtils {
 
+    /** The minimum size of the parts of a pipelined encrypted upload. */
+    private static final long MINIMUM_PIPELINED_ENCRYPTED_PART_SIZE = 5 * MB;
+
     /**
      * Returns a new thread pool configured with the default settings.
      *
@@ -75,6 +80,27 @@ public class TransferManagerUtils {
         return (getRequestFile(putObjectRequest) != null);
     }
 
+    /**
+     * Returns true if the specified encrypted upload can be encrypted ahead
+     * into temporary part files by a single thread, while the finished parts
+     * are uploaded in parallel.
+     *
+     * @param s3
+     *            The client used for the upload.
+     * @param configuration
+     *            The configuration of the transfer manager.
+     * @param partSize
+     *            The size of the upload parts.
+     *
+     * @return True if this upload can use a pipelined encrypted upload.
+     */
+    public static boolean isEncryptedUploadPipelinable(final AmazonS3 s3,
+            TransferManagerConfiguration configuration, long partSize) {
+        return configuration.isPipelinedEncryptedUploadEnabled()
+                && s3 instanceof AmazonS3EncryptionClient
+                && partSize >= MINIMUM_PIPELINED_ENCRYPTED_PART_SIZE;
+    }
+
     /**
      * Returns the size of the data in this request, otherwise -1 if the content
      * length is unknown.
@@ -210,4 +236,40 @@ public class TransferManagerUtils {
         }
         return true;
     }
+
+    /**
+     * Returns true if the specified download request should be split into
+     * byte ranges that are downloaded in parallel.
+     *
+     * @param s3
+     *            The Amazon s3 client.
+     * @param getObjectRequest
+     *            The request to check.
+     * @param configuration
+     *            Configuration settings controlling how transfer manager
+     *            processes requests.
+     * @param contentLength
+     *            The content length of the Amazon S3 object.
+     *
+     * @return True if this request can use ranged parallel downloads.
+     */
+    public static boolean isRangedDownloadParallelizable(final AmazonS3 s3, final GetObjectRequest getObjectRequest,
+            TransferManagerConfiguration configuration, long contentLength) {
+        ValidationUtils.assertNotNull(s3, "S3 client");
+        ValidationUtils.assertNotNull(getObjectRequest, "GetObjectRequest");
+
+        if (!configuration.isRangedDownloadEnabled() || s3 instanceof AmazonS3Encryption
+                || getObjectRequest.getRange() != null || getObjectRequest.getPartNumber() != null) {
+            return false;
+        }
+        return contentLength > configuration.getDownloadRangeSize();
+    }
+
+    /**
+     * Returns the number of byte ranges needed to download an object of the
+     * given length in ranges of the given size.
+     */
+    public static int getRangeCount(long contentLength, long rangeSize) {
+        return (int) ((contentLength + rangeSize - 1) / rangeSize);
+    }
 }
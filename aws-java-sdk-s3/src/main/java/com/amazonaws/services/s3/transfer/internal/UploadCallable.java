@@ -16,6 +16,7 @@ package com.amazonaws.services.s3.transfer.internal;
 
 import static com.amazonaws.event.SDKProgressPublisher.publishProgress;
 
+import java.io.File;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -23,16 +24,22 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import com.amazonaws.AmazonClientException;
 import com.amazonaws.event.ProgressEventType;
 import com.amazonaws.event.ProgressListenerChain;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3Encryption;
+import com.amazonaws.services.s3.AmazonS3EncryptionClient;
+import com.amazonaws.services.s3.UploadObjectObserver;
+import com.amazonaws.services.s3.internal.PartCreationEvent;
 import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
 import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
 import com.amazonaws.services.s3.model.CompleteMultipartUploadResult;
@@ -45,7 +52,9 @@ import com.amazonaws.services.s3.model.PartListing;
 import com.amazonaws.services.s3.model.PartSummary;
 import com.amazonaws.services.s3.model.PutObjectRequest;
 import com.amazonaws.services.s3.model.PutObjectResult;
+import com.amazonaws.services.s3.model.UploadObjectRequest;
 import com.amazonaws.services.s3.model.UploadPartRequest;
+import com.amazonaws.services.s3.model.UploadPartResult;
 import com.amazonaws.services.s3.transfer.PersistableUpload;
 import com.amazonaws.services.s3.transfer.Transfer.TransferState;
 import com.amazonaws.services.s3.transfer.TransferManager;
@@ -174,6 +183,10 @@ public class UploadCallable implements Callable<UploadResult> {
         long optimalPartSize = getOptimalPartSize(isUsingEncryption);
 
         try {
+            if (multipartUploadId == null
+                    && TransferManagerUtils.isEncryptedUploadPipelinable(s3, configuration, optimalPartSize)) {
+                return uploadPartsEncryptedAhead(optimalPartSize);
+            }
             if (multipartUploadId == null) {
                 multipartUploadId = initiateMultipartUpload(origReq,
                         isUsingEncryption);
@@ -272,6 +285,62 @@ public class UploadCallable implements Callable<UploadResult> {
         return uploadResult;
     }
 
+    /**
+     * Encrypts all parts in the request in order in this thread into temporary
+     * files, each of which is uploaded by our thread pool as soon as it is
+     * complete, then completes the upload and returns the result.
+     */
+    private UploadResult uploadPartsEncryptedAhead(long partSize) throws Exception {
+        UploadObjectRequest req;
+        if (origReq.getFile() != null) {
+            req = new UploadObjectRequest(origReq.getBucketName(), origReq.getKey(), origReq.getFile());
+            req.setMetadata(origReq.getMetadata());
+        } else {
+            req = new UploadObjectRequest(origReq.getBucketName(), origReq.getKey(),
+                    origReq.getInputStream(), origReq.getMetadata());
+        }
+        if (origReq instanceof EncryptedPutObjectRequest) {
+            req.setMaterialsDescription(((EncryptedPutObjectRequest) origReq).getMaterialsDescription());
+        }
+        req.setCannedAcl(origReq.getCannedAcl());
+        req.setAccessControlList(origReq.getAccessControlList());
+        req.setStorageClass(origReq.getStorageClass());
+        req.setRedirectLocation(origReq.getRedirectLocation());
+        req.setSSECustomerKey(origReq.getSSECustomerKey());
+        req.setSSEAwsKeyManagementParams(origReq.getSSEAwsKeyManagementParams());
+        req.setGeneralProgressListener(origReq.getGeneralProgressListener());
+        req.setRequestMetricCollector(origReq.getRequestMetricCollector());
+        req.withPartSize(partSize)
+           .withExecutorService(threadPool)
+           .withUploadObjectObserver(new EncryptedAheadUploadObserver(
+                   configuration.getEncryptedUploadMaxPartsInFlight()));
+
+        CompleteMultipartUploadResult res;
+        try {
+            res = ((AmazonS3EncryptionClient) s3).uploadObject(req);
+        } catch (ExecutionException e) {
+            throw toUploadException(e);
+        }
+
+        UploadResult uploadResult = new UploadResult();
+        uploadResult.setBucketName(res.getBucketName());
+        uploadResult.setKey(res.getKey());
+        uploadResult.setETag(res.getETag());
+        uploadResult.setVersionId(res.getVersionId());
+        return uploadResult;
+    }
+
+    /**
+     * Returns the exception to throw for the given failed part upload.
+     */
+    private static AmazonClientException toUploadException(ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof AmazonClientException) {
+            return (AmazonClientException) cause;
+        }
+        return new AmazonClientException("Unable to upload part: " + cause.getMessage(), cause);
+    }
+
     /**
      * Submits a callable for each part to upload to our thread pool and records its corresponding Future.
      */
@@ -352,4 +421,136 @@ public class UploadCallable implements Callable<UploadResult> {
 
         return uploadId;
     }
+
+    /**
+     * Uploads the parts of a pipelined encrypted upload with our thread pool as
+     * soon as they have been encrypted, making the encryption wait while too
+     * many parts are in flight.
+     * <p>
+     * As the upload itself runs in our thread pool, a part is uploaded by the
+     * thread waiting for it if no thread of the pool has started it yet, so
+     * that the upload never waits for the threads it may be occupying.
+     */
+    private class EncryptedAheadUploadObserver extends UploadObjectObserver {
+        private final int maxPartsInFlight;
+        /** The index of the oldest part which may still be in flight. */
+        private int oldestPartInFlight;
+        /** Set once a part has failed to upload. */
+        private boolean failed;
+
+        EncryptedAheadUploadObserver(int maxPartsInFlight) {
+            this.maxPartsInFlight = maxPartsInFlight;
+        }
+
+        @Override
+        protected InitiateMultipartUploadRequest newInitiateMultipartUploadRequest(
+                UploadObjectRequest req) {
+            return TransferManager.appendMultipartUserAgent(
+                    super.newInitiateMultipartUploadRequest(req));
+        }
+
+        @Override
+        public String onUploadInitiation(UploadObjectRequest req) {
+            multipartUploadId = super.onUploadInitiation(req);
+            log.debug("Initiated new multipart upload: " + multipartUploadId);
+            return multipartUploadId;
+        }
+
+        @Override
+        protected UploadPartRequest newUploadPartRequest(PartCreationEvent event, File part) {
+            UploadPartRequest request = super.newUploadPartRequest(event, part);
+            request.setSSECustomerKey(origReq.getSSECustomerKey());
+            request.setGeneralProgressListener(origReq.getGeneralProgressListener());
+            request.setRequestMetricCollector(origReq.getRequestMetricCollector());
+            return TransferManager.appendMultipartUserAgent(request);
+        }
+
+        @Override
+        public void onPartCreate(PartCreationEvent event) {
+            final File part = event.getPart();
+            if (failed) {
+                // The remaining ciphertext is flushed as the last part when
+                // the encryption stops; it is never uploaded.
+                deletePart(part);
+                return;
+            }
+            if (threadPool.isShutdown()) throw new CancellationException("TransferManager has been shutdown");
+            final UploadPartRequest request = newUploadPartRequest(event, part);
+            appendUserAgent(request, AmazonS3EncryptionClient.USER_AGENT);
+            PartUploadTask task = new PartUploadTask(new Callable<UploadPartResult>() {
+                public UploadPartResult call() {
+                    try {
+                        return uploadPart(request);
+                    } finally {
+                        deletePart(part);
+                    }
+                }
+            });
+            List<Future<UploadPartResult>> futures = getFutures();
+            futures.add(task);
+            threadPool.execute(task);
+            while (futures.size() - oldestPartInFlight > maxPartsInFlight) {
+                waitFor(futures.get(oldestPartInFlight++));
+            }
+        }
+
+        /**
+         * Cancels the part uploads; the multipart upload is aborted by the
+         * caller.
+         */
+        @Override
+        public void onAbort() {
+            for (Future<?> future : getFutures()) {
+                future.cancel(true);
+            }
+        }
+
+        @Override
+        public CompleteMultipartUploadResult onCompletion(List<PartETag> partETags) {
+            CompleteMultipartUploadRequest req =
+                new CompleteMultipartUploadRequest(
+                    origReq.getBucketName(), origReq.getKey(), multipartUploadId,
+                        partETags)
+                .withGeneralProgressListener(origReq.getGeneralProgressListener())
+                .withRequestMetricCollector(origReq.getRequestMetricCollector())
+                ;
+            return getAmazonS3().completeMultipartUpload(req);
+        }
+
+        private void waitFor(Future<UploadPartResult> future) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                failed = true;
+                Thread.currentThread().interrupt();
+                throw new AmazonClientException("Interrupted while waiting for a part to be uploaded", e);
+            } catch (ExecutionException e) {
+                failed = true;
+                throw toUploadException(e);
+            }
+        }
+
+        private void deletePart(File part) {
+            if (!part.delete()) {
+                log.debug("Ignoring failure to delete temporary file " + part);
+            }
+        }
+    }
+
+    /**
+     * A part upload which is run by the thread waiting for its result if no
+     * other thread has started it yet.
+     */
+    private static final class PartUploadTask extends FutureTask<UploadPartResult> {
+        PartUploadTask(Callable<UploadPartResult> callable) {
+            super(callable);
+        }
+
+        @Override
+        public UploadPartResult get() throws InterruptedException, ExecutionException {
+            // Does nothing if the task has already been started or cancelled
+            run();
+            return super.get();
+        }
+    }
 }
@@ -16,6 +16,10 @@
 package com.amazonaws.services.sqs;
 
 import com.amazonaws.services.sqs.model.*;
+import com.amazonaws.services.sqs.model.transform.*;
+import com.amazonaws.*;
+import com.amazonaws.http.*;
+import com.amazonaws.protocol.json.*;
 import com.amazonaws.annotation.ThreadSafe;
 
 /**
@@ -345,6 +349,13 @@ public class AmazonSQSAsyncClient extends AmazonSQSClient implements
             final AddPermissionRequest request,
             final com.amazonaws.handlers.AsyncHandler<AddPermissionRequest, AddPermissionResult> asyncHandler) {
 
+        if (isNonBlockingHttpTransportEnabled()) {
+            StaxResponseHandler<AddPermissionResult> responseHandler = new StaxResponseHandler<AddPermissionResult>(
+                    new AddPermissionResultStaxUnmarshaller());
+            return invokeAsync(request, new AddPermissionRequestMarshaller(),
+                    responseHandler, asyncHandler);
+        }
+
         return executorService
                 .submit(new java.util.concurrent.Callable<AddPermissionResult>() {
                     @Override
@@ -415,6 +426,13 @@ public class AmazonSQSAsyncClient extends AmazonSQSClient implements
             final ChangeMessageVisibilityRequest request,
             final com.amazonaws.handlers.AsyncHandler<ChangeMessageVisibilityRequest, ChangeMessageVisibilityResult> asyncHandler) {
 
+        if (isNonBlockingHttpTransportEnabled()) {
+            StaxResponseHandler<ChangeMessageVisibilityResult> responseHandler = new StaxResponseHandler<ChangeMessageVisibilityResult>(
+                    new ChangeMessageVisibilityResultStaxUnmarshaller());
+            return invokeAsync(request, new ChangeMessageVisibilityRequestMarshaller(),
+                    responseHandler, asyncHandler);
+        }
+
         return executorService
                 .submit(new java.util.concurrent.Callable<ChangeMessageVisibilityResult>() {
                     @Override
@@ -485,6 +503,13 @@ public class AmazonSQSAsyncClient extends AmazonSQSClient implements
             final ChangeMessageVisibilityBatchRequest request,
             final com.amazonaws.handlers.AsyncHandler<ChangeMessageVisibilityBatchRequest, ChangeMessageVisibilityBatchResult> asyncHandler) {
 
+        if (isNonBlockingHttpTransportEnabled()) {
+            StaxResponseHandler<ChangeMessageVisibilityBatchResult> responseHandler = new StaxResponseHandler<ChangeMessageVisibilityBatchResult>(
+                    new ChangeMessageVisibilityBatchResultStaxUnmarshaller());
+            return invokeAsync(request, new ChangeMessageVisibilityBatchRequestMarshaller(),
+                    responseHandler, asyncHandler);
+        }
+
         return executorService
                 .submit(new java.util.concurrent.Callable<ChangeMessageVisibilityBatchResult>() {
                     @Override
@@ -554,6 +579,13 @@ public class AmazonSQSAsyncClient extends AmazonSQSClient implements
             final CreateQueueRequest request,
             final com.amazonaws.handlers.AsyncHandler<CreateQueueRequest, CreateQueueResult> asyncHandler) {
 
+        if (isNonBlockingHttpTransportEnabled()) {
+            StaxResponseHandler<CreateQueueResult> responseHandler = new StaxResponseHandler<CreateQueueResult>(
+                    new CreateQueueResultStaxUnmarshaller());
+            return invokeAsync(request, new CreateQueueRequestMarshaller(),
+                    responseHandler, asyncHandler);
+        }
+
         return executorService
                 .submit(new java.util.concurrent.Callable<CreateQueueResult>() {
                     @Override
@@ -617,6 +649,13 @@ public class AmazonSQSAsyncClient extends AmazonSQSClient implements
             final DeleteMessageRequest request,
             final com.amazonaws.handlers.AsyncHandler<DeleteMessageRequest, DeleteMessageResult> asyncHandler) {
 
+        if (isNonBlockingHttpTransportEnabled()) {
+            StaxResponseHandler<DeleteMessageResult> responseHandler = new StaxResponseHandler<DeleteMessageResult>(
+                    new DeleteMessageResultStaxUnmarshaller());
+            return invokeAsync(request, new DeleteMessageRequestMarshaller(),
+                    responseHandler, asyncHandler);
+        }
+
         return executorService
                 .submit(new java.util.concurrent.Callable<DeleteMessageResult>() {
                     @Override
@@ -682,6 +721,13 @@ public class AmazonSQSAsyncClient extends AmazonSQSClient implements
             final DeleteMessageBatchRequest request,
             final com.amazonaws.handlers.AsyncHandler<DeleteMessageBatchRequest, DeleteMessageBatchResult> asyncHandler) {
 
+        if (isNonBlockingHttpTransportEnabled()) {
+            StaxResponseHandler<DeleteMessageBatchResult> responseHandler = new StaxResponseHandler<DeleteMessageBatchResult>(
+                    new DeleteMessageBatchResultStaxUnmarshaller());
+            return invokeAsync(request, new DeleteMessageBatchRequestMarshaller(),
+                    responseHandler, asyncHandler);
+        }
+
         return executorService
                 .submit(new java.util.concurrent.Callable<DeleteMessageBatchResult>() {
                     @Override
@@ -747,6 +793,13 @@ public class AmazonSQSAsyncClient extends AmazonSQSClient implements
             final DeleteQueueRequest request,
             final com.amazonaws.handlers.AsyncHandler<DeleteQueueRequest, DeleteQueueResult> asyncHandler) {
 
+        if (isNonBlockingHttpTransportEnabled()) {
+            StaxResponseHandler<DeleteQueueResult> responseHandler = new StaxResponseHandler<DeleteQueueResult>(
+                    new DeleteQueueResultStaxUnmarshaller());
+            return invokeAsync(request, new DeleteQueueRequestMarshaller(),
+                    responseHandler, asyncHandler);
+        }
+
         return executorService
                 .submit(new java.util.concurrent.Callable<DeleteQueueResult>() {
                     @Override
@@ -809,6 +862,13 @@ public class AmazonSQSAsyncClient extends AmazonSQSClient implements
             final GetQueueAttributesRequest request,
             final com.amazonaws.handlers.AsyncHandler<GetQueueAttributesRequest, GetQueueAttributesResult> asyncHandler) {
 
+        if (isNonBlockingHttpTransportEnabled()) {
+            StaxResponseHandler<GetQueueAttributesResult> responseHandler = new StaxResponseHandler<GetQueueAttributesResult>(
+                    new GetQueueAttributesResultStaxUnmarshaller());
+            return invokeAsync(request, new GetQueueAttributesRequestMarshaller(),
+                    responseHandler, asyncHandler);
+        }
+
         return executorService
                 .submit(new java.util.concurrent.Callable<GetQueueAttributesResult>() {
                     @Override
@@ -874,6 +934,13 @@ public class AmazonSQSAsyncClient extends AmazonSQSClient implements
             final GetQueueUrlRequest request,
             final com.amazonaws.handlers.AsyncHandler<GetQueueUrlRequest, GetQueueUrlResult> asyncHandler) {
 
+        if (isNonBlockingHttpTransportEnabled()) {
+            StaxResponseHandler<GetQueueUrlResult> responseHandler = new StaxResponseHandler<GetQueueUrlResult>(
+                    new GetQueueUrlResultStaxUnmarshaller());
+            return invokeAsync(request, new GetQueueUrlRequestMarshaller(),
+                    responseHandler, asyncHandler);
+        }
+
         return executorService
                 .submit(new java.util.concurrent.Callable<GetQueueUrlResult>() {
                     @Override
@@ -937,6 +1004,13 @@ public class AmazonSQSAsyncClient extends AmazonSQSClient implements
             final ListDeadLetterSourceQueuesRequest request,
             final com.amazonaws.handlers.AsyncHandler<ListDeadLetterSourceQueuesRequest, ListDeadLetterSourceQueuesResult> asyncHandler) {
 
+        if (isNonBlockingHttpTransportEnabled()) {
+            StaxResponseHandler<ListDeadLetterSourceQueuesResult> responseHandler = new StaxResponseHandler<ListDeadLetterSourceQueuesResult>(
+                    new ListDeadLetterSourceQueuesResultStaxUnmarshaller());
+            return invokeAsync(request, new ListDeadLetterSourceQueuesRequestMarshaller(),
+                    responseHandler, asyncHandler);
+        }
+
         return executorService
                 .submit(new java.util.concurrent.Callable<ListDeadLetterSourceQueuesResult>() {
                     @Override
@@ -973,6 +1047,13 @@ public class AmazonSQSAsyncClient extends AmazonSQSClient implements
             final ListQueuesRequest request,
             final com.amazonaws.handlers.AsyncHandler<ListQueuesRequest, ListQueuesResult> asyncHandler) {
 
+        if (isNonBlockingHttpTransportEnabled()) {
+            StaxResponseHandler<ListQueuesResult> responseHandler = new StaxResponseHandler<ListQueuesResult>(
+                    new ListQueuesResultStaxUnmarshaller());
+            return invokeAsync(request, new ListQueuesRequestMarshaller(),
+                    responseHandler, asyncHandler);
+        }
+
         return executorService
                 .submit(new java.util.concurrent.Callable<ListQueuesResult>() {
                     @Override
@@ -1061,6 +1142,13 @@ public class AmazonSQSAsyncClient extends AmazonSQSClient implements
             final PurgeQueueRequest request,
             final com.amazonaws.handlers.AsyncHandler<PurgeQueueRequest, PurgeQueueResult> asyncHandler) {
 
+        if (isNonBlockingHttpTransportEnabled()) {
+            StaxResponseHandler<PurgeQueueResult> responseHandler = new StaxResponseHandler<PurgeQueueResult>(
+                    new PurgeQueueResultStaxUnmarshaller());
+            return invokeAsync(request, new PurgeQueueRequestMarshaller(),
+                    responseHandler, asyncHandler);
+        }
+
         return executorService
                 .submit(new java.util.concurrent.Callable<PurgeQueueResult>() {
                     @Override
@@ -1096,6 +1184,13 @@ public class AmazonSQSAsyncClient extends AmazonSQSClient implements
             final ReceiveMessageRequest request,
             final com.amazonaws.handlers.AsyncHandler<ReceiveMessageRequest, ReceiveMessageResult> asyncHandler) {
 
+        if (isNonBlockingHttpTransportEnabled()) {
+            StaxResponseHandler<ReceiveMessageResult> responseHandler = new StaxResponseHandler<ReceiveMessageResult>(
+                    new ReceiveMessageResultStaxUnmarshaller());
+            return invokeAsync(request, new ReceiveMessageRequestMarshaller(),
+                    responseHandler, asyncHandler);
+        }
+
         return executorService
                 .submit(new java.util.concurrent.Callable<ReceiveMessageResult>() {
                     @Override
@@ -1160,6 +1255,13 @@ public class AmazonSQSAsyncClient extends AmazonSQSClient implements
             final RemovePermissionRequest request,
             final com.amazonaws.handlers.AsyncHandler<RemovePermissionRequest, RemovePermissionResult> asyncHandler) {
 
+        if (isNonBlockingHttpTransportEnabled()) {
+            StaxResponseHandler<RemovePermissionResult> responseHandler = new StaxResponseHandler<RemovePermissionResult>(
+                    new RemovePermissionResultStaxUnmarshaller());
+            return invokeAsync(request, new RemovePermissionRequestMarshaller(),
+                    responseHandler, asyncHandler);
+        }
+
         return executorService
                 .submit(new java.util.concurrent.Callable<RemovePermissionResult>() {
                     @Override
@@ -1224,6 +1326,13 @@ public class AmazonSQSAsyncClient extends AmazonSQSClient implements
             final SendMessageRequest request,
             final com.amazonaws.handlers.AsyncHandler<SendMessageRequest, SendMessageResult> asyncHandler) {
 
+        if (isNonBlockingHttpTransportEnabled()) {
+            StaxResponseHandler<SendMessageResult> responseHandler = new StaxResponseHandler<SendMessageResult>(
+                    new SendMessageResultStaxUnmarshaller());
+            return invokeAsync(request, new SendMessageRequestMarshaller(),
+                    responseHandler, asyncHandler);
+        }
+
         return executorService
                 .submit(new java.util.concurrent.Callable<SendMessageResult>() {
                     @Override
@@ -1288,6 +1397,13 @@ public class AmazonSQSAsyncClient extends AmazonSQSClient implements
             final SendMessageBatchRequest request,
             final com.amazonaws.handlers.AsyncHandler<SendMessageBatchRequest, SendMessageBatchResult> asyncHandler) {
 
+        if (isNonBlockingHttpTransportEnabled()) {
+            StaxResponseHandler<SendMessageBatchResult> responseHandler = new StaxResponseHandler<SendMessageBatchResult>(
+                    new SendMessageBatchResultStaxUnmarshaller());
+            return invokeAsync(request, new SendMessageBatchRequestMarshaller(),
+                    responseHandler, asyncHandler);
+        }
+
         return executorService
                 .submit(new java.util.concurrent.Callable<SendMessageBatchResult>() {
                     @Override
@@ -1353,6 +1469,13 @@ public class AmazonSQSAsyncClient extends AmazonSQSClient implements
             final SetQueueAttributesRequest request,
             final com.amazonaws.handlers.AsyncHandler<SetQueueAttributesRequest, SetQueueAttributesResult> asyncHandler) {
 
+        if (isNonBlockingHttpTransportEnabled()) {
+            StaxResponseHandler<SetQueueAttributesResult> responseHandler = new StaxResponseHandler<SetQueueAttributesResult>(
+                    new SetQueueAttributesResultStaxUnmarshaller());
+            return invokeAsync(request, new SetQueueAttributesRequestMarshaller(),
+                    responseHandler, asyncHandler);
+        }
+
         return executorService
                 .submit(new java.util.concurrent.Callable<SetQueueAttributesResult>() {
                     @Override
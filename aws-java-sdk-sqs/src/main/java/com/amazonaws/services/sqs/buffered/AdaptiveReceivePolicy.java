@@ -0,0 +1,166 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazonaws.services.sqs.buffered;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Computes how many receive batches a {@link ReceiveQueueBuffer} should keep in flight and
+ * prefetched, from the observed consume rate, receive latency and ratio of empty receives.
+ * <p>
+ * The buffer aims at having enough batches in flight to cover what the consumers take during the
+ * latency of a receive call, and at prefetching no more messages than the consumers can take
+ * within half the visibility timeout, so that prefetched messages are consumed before they become
+ * visible to other clients again. When most receives come back empty, the queue is drained and
+ * the concurrency falls back to a single receive batch. The limits of {@link QueueBufferConfig}
+ * remain upper bounds.
+ * <p>
+ * All the rates are exponentially weighted moving averages, so that the policy follows changes in
+ * the load within a few samples.
+ */
+class AdaptiveReceivePolicy {
+
+    /** Weight of a new sample in the moving averages. */
+    private static final double ALPHA = 0.3;
+
+    /** Minimum duration over which the consume rate is sampled. */
+    private static final long RATE_SAMPLE_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+
+    /** Above this ratio of empty receives, the queue is considered drained. */
+    private static final double DRAINED_EMPTY_RECEIVE_RATIO = 0.5;
+
+    /** Fraction of the visibility timeout prefetched messages may wait for consumers. */
+    private static final double VISIBILITY_TIMEOUT_FRACTION = 0.5;
+
+    private final QueueBufferConfig config;
+
+    /** Messages handed to consumers per second. */
+    private double consumeRate;
+
+    /** Latency of a receive call, in seconds. */
+    private double receiveLatency;
+
+    /** Ratio of receive calls that returned no message. */
+    private double emptyReceiveRatio;
+
+    private boolean sampled;
+
+    private long consumedSinceSample;
+
+    private long lastSampleNanos = System.nanoTime();
+
+    private long visibilityTimeoutNanos = -1;
+
+    AdaptiveReceivePolicy(QueueBufferConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * Records the completion of a successful receive call.
+     */
+    synchronized void receiveCompleted(long latencyNanos, int messageCount) {
+        double latency = latencyNanos / (double) TimeUnit.SECONDS.toNanos(1);
+        double empty = messageCount == 0 ? 1 : 0;
+        if (sampled) {
+            receiveLatency += ALPHA * (latency - receiveLatency);
+            emptyReceiveRatio += ALPHA * (empty - emptyReceiveRatio);
+        } else {
+            receiveLatency = latency;
+            emptyReceiveRatio = empty;
+            sampled = true;
+        }
+    }
+
+    /**
+     * Records messages handed to consumers.
+     */
+    synchronized void messagesConsumed(int count) {
+        consumedSinceSample += count;
+        sampleConsumeRate();
+    }
+
+    /**
+     * Sets the visibility timeout of the queue, which bounds how long messages may stay
+     * prefetched.
+     */
+    synchronized void setVisibilityTimeoutNanos(long visibilityTimeoutNanos) {
+        this.visibilityTimeoutNanos = visibilityTimeoutNanos;
+    }
+
+    /**
+     * Returns the number of receive batches to keep in flight, between 1 and
+     * {@link QueueBufferConfig#getMaxInflightReceiveBatches()}.
+     */
+    synchronized int getInflightReceiveBatches() {
+        sampleConsumeRate();
+        if (!sampled || emptyReceiveRatio > DRAINED_EMPTY_RECEIVE_RATIO) {
+            return 1;
+        }
+        // the messages taken by the consumers while a receive call completes
+        double batches = consumeRate * receiveLatency / batchSize();
+        return clamp(batches + 1, config.getMaxInflightReceiveBatches());
+    }
+
+    /**
+     * Returns the number of completed receive batches to keep prefetched, between 1 and
+     * {@link QueueBufferConfig#getMaxDoneReceiveBatches()}.
+     */
+    synchronized int getDoneReceiveBatches() {
+        sampleConsumeRate();
+        if (!sampled || emptyReceiveRatio > DRAINED_EMPTY_RECEIVE_RATIO) {
+            return 1;
+        }
+        double batches = Math.ceil(consumeRate * receiveLatency / batchSize());
+        double visibilitySeconds = effectiveVisibilityTimeoutSeconds();
+        if (visibilitySeconds > 0) {
+            // the batches the consumers can take before the messages become visible again
+            double consumable = consumeRate * visibilitySeconds * VISIBILITY_TIMEOUT_FRACTION / batchSize();
+            batches = Math.min(batches, Math.floor(consumable));
+        }
+        return clamp(batches, config.getMaxDoneReceiveBatches());
+    }
+
+    private void sampleConsumeRate() {
+        long now = System.nanoTime();
+        long elapsed = now - lastSampleNanos;
+        if (elapsed < RATE_SAMPLE_NANOS) {
+            return;
+        }
+        double rate = consumedSinceSample / (elapsed / (double) TimeUnit.SECONDS.toNanos(1));
+        consumeRate += ALPHA * (rate - consumeRate);
+        consumedSinceSample = 0;
+        lastSampleNanos = now;
+    }
+
+    private double effectiveVisibilityTimeoutSeconds() {
+        if (config.getVisibilityTimeoutSeconds() > 0) {
+            return config.getVisibilityTimeoutSeconds();
+        }
+        return visibilityTimeoutNanos / (double) TimeUnit.SECONDS.toNanos(1);
+    }
+
+    private int batchSize() {
+        return Math.max(1, config.getMaxBatchSize());
+    }
+
+    private static int clamp(double value, int max) {
+        max = Math.max(1, max);
+        if (value >= max) {
+            return max;
+        }
+        return Math.max(1, (int) value);
+    }
+}
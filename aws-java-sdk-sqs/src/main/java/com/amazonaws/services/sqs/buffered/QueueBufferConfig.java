@@ -81,6 +81,16 @@ public class QueueBufferConfig {
     /** 10 batches */
     public static final int MAX_DONE_RECEIVE_BATCHES_DEFAULT = 10;
 
+    /**
+     * Whether the number of inflight and done receive batches is adjusted to the observed consume
+     * rate, receive latency and ratio of empty receives, with maxInflightReceiveBatches and
+     * maxDoneReceiveBatches as upper bounds.
+     */
+    private boolean adaptivePrefetching;
+
+    /** false */
+    public static final boolean ADAPTIVE_PREFETCHING_DEFAULT = false;
+
     /**
      * Maximum permitted size of a SendMessage or SendMessageBatch message, in bytes
      */
@@ -122,6 +132,7 @@ public class QueueBufferConfig {
         this.visibilityTimeoutSeconds = visibilityTimeout;
         this.longPollWaitTimeoutSeconds = longPollTimeout;
         this.maxBatchSize = maxBatch;
+        this.adaptivePrefetching = ADAPTIVE_PREFETCHING_DEFAULT;
     }
 
     public QueueBufferConfig() {
@@ -141,6 +152,7 @@ public class QueueBufferConfig {
         maxInflightOutboundBatches = other.maxInflightOutboundBatches;
         maxInflightReceiveBatches = other.maxInflightReceiveBatches;
         visibilityTimeoutSeconds = other.visibilityTimeoutSeconds;
+        adaptivePrefetching = other.adaptivePrefetching;
     }
 
     @Override
@@ -148,7 +160,7 @@ public class QueueBufferConfig {
         return "QueueBufferConfig [maxBatchSize=" + maxBatchSize + ", maxBatchOpenMs=" + maxBatchOpenMs + ", longPoll="
                 + longPoll + ", maxInflightOutboundBatches=" + maxInflightOutboundBatches
                 + ", maxInflightReceiveBatches=" + maxInflightReceiveBatches + ", maxDoneReceiveBatches="
-                + maxDoneReceiveBatches + ", maxBatchSizeBytes=" + maxBatchSizeBytes + ", visibilityTimeoutSeconds="
+                + maxDoneReceiveBatches + ", adaptivePrefetching=" + adaptivePrefetching + ", maxBatchSizeBytes=" + maxBatchSizeBytes + ", visibilityTimeoutSeconds="
                 + visibilityTimeoutSeconds + ", longPollWaitTimeoutSeconds=" + longPollWaitTimeoutSeconds + "]";
     }
 
@@ -306,6 +318,43 @@ public class QueueBufferConfig {
         return this;
     }
 
+    /**
+     * If true, the number of concurrent receive batches and of completed receive batches kept in
+     * the buffer are adjusted to the observed consume rate, receive latency and ratio of empty
+     * receives: the buffer keeps enough receive batches in flight to cover what the consumers take
+     * during a receive call, and does not prefetch more messages than the consumers can take within
+     * half the visibility timeout. maxInflightReceiveBatches and maxDoneReceiveBatches remain upper
+     * bounds. Disabled by default.
+     */
+    public boolean isAdaptivePrefetching() {
+        return adaptivePrefetching;
+    }
+
+    /**
+     * If true, the number of concurrent receive batches and of completed receive batches kept in
+     * the buffer are adjusted to the observed consume rate, receive latency and ratio of empty
+     * receives: the buffer keeps enough receive batches in flight to cover what the consumers take
+     * during a receive call, and does not prefetch more messages than the consumers can take within
+     * half the visibility timeout. maxInflightReceiveBatches and maxDoneReceiveBatches remain upper
+     * bounds. Disabled by default.
+     */
+    public void setAdaptivePrefetching(boolean adaptivePrefetching) {
+        this.adaptivePrefetching = adaptivePrefetching;
+    }
+
+    /**
+     * If true, the number of concurrent receive batches and of completed receive batches kept in
+     * the buffer are adjusted to the observed consume rate, receive latency and ratio of empty
+     * receives: the buffer keeps enough receive batches in flight to cover what the consumers take
+     * during a receive call, and does not prefetch more messages than the consumers can take within
+     * half the visibility timeout. maxInflightReceiveBatches and maxDoneReceiveBatches remain upper
+     * bounds. Disabled by default.
+     */
+    public QueueBufferConfig withAdaptivePrefetching(boolean adaptivePrefetching) {
+        setAdaptivePrefetching(adaptivePrefetching);
+        return this;
+    }
+
     /**
      * Maximum permitted size of a SendMessage or SendMessageBatch message, in bytes. This setting
      * is also enforced on the server, and if this client submits a request of a size larger than
@@ -39,6 +39,8 @@ import com.amazonaws.services.sqs.model.ReceiveMessageResult;
  * It uses the provided executor to pre-fetch messages from the server and keeps them in a buffer
  * which it uses to satisfy incoming requests. The number of requests pre-fetched and kept in the
  * buffer, as well as the maximum number of threads used to retrieve the messages are configurable.
+ * With {@link QueueBufferConfig#isAdaptivePrefetching()}, both numbers are instead adjusted to
+ * the observed consume rate, receive latency and empty-receive ratio, within those limits.
  * <p>
  * Synchronization strategy: - Threads must hold the TaskSpawnSyncPoint object monitor to spawn a
  * new task or modify the number of inflight tasks - Threads must hold the monitor of the "futures"
@@ -101,11 +103,15 @@ public class ReceiveQueueBuffer {
     /** finished batches are stored in this list. */
     private LinkedList<ReceiveMessageBatchTask> finishedTasks = new LinkedList<ReceiveMessageBatchTask>();
 
+    /** sizes the receive concurrency and prefetching if adaptive prefetching is enabled; else null */
+    private final AdaptiveReceivePolicy adaptivePolicy;
+
     ReceiveQueueBuffer(AmazonSQS paramSQS, Executor paramExecutor, QueueBufferConfig paramConfig, String url) {
         config = paramConfig;
         executor = paramExecutor;
         sqsClient = paramSQS;
         qUrl = url;
+        adaptivePolicy = config.isAdaptivePrefetching() ? new AdaptiveReceivePolicy(config) : null;
 
     }
 
@@ -216,6 +222,9 @@ public class ReceiveQueueBuffer {
                 break;
             }
         }
+        if (adaptivePolicy != null && numRetrieved > 0) {
+            adaptivePolicy.messagesConsumed(numRetrieved);
+        }
         // we may have just drained the batch.
         batchDone = batchDone || task.isEmpty() || (exception != null);
         if (batchDone) {
@@ -288,7 +297,8 @@ public class ReceiveQueueBuffer {
             return;
         }
 
-        int desiredBatches = config.getMaxDoneReceiveBatches();
+        int desiredBatches = adaptivePolicy != null ? adaptivePolicy.getDoneReceiveBatches() : config
+                .getMaxDoneReceiveBatches();
         desiredBatches = desiredBatches < 1 ? 1 : desiredBatches;
 
         synchronized (finishedTasks) {
@@ -312,9 +322,13 @@ public class ReceiveQueueBuffer {
                 long visibilityTimeoutSeconds = Long.parseLong(sqsClient.getQueueAttributes(request).getAttributes()
                         .get("VisibilityTimeout"));
                 visibilityTimeoutNanos = TimeUnit.NANOSECONDS.convert(visibilityTimeoutSeconds, TimeUnit.SECONDS);
+                if (adaptivePolicy != null) {
+                    adaptivePolicy.setVisibilityTimeoutNanos(visibilityTimeoutNanos);
+                }
             }
 
-            int max = config.getMaxInflightReceiveBatches();
+            int max = adaptivePolicy != null ? adaptivePolicy.getInflightReceiveBatches() : config
+                    .getMaxInflightReceiveBatches();
             // must allow at least one inflight receive task, or receive won't
             // work at all.
             max = max > 0 ? max : 1;
@@ -512,7 +526,11 @@ public class ReceiveQueueBuffer {
                     request.withWaitTimeSeconds(config.getLongPollWaitTimeoutSeconds());
                 }
 
+                long startNanos = System.nanoTime();
                 messages = sqsClient.receiveMessage(request).getMessages();
+                if (adaptivePolicy != null) {
+                    adaptivePolicy.receiveCompleted(System.nanoTime() - startNanos, messages.size());
+                }
             } catch (AmazonClientException e) {
                 exception = e;
             } finally {